@@ -0,0 +1,263 @@
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * AsyncDatabase runs DatabaseManager calls on a dedicated executor instead of the Swing EDT
+ * Every method returns a CompletableFuture; use onEdt to apply the result back on the EDT
+ */
+public final class AsyncDatabase {
+    private static final ExecutorService executor = createExecutor();
+    
+    private AsyncDatabase() {
+    }
+    
+    /**
+     * Use virtual threads when the JVM has them (Java 21+), otherwise a fixed pool of daemon threads
+     * Either way the connection pool bounds how many queries actually run at once
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(Integer.getInteger("db.async.threads", 8), r -> {
+                Thread thread = new Thread(r, "db-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    /**
+     * Run any database call off the EDT
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+    
+    public static CompletableFuture<Void> run(Runnable action) {
+        return CompletableFuture.runAsync(action, executor);
+    }
+    
+    /**
+     * Deliver a result (or failure) on the Swing event dispatch thread
+     */
+    public static <T> void onEdt(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                onFailure.accept(error.getCause() != null ? error.getCause() : error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+    
+    // ==================== USER OPERATIONS ====================
+    
+    public static CompletableFuture<Boolean> testConnection() {
+        return supply(DatabaseManager::testConnection);
+    }
+    
+    public static CompletableFuture<Boolean> registerUser(User user) {
+        return supply(() -> DatabaseManager.registerUser(user));
+    }
+    
+    public static CompletableFuture<User> loginUser(String username, String password) {
+        return supply(() -> DatabaseManager.loginUser(username, password));
+    }
+    
+    public static CompletableFuture<List<User>> getLeaderboard(int limit) {
+        return supply(() -> DatabaseManager.getLeaderboard(limit));
+    }
+    
+    public static CompletableFuture<Integer> getVolunteerRank(int userId) {
+        return supply(() -> DatabaseManager.getVolunteerRank(userId));
+    }
+    
+    public static CompletableFuture<Integer> getLeaderboardSize() {
+        return supply(DatabaseManager::getLeaderboardSize);
+    }
+    
+    // ==================== TASK OPERATIONS ====================
+    
+    public static CompletableFuture<Boolean> createTask(Task task) {
+        return supply(() -> DatabaseManager.createTask(task));
+    }
+    
+    public static CompletableFuture<List<Task>> getAvailableTasks() {
+        return supply(DatabaseManager::getAvailableTasks);
+    }
+    
+    public static CompletableFuture<Page<Task>> getAvailableTasksPage(Task after, int pageSize) {
+        return supply(() -> DatabaseManager.getAvailableTasksPage(after, pageSize));
+    }
+    
+    public static CompletableFuture<List<Task>> getTasksByRequester(int requesterId) {
+        return supply(() -> DatabaseManager.getTasksByRequester(requesterId));
+    }
+    
+    public static CompletableFuture<List<Task>> getTasksByRequester(int requesterId, boolean includeArchived) {
+        return supply(() -> DatabaseManager.getTasksByRequester(requesterId, includeArchived));
+    }
+    
+    public static CompletableFuture<List<Task>> getTasksByVolunteer(int volunteerId) {
+        return supply(() -> DatabaseManager.getTasksByVolunteer(volunteerId));
+    }
+    
+    public static CompletableFuture<List<Task>> getTasksByVolunteer(int volunteerId, boolean includeArchived) {
+        return supply(() -> DatabaseManager.getTasksByVolunteer(volunteerId, includeArchived));
+    }
+    
+    public static CompletableFuture<List<Task>> searchTasks(String text, String status, String fromDate,
+                                                            String toDate, int limit) {
+        return supply(() -> DatabaseManager.searchTasks(text, status, fromDate, toDate, limit));
+    }
+    
+    public static CompletableFuture<Boolean> setUserLocation(int userId, String location) {
+        return supply(() -> DatabaseManager.setUserLocation(userId, location));
+    }
+    
+    public static CompletableFuture<List<Task>> getAvailableTasksNear(GeoPoint center, double radiusKm, int limit) {
+        return supply(() -> DatabaseManager.getAvailableTasksNear(center, radiusKm, limit));
+    }
+    
+    public static CompletableFuture<List<Task>> getSuggestedTasks(int volunteerId, int limit) {
+        return supply(() -> DatabaseManager.getSuggestedTasks(volunteerId, limit));
+    }
+    
+    public static CompletableFuture<TaskChanges> syncTasksByRequester(int requesterId, long since) {
+        return supply(() -> DatabaseManager.syncTasksByRequester(requesterId, since));
+    }
+    
+    public static CompletableFuture<TaskChanges> syncTasksByVolunteer(int volunteerId, long since) {
+        return supply(() -> DatabaseManager.syncTasksByVolunteer(volunteerId, since));
+    }
+    
+    public static CompletableFuture<List<VolunteerSchedule.Slot>> getFreeSlots(int volunteerId, LocalDate fromDate,
+                                                                               int days) {
+        return supply(() -> DatabaseManager.getFreeSlots(volunteerId, fromDate, days));
+    }
+    
+    public static CompletableFuture<Boolean> assignTask(int taskId, int volunteerId) {
+        return supply(() -> DatabaseManager.assignTask(taskId, volunteerId));
+    }
+    
+    public static CompletableFuture<TransitionResult> transitionTask(int taskId, TaskTransition transition) {
+        return supply(() -> DatabaseManager.transitionTask(taskId, transition));
+    }
+    
+    public static CompletableFuture<Boolean> updateTaskStatus(int taskId, String status) {
+        return supply(() -> DatabaseManager.updateTaskStatus(taskId, status));
+    }
+    
+    public static CompletableFuture<Boolean> volunteerConfirmTask(int taskId, int volunteerId) {
+        return supply(() -> DatabaseManager.volunteerConfirmTask(taskId, volunteerId));
+    }
+    
+    public static CompletableFuture<Boolean> elderlyConfirmTask(int taskId, int requesterId) {
+        return supply(() -> DatabaseManager.elderlyConfirmTask(taskId, requesterId));
+    }
+    
+    public static CompletableFuture<Boolean> reassignTask(int taskId) {
+        return supply(() -> DatabaseManager.reassignTask(taskId));
+    }
+    
+    public static CompletableFuture<Boolean> deleteTask(int taskId, int requesterId) {
+        return supply(() -> DatabaseManager.deleteTask(taskId, requesterId));
+    }
+    
+    public static CompletableFuture<Boolean> cancelTask(int taskId, int requesterId) {
+        return supply(() -> DatabaseManager.cancelTask(taskId, requesterId));
+    }
+    
+    public static CompletableFuture<Task> getTaskById(int taskId) {
+        return supply(() -> DatabaseManager.getTaskById(taskId));
+    }
+    
+    // ==================== ADMIN OPERATIONS ====================
+    
+    public static CompletableFuture<List<User>> getAllUsers() {
+        return supply(DatabaseManager::getAllUsers);
+    }
+    
+    public static CompletableFuture<Page<User>> getUsersPage(User after, int pageSize) {
+        return supply(() -> DatabaseManager.getUsersPage(after, pageSize));
+    }
+    
+    public static CompletableFuture<Integer> countUsers() {
+        return supply(DatabaseManager::countUsers);
+    }
+    
+    public static CompletableFuture<List<User>> getUsersBlock(int offset, int limit, String sortKey, boolean ascending) {
+        return supply(() -> DatabaseManager.getUsersBlock(offset, limit, sortKey, ascending));
+    }
+    
+    public static CompletableFuture<List<Task>> getAllTasks() {
+        return supply(DatabaseManager::getAllTasks);
+    }
+    
+    public static CompletableFuture<Page<Task>> getAllTasksPage(Task after, int pageSize) {
+        return supply(() -> DatabaseManager.getAllTasksPage(after, pageSize));
+    }
+    
+    public static CompletableFuture<Integer> countTasks() {
+        return supply(DatabaseManager::countTasks);
+    }
+    
+    public static CompletableFuture<List<Task>> getTasksBlock(int offset, int limit, String sortKey, boolean ascending) {
+        return supply(() -> DatabaseManager.getTasksBlock(offset, limit, sortKey, ascending));
+    }
+    
+    public static CompletableFuture<Boolean> toggleUserStatus(int userId, boolean isActive) {
+        return supply(() -> DatabaseManager.toggleUserStatus(userId, isActive));
+    }
+    
+    public static CompletableFuture<String> getUserNameById(int userId) {
+        return supply(() -> DatabaseManager.getUserNameById(userId));
+    }
+    
+    public static CompletableFuture<Boolean> adminDeleteTask(int taskId) {
+        return supply(() -> DatabaseManager.adminDeleteTask(taskId));
+    }
+    
+    public static CompletableFuture<List<String>> getTaskHistory() {
+        return supply(DatabaseManager::getTaskHistory);
+    }
+    
+    public static CompletableFuture<Void> addTaskHistory(int taskId, int userId, String actionType,
+                                                         String previousStatus, String newStatus) {
+        return run(() -> DatabaseManager.addTaskHistory(taskId, userId, actionType, previousStatus, newStatus));
+    }
+    
+    public static CompletableFuture<String> getQueryMetricsReport() {
+        return supply(DatabaseManager::getQueryMetricsReport);
+    }
+    
+    public static CompletableFuture<String> getIndexReport() {
+        return supply(DatabaseManager::getIndexReport);
+    }
+    
+    public static CompletableFuture<String> getSystemStats() {
+        return supply(DatabaseManager::getSystemStats);
+    }
+    
+    /**
+     * Recount the statistics in the database before reading them
+     */
+    public static CompletableFuture<String> refreshSystemStats() {
+        return supply(() -> {
+            DatabaseManager.reconcileSystemStats();
+            return DatabaseManager.getSystemStats();
+        });
+    }
+}
@@ -0,0 +1,377 @@
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks measures the DatabaseManager and task lifecycle hot paths
+ *
+ * JMH needs a build tool this project does not have, so this is a small harness in the same spirit:
+ * each benchmark runs warmup iterations, then timed iterations on one or more threads, and the
+ * throughput of every iteration is written to a JSON file laid out like JMH's JSON output
+ * (scoreError is the standard deviation across iterations). It runs against the in-memory
+ * repository unless -Ddb.backend is given, so no MySQL server is needed.
+ *
+ * Usage: java -cp target/classes Benchmarks [-Dbench.filter=assign] [-Dbench.output=results.json]
+ */
+public class Benchmarks {
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("bench.warmupIterations", 3);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+    private static final long ITERATION_MS = Long.getLong("bench.iterationMs", 1000L);
+    private static final int THREADS = Integer.getInteger("bench.threads", 4);
+    private static final int USERS = Integer.getInteger("bench.users", 100);
+    private static final int TASKS = Integer.getInteger("bench.tasks", 1000);
+    private static final String OUTPUT = System.getProperty("bench.output", "target/bench-results.json");
+    private static final String FILTER = System.getProperty("bench.filter", "");
+    
+    private static final String PASSWORD = "bench";
+    
+    // Results are folded into this so the JIT cannot drop the benchmarked calls
+    private static volatile int sink;
+    
+    /**
+     * One benchmarked call; index counts calls across all threads and iterations
+     */
+    interface Operation {
+        Object run(int thread, long index) throws Exception;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        // Must be set before DatabaseManager is loaded
+        if (System.getProperty("db.backend") == null) {
+            System.setProperty("db.backend", "memory");
+            System.setProperty("db.memory.sampleData", "false");
+        }
+        System.setProperty("java.awt.headless", "true");
+        
+        if (!DatabaseManager.testConnection()) {
+            System.err.println("Cannot reach the " + System.getProperty("db.backend") + " backend");
+            System.exit(1);
+        }
+        
+        Fixture fixture = new Fixture();
+        List<Benchmark> benchmarks = fixture.benchmarks();
+        List<Result> results = new ArrayList<>();
+        for (Benchmark benchmark : benchmarks) {
+            if (benchmark.name.contains(FILTER)) {
+                results.add(run(benchmark));
+            }
+        }
+        
+        writeJson(results, OUTPUT);
+        System.out.println();
+        System.out.println("Results written to " + OUTPUT);
+        System.exit(0);
+    }
+    
+    // ==================== FIXTURE ====================
+    
+    /**
+     * Users and tasks created up front, and the benchmark definitions that use them
+     */
+    private static final class Fixture {
+        // Makes names unique per run, so the MySQL backend can be benchmarked repeatedly
+        private final String runId = Long.toString(System.currentTimeMillis(), 36);
+        private final List<User> elderly = new ArrayList<>();
+        private final List<User> volunteers = new ArrayList<>();
+        
+        Fixture() {
+            for (int i = 0; i < USERS; i++) {
+                elderly.add(register("elderly", i, "ELDERLY"));
+                volunteers.add(register("volunteer", i, "VOLUNTEER"));
+            }
+            // Available tasks for the read benchmarks
+            for (int i = 0; i < TASKS; i++) {
+                DatabaseManager.createTask(newTask(elderly.get(i % elderly.size()).getUserId(), i));
+            }
+            DatabaseManager.getHistoryAppender().flush(10000);
+        }
+        
+        private User register(String kind, int i, String role) {
+            String username = "bench_" + kind + "_" + runId + "_" + i;
+            User user = new User(username, PASSWORD, username + "@bench.local", "Bench", kind + " " + i,
+                                 "555-0000", role);
+            if (!DatabaseManager.registerUser(user)) {
+                throw new IllegalStateException("Could not register " + username);
+            }
+            return user;
+        }
+        
+        private Task newTask(int requesterId, long i) {
+            return new Task("Benchmark task " + i, "Created by Benchmarks", requesterId, "Bench St",
+                            String.format("2030-%02d-%02d", 1 + i % 12, 1 + i % 28),
+                            String.format("%02d:00", 8 + i % 10), 30 + (int) (i % 4) * 30);
+        }
+        
+        // A half-hour task in its own slot (back to back from 2040), so the volunteer who wins it
+        // is never refused a later one for overlapping; those tasks stay accepted
+        private Task slottedTask(int requesterId, long i) {
+            LocalDateTime start = LocalDateTime.of(2040, 1, 1, 0, 0).plusMinutes(i * 30);
+            return new Task("Benchmark task " + i, "Created by Benchmarks", requesterId, "Bench St",
+                            start.toLocalDate().toString(), start.toLocalTime().toString(), 30);
+        }
+        
+        List<Benchmark> benchmarks() {
+            List<Benchmark> list = new ArrayList<>();
+            
+            list.add(new Benchmark("loginUser", THREADS, (thread, i) ->
+                DatabaseManager.loginUser(elderly.get((int) (i % elderly.size())).getUsername(), PASSWORD)));
+            
+            list.add(new Benchmark("getAvailableTasks", THREADS, (thread, i) ->
+                DatabaseManager.getAvailableTasks().size()));
+            
+            list.add(new Benchmark("getLeaderboard", THREADS, (thread, i) ->
+                DatabaseManager.getLeaderboard(10)));
+            
+            list.add(new Benchmark("getSystemStats", THREADS, (thread, i) ->
+                DatabaseManager.getSystemStats()));
+            
+            // Swing rendering is single-threaded
+            TaskListView view = new TaskListView(java.awt.Color.WHITE, 10);
+            TaskCardRenderer renderer = new TaskCardRenderer(java.awt.Color.WHITE, 10);
+            BufferedImage image = new BufferedImage(600, TaskCardRenderer.CARD_HEIGHT + 10, BufferedImage.TYPE_INT_RGB);
+            List<Task> cards = DatabaseManager.getAvailableTasks();
+            list.add(new Benchmark("renderTaskCard", 1, (thread, i) -> {
+                Component card = renderer.getListCellRendererComponent(view, cards.get((int) (i % cards.size())),
+                                                                       (int) i, false, false);
+                card.setSize(image.getWidth(), image.getHeight());
+                card.validate();
+                Graphics2D g = image.createGraphics();
+                try {
+                    card.paint(g);
+                } finally {
+                    g.dispose();
+                }
+                return image.getRGB(0, 0);
+            }));
+            
+            // Each round, every thread tries to accept the same new task; one should win.
+            // The first thread of a round also pays for creating the task. Tasks never share a
+            // time slot, so the outcome is a race and not a schedule overlap.
+            Map<Long, Integer> rounds = new ConcurrentHashMap<>();
+            AtomicLong slots = new AtomicLong();
+            Benchmark assign = new Benchmark("assignTaskContention", THREADS, null);
+            assign.operation = (thread, i) -> {
+                long round = i / THREADS;
+                int taskId = rounds.computeIfAbsent(round, r -> {
+                    Task task = slottedTask(elderly.get((int) (r % elderly.size())).getUserId(),
+                                            slots.getAndIncrement());
+                    DatabaseManager.createTask(task);
+                    return task.getTaskId();
+                });
+                rounds.remove(round - 64);
+                int volunteerId = volunteers.get(thread % volunteers.size()).getUserId();
+                TransitionResult result = DatabaseManager.transitionTask(taskId, TaskTransition.assign(volunteerId));
+                assign.count(result.name());
+                return result;
+            };
+            list.add(assign);
+            
+            // Full lifecycle: create, accept, volunteer confirms, elderly confirms
+            Benchmark confirm = new Benchmark("confirmFlow", THREADS, null);
+            confirm.operation = (thread, i) -> {
+                User requester = elderly.get(thread % elderly.size());
+                User volunteer = volunteers.get(thread % volunteers.size());
+                Task task = newTask(requester.getUserId(), i);
+                DatabaseManager.createTask(task);
+                boolean completed = DatabaseManager.assignTask(task.getTaskId(), volunteer.getUserId()) &&
+                    DatabaseManager.volunteerConfirmTask(task.getTaskId(), volunteer.getUserId()) &&
+                    DatabaseManager.elderlyConfirmTask(task.getTaskId(), requester.getUserId());
+                confirm.count(completed ? "completed" : "failed");
+                return completed;
+            };
+            list.add(confirm);
+            
+            return list;
+        }
+    }
+    
+    // ==================== HARNESS ====================
+    
+    // Benchmark, Result and writeJson are package-private so SelfTest can check them
+    static final class Benchmark {
+        final String name;
+        final int threads;
+        Operation operation;
+        final AtomicLong sequence = new AtomicLong();
+        // Outcome counters reported as secondary metrics (measurement iterations only)
+        final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        volatile boolean measuring;
+        
+        Benchmark(String name, int threads, Operation operation) {
+            this.name = name;
+            this.threads = threads;
+            this.operation = operation;
+        }
+        
+        void count(String outcome) {
+            if (measuring) {
+                counters.computeIfAbsent(outcome, k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+    
+    static final class Result {
+        final Benchmark benchmark;
+        final double[] opsPerSecond;
+        final long errors;
+        
+        Result(Benchmark benchmark, double[] opsPerSecond, long errors) {
+            this.benchmark = benchmark;
+            this.opsPerSecond = opsPerSecond;
+            this.errors = errors;
+        }
+        
+        double mean() {
+            double sum = 0;
+            for (double value : opsPerSecond) {
+                sum += value;
+            }
+            return opsPerSecond.length == 0 ? 0 : sum / opsPerSecond.length;
+        }
+        
+        double stddev() {
+            if (opsPerSecond.length < 2) {
+                return 0;
+            }
+            double mean = mean();
+            double sum = 0;
+            for (double value : opsPerSecond) {
+                sum += (value - mean) * (value - mean);
+            }
+            return Math.sqrt(sum / (opsPerSecond.length - 1));
+        }
+    }
+    
+    private static Result run(Benchmark benchmark) throws InterruptedException {
+        System.out.println("# " + benchmark.name + " (" + benchmark.threads + " thread" +
+                           (benchmark.threads == 1 ? "" : "s") + ")");
+        for (int i = 1; i <= WARMUP_ITERATIONS; i++) {
+            double score = runIteration(benchmark, new AtomicLong());
+            System.out.printf("  warmup %d: %,.1f ops/s%n", i, score);
+        }
+        
+        benchmark.measuring = true;
+        double[] scores = new double[ITERATIONS];
+        AtomicLong errors = new AtomicLong();
+        for (int i = 0; i < ITERATIONS; i++) {
+            scores[i] = runIteration(benchmark, errors);
+            System.out.printf("  iteration %d: %,.1f ops/s%n", i + 1, scores[i]);
+        }
+        benchmark.measuring = false;
+        
+        Result result = new Result(benchmark, scores, errors.get());
+        System.out.printf("  result: %,.1f +- %,.1f ops/s, %d errors %s%n",
+                          result.mean(), result.stddev(), result.errors, new TreeMap<>(benchmark.counters));
+        return result;
+    }
+    
+    /**
+     * Run the operation on all threads for ITERATION_MS; returns total operations per second
+     */
+    private static double runIteration(Benchmark benchmark, AtomicLong errors) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong operations = new AtomicLong();
+        AtomicLong elapsedNanos = new AtomicLong();
+        Thread[] workers = new Thread[benchmark.threads];
+        
+        for (int t = 0; t < workers.length; t++) {
+            final int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long begin = System.nanoTime();
+                long end = begin + ITERATION_MS * 1000000L;
+                long count = 0;
+                int local = 0;
+                long now;
+                do {
+                    try {
+                        Object value = benchmark.operation.run(thread, benchmark.sequence.getAndIncrement());
+                        local += value != null ? value.hashCode() : 0;
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    count++;
+                    now = System.nanoTime();
+                } while (now < end);
+                sink += local;
+                operations.addAndGet(count);
+                elapsedNanos.addAndGet(now - begin);
+            }, "bench-" + benchmark.name + "-" + t);
+            workers[t].start();
+        }
+        
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Each thread's own rate, summed
+        double averageSeconds = elapsedNanos.get() / 1e9 / workers.length;
+        return operations.get() / averageSeconds;
+    }
+    
+    // ==================== OUTPUT ====================
+    
+    static void writeJson(List<Result> results, String path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8))) {
+            out.println("[");
+            for (int r = 0; r < results.size(); r++) {
+                Result result = results.get(r);
+                Benchmark benchmark = result.benchmark;
+                out.println("    {");
+                out.println("        \"benchmark\" : \"" + benchmark.name + "\",");
+                out.println("        \"mode\" : \"thrpt\",");
+                out.println("        \"threads\" : " + benchmark.threads + ",");
+                out.println("        \"jdkVersion\" : \"" + System.getProperty("java.version") + "\",");
+                out.println("        \"warmupIterations\" : " + WARMUP_ITERATIONS + ",");
+                out.println("        \"measurementIterations\" : " + ITERATIONS + ",");
+                out.println("        \"measurementTime\" : \"" + ITERATION_MS + " ms\",");
+                out.println("        \"params\" : {");
+                out.println("            \"backend\" : \"" + System.getProperty("db.backend") + "\",");
+                out.println("            \"users\" : \"" + USERS + "\",");
+                out.println("            \"tasks\" : \"" + TASKS + "\"");
+                out.println("        },");
+                out.println("        \"primaryMetric\" : {");
+                out.println("            \"score\" : " + result.mean() + ",");
+                out.println("            \"scoreError\" : " + result.stddev() + ",");
+                out.println("            \"scoreUnit\" : \"ops/s\",");
+                StringBuilder raw = new StringBuilder();
+                for (int i = 0; i < result.opsPerSecond.length; i++) {
+                    raw.append(i == 0 ? "" : ", ").append(result.opsPerSecond[i]);
+                }
+                out.println("            \"rawData\" : [ [ " + raw + " ] ]");
+                out.println("        },");
+                out.println("        \"secondaryMetrics\" : {");
+                Map<String, Long> secondary = new TreeMap<>();
+                secondary.put("errors", result.errors);
+                for (Map.Entry<String, AtomicLong> counter : benchmark.counters.entrySet()) {
+                    secondary.put(counter.getKey(), counter.getValue().get());
+                }
+                int m = 0;
+                for (Map.Entry<String, Long> metric : secondary.entrySet()) {
+                    out.println("            \"" + metric.getKey() + "\" : { \"score\" : " + metric.getValue() +
+                                ", \"scoreUnit\" : \"#\" }" + (++m < secondary.size() ? "," : ""));
+                }
+                out.println("        }");
+                out.println("    }" + (r < results.size() - 1 ? "," : ""));
+            }
+            out.println("]");
+        }
+    }
+}
@@ -0,0 +1,782 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool keeps a bounded set of open JDBC connections for DatabaseManager
+ * Connections handed out are returned to the pool when closed, so callers keep
+ * using try-with-resources exactly as they would with DriverManager
+ *
+ * Each connection also keeps its most recently used prepared statements open, keyed by SQL;
+ * closing a statement handed out from that cache returns it for the next prepare of the same SQL
+ */
+public class ConnectionPool {
+    // Skip the validation ping for connections that were in use very recently
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30000;
+    
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final long leakDetectionMillis;
+    private final int statementCacheSize;
+    
+    // Idle connections, most recently used first
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown = false;
+    
+    // Told about every executed statement (see addQueryListener)
+    private final List<QueryListener> queryListeners = new CopyOnWriteArrayList<>();
+    
+    // Metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementCacheEvictions = new AtomicLong();
+    
+    /**
+     * statementCacheSize is the number of prepared statements kept open per connection (0 disables it)
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long idleTimeoutMillis, long borrowTimeoutMillis, long leakDetectionMillis,
+                          int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakDetectionMillis = leakDetectionMillis;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.permits = new Semaphore(maxSize, true);
+        
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_INTERVAL_MILLIS,
+            HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Borrow a connection, waiting up to the borrow timeout when the pool is exhausted
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+        
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis +
+                                       " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = createConnection();
+            }
+            recordWait(System.nanoTime() - start);
+            
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = leakDetectionMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Report every statement executed on connections borrowed from now on
+     */
+    public void addQueryListener(QueryListener queryListener) {
+        queryListeners.add(queryListener);
+    }
+    
+    /**
+     * Open connections up to the configured minimum so the first queries skip the handshake
+     */
+    public void warmUp() throws SQLException {
+        while (totalConnections.get() < minSize) {
+            PooledConnection pooled = createConnection();
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offerLast(pooled);
+        }
+    }
+    
+    /**
+     * Close every idle connection and refuse new borrows
+     * Borrowed connections are closed as they are returned
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+    
+    /**
+     * Snapshot of the pool metrics
+     */
+    public Stats getStats() {
+        long borrows = borrowCount.get();
+        return new Stats(
+            borrowed.size(),
+            idle.size(),
+            totalConnections.get(),
+            maxSize,
+            permits.getQueueLength(),
+            borrows,
+            borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1000000.0,
+            maxWaitNanos.get() / 1000000.0,
+            timeoutCount.get(),
+            createdCount.get(),
+            evictedCount.get(),
+            leakCount.get(),
+            statementCacheHits.get(),
+            statementCacheMisses.get(),
+            statementCacheEvictions.get()
+        );
+    }
+    
+    // Take the most recently used idle connection that still passes validation
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isValid(pooled)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        
+        // No idle connection; if the pool is already at its maximum, one is being returned
+        long deadline = System.currentTimeMillis() + borrowTimeoutMillis;
+        while (totalConnections.get() >= maxSize && System.currentTimeMillis() < deadline) {
+            try {
+                pooled = idle.pollFirst(50, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (pooled != null) {
+                if (isValid(pooled)) {
+                    return pooled;
+                }
+                discard(pooled);
+            }
+        }
+        return null;
+    }
+    
+    private boolean isValid(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsed < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    private PooledConnection createConnection() throws SQLException {
+        // Reserve a slot first so concurrent creators never exceed the maximum
+        int current;
+        do {
+            current = totalConnections.get();
+            if (current >= maxSize) {
+                throw new SQLException("Connection pool exhausted (max " + maxSize + ")");
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+        
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            createdCount.incrementAndGet();
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+    
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        boolean reusable = false;
+        if (pooled.statements != null) {
+            pooled.statements.reclaim();
+        }
+        
+        if (!shutdown && !pooled.broken) {
+            try {
+                if (!pooled.physical.isClosed()) {
+                    // Undo anything a caller left behind before the next borrower sees it
+                    if (!pooled.physical.getAutoCommit()) {
+                        pooled.physical.rollback();
+                        pooled.physical.setAutoCommit(true);
+                    }
+                    reusable = true;
+                }
+            } catch (SQLException e) {
+                System.err.println("Discarding pooled connection: " + e.getMessage());
+            }
+        }
+        
+        if (reusable) {
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } else {
+            discard(pooled);
+        }
+        permits.release();
+    }
+    
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Already unusable, nothing else to do
+        }
+    }
+    
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        long max;
+        while (waitNanos > (max = maxWaitNanos.get())) {
+            if (maxWaitNanos.compareAndSet(max, waitNanos)) {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Evict idle connections past the idle timeout, top the pool back up
+     * to its minimum and report connections held longer than the leak threshold
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        
+        // Oldest idle connections sit at the tail
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minSize) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastUsed > idleTimeoutMillis && idle.remove(pooled)) {
+                evictedCount.incrementAndGet();
+                discard(pooled);
+            }
+        }
+        
+        try {
+            warmUp();
+        } catch (SQLException e) {
+            System.err.println("Error refilling connection pool: " + e.getMessage());
+        }
+        
+        if (leakDetectionMillis > 0) {
+            for (PooledConnection pooled : borrowed) {
+                if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionMillis) {
+                    pooled.leakReported = true;
+                    leakCount.incrementAndGet();
+                    System.err.println("Possible connection leak: connection held for " +
+                                       (now - pooled.borrowedAt) + " ms");
+                    if (pooled.borrowSite != null) {
+                        pooled.borrowSite.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * A physical connection plus its bookkeeping
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long lastUsed = System.currentTimeMillis();
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+        volatile boolean broken;
+        // Only touched by the borrowing thread; handing the connection over publishes it
+        final StatementCache statements;
+        
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0 ? new StatementCache() : null;
+        }
+        
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle(this));
+        }
+    }
+    
+    /**
+     * The Connection given to callers; close() hands the physical connection back
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private volatile boolean closed = false;
+        
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                Object result;
+                if (name.equals("prepareStatement") && pooled.statements != null && isCacheable(args)) {
+                    result = pooled.statements.prepare(pooled.physical, args);
+                } else {
+                    result = method.invoke(pooled.physical, args);
+                }
+                if (!queryListeners.isEmpty() && result instanceof Statement) {
+                    result = traced((Statement) result, name.startsWith("prepare") ? (String) args[0] : null,
+                                    queryListeners);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQLState class 08 means the connection itself is gone
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+    
+    // Only prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached
+    private static boolean isCacheable(Object[] args) {
+        return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+    }
+    
+    /**
+     * Prepared statements of one physical connection, least recently used first
+     */
+    private final class StatementCache extends LinkedHashMap<String, CachedStatement> {
+        private static final long serialVersionUID = 1L;
+        
+        StatementCache() {
+            super(16, 0.75f, true);
+        }
+        
+        PreparedStatement prepare(Connection physical, Object[] args) throws SQLException {
+            String sql = (String) args[0];
+            String key = args.length == 1 ? sql : args[1] + ":" + sql;
+            CachedStatement cached = get(key);
+            if (cached != null && cached.handle == null) {
+                statementCacheHits.incrementAndGet();
+                return cached.checkOut();
+            }
+            
+            statementCacheMisses.incrementAndGet();
+            PreparedStatement statement = args.length == 1 ? physical.prepareStatement(sql)
+                                                           : physical.prepareStatement(sql, (Integer) args[1]);
+            if (cached != null) {
+                // The caller already has this SQL open on this connection; the second copy is not cached
+                return statement;
+            }
+            cached = new CachedStatement(this, key, statement);
+            put(key, cached);
+            return cached.checkOut();
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+            if (size() <= statementCacheSize) {
+                return false;
+            }
+            statementCacheEvictions.incrementAndGet();
+            eldest.getValue().evict();
+            return true;
+        }
+        
+        /**
+         * Take back statements the borrower left open before the connection goes to someone else
+         */
+        void reclaim() {
+            for (CachedStatement cached : new ArrayList<>(values())) {
+                StatementHandle handle = cached.handle;
+                if (handle != null) {
+                    handle.close();
+                }
+            }
+        }
+    }
+    
+    /**
+     * One cached physical statement; handle is the caller currently using it, if any
+     */
+    private static final class CachedStatement {
+        final StatementCache cache;
+        final String key;
+        final PreparedStatement physical;
+        StatementHandle handle;
+        boolean evicted;
+        
+        CachedStatement(StatementCache cache, String key, PreparedStatement physical) {
+            this.cache = cache;
+            this.key = key;
+            this.physical = physical;
+        }
+        
+        PreparedStatement checkOut() {
+            handle = new StatementHandle(this);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                handle);
+        }
+        
+        void checkIn() {
+            handle = null;
+            if (!evicted) {
+                try {
+                    physical.clearParameters();
+                    physical.clearBatch();
+                    physical.clearWarnings();
+                    return;
+                } catch (SQLException e) {
+                    cache.remove(key);
+                }
+            }
+            closeQuietly();
+        }
+        
+        void evict() {
+            evicted = true;
+            if (handle == null) {
+                closeQuietly();
+            }
+        }
+        
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                // Closed along with its connection at the latest
+            }
+        }
+    }
+    
+    /**
+     * The PreparedStatement given to callers from the cache; close() hands it back
+     */
+    private static final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private boolean closed = false;
+        
+        StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+        
+        void close() {
+            if (!closed) {
+                closed = true;
+                // The physical statement stays open, so the driver would keep its last results
+                for (ResultSet rs : resultSets) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        // Closed with the statement at the latest
+                    }
+                }
+                resultSets.clear();
+                cached.checkIn();
+            }
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                Object result = method.invoke(cached.physical, args);
+                if (result instanceof ResultSet) {
+                    resultSets.add((ResultSet) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+    
+    private static Statement traced(Statement statement, String sql, List<QueryListener> listeners) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                      : statement instanceof PreparedStatement ? PreparedStatement.class
+                      : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[]{type},
+            new TracedStatement(statement, sql, listeners));
+    }
+    
+    /**
+     * Receives the SQL template, bound parameters and duration of each executed statement
+     */
+    public interface QueryListener {
+        /**
+         * parameters maps 1-based positions to bound values (for a batch, those of the last row);
+         * batchSize is 0 unless executeBatch ran; error is null when the statement succeeded
+         */
+        void queryExecuted(String sql, Map<Integer, Object> parameters, int batchSize, long nanos, SQLException error);
+    }
+    
+    /**
+     * A Statement given to callers while there are QueryListeners; records bound
+     * parameters and times each execute call
+     */
+    private static final class TracedStatement implements InvocationHandler {
+        private final Statement statement;
+        private final List<QueryListener> listeners;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private String sql;
+        private int batchSize;
+        
+        TracedStatement(Statement statement, String sql, List<QueryListener> listeners) {
+            this.statement = statement;
+            this.sql = sql;
+            this.listeners = listeners;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getDeclaringClass() != Statement.class) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean batch = method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch");
+            String executed = args != null && args.length >= 1 && args[0] instanceof String ? (String) args[0] : sql;
+            SQLException error = null;
+            long start = System.nanoTime();
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    error = (SQLException) e.getCause();
+                }
+                throw e.getCause();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                Map<Integer, Object> bound = Collections.unmodifiableMap(parameters);
+                for (QueryListener listener : listeners) {
+                    try {
+                        listener.queryExecuted(executed != null ? executed : "(unknown)", bound,
+                                               batch ? batchSize : 0, elapsed, error);
+                    } catch (RuntimeException e) {
+                        System.err.println("Query listener failed: " + e.getMessage());
+                    }
+                }
+                if (batch) {
+                    batchSize = 0;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Point-in-time pool metrics
+     */
+    public static class Stats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int maxSize;
+        private final int waitingThreads;
+        private final long borrowCount;
+        private final double averageWaitMillis;
+        private final double maxWaitMillis;
+        private final long timeouts;
+        private final long created;
+        private final long evicted;
+        private final long leaks;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+        private final long statementCacheEvictions;
+        
+        Stats(int active, int idle, int total, int maxSize, int waitingThreads, long borrowCount,
+              double averageWaitMillis, double maxWaitMillis, long timeouts, long created,
+              long evicted, long leaks, long statementCacheHits, long statementCacheMisses,
+              long statementCacheEvictions) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.maxSize = maxSize;
+            this.waitingThreads = waitingThreads;
+            this.borrowCount = borrowCount;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.evicted = evicted;
+            this.leaks = leaks;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+            this.statementCacheEvictions = statementCacheEvictions;
+        }
+        
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getMaxSize() { return maxSize; }
+        public int getWaitingThreads() { return waitingThreads; }
+        public long getBorrowCount() { return borrowCount; }
+        public double getAverageWaitMillis() { return averageWaitMillis; }
+        public double getMaxWaitMillis() { return maxWaitMillis; }
+        public long getTimeouts() { return timeouts; }
+        public long getCreated() { return created; }
+        public long getEvicted() { return evicted; }
+        public long getLeaks() { return leaks; }
+        public long getStatementCacheHits() { return statementCacheHits; }
+        public long getStatementCacheMisses() { return statementCacheMisses; }
+        public long getStatementCacheEvictions() { return statementCacheEvictions; }
+        
+        public double getStatementCacheHitRate() {
+            long lookups = statementCacheHits + statementCacheMisses;
+            return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Pool[active=%d, idle=%d, total=%d/%d, waiting=%d, borrows=%d, " +
+                                 "avgWait=%.2f ms, maxWait=%.2f ms, timeouts=%d, created=%d, evicted=%d, leaks=%d, " +
+                                 "stmtCache=%d hits/%d misses/%d evictions]",
+                active, idle, total, maxSize, waitingThreads, borrowCount, averageWaitMillis,
+                maxWaitMillis, timeouts, created, evicted, leaks, statementCacheHits,
+                statementCacheMisses, statementCacheEvictions);
+        }
+    }
+}
@@ -1,35 +1,280 @@
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
- * DatabaseManager handles all database operations using JDBC
- * Connects to MySQL database and provides methods for user and task management
+ * DatabaseManager is the entry point for all data operations
+ * It stores data through a Repository (MySQL by default, or in memory with -Ddb.backend=memory)
+ * and keeps the name cache, dashboard counters, leaderboard and history buffer on top of it
  */
 public class DatabaseManager {
-    // Database connection details
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/volunteer_app";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "root";
+    // Storage backend: "mysql" (default) or "memory"
+    private static final String BACKEND = System.getProperty("db.backend", "mysql");
+    
+    // The in-memory backend starts with the schema.sql sample data (disable with -Ddb.memory.sampleData=false)
+    private static final boolean MEMORY_SAMPLE_DATA =
+        Boolean.parseBoolean(System.getProperty("db.memory.sampleData", "true"));
+    
+    // Rows per page for the paginated listings (override with -Ddb.pageSize=...)
+    public static final int DEFAULT_PAGE_SIZE = Integer.getInteger("db.pageSize", 50);
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    // Entries shown in the admin activity log
+    private static final int HISTORY_LOG_SIZE = 100;
+    
+    // Order of merged live and archived task lists
+    private static final Comparator<Task> BY_SCHEDULED_DATE =
+        Comparator.comparing(Task::getScheduledDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
+    // Display names rarely change, so keep them in memory (override with -Dcache.userNames.*)
+    private static final UserNameCache nameCache = new UserNameCache(
+        Integer.getInteger("cache.userNames.maxSize", 1000),
+        Long.getLong("cache.userNames.ttlMs", 600000L));
+    
+    // Per-operation latency and the slow-query log (override with -Ddb.metrics.* and -Ddb.slowQuery*)
+    private static final boolean METRICS_ENABLED =
+        Boolean.parseBoolean(System.getProperty("db.metrics.enabled", "true"));
+    private static final QueryMetrics queryMetrics = new QueryMetrics(
+        Long.getLong("db.slowQueryMs", 200L),
+        Integer.getInteger("db.slowQueryLog.size", 100),
+        Boolean.parseBoolean(System.getProperty("db.slowQueryLog.params", "true")));
+    
+    // The storage itself, and the (instrumented) view of it every operation goes through
+    private static final Repository storage;
+    private static final Repository repository;
+    
+    // History writes are batched in the background (override with -Ddb.history.*)
+    private static final int HISTORY_BUFFER_CAPACITY = Integer.getInteger("db.history.bufferCapacity", 10000);
+    private static final int HISTORY_BATCH_SIZE = Integer.getInteger("db.history.batchSize", 100);
+    private static final long HISTORY_FLUSH_INTERVAL_MS = Long.getLong("db.history.flushIntervalMs", 200L);
+    private static final long HISTORY_SHUTDOWN_TIMEOUT_MS = 5000;
+    
+    private static final TaskHistoryAppender historyAppender;
+    
+    // Dashboard counters, kept up to date by the write methods and reloaded periodically
+    private static final long STATS_RECONCILE_INTERVAL_MS = Long.getLong("stats.reconcileIntervalMs", 60000L);
+    private static final SystemStats systemStats = new SystemStats();
+    
+    // Every volunteer's points in rank order, updated on each award and reloaded periodically
+    private static final long LEADERBOARD_RESYNC_INTERVAL_MS = Long.getLong("leaderboard.resyncIntervalMs", 300000L);
+    private static final Leaderboard leaderboard = new Leaderboard();
+    
+    // Finished tasks scheduled more than ARCHIVE_AFTER_DAYS ago move to the archive tables
+    // (override with -Ddb.archive.*; afterDays=0 turns archiving off)
+    private static final int ARCHIVE_AFTER_DAYS = Integer.getInteger("db.archive.afterDays", 90);
+    private static final int ARCHIVE_BATCH_SIZE = Integer.getInteger("db.archive.batchSize", 500);
+    private static final long ARCHIVE_INTERVAL_MS = Long.getLong("db.archive.intervalMs", 3600000L);
+    
+    // Task and user locations are placed on the map through an offline gazetteer
+    // (override with -Dgeo.gazetteerFile=... and -Dgeo.maxRadiusKm=...)
+    private static final Gazetteer gazetteer = Gazetteer.load(
+        Paths.get(System.getProperty("geo.gazetteerFile", "src/main/resources/geo/gazetteer.csv")));
+    private static final double GEO_MAX_RADIUS_KM =
+        Double.parseDouble(System.getProperty("geo.maxRadiusKm", "50"));
+    private static final int GEO_MAPPING_BATCH_SIZE = 500;
+    
+    // Each volunteer's best-matching available tasks, kept up to date as tasks change
+    // (override with -Dmatch.*; the batch run scores every volunteer at match.batchHour each
+    // night on match.batchThreads threads, and a negative hour turns it off)
+    private static final int SUGGESTION_COUNT = Integer.getInteger("match.suggestions", 20);
+    private static final long SUGGESTION_TTL_MS = Long.getLong("match.cacheTtlMs", 86400000L);
+    private static final int SUGGESTION_BATCH_HOUR = Integer.getInteger("match.batchHour", 2);
+    private static final int SUGGESTION_BATCH_THREADS =
+        Integer.getInteger("match.batchThreads", Runtime.getRuntime().availableProcessors());
+    // New tasks fetched per read; more than this waiting rebuilds every list instead
+    private static final int SUGGESTION_CATCH_UP_LIMIT = 500;
+    private static final TaskSuggestions suggestions = new TaskSuggestions(SUGGESTION_COUNT, SUGGESTION_TTL_MS);
+    
+    // Each volunteer's active tasks as an interval tree, checked whenever they accept a task
+    // (override with -Dschedule.*; a schedule is read again after schedule.cacheTtlMs to pick up
+    // tasks assigned through other clients, and free time is looked for between dayStart and dayEnd)
+    private static final long SCHEDULE_TTL_MS = Long.getLong("schedule.cacheTtlMs", 600000L);
+    private static final LocalTime SCHEDULE_DAY_START = LocalTime.parse(System.getProperty("schedule.dayStart", "08:00"));
+    private static final LocalTime SCHEDULE_DAY_END = LocalTime.parse(System.getProperty("schedule.dayEnd", "20:00"));
+    private static final int SCHEDULE_MIN_SLOT_MINUTES = Integer.getInteger("schedule.minSlotMinutes", 30);
+    private static final int SCHEDULE_RELOAD_ATTEMPTS = 3;
+    private static final Map<Integer, VolunteerSchedule> schedules = new ConcurrentHashMap<>();
+    
+    // Task lists are refreshed with only the tasks changed since the client last read them
+    // (override with -Ddb.sync.*; each read goes overlapMs back before the watermark, to cover
+    // whole-second updated_at values and transactions still committing; more than maxChanges
+    // changes, or a watermark older than the tombstones kept, loads the list in full)
+    private static final long SYNC_OVERLAP_MS = Long.getLong("db.sync.overlapMs", 5000L);
+    private static final int SYNC_MAX_CHANGES = Integer.getInteger("db.sync.maxChanges", 500);
+    private static final long SYNC_TOMBSTONE_RETENTION_MS =
+        Long.getLong("db.sync.tombstoneRetentionMs", TimeUnit.DAYS.toMillis(7));
+    private static final int SYNC_PRUNE_BATCH_SIZE = 1000;
+    
+    // Runs the periodic stats reconcile and leaderboard resync, plus (with db.maintenance.enabled)
+    // archiving, tombstone pruning, the suggestion batch and the startup position mapping
+    private static final ScheduledExecutorService maintenance;
+    
+    // The shared-database jobs run in one process only (an admin or server instance started with
+    // -Ddb.maintenance.enabled=true); every GUI, benchmark or load run repeating them would compete.
+    // The in-memory backend's data belongs to its process, so it places its sample tasks regardless.
+    private static final boolean MAINTENANCE_ENABLED = Boolean.getBoolean("db.maintenance.enabled");
     
-    // Load MySQL JDBC driver
     static {
+        storage = createRepository(BACKEND);
+        repository = METRICS_ENABLED ? queryMetrics.instrument(storage) : storage;
+        if (METRICS_ENABLED) {
+            registerMetricsBean();
+        }
+        historyAppender = new TaskHistoryAppender(repository::writeTaskHistory, HISTORY_BUFFER_CAPACITY,
+                                                  HISTORY_BATCH_SIZE, HISTORY_FLUSH_INTERVAL_MS);
+        
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(() -> {
+            // Only clients that have shown the dashboard need the counters corrected
+            if (systemStats.getReconciledAt() > 0) {
+                reconcileSystemStats();
+            }
+        }, STATS_RECONCILE_INTERVAL_MS, STATS_RECONCILE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(() -> {
+            // Picks up points changed by other clients
+            if (leaderboard.isLoaded()) {
+                reloadLeaderboard();
+            }
+        }, LEADERBOARD_RESYNC_INTERVAL_MS, LEADERBOARD_RESYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (MAINTENANCE_ENABLED && ARCHIVE_AFTER_DAYS > 0) {
+            maintenance.scheduleWithFixedDelay(DatabaseManager::archiveFinishedTasks,
+                                               ARCHIVE_INTERVAL_MS, ARCHIVE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        if (MAINTENANCE_ENABLED) {
+            maintenance.scheduleWithFixedDelay(DatabaseManager::pruneTaskTombstones, 1, 1, TimeUnit.HOURS);
+        }
+        if ((MAINTENANCE_ENABLED || storage instanceof InMemoryRepository) && gazetteer.size() > 0) {
+            // Tasks created before positions were stored, or by clients without the gazetteer
+            maintenance.execute(DatabaseManager::mapTaskPositions);
+        }
+        if (MAINTENANCE_ENABLED && SUGGESTION_BATCH_HOUR >= 0) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime next = now.toLocalDate().atTime(SUGGESTION_BATCH_HOUR % 24, 0);
+            if (!next.isAfter(now)) {
+                next = next.plusDays(1);
+            }
+            maintenance.scheduleAtFixedRate(DatabaseManager::runSuggestionBatch, Duration.between(now, next).toMillis(),
+                                            TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(DatabaseManager::shutdown, "db-shutdown"));
+    }
+    
+    private static Repository createRepository(String backend) {
+        switch (backend) {
+            case "mysql":
+                return new MySqlRepository(nameCache, METRICS_ENABLED ? queryMetrics : null);
+            case "memory":
+                InMemoryRepository memory = new InMemoryRepository();
+                if (MEMORY_SAMPLE_DATA) {
+                    memory.loadSampleData();
+                }
+                return memory;
+            default:
+                throw new IllegalArgumentException("Unknown db.backend: " + backend + " (expected mysql or memory)");
+        }
+    }
+    
+    private static void registerMetricsBean() {
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            System.err.println("MySQL JDBC Driver not found!");
-            e.printStackTrace();
+            ManagementFactory.getPlatformMBeanServer().registerMBean(queryMetrics,
+                new ObjectName("VolunteerApp:type=QueryMetrics"));
+        } catch (JMException e) {
+            System.err.println("Could not register query metrics with JMX: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Write out buffered history, then close the repository (runs from the shutdown hook)
+     */
+    public static void shutdown() {
+        maintenance.shutdownNow();
+        historyAppender.close(HISTORY_SHUTDOWN_TIMEOUT_MS);
+        repository.shutdown();
+    }
+    
+    /**
+     * Get the storage backend in use (calls made on it directly are not timed)
+     */
+    public static Repository getRepository() {
+        return storage;
+    }
+    
+    /**
+     * Get connection pool metrics (active, idle, wait time); null for the in-memory backend
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return storage instanceof MySqlRepository ? ((MySqlRepository) storage).getPoolStats() : null;
+    }
+    
+    /**
+     * Get per-operation call counts, errors and latency plus the slow-query log
+     */
+    public static QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
+    
+    /**
+     * EXPLAIN every query template executed so far; empty for the in-memory backend
+     */
+    public static List<IndexAdvisor.Finding> explainQueries() {
+        return storage instanceof MySqlRepository ? ((MySqlRepository) storage).explainQueries() : new ArrayList<>();
+    }
+    
+    /**
+     * Get the EXPLAIN report of the executed query templates as text (for admin panel)
+     */
+    public static String getIndexReport() {
+        if (!(storage instanceof MySqlRepository)) {
+            return "Query plans are only available with the MySQL backend\n";
         }
+        return IndexAdvisor.format(explainQueries());
     }
     
-    // Get database connection
-    private static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+    /**
+     * Get the per-operation latency table and slow-query log as text (for admin panel)
+     */
+    public static String getQueryMetricsReport() {
+        if (!METRICS_ENABLED) {
+            return "Query metrics are disabled (-Ddb.metrics.enabled=false)\n";
+        }
+        return queryMetrics.format();
+    }
+    
+    /**
+     * Test database connection
+     */
+    public static boolean testConnection() {
+        return repository.testConnection();
     }
     
     
@@ -37,132 +282,60 @@ public class DatabaseManager {
      * Register a new user (elderly or volunteer)
      */
     public static boolean registerUser(User user) {
-        String sql = "INSERT INTO users (username, password, email, first_name, last_name, " +
-                     "phone_number, role) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPassword());
-            stmt.setString(3, user.getEmail());
-            stmt.setString(4, user.getFirstName());
-            stmt.setString(5, user.getLastName());
-            stmt.setString(6, user.getPhoneNumber());
-            stmt.setString(7, user.getRole()); // "ELDERLY" or "VOLUNTEER"
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                // Get the generated user ID
-                ResultSet rs = stmt.getGeneratedKeys();
-                if (rs.next()) {
-                    user.setUserId(rs.getInt(1));
-                    
-                    // Create user_points entry for volunteers
-                    if (user.getRole().equals("VOLUNTEER")) {
-                        createUserPoints(user.getUserId());
-                    }
-                }
-                return true;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error registering user: " + e.getMessage());
+        if (!repository.registerUser(user)) {
+            return false;
         }
-        return false;
+        nameCache.invalidate(user.getUserId());
+        systemStats.userRegistered(user.getRole());
+        if (user.getRole().equals("VOLUNTEER")) {
+            leaderboard.addVolunteer(user);
+        }
+        return true;
     }
     
     /**
      * Authenticate user login
      */
     public static User loginUser(String username, String password) {
-        String sql = "SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, " +
-                     "u.phone_number, u.role, COALESCE(up.points, 0) as points, " +
-                     "COALESCE(up.tasks_completed, 0) as tasks_completed " +
-                     "FROM users u " +
-                     "LEFT JOIN user_points up ON u.user_id = up.user_id " +
-                     "WHERE u.username = ? AND u.password = ? AND u.is_active = TRUE";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            stmt.setString(2, password);
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return new User(
-                    rs.getInt("user_id"),
-                    rs.getString("username"),
-                    rs.getString("email"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name"),
-                    rs.getString("phone_number"),
-                    rs.getString("role"),
-                    rs.getInt("points"),
-                    rs.getInt("tasks_completed")
-                );
-            }
-        } catch (SQLException e) {
-            System.err.println("Error logging in: " + e.getMessage());
+        return repository.loginUser(username, password);
+    }
+    
+    /**
+     * Get leaderboard (top volunteers by points)
+     * Served from the in-memory leaderboard, loaded on first use
+     */
+    public static List<User> getLeaderboard(int limit) {
+        if (!leaderboard.isLoaded()) {
+            reloadLeaderboard();
         }
-        return null;
+        return leaderboard.top(limit);
     }
     
     /**
-     * Create user_points entry for a new volunteer
+     * Get a volunteer's 1-based leaderboard rank (0 if not ranked)
      */
-    private static void createUserPoints(int userId) {
-        String sql = "INSERT INTO user_points (user_id, points, level, user_rank, tasks_completed) " +
-                     "VALUES (?, 0, 1, 'Newcomer', 0)";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error creating user points: " + e.getMessage());
+    public static int getVolunteerRank(int userId) {
+        if (!leaderboard.isLoaded()) {
+            reloadLeaderboard();
         }
+        return leaderboard.rankOf(userId);
     }
     
     /**
-     * Get leaderboard (top volunteers by points)
+     * Get the number of volunteers on the leaderboard
      */
-    public static List<User> getLeaderboard(int limit) {
-        List<User> leaderboard = new ArrayList<>();
-        String sql = "SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, " +
-                     "u.phone_number, u.role, up.points, up.tasks_completed " +
-                     "FROM users u " +
-                     "JOIN user_points up ON u.user_id = up.user_id " +
-                     "WHERE u.role = 'VOLUNTEER' " +
-                     "ORDER BY up.points DESC, up.tasks_completed DESC " +
-                     "LIMIT ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, limit);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                leaderboard.add(new User(
-                    rs.getInt("user_id"),
-                    rs.getString("username"),
-                    rs.getString("email"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name"),
-                    rs.getString("phone_number"),
-                    rs.getString("role"),
-                    rs.getInt("points"),
-                    rs.getInt("tasks_completed")
-                ));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting leaderboard: " + e.getMessage());
+    public static int getLeaderboardSize() {
+        if (!leaderboard.isLoaded()) {
+            reloadLeaderboard();
         }
-        return leaderboard;
+        return leaderboard.size();
+    }
+    
+    /**
+     * Reload every volunteer's points into the in-memory leaderboard
+     */
+    public static void reloadLeaderboard() {
+        leaderboard.load(repository.getVolunteerStandings());
     }
     
     // ==================== TASK OPERATIONS ====================
@@ -171,79 +344,57 @@ public class DatabaseManager {
      * Create a new task
      */
     public static boolean createTask(Task task) {
-        String sql = "INSERT INTO tasks (title, description, requester_id, status, location, " +
-                     "scheduled_date, scheduled_time, estimated_duration) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, task.getTitle());
-            stmt.setString(2, task.getDescription());
-            stmt.setInt(3, task.getRequesterId());
-            stmt.setString(4, task.getStatus());
-            stmt.setString(5, task.getLocation());
-            stmt.setString(6, task.getScheduledDate());
-            stmt.setString(7, task.getScheduledTime());
-            stmt.setInt(8, task.getEstimatedDuration());
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                ResultSet rs = stmt.getGeneratedKeys();
-                if (rs.next()) {
-                    int taskId = rs.getInt(1);
-                    task.setTaskId(taskId);
-                    
-                    // Add task history entry
-                    addTaskHistory(taskId, task.getRequesterId(), "CREATED", null, task.getStatus());
-                }
-                return true;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error creating task: " + e.getMessage());
+        if (task.getPosition() == null) {
+            task.setPosition(gazetteer.resolve(task.getLocation()));
         }
-        return false;
+        if (!repository.createTask(task)) {
+            return false;
+        }
+        systemStats.taskCreated(task.getStatus());
+        if ("AVAILABLE".equals(task.getStatus())) {
+            task.setRequesterName(getUserNameById(task.getRequesterId()));
+            suggestions.taskAvailable(task);
+        }
+        
+        // Add task history entry
+        addTaskHistory(task.getTaskId(), task.getRequesterId(), "CREATED", null, task.getStatus());
+        return true;
     }
     
     /**
      * Get all available tasks
      */
     public static List<Task> getAvailableTasks() {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks WHERE status = 'AVAILABLE' ORDER BY scheduled_date, scheduled_time";
-        
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                tasks.add(createTaskFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting available tasks: " + e.getMessage());
-        }
-        return tasks;
+        return repository.getAvailableTasks();
+    }
+    
+    /**
+     * Get one page of available tasks, soonest first
+     * Pass the last task of the previous page as "after" (null for the first page)
+     */
+    public static Page<Task> getAvailableTasksPage(Task after, int pageSize) {
+        return repository.getAvailableTasksPage(after, clampPageSize(pageSize));
+    }
+    
+    private static int clampPageSize(int pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
     }
     
     /**
      * Get tasks by requester (elderly user)
      */
     public static List<Task> getTasksByRequester(int requesterId) {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks WHERE requester_id = ? ORDER BY scheduled_date DESC";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, requesterId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tasks.add(createTaskFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting tasks by requester: " + e.getMessage());
+        return repository.getTasksByRequester(requesterId);
+    }
+    
+    /**
+     * Get tasks by requester, optionally followed by their archived tasks (latest scheduled first)
+     */
+    public static List<Task> getTasksByRequester(int requesterId, boolean includeArchived) {
+        List<Task> tasks = getTasksByRequester(requesterId);
+        if (includeArchived) {
+            tasks.addAll(repository.getArchivedTasksByRequester(requesterId));
+            tasks.sort(BY_SCHEDULED_DATE.reversed());
         }
         return tasks;
     }
@@ -252,241 +403,166 @@ public class DatabaseManager {
      * Get tasks assigned to a volunteer
      */
     public static List<Task> getTasksByVolunteer(int volunteerId) {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks WHERE volunteer_id = ? ORDER BY scheduled_date";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, volunteerId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tasks.add(createTaskFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting tasks by volunteer: " + e.getMessage());
+        return repository.getTasksByVolunteer(volunteerId);
+    }
+    
+    /**
+     * Get tasks assigned to a volunteer, optionally including their archived tasks (by date)
+     */
+    public static List<Task> getTasksByVolunteer(int volunteerId, boolean includeArchived) {
+        List<Task> tasks = getTasksByVolunteer(volunteerId);
+        if (includeArchived) {
+            tasks.addAll(repository.getArchivedTasksByVolunteer(volunteerId));
+            tasks.sort(BY_SCHEDULED_DATE);
         }
         return tasks;
     }
     
+    /**
+     * Search live tasks by words in their title, description or location, best match first
+     * Every word must match (as a prefix, at least 3 letters); status and the inclusive
+     * date range (yyyy-MM-dd) are optional filters (null for any)
+     */
+    public static List<Task> searchTasks(String text, String status, String fromDate, String toDate, int limit) {
+        if (TaskSearchIndex.tokenize(text).isEmpty()) {
+            return new ArrayList<>();
+        }
+        return repository.searchTasks(text, status, fromDate, toDate, clampPageSize(limit));
+    }
+    
     /**
      * Assign a task to a volunteer
      */
     public static boolean assignTask(int taskId, int volunteerId) {
-        // Get the task first to check current status and add history
-        Task task = getTaskById(taskId);
-        if (task == null || !task.getStatus().equals("AVAILABLE")) {
-            return false;
+        return transitionTask(taskId, TaskTransition.assign(volunteerId)).isApplied();
+    }
+    
+    /**
+     * Apply a task state transition atomically (status, points and history in one transaction)
+     * Returns CONFLICT if the task changed concurrently, REJECTED if the change is not allowed,
+     * and SCHEDULE_CONFLICT if a volunteer accepts a task overlapping one they already have
+     */
+    public static TransitionResult transitionTask(int taskId, TaskTransition transition) {
+        Integer assigneeId = transition.getAssigneeId();
+        if (assigneeId == null) {
+            return applyTransition(taskId, transition);
         }
         
-        String sql = "UPDATE tasks SET volunteer_id = ?, status = 'ASSIGNED' " +
-                     "WHERE task_id = ? AND status = 'AVAILABLE'";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, volunteerId);
-            stmt.setInt(2, taskId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                // Add task history entry
-                addTaskHistory(taskId, volunteerId, "ASSIGNED", "AVAILABLE", "ASSIGNED");
-                return true;
+        Task task = repository.getTaskById(taskId);
+        long[] interval = task != null && "AVAILABLE".equals(task.getStatus()) ? VolunteerSchedule.interval(task) : null;
+        if (interval == null) {
+            // Nothing to check: missing or taken tasks are refused by the transition itself
+            return applyTransition(taskId, transition);
+        }
+        // The time is reserved before the write, so two tasks accepted at once by the same
+        // volunteer cannot both take it; no lock is held during the database calls
+        VolunteerSchedule schedule = scheduleOf(assigneeId);
+        int overlap = schedule.reserve(task);
+        // The overlapping task may have been released or finished through another client, so the
+        // schedule is read again; a read that raced with another change here is tried again
+        for (int reads = 0; overlap >= 0 && reads < SCHEDULE_RELOAD_ATTEMPTS; reads++) {
+            long version = schedule.getVersion();
+            boolean loaded = schedule.load(repository.getTasksByVolunteer(assigneeId), version);
+            overlap = schedule.reserve(task);
+            if (loaded) {
+                break;
+            }
+        }
+        if (overlap >= 0) {
+            return TransitionResult.SCHEDULE_CONFLICT;
+        }
+        TransitionResult result = TransitionResult.CONFLICT;
+        try {
+            result = applyTransition(taskId, transition);
+        } finally {
+            schedule.release(taskId, result.isApplied());
+        }
+        return result;
+    }
+    
+    private static TransitionResult applyTransition(int taskId, TaskTransition transition) {
+        TransitionResult result = repository.transitionTask(taskId, transition);
+        if (result.isApplied()) {
+            systemStats.taskStatusChanged(transition.getPreviousStatus(), transition.getNewStatus());
+            if (transition.getAwardedVolunteerId() != null) {
+                leaderboard.recordCompletion(transition.getAwardedVolunteerId(), transition.getAwardedPoints());
+            }
+            updateSuggestions(taskId, transition);
+            updateSchedules(taskId, transition);
+        }
+        return result;
+    }
+    
+    // Finished, released and reassigned tasks stop taking their volunteer's time; a task made
+    // active again takes it back (accepted tasks are added by transitionTask itself)
+    private static void updateSchedules(int taskId, TaskTransition transition) {
+        Integer previous = transition.getPreviousVolunteerId();
+        Integer next = transition.getNewVolunteerId();
+        boolean wasActive = VolunteerSchedule.isActive(transition.getPreviousStatus());
+        boolean isActive = VolunteerSchedule.isActive(transition.getNewStatus());
+        if (previous != null && (!previous.equals(next) || !isActive)) {
+            VolunteerSchedule schedule = schedules.get(previous);
+            if (schedule != null) {
+                schedule.remove(taskId);
+            }
+        }
+        if (next != null && isActive && transition.getAssigneeId() == null && (!wasActive || !next.equals(previous))) {
+            VolunteerSchedule schedule = schedules.get(next);
+            Task task = schedule != null ? repository.getTaskById(taskId) : null;
+            if (task != null) {
+                schedule.add(task);
             }
-            return false;
-        } catch (SQLException e) {
-            System.err.println("Error assigning task: " + e.getMessage());
         }
-        return false;
+    }
+    
+    // A task entering or leaving AVAILABLE moves in every cached list; the volunteers whose
+    // schedule or history changed get theirs rebuilt
+    private static void updateSuggestions(int taskId, TaskTransition transition) {
+        boolean wasAvailable = "AVAILABLE".equals(transition.getPreviousStatus());
+        boolean isAvailable = "AVAILABLE".equals(transition.getNewStatus());
+        if (wasAvailable && !isAvailable) {
+            suggestions.taskUnavailable(taskId);
+        } else if (!wasAvailable && isAvailable) {
+            Task task = repository.getTaskById(taskId);
+            if (task != null) {
+                task.setRequesterName(getUserNameById(task.getRequesterId()));
+                suggestions.taskAvailable(task);
+            }
+        }
+        if (transition.getPreviousVolunteerId() != null) {
+            suggestions.invalidate(transition.getPreviousVolunteerId());
+        }
+        if (transition.getNewVolunteerId() != null) {
+            suggestions.invalidate(transition.getNewVolunteerId());
+        }
     }
     
     /**
      * Update task status
      */
     public static boolean updateTaskStatus(int taskId, String status) {
-        // Get the task first to check current status
-        Task task = getTaskById(taskId);
-        if (task == null) {
-            return false;
-        }
-        
-        String previousStatus = task.getStatus();
-        String sql = "UPDATE tasks SET status = ? WHERE task_id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, status);
-            stmt.setInt(2, taskId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            // If task completed, update volunteer points and add history
-            if (rowsAffected > 0 && status.equals("COMPLETED")) {
-                if (task.getVolunteerId() != null) {
-                    updateVolunteerPoints(task.getVolunteerId(), task.getEstimatedDuration());
-                    addTaskHistory(taskId, task.getVolunteerId(), "COMPLETED", previousStatus, status);
-                }
-            } else if (rowsAffected > 0) {
-                // Add history for other status changes
-                int changedBy = task.getVolunteerId() != null ? task.getVolunteerId() : task.getRequesterId();
-                addTaskHistory(taskId, changedBy, "STATUS_UPDATED", previousStatus, status);
-            }
-            
-            return rowsAffected > 0;
-        } catch (SQLException e) {
-            System.err.println("Error updating task status: " + e.getMessage());
-        }
-        return false;
+        return transitionTask(taskId, TaskTransition.updateStatus(status)).isApplied();
     }
     
     /**
      * Volunteer marks task as completed (requires elderly confirmation)
      */
     public static boolean volunteerConfirmTask(int taskId, int volunteerId) {
-        // Check current state
-        Task task = getTaskById(taskId);
-        if (task == null || task.getVolunteerId() == null || task.getVolunteerId() != volunteerId) {
-            return false;
-        }
-        
-        String previousStatus = task.getStatus();
-        
-        // If elderly already confirmed, mark as COMPLETED
-        if (task.isElderlyConfirmed()) {
-            String sql = "UPDATE tasks SET volunteer_confirmed = TRUE, status = 'COMPLETED' WHERE task_id = ? AND volunteer_id = ?";
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                stmt.setInt(1, taskId);
-                stmt.setInt(2, volunteerId);
-                
-                int rowsAffected = stmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    updateVolunteerPoints(volunteerId, task.getEstimatedDuration());
-                    addTaskHistory(taskId, volunteerId, "COMPLETED", previousStatus, "COMPLETED");
-                    return true;
-                }
-            } catch (SQLException e) {
-                System.err.println("Error confirming task: " + e.getMessage());
-            }
-        } else {
-            // Elderly hasn't confirmed yet, set to PENDING_ELDERLY_CONFIRMATION
-            String sql = "UPDATE tasks SET volunteer_confirmed = TRUE, status = 'PENDING_ELDERLY_CONFIRMATION' WHERE task_id = ? AND volunteer_id = ?";
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                stmt.setInt(1, taskId);
-                stmt.setInt(2, volunteerId);
-                
-                int rowsAffected = stmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    addTaskHistory(taskId, volunteerId, "VOLUNTEER_CONFIRMED", previousStatus, "PENDING_ELDERLY_CONFIRMATION");
-                    return true;
-                }
-            } catch (SQLException e) {
-                System.err.println("Error confirming task: " + e.getMessage());
-            }
-        }
-        return false;
+        return transitionTask(taskId, TaskTransition.volunteerConfirm(volunteerId)).isApplied();
     }
     
     /**
      * Elderly confirms task completion (requires volunteer confirmation)
      */
     public static boolean elderlyConfirmTask(int taskId, int requesterId) {
-        // Check current state
-        Task task = getTaskById(taskId);
-        if (task == null || task.getRequesterId() != requesterId) {
-            return false;
-        }
-        
-        // Cannot revert if volunteer already confirmed
-        if (task.isVolunteerConfirmed() && task.isElderlyConfirmed()) {
-            return false; // Already fully completed
-        }
-        
-        String previousStatus = task.getStatus();
-        
-        // If volunteer already confirmed, mark as COMPLETED
-        if (task.isVolunteerConfirmed()) {
-            String sql = "UPDATE tasks SET elderly_confirmed = TRUE, status = 'COMPLETED' WHERE task_id = ? AND requester_id = ?";
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                stmt.setInt(1, taskId);
-                stmt.setInt(2, requesterId);
-                
-                int rowsAffected = stmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    if (task.getVolunteerId() != null) {
-                        updateVolunteerPoints(task.getVolunteerId(), task.getEstimatedDuration());
-                    }
-                    addTaskHistory(taskId, requesterId, "COMPLETED", previousStatus, "COMPLETED");
-                    return true;
-                }
-                return rowsAffected > 0;
-            } catch (SQLException e) {
-                System.err.println("Error confirming task: " + e.getMessage());
-            }
-        } else {
-            // Volunteer hasn't confirmed yet, set to PENDING_VOLUNTEER_CONFIRMATION
-            String sql = "UPDATE tasks SET elderly_confirmed = TRUE, status = 'PENDING_VOLUNTEER_CONFIRMATION' WHERE task_id = ? AND requester_id = ?";
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                stmt.setInt(1, taskId);
-                stmt.setInt(2, requesterId);
-                
-                int rowsAffected = stmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    addTaskHistory(taskId, requesterId, "ELDERLY_CONFIRMED", previousStatus, "PENDING_VOLUNTEER_CONFIRMATION");
-                    return true;
-                }
-            } catch (SQLException e) {
-                System.err.println("Error confirming task: " + e.getMessage());
-            }
-        }
-        return false;
+        return transitionTask(taskId, TaskTransition.elderlyConfirm(requesterId)).isApplied();
     }
     
     /**
      * Reassign task (remove volunteer, make available again)
      */
     public static boolean reassignTask(int taskId) {
-        // Get task first to record history
-        Task task = getTaskById(taskId);
-        if (task == null || task.getVolunteerId() == null) {
-            return false;
-        }
-        
-        int previousVolunteerId = task.getVolunteerId();
-        String previousStatus = task.getStatus();
-        
-        String sql = "UPDATE tasks SET volunteer_id = NULL, status = 'AVAILABLE', " +
-                     "volunteer_confirmed = FALSE, elderly_confirmed = FALSE, " +
-                     "previous_volunteer_id = volunteer_id, " +
-                     "reassignment_reason = 'Removed by requester' " +
-                     "WHERE task_id = ? AND volunteer_id IS NOT NULL";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, taskId);
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                addTaskHistory(taskId, task.getRequesterId(), "REASSIGNED", previousStatus, "AVAILABLE");
-                return true;
-            }
-            return false;
-        } catch (SQLException e) {
-            System.err.println("Error reassigning task: " + e.getMessage());
-        }
-        return false;
+        return transitionTask(taskId, TaskTransition.reassign()).isApplied();
     }
     
     /**
@@ -499,23 +575,10 @@ public class DatabaseManager {
             return false;
         }
         
-        String sql = "DELETE FROM tasks WHERE task_id = ? AND requester_id = ? AND " +
-                     "(status = 'AVAILABLE' OR status = 'CANCELLED')";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, taskId);
-            stmt.setInt(2, requesterId);
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                // Note: History will be deleted due to CASCADE, but we could log it separately if needed
-                return true;
-            }
-            return false;
-        } catch (SQLException e) {
-            System.err.println("Error deleting task: " + e.getMessage());
+        if (repository.deleteTask(taskId, requesterId)) {
+            systemStats.taskDeleted(task.getStatus());
+            suggestions.taskUnavailable(taskId);
+            return true;
         }
         return false;
     }
@@ -524,112 +587,330 @@ public class DatabaseManager {
      * Cancel a task (marks as cancelled instead of deleting)
      */
     public static boolean cancelTask(int taskId, int requesterId) {
-        // Get task first to record history
+        return transitionTask(taskId, TaskTransition.cancel(requesterId)).isApplied();
+    }
+    
+    /**
+     * Get a task by ID, including its description (task lists leave the description out)
+     */
+    public static Task getTaskById(int taskId) {
+        return repository.getTaskById(taskId);
+    }
+    
+    /**
+     * Get a task by ID, looking in the archive too when asked and the task is not live
+     */
+    public static Task getTaskById(int taskId, boolean includeArchived) {
         Task task = getTaskById(taskId);
-        if (task == null || task.getRequesterId() != requesterId) {
+        if (task == null && includeArchived) {
+            task = repository.getArchivedTaskById(taskId);
+        }
+        return task;
+    }
+    
+    // ==================== NEARBY TASKS ====================
+    
+    /**
+     * Map position of a typed location, or null if the gazetteer does not know it
+     */
+    public static GeoPoint resolveLocation(String location) {
+        return gazetteer.resolve(location);
+    }
+    
+    /**
+     * Store where a user is; false if the location cannot be placed on the map
+     */
+    public static boolean setUserLocation(int userId, String location) {
+        GeoPoint position = gazetteer.resolve(location);
+        if (position == null || !repository.setUserLocation(userId, location.trim(), position)) {
             return false;
         }
+        suggestions.invalidate(userId);
+        return true;
+    }
+    
+    /**
+     * Available tasks within radiusKm (at most geo.maxRadiusKm) of center, soonest first
+     * Tasks whose location the gazetteer could not place are not included
+     */
+    public static List<Task> getAvailableTasksNear(GeoPoint center, double radiusKm, int limit) {
+        double radius = Math.max(0, Math.min(radiusKm, GEO_MAX_RADIUS_KM));
+        return repository.getAvailableTasksNear(center, radius, clampPageSize(limit));
+    }
+    
+    /**
+     * Give unfinished tasks without a map position one from their location, in batches;
+     * returns how many were placed (runs once at startup)
+     */
+    public static int mapTaskPositions() {
+        int mapped = 0;
+        int afterTaskId = 0;
+        List<Task> batch;
+        do {
+            batch = repository.getUnmappedTasks(afterTaskId, GEO_MAPPING_BATCH_SIZE);
+            for (Task task : batch) {
+                GeoPoint position = gazetteer.resolve(task.getLocation());
+                if (position != null && repository.setTaskPosition(task.getTaskId(), position)) {
+                    mapped++;
+                }
+                afterTaskId = task.getTaskId();
+            }
+        } while (batch.size() == GEO_MAPPING_BATCH_SIZE);
         
-        String previousStatus = task.getStatus();
+        if (mapped > 0) {
+            System.out.println("Placed " + mapped + " tasks on the map");
+        }
+        return mapped;
+    }
+    
+    // ==================== SUGGESTIONS ====================
+    
+    /**
+     * Available tasks that suit a volunteer best, best first: near them, at the hours and
+     * length they usually help, urgent, or for requesters they have helped before
+     * Tasks that clash with the volunteer's own active tasks are left out
+     */
+    public static List<Task> getSuggestedTasks(int volunteerId, int limit) {
+        catchUpSuggestions();
+        List<TaskMatcher.Suggestion> ranked = suggestions.get(volunteerId);
+        if (ranked == null) {
+            ranked = suggestFor(volunteerId, getUserPosition(volunteerId),
+                                TaskMatcher.candidates(repository.getAvailableTasks(), LocalDate.now()));
+        } else if (!ranked.isEmpty()) {
+            // Other clients may have taken some of these since they were ranked
+            List<Integer> ids = new ArrayList<>();
+            for (TaskMatcher.Suggestion suggestion : ranked) {
+                ids.add(suggestion.getTask().getTaskId());
+            }
+            Set<Integer> available = repository.getAvailableTaskIds(ids);
+            for (Integer id : ids) {
+                if (!available.contains(id)) {
+                    suggestions.taskUnavailable(id);
+                }
+            }
+            ranked.removeIf(suggestion -> !available.contains(suggestion.getTask().getTaskId()));
+        }
         
-        String sql = "UPDATE tasks SET status = 'CANCELLED' WHERE task_id = ? AND requester_id = ?";
+        List<Task> tasks = new ArrayList<>();
+        for (TaskMatcher.Suggestion suggestion : ranked.subList(0, Math.max(0, Math.min(limit, ranked.size())))) {
+            tasks.add(suggestion.getTask());
+        }
+        return tasks;
+    }
+    
+    // Add tasks other clients created since the lists were ranked
+    private static void catchUpSuggestions() {
+        if (suggestions.isEmpty()) {
+            return;
+        }
+        List<Task> created = repository.getAvailableTasksAfter(suggestions.getLastTaskId(), SUGGESTION_CATCH_UP_LIMIT);
+        if (created.size() == SUGGESTION_CATCH_UP_LIMIT) {
+            suggestions.clear();
+            return;
+        }
+        for (Task task : created) {
+            suggestions.taskAvailable(task);
+        }
+    }
+    
+    private static GeoPoint getUserPosition(int userId) {
+        return repository.getUserPositions(Collections.singletonList(userId)).get(userId);
+    }
+    
+    // Rank the candidates for one volunteer and cache the result
+    private static List<TaskMatcher.Suggestion> suggestFor(int volunteerId, GeoPoint position,
+                                                           List<TaskMatcher.Candidate> candidates) {
+        TaskMatcher.Profile profile = TaskMatcher.profile(volunteerId, position,
+                                                          repository.getTasksByVolunteer(volunteerId));
+        List<TaskMatcher.Suggestion> ranked = TaskMatcher.rank(profile, candidates, SUGGESTION_COUNT);
+        int newestTaskId = 0;
+        for (TaskMatcher.Candidate candidate : candidates) {
+            newestTaskId = Math.max(newestTaskId, candidate.getTask().getTaskId());
+        }
+        suggestions.put(profile, ranked, newestTaskId);
+        return ranked;
+    }
+    
+    /**
+     * Rank the available tasks for every volunteer on match.batchThreads threads, filling the
+     * suggestion cache; returns how many volunteers were ranked (runs nightly by default)
+     */
+    public static int runSuggestionBatch() {
+        long start = System.currentTimeMillis();
+        List<TaskMatcher.Candidate> candidates = TaskMatcher.candidates(repository.getAvailableTasks(), LocalDate.now());
+        List<User> volunteers = repository.getVolunteerStandings();
+        List<Integer> ids = new ArrayList<>();
+        for (User volunteer : volunteers) {
+            ids.add(volunteer.getUserId());
+        }
+        Map<Integer, GeoPoint> positions = repository.getUserPositions(ids);
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, taskId);
-            stmt.setInt(2, requesterId);
-            int rowsAffected = stmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                addTaskHistory(taskId, requesterId, "CANCELLED", previousStatus, "CANCELLED");
-                return true;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, SUGGESTION_BATCH_THREADS), r -> {
+            Thread thread = new Thread(r, "suggestion-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int ranked = 0;
+        try {
+            List<Callable<Integer>> jobs = new ArrayList<>();
+            for (Integer id : ids) {
+                // Every job reads the shared candidate list and only writes its own cache entry
+                jobs.add(() -> suggestFor(id, positions.get(id), candidates).size());
             }
-            return false;
-        } catch (SQLException e) {
-            System.err.println("Error cancelling task: " + e.getMessage());
+            for (Future<Integer> job : pool.invokeAll(jobs)) {
+                try {
+                    job.get();
+                    ranked++;
+                } catch (ExecutionException e) {
+                    System.err.println("Error ranking suggestions: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
         }
-        return false;
+        
+        System.out.println("Ranked " + candidates.size() + " available tasks for " + ranked + " volunteers in " +
+                           (System.currentTimeMillis() - start) + " ms");
+        return ranked;
     }
     
+    // ==================== DELTA SYNC ====================
+    
     /**
-     * Get a task by ID
+     * The requester's live tasks changed since the watermark (getAsOf() of the previous result),
+     * for merging into the list already shown; a watermark of 0 gives a snapshot of the whole list
      */
-    public static Task getTaskById(int taskId) {
-        String sql = "SELECT * FROM tasks WHERE task_id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, taskId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return createTaskFromResultSet(rs);
+    public static TaskChanges syncTasksByRequester(int requesterId, long since) {
+        return syncTasks(since, task -> task.getRequesterId() == requesterId,
+                         from -> repository.getTaskChangesByRequester(requesterId, from, SYNC_MAX_CHANGES),
+                         () -> getTasksByRequester(requesterId));
+    }
+    
+    /**
+     * The volunteer's live tasks changed since the watermark, like syncTasksByRequester
+     */
+    public static TaskChanges syncTasksByVolunteer(int volunteerId, long since) {
+        return syncTasks(since, task -> Objects.equals(task.getVolunteerId(), volunteerId),
+                         from -> repository.getTaskChangesByVolunteer(volunteerId, from, SYNC_MAX_CHANGES),
+                         () -> getTasksByVolunteer(volunteerId));
+    }
+    
+    // The change feed also has tasks that just left the list (e.g. one released by its volunteer);
+    // they are reported as removed. The watermark's age is measured on the database's clock (the
+    // feed's asOf), as the watermark itself is, so a client clock that is off does not matter.
+    private static TaskChanges syncTasks(long since, Predicate<Task> inList, LongFunction<TaskChanges> changesSince,
+                                         Supplier<List<Task>> fullList) {
+        if (since > 0) {
+            TaskChanges changes = changesSince.apply(since - SYNC_OVERLAP_MS);
+            if (changes.isComplete() && changes.getAsOf() - since < SYNC_TOMBSTONE_RETENTION_MS) {
+                List<Task> changed = new ArrayList<>();
+                List<Integer> removedIds = new ArrayList<>(changes.getRemovedIds());
+                for (Task task : changes.getChanged()) {
+                    if (inList.test(task)) {
+                        changed.add(task);
+                    } else {
+                        removedIds.add(task.getTaskId());
+                    }
+                }
+                return new TaskChanges(changed, removedIds, changes.getAsOf());
             }
-        } catch (SQLException e) {
-            System.err.println("Error getting task by ID: " + e.getMessage());
         }
-        return null;
+        // The clock is read first, so changes made during the full read are fetched again next time
+        long asOf = repository.getSyncTime();
+        return TaskChanges.snapshot(fullList.get(), asOf);
     }
     
     /**
-     * Update volunteer points after completing a task
+     * Forget deleted and archived tasks older than db.sync.tombstoneRetentionMs, in batches;
+     * returns how many were forgotten (runs hourly)
      */
-    private static void updateVolunteerPoints(int volunteerId, int durationMinutes) {
-        // Award points: 10 points per 30 minutes of work
-        int pointsToAdd = (durationMinutes / 30) * 10;
-        
-        String sql = "UPDATE user_points SET points = points + ?, tasks_completed = tasks_completed + 1, " +
-                     "hours_volunteered = hours_volunteered + ? WHERE user_id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, pointsToAdd);
-            stmt.setInt(2, durationMinutes / 60);
-            stmt.setInt(3, volunteerId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error updating volunteer points: " + e.getMessage());
+    public static int pruneTaskTombstones() {
+        long before = repository.getSyncTime() - SYNC_TOMBSTONE_RETENTION_MS;
+        int total = 0;
+        int pruned;
+        do {
+            pruned = repository.pruneTaskTombstones(before, SYNC_PRUNE_BATCH_SIZE);
+            total += pruned;
+        } while (pruned == SYNC_PRUNE_BATCH_SIZE);
+        return total;
+    }
+    
+    // ==================== SCHEDULES ====================
+    
+    /**
+     * A volunteer's free time between schedule.dayStart and schedule.dayEnd on each of the
+     * given number of days from fromDate, in stretches of at least schedule.minSlotMinutes,
+     * soonest first (time already past today is not free)
+     */
+    public static List<VolunteerSchedule.Slot> getFreeSlots(int volunteerId, LocalDate fromDate, int days) {
+        VolunteerSchedule schedule = scheduleOf(volunteerId);
+        long now = VolunteerSchedule.minutes(LocalDateTime.now());
+        List<VolunteerSchedule.Slot> slots = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            LocalDate date = fromDate.plusDays(day);
+            long from = Math.max(now, VolunteerSchedule.minutes(date.atTime(SCHEDULE_DAY_START)));
+            long to = VolunteerSchedule.minutes(date.atTime(SCHEDULE_DAY_END));
+            if (from < to) {
+                slots.addAll(schedule.freeSlots(from, to, SCHEDULE_MIN_SLOT_MINUTES));
+            }
+        }
+        return slots;
+    }
+    
+    // The volunteer's schedule, read from their tasks on first use and after schedule.cacheTtlMs
+    private static VolunteerSchedule scheduleOf(int volunteerId) {
+        VolunteerSchedule schedule = schedules.computeIfAbsent(volunteerId, id -> new VolunteerSchedule());
+        // Read without holding the schedule's lock; a read that raced with a change is read again,
+        // since accepts must not be checked against a schedule missing the volunteer's tasks
+        boolean loaded = System.currentTimeMillis() - schedule.getLoadedAt() <= SCHEDULE_TTL_MS;
+        while (!loaded) {
+            long version = schedule.getVersion();
+            loaded = schedule.load(repository.getTasksByVolunteer(volunteerId), version);
         }
+        return schedule;
     }
     
+    // ==================== ARCHIVE ====================
+    
     /**
-     * Helper method to create Task object from ResultSet
+     * Move finished tasks scheduled more than db.archive.afterDays ago, with their history,
+     * to the archive tables in batches; returns how many were moved (runs hourly by default)
      */
-    private static Task createTaskFromResultSet(ResultSet rs) throws SQLException {
-        Integer volunteerId = rs.getInt("volunteer_id");
-        if (rs.wasNull()) {
-            volunteerId = null;
+    public static int archiveFinishedTasks() {
+        if (ARCHIVE_AFTER_DAYS <= 0) {
+            return 0;
         }
+        // History still buffered for these tasks must reach task_history before it moves
+        historyAppender.flush(HISTORY_FLUSH_INTERVAL_MS * 5);
         
-        return new Task(
-            rs.getInt("task_id"),
-            rs.getString("title"),
-            rs.getString("description"),
-            rs.getInt("requester_id"),
-            volunteerId,
-            rs.getString("status"),
-            rs.getString("location"),
-            rs.getString("scheduled_date"),
-            rs.getString("scheduled_time"), 
-            rs.getInt("estimated_duration"),
-            rs.getBoolean("volunteer_confirmed"),
-            rs.getBoolean("elderly_confirmed")
-        );
+        String cutoffDate = LocalDate.now().minusDays(ARCHIVE_AFTER_DAYS).toString();
+        int total = 0;
+        int moved;
+        do {
+            moved = repository.archiveFinishedTasks(cutoffDate, ARCHIVE_BATCH_SIZE);
+            total += moved;
+        } while (moved == ARCHIVE_BATCH_SIZE);
+        
+        if (total > 0) {
+            System.out.println("Archived " + total + " finished tasks scheduled before " + cutoffDate);
+        }
+        return total;
     }
     
     /**
-     * Test database connection
+     * Count archived tasks
      */
-    public static boolean testConnection() {
-        try (Connection conn = getConnection()) {
-            return conn != null && !conn.isClosed();
-        } catch (SQLException e) {
-            System.err.println("Database connection failed: " + e.getMessage());
-            return false;
-        }
+    public static int countArchivedTasks() {
+        return repository.countArchivedTasks();
+    }
+    
+    /**
+     * Award points: 10 points per 30 minutes of work
+     */
+    static int pointsForDuration(int durationMinutes) {
+        return (durationMinutes / 30) * 10;
     }
     
     // ==================== ADMIN OPERATIONS ====================
@@ -638,148 +919,154 @@ public class DatabaseManager {
      * Get all users (for admin panel)
      */
     public static List<User> getAllUsers() {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, " +
-                     "u.phone_number, u.role, u.is_active, COALESCE(up.points, 0) as points, " +
-                     "COALESCE(up.tasks_completed, 0) as tasks_completed " +
-                     "FROM users u " +
-                     "LEFT JOIN user_points up ON u.user_id = up.user_id " +
-                     "ORDER BY u.user_id";
-        
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                User user = new User(
-                    rs.getInt("user_id"),
-                    rs.getString("username"),
-                    rs.getString("email"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name"),
-                    rs.getString("phone_number"),
-                    rs.getString("role"),
-                    rs.getInt("points"),
-                    rs.getInt("tasks_completed")
-                );
-                user.setActive(rs.getBoolean("is_active"));
-                users.add(user);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting all users: " + e.getMessage());
-        }
-        return users;
+        return repository.getAllUsers();
+    }
+    
+    /**
+     * Get one page of users ordered by id (for admin panel)
+     * Pass the last user of the previous page as "after" (null for the first page)
+     */
+    public static Page<User> getUsersPage(User after, int pageSize) {
+        return repository.getUsersPage(after, clampPageSize(pageSize));
+    }
+    
+    /**
+     * Count all users (row count for the lazily loaded admin table)
+     */
+    public static int countUsers() {
+        return repository.countUsers();
+    }
+    
+    /**
+     * Get rows [offset, offset + limit) of all users in the given order (for admin panel)
+     * sortKey is one of id, username, name, email, role, points, tasks, status
+     */
+    public static List<User> getUsersBlock(int offset, int limit, String sortKey, boolean ascending) {
+        return repository.getUsersBlock(Math.max(0, offset), clampPageSize(limit), sortKey, ascending);
     }
     
     /**
      * Get all tasks (for admin panel)
      */
     public static List<Task> getAllTasks() {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks ORDER BY task_id DESC";
-        
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                tasks.add(createTaskFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting all tasks: " + e.getMessage());
-        }
-        return tasks;
+        return repository.getAllTasks();
+    }
+    
+    /**
+     * Get one page of all tasks, newest first (for admin panel)
+     * Pass the last task of the previous page as "after" (null for the first page)
+     */
+    public static Page<Task> getAllTasksPage(Task after, int pageSize) {
+        return repository.getAllTasksPage(after, clampPageSize(pageSize));
+    }
+    
+    /**
+     * Count all tasks (row count for the lazily loaded admin table)
+     */
+    public static int countTasks() {
+        return repository.countTasks();
+    }
+    
+    /**
+     * Get rows [offset, offset + limit) of all tasks in the given order (for admin panel)
+     * sortKey is one of id, title, status, requester, volunteer, date, duration
+     */
+    public static List<Task> getTasksBlock(int offset, int limit, String sortKey, boolean ascending) {
+        return repository.getTasksBlock(Math.max(0, offset), clampPageSize(limit), sortKey, ascending);
     }
     
     /**
      * Disable/Enable user account (admin function)
+     * Disabling also cancels the user's requests and releases the tasks they volunteered for
      */
     public static boolean toggleUserStatus(int userId, boolean isActive) {
-        String sql = "UPDATE users SET is_active = ? WHERE user_id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setBoolean(1, isActive);
-            stmt.setInt(2, userId);
-            
-            int rowsAffected = stmt.executeUpdate();
-            
-            // If disabling user, also cancel their active tasks
-            if (rowsAffected > 0 && !isActive) {
-                cancelUserActiveTasks(userId);
-            }
-            
-            return rowsAffected > 0;
-        } catch (SQLException e) {
-            System.err.println("Error toggling user status: " + e.getMessage());
+        boolean changed = repository.setUserActive(userId, isActive);
+        nameCache.invalidate(userId);
+        // Role and active tasks of the user are not known here; recount on the next read
+        systemStats.markStale();
+        if (changed && !isActive) {
+            // Their tasks were cancelled or released; which ones is not known here
+            suggestions.clear();
+            schedules.clear();
         }
-        return false;
+        return changed;
     }
     
     /**
-     * Cancel all active tasks for a user (when account is disabled)
+     * Get user's full name by ID
      */
-    private static void cancelUserActiveTasks(int userId) {
-        // Cancel tasks as requester
-        String sql1 = "UPDATE tasks SET status = 'CANCELLED' " +
-                      "WHERE requester_id = ? AND status NOT IN ('COMPLETED', 'CANCELLED')";
-        
-        // Remove volunteer from assigned tasks
-        String sql2 = "UPDATE tasks SET volunteer_id = NULL, status = 'AVAILABLE', " +
-                      "volunteer_confirmed = FALSE, elderly_confirmed = FALSE " +
-                      "WHERE volunteer_id = ? AND status NOT IN ('COMPLETED', 'CANCELLED')";
+    public static String getUserNameById(int userId) {
+        String cached = nameCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
         
-        try (Connection conn = getConnection()) {
-            try (PreparedStatement stmt1 = conn.prepareStatement(sql1)) {
-                stmt1.setInt(1, userId);
-                stmt1.executeUpdate();
-            }
-            try (PreparedStatement stmt2 = conn.prepareStatement(sql2)) {
-                stmt2.setInt(1, userId);
-                stmt2.executeUpdate();
-            }
-        } catch (SQLException e) {
-            System.err.println("Error cancelling user tasks: " + e.getMessage());
+        String name = repository.getUserName(userId);
+        if (name == null) {
+            return "Unknown User";
         }
+        nameCache.put(userId, name);
+        return name;
     }
     
     /**
-     * Get user's full name by ID
+     * Drop a cached display name; call after any change to a user's profile
      */
-    public static String getUserNameById(int userId) {
-        String sql = "SELECT first_name, last_name FROM users WHERE user_id = ?";
+    public static void invalidateUserName(int userId) {
+        nameCache.invalidate(userId);
+    }
+    
+    /**
+     * Get display-name cache counters (size, hits, misses)
+     */
+    public static UserNameCache getUserNameCache() {
+        return nameCache;
+    }
+    
+    /**
+     * Get full names for many users at once (only cache misses go to the repository)
+     * Ids that do not exist map to "Unknown User", like getUserNameById
+     */
+    public static Map<Integer, String> getUserNamesByIds(Collection<Integer> userIds) {
+        Map<Integer, String> names = new HashMap<>();
+        List<Integer> ids = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(userIds)) {
+            if (id == null) {
+                continue;
+            }
+            String cached = nameCache.get(id);
+            if (cached != null) {
+                names.put(id, cached);
+            } else {
+                ids.add(id);
+            }
+        }
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                String firstName = rs.getString("first_name");
-                String lastName = rs.getString("last_name");
-                return firstName + " " + lastName;
+        if (!ids.isEmpty()) {
+            for (Map.Entry<Integer, String> found : repository.getUserNames(ids).entrySet()) {
+                names.put(found.getKey(), found.getValue());
+                nameCache.put(found.getKey(), found.getValue());
             }
-        } catch (SQLException e) {
-            System.err.println("Error getting user name: " + e.getMessage());
         }
-        return "Unknown User";
+        
+        for (Integer id : ids) {
+            names.putIfAbsent(id, "Unknown User");
+        }
+        return names;
     }
     
     /**
      * Admin function to forcefully delete a task
      */
     public static boolean adminDeleteTask(int taskId) {
-        String sql = "DELETE FROM tasks WHERE task_id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, taskId);
-            return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error deleting task: " + e.getMessage());
+        if (repository.adminDeleteTask(taskId)) {
+            // The status of the deleted task is unknown here
+            systemStats.markStale();
+            suggestions.taskUnavailable(taskId);
+            for (VolunteerSchedule schedule : schedules.values()) {
+                schedule.remove(taskId);
+            }
+            return true;
         }
         return false;
     }
@@ -788,114 +1075,65 @@ public class DatabaseManager {
      * Get task history/activity log
      */
     public static List<String> getTaskHistory() {
-        List<String> history = new ArrayList<>();
-        String sql = "SELECT th.history_id, th.action_type, th.previous_status, th.new_status, " +
-                     "th.changed_at, t.title as task_title, t.task_id, " +
-                     "u.username as changed_by, u.role as user_role " +
-                     "FROM task_history th " +
-                     "JOIN tasks t ON th.task_id = t.task_id " +
-                     "JOIN users u ON th.changed_by_id = u.user_id " +
-                     "ORDER BY th.changed_at DESC LIMIT 100";
-        
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                String entry = String.format("[%s] %s (%s) - Task #%d '%s': %s %s -> %s",
-                    rs.getString("changed_at"),
-                    rs.getString("changed_by"),
-                    rs.getString("user_role"),
-                    rs.getInt("task_id"),
-                    rs.getString("task_title"),
-                    rs.getString("action_type"),
-                    rs.getString("previous_status") != null ? rs.getString("previous_status") : "N/A",
-                    rs.getString("new_status") != null ? rs.getString("new_status") : "N/A"
-                );
-                history.add(entry);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting task history: " + e.getMessage());
-        }
-        return history;
+        // Include entries that are still buffered
+        historyAppender.flush(HISTORY_FLUSH_INTERVAL_MS * 5);
+        return repository.getRecentTaskHistory(HISTORY_LOG_SIZE);
     }
     
     /**
-     * Add task history entry
+     * Format one activity log line (shared by the repositories)
      */
-    public static void addTaskHistory(int taskId, int userId, String actionType, 
+    static String formatHistoryEntry(String changedAt, String changedBy, String userRole, int taskId,
+                                     String taskTitle, String actionType, String previousStatus, String newStatus) {
+        return String.format("[%s] %s (%s) - Task #%d '%s': %s %s -> %s",
+            changedAt,
+            changedBy,
+            userRole,
+            taskId,
+            taskTitle,
+            actionType,
+            previousStatus != null ? previousStatus : "N/A",
+            newStatus != null ? newStatus : "N/A"
+        );
+    }
+    
+    /**
+     * Add task history entry (queued and written in the background)
+     */
+    public static void addTaskHistory(int taskId, int userId, String actionType,
                                       String previousStatus, String newStatus) {
-        String sql = "INSERT INTO task_history (task_id, changed_by_id, action_type, " +
-                     "previous_status, new_status) VALUES (?, ?, ?, ?, ?)";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, taskId);
-            stmt.setInt(2, userId);
-            stmt.setString(3, actionType);
-            stmt.setString(4, previousStatus);
-            stmt.setString(5, newStatus);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error adding task history: " + e.getMessage());
-        }
+        historyAppender.append(new TaskHistoryAppender.Entry(taskId, userId, actionType, previousStatus, newStatus));
+    }
+    
+    /**
+     * Get history appender metrics (queued, written, dropped)
+     */
+    public static TaskHistoryAppender getHistoryAppender() {
+        return historyAppender;
+    }
+    
+    /**
+     * Reload the dashboard counters from the repository
+     */
+    public static void reconcileSystemStats() {
+        repository.loadStats(systemStats);
     }
     
     /**
      * Get system statistics (for admin dashboard)
+     * Counters come from memory; the repository is only queried when they are stale
      */
     public static String getSystemStats() {
-        StringBuilder stats = new StringBuilder();
-        
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-            
-            // Total users
-            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM users WHERE is_active = TRUE");
-            if (rs.next()) {
-                stats.append("Active Users: ").append(rs.getInt("count")).append("\n");
-            }
-            
-            // Total volunteers
-            rs = stmt.executeQuery("SELECT COUNT(*) as count FROM users WHERE role = 'VOLUNTEER' AND is_active = TRUE");
-            if (rs.next()) {
-                stats.append("Active Volunteers: ").append(rs.getInt("count")).append("\n");
-            }
-            
-            // Total elderly
-            rs = stmt.executeQuery("SELECT COUNT(*) as count FROM users WHERE role = 'ELDERLY' AND is_active = TRUE");
-            if (rs.next()) {
-                stats.append("Active Elderly: ").append(rs.getInt("count")).append("\n");
-            }
-            
-            // Total tasks
-            rs = stmt.executeQuery("SELECT COUNT(*) as count FROM tasks");
-            if (rs.next()) {
-                stats.append("Total Tasks: ").append(rs.getInt("count")).append("\n");
-            }
-            
-            // Available tasks
-            rs = stmt.executeQuery("SELECT COUNT(*) as count FROM tasks WHERE status = 'AVAILABLE'");
-            if (rs.next()) {
-                stats.append("Available Tasks: ").append(rs.getInt("count")).append("\n");
-            }
-            
-            // Completed tasks
-            rs = stmt.executeQuery("SELECT COUNT(*) as count FROM tasks WHERE status = 'COMPLETED'");
-            if (rs.next()) {
-                stats.append("Completed Tasks: ").append(rs.getInt("count")).append("\n");
-            }
-            
-            // In progress tasks
-            rs = stmt.executeQuery("SELECT COUNT(*) as count FROM tasks WHERE status IN ('ASSIGNED', 'IN_PROGRESS', 'PENDING_ELDERLY_CONFIRMATION', 'PENDING_VOLUNTEER_CONFIRMATION')");
-            if (rs.next()) {
-                stats.append("In Progress Tasks: ").append(rs.getInt("count")).append("\n");
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error getting system stats: " + e.getMessage());
+        if (systemStats.isStale()) {
+            reconcileSystemStats();
         }
+        StringBuilder stats = new StringBuilder(systemStats.format());
+        
+        stats.append("\n").append(repository.describe());
+        stats.append(String.format("Name Cache: %d hits, %d misses (%.1f%% hit rate)\n",
+             nameCache.getHitCount(), nameCache.getMissCount(), nameCache.getHitRate() * 100));
+        stats.append(String.format("History Writer: %d queued, %d written, %d dropped\n",
+             historyAppender.getQueuedCount(), historyAppender.getWrittenCount(), historyAppender.getDroppedCount()));
         
         return stats.toString();
     }
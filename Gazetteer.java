@@ -0,0 +1,111 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Gazetteer resolves free-text locations to positions using a local place and postcode table
+ *
+ * The table is a CSV file of name,latitude,longitude lines (# starts a comment), read once at
+ * startup, so no geocoding service is contacted. Names are matched without case or punctuation.
+ * A location resolves to the first match of: the whole text, each comma-separated part from
+ * the last (usually the town or postcode), the text without a leading house number, then any
+ * single word (a postcode inside an address).
+ */
+public class Gazetteer {
+    private final Map<String, GeoPoint> places = new HashMap<>();
+    
+    /**
+     * Load a gazetteer file; a missing or unreadable file gives an empty gazetteer
+     */
+    public static Gazetteer load(Path file) {
+        Gazetteer gazetteer = new Gazetteer();
+        if (!Files.isRegularFile(file)) {
+            System.err.println("No gazetteer at " + file.toAbsolutePath() + "; task locations will not be mapped");
+            return gazetteer;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                // The name may itself contain commas; the coordinates are the last two fields
+                int lonComma = line.lastIndexOf(',');
+                int latComma = lonComma > 0 ? line.lastIndexOf(',', lonComma - 1) : -1;
+                try {
+                    if (latComma <= 0) {
+                        throw new IllegalArgumentException("expected name,latitude,longitude");
+                    }
+                    gazetteer.add(line.substring(0, latComma),
+                                  new GeoPoint(Double.parseDouble(line.substring(latComma + 1, lonComma).trim()),
+                                               Double.parseDouble(line.substring(lonComma + 1).trim())));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping gazetteer line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading gazetteer " + file + ": " + e.getMessage());
+        }
+        return gazetteer;
+    }
+    
+    public void add(String name, GeoPoint point) {
+        String key = normalize(name);
+        if (!key.isEmpty()) {
+            places.put(key, point);
+        }
+    }
+    
+    public int size() {
+        return places.size();
+    }
+    
+    /**
+     * Position of a free-text location, or null if no part of it is in the gazetteer
+     * Tries the whole text, then each comma-separated part from the last (both also without a
+     * leading house number), then single words such as a postcode
+     */
+    public GeoPoint resolve(String location) {
+        if (location == null || places.isEmpty()) {
+            return null;
+        }
+        List<String> candidates = new ArrayList<>();
+        candidates.add(normalize(location));
+        String[] parts = location.split(",");
+        for (int i = parts.length - 1; i >= 0 && parts.length > 1; i--) {
+            candidates.add(normalize(parts[i]));
+        }
+        
+        for (String candidate : candidates) {
+            GeoPoint point = places.get(candidate);
+            if (point == null) {
+                point = places.get(candidate.replaceFirst("^\\d+\\w* ", ""));
+            }
+            if (point != null) {
+                return point;
+            }
+        }
+        
+        for (String word : candidates.get(0).split(" ")) {
+            GeoPoint point = places.get(word);
+            if (point != null) {
+                return point;
+            }
+        }
+        return null;
+    }
+    
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
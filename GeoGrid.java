@@ -0,0 +1,68 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GeoGrid divides the globe into cells of CELL_DEGREES by CELL_DEGREES, the spatial index key
+ * of available tasks
+ *
+ * Each task with a position is stored with its cell number (tasks.geo_cell in MySQL, a map of
+ * cell to schedule-ordered keys in InMemoryRepository). A radius query reads only the cells
+ * overlapping the circle's bounding box, then checks the exact distance of the tasks found.
+ * Changing CELL_DEGREES means recomputing every stored geo_cell.
+ */
+public final class GeoGrid {
+    // About 11 km north-south; a 10 km search reads a dozen cells or so
+    static final double CELL_DEGREES = 0.1;
+    
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+    
+    private GeoGrid() {
+    }
+    
+    /**
+     * Cell number of a position
+     */
+    public static int cellOf(GeoPoint point) {
+        return cell(row(point.getLatitude()), column(point.getLongitude()));
+    }
+    
+    /**
+     * Every cell that may hold a position within radiusKm of center
+     */
+    public static List<Integer> cellsWithin(GeoPoint center, double radiusKm) {
+        double latDelta = Math.toDegrees(radiusKm / GeoPoint.EARTH_RADIUS_KM);
+        double minLat = center.getLatitude() - latDelta;
+        double maxLat = center.getLatitude() + latDelta;
+        
+        List<Integer> cells = new ArrayList<>();
+        // A circle that reaches a pole covers every longitude
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lonDelta = maxLat >= 90 || minLat <= -90 || cosLat <= 0 ? 180 : latDelta / cosLat;
+        
+        int firstRow = row(Math.max(-90, minLat));
+        int lastRow = row(Math.min(90, maxLat));
+        int columnSpan = lonDelta >= 180 ? COLUMNS : (int) Math.ceil(2 * lonDelta / CELL_DEGREES) + 1;
+        int firstColumn = lonDelta >= 180 ? 0 : column(center.getLongitude() - lonDelta);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < Math.min(columnSpan, COLUMNS); i++) {
+                // Columns wrap around at the antimeridian
+                cells.add(cell(row, (firstColumn + i) % COLUMNS));
+            }
+        }
+        return cells;
+    }
+    
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+    
+    private static int column(double longitude) {
+        double wrapped = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min(COLUMNS - 1, (int) Math.floor(wrapped / CELL_DEGREES));
+    }
+    
+    private static int cell(int row, int column) {
+        return row * COLUMNS + column;
+    }
+}
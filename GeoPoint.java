@@ -0,0 +1,48 @@
+/**
+ * GeoPoint is a latitude/longitude position in degrees (WGS84)
+ */
+public final class GeoPoint {
+    // Mean Earth radius, as used by MySQL's ST_Distance_Sphere
+    static final double EARTH_RADIUS_KM = 6370.986;
+    
+    private final double latitude;
+    private final double longitude;
+    
+    public GeoPoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Not a position: " + latitude + ", " + longitude);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+    
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    
+    /**
+     * Great-circle (haversine) distance in kilometres
+     */
+    public double distanceKm(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude)) *
+                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GeoPoint && ((GeoPoint) o).latitude == latitude && ((GeoPoint) o).longitude == longitude;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Double.hashCode(latitude) * 31 + Double.hashCode(longitude);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%.5f, %.5f", latitude, longitude);
+    }
+}
@@ -0,0 +1,1250 @@
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * InMemoryRepository keeps users, tasks, points and history in concurrent maps
+ *
+ * Tasks are indexed by status, requester and volunteer; each index is a sorted set of
+ * (scheduled date, time, id) keys, so the task lists and keyset pages read only matching
+ * tasks, already in schedule order. Each task row is its own lock: a transition plans,
+ * checks and stores the new state, points and history while holding it, which gives the
+ * same all-or-nothing result as the MySQL transaction. Task text is searched through a
+ * TaskSearchIndex. Every write stamps the row with the time, and a sorted set of (time, id)
+ * entries serves the delta-sync reads. Nothing is persisted.
+ */
+public class InMemoryRepository implements Repository {
+    private static final DateTimeFormatter HISTORY_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    // Sort keys accepted by the block queries (same keys as MySqlRepository)
+    private static final Map<String, Comparator<Task>> TASK_SORTS = new HashMap<>();
+    private static final Map<String, Comparator<User>> USER_SORTS = new HashMap<>();
+    
+    static {
+        TASK_SORTS.put("id", Comparator.comparingInt(Task::getTaskId));
+        TASK_SORTS.put("title", Comparator.comparing(Task::getTitle, Comparator.nullsFirst(Comparator.naturalOrder())));
+        TASK_SORTS.put("status", Comparator.comparing(Task::getStatus, Comparator.nullsFirst(Comparator.naturalOrder())));
+        TASK_SORTS.put("requester", Comparator.comparing(Task::getRequesterName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        TASK_SORTS.put("volunteer", Comparator.comparing(Task::getVolunteerName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        TASK_SORTS.put("date", Comparator.comparing(Task::getScheduledDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+        TASK_SORTS.put("duration", Comparator.comparingInt(Task::getEstimatedDuration));
+        
+        USER_SORTS.put("id", Comparator.comparingInt(User::getUserId));
+        USER_SORTS.put("username", Comparator.comparing(User::getUsername, Comparator.nullsFirst(Comparator.naturalOrder())));
+        USER_SORTS.put("name", Comparator.comparing(User::getFirstName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        USER_SORTS.put("email", Comparator.comparing(User::getEmail, Comparator.nullsFirst(Comparator.naturalOrder())));
+        USER_SORTS.put("role", Comparator.comparing(User::getRole, Comparator.nullsFirst(Comparator.naturalOrder())));
+        USER_SORTS.put("points", Comparator.comparingInt(User::getPoints));
+        USER_SORTS.put("tasks", Comparator.comparingInt(User::getTasksCompleted));
+        USER_SORTS.put("status", Comparator.comparing(User::isActive));
+    }
+    
+    private final AtomicInteger nextUserId = new AtomicInteger();
+    private final AtomicInteger nextTaskId = new AtomicInteger();
+    private final AtomicInteger historyCount = new AtomicInteger();
+    
+    private final ConcurrentSkipListMap<Integer, UserRow> users = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, UserRow> usersByUsername = new ConcurrentHashMap<>();
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+    private final Object registrationLock = new Object();
+    
+    private final ConcurrentSkipListMap<Integer, TaskRow> tasks = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<TaskKey>> tasksByStatus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<TaskKey>> tasksByRequester = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<TaskKey>> tasksByVolunteer = new ConcurrentHashMap<>();
+    // AVAILABLE tasks with a map position, by GeoGrid cell
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<TaskKey>> availableByCell = new ConcurrentHashMap<>();
+    
+    // Newest first
+    private final ConcurrentLinkedDeque<HistoryRow> history = new ConcurrentLinkedDeque<>();
+    
+    // Words of live tasks' title, description and location
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    
+    // Finished tasks moved out of the live maps and indexes, with their history
+    private final ConcurrentSkipListMap<Integer, TaskRow> archivedTasks = new ConcurrentSkipListMap<>();
+    private final ConcurrentLinkedDeque<HistoryRow> archivedHistory = new ConcurrentLinkedDeque<>();
+    
+    // Live tasks by when they last changed, per requester and per volunteer (current or previous)
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Change>> changesByRequester = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Change>> changesByVolunteer = new ConcurrentHashMap<>();
+    
+    // Deleted or archived tasks by when they went, for pruning, and per requester and volunteer
+    private final ConcurrentSkipListMap<Change, TaskRow> tombstones = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Change>> tombstonesByRequester = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Change>> tombstonesByVolunteer = new ConcurrentHashMap<>();
+    
+    /**
+     * Add the same sample users and tasks as schema.sql
+     */
+    public void loadSampleData() {
+        registerUser(new User("john_doe", "password123", "john.doe@email.com", "John", "Doe", "555-1234", "ELDERLY"));
+        User jane = new User("jane_smith", "password123", "jane.smith@email.com", "Jane", "Smith", "555-5678", "VOLUNTEER");
+        User bob = new User("bob_volunteer", "password123", "bob.volunteer@email.com", "Bob", "Johnson", "555-9999", "VOLUNTEER");
+        registerUser(jane);
+        registerUser(bob);
+        registerUser(new User("admin", "admin123", "admin@volunteer.com", "System", "Administrator", "555-0000", "ADMIN"));
+        users.get(jane.getUserId()).setPoints(150, 3, 5);
+        users.get(bob.getUserId()).setPoints(250, 5, 8);
+        
+        LocalDate today = LocalDate.now();
+        int requesterId = users.firstKey();
+        createTask(new Task("Grocery Shopping", "Need help with weekly grocery shopping", requesterId,
+                            "123 Main St", today.plusDays(2).toString(), "10:00", 60));
+        Task doctor = new Task("Doctor Appointment", "Need ride to doctor appointment", requesterId,
+                               "456 Oak Ave", today.plusDays(3).toString(), "14:00", 90);
+        doctor.setUrgencyLevel("HIGH");
+        createTask(doctor);
+        Task yardWork = new Task("Yard Work", "Help with mowing the lawn", requesterId,
+                                 "123 Main St", today.plusDays(5).toString(), "09:00", 120);
+        yardWork.setUrgencyLevel("LOW");
+        createTask(yardWork);
+        
+        TaskRow row = tasks.get(yardWork.getTaskId());
+        synchronized (row) {
+            TaskTransition.TaskState next = row.toState();
+            next.volunteerId = jane.getUserId();
+            next.status = "ASSIGNED";
+            store(row, next);
+        }
+    }
+    
+    @Override
+    public boolean testConnection() {
+        return true;
+    }
+    
+    @Override
+    public void shutdown() {
+        // Nothing to release
+    }
+    
+    @Override
+    public String describe() {
+        return "Storage: in-memory (" + users.size() + " users, " + tasks.size() + " tasks, " +
+               archivedTasks.size() + " archived, " + historyCount.get() + " history entries)\n";
+    }
+    
+    // ==================== USER OPERATIONS ====================
+    
+    @Override
+    public boolean registerUser(User user) {
+        // username and email are unique, as in the users table
+        synchronized (registrationLock) {
+            if (usersByUsername.containsKey(user.getUsername()) || emails.contains(user.getEmail())) {
+                System.err.println("Error registering user: duplicate username or email");
+                return false;
+            }
+            UserRow row = new UserRow(nextUserId.incrementAndGet(), user);
+            users.put(row.userId, row);
+            usersByUsername.put(row.username, row);
+            emails.add(row.email);
+            user.setUserId(row.userId);
+        }
+        return true;
+    }
+    
+    @Override
+    public User loginUser(String username, String password) {
+        UserRow row = usersByUsername.get(username);
+        if (row == null || !row.password.equals(password) || !row.active) {
+            return null;
+        }
+        return row.toUser();
+    }
+    
+    @Override
+    public List<User> getVolunteerStandings() {
+        List<User> volunteers = new ArrayList<>();
+        for (UserRow row : users.values()) {
+            if (row.hasPoints && "VOLUNTEER".equals(row.role)) {
+                volunteers.add(row.toUser());
+            }
+        }
+        return volunteers;
+    }
+    
+    @Override
+    public List<User> getAllUsers() {
+        List<User> result = new ArrayList<>();
+        for (UserRow row : users.values()) {
+            result.add(row.toUser());
+        }
+        return result;
+    }
+    
+    @Override
+    public Page<User> getUsersPage(User after, int pageSize) {
+        List<User> result = new ArrayList<>();
+        int afterId = after != null ? after.getUserId() : 0;
+        for (UserRow row : users.tailMap(afterId, false).values()) {
+            result.add(row.toUser());
+            if (result.size() > pageSize) {
+                break;
+            }
+        }
+        return Page.fromLookahead(result, pageSize);
+    }
+    
+    @Override
+    public int countUsers() {
+        return users.size();
+    }
+    
+    @Override
+    public List<User> getUsersBlock(int offset, int limit, String sortKey, boolean ascending) {
+        return block(getAllUsers(), sortBy(USER_SORTS, sortKey, ascending, Comparator.comparingInt(User::getUserId)),
+                     offset, limit);
+    }
+    
+    @Override
+    public boolean setUserActive(int userId, boolean isActive) {
+        UserRow user = users.get(userId);
+        if (user == null) {
+            return false;
+        }
+        user.active = isActive;
+        
+        // If disabling user, cancel their requests and release the tasks they volunteered for
+        if (!isActive) {
+            for (TaskRow row : rows(tasksByRequester.get(userId))) {
+                synchronized (row) {
+                    if (!row.deleted && row.requesterId == userId && !isFinished(row.status)) {
+                        TaskTransition.TaskState next = row.toState();
+                        next.status = "CANCELLED";
+                        store(row, next);
+                    }
+                }
+            }
+            for (TaskRow row : rows(tasksByVolunteer.get(userId))) {
+                synchronized (row) {
+                    if (!row.deleted && Objects.equals(row.volunteerId, userId) && !isFinished(row.status)) {
+                        TaskTransition.TaskState next = row.toState();
+                        next.previousVolunteerId = row.volunteerId;
+                        next.volunteerId = null;
+                        next.status = "AVAILABLE";
+                        next.volunteerConfirmed = false;
+                        next.elderlyConfirmed = false;
+                        store(row, next);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean setUserLocation(int userId, String location, GeoPoint position) {
+        UserRow row = users.get(userId);
+        if (row == null) {
+            return false;
+        }
+        row.setLocation(location, position);
+        return true;
+    }
+    
+    @Override
+    public Map<Integer, GeoPoint> getUserPositions(Collection<Integer> userIds) {
+        Map<Integer, GeoPoint> positions = new HashMap<>();
+        for (Integer id : userIds) {
+            UserRow row = users.get(id);
+            GeoPoint position = row != null ? row.toUser().getPosition() : null;
+            if (position != null) {
+                positions.put(id, position);
+            }
+        }
+        return positions;
+    }
+    
+    @Override
+    public String getUserName(int userId) {
+        UserRow row = users.get(userId);
+        return row != null ? row.fullName : null;
+    }
+    
+    @Override
+    public Map<Integer, String> getUserNames(Collection<Integer> userIds) {
+        Map<Integer, String> names = new HashMap<>();
+        for (Integer id : userIds) {
+            UserRow row = users.get(id);
+            if (row != null) {
+                names.put(id, row.fullName);
+            }
+        }
+        return names;
+    }
+    
+    // ==================== TASK OPERATIONS ====================
+    
+    @Override
+    public boolean createTask(Task task) {
+        if (!users.containsKey(task.getRequesterId())) {
+            System.err.println("Error creating task: no user #" + task.getRequesterId());
+            return false;
+        }
+        TaskRow row = new TaskRow(nextTaskId.incrementAndGet(), task);
+        synchronized (row) {
+            tasks.put(row.taskId, row);
+            index(tasksByStatus, row.status).add(row.key);
+            index(tasksByRequester, row.requesterId).add(row.key);
+            if (row.volunteerId != null) {
+                index(tasksByVolunteer, row.volunteerId).add(row.key);
+            }
+            if ("AVAILABLE".equals(row.status) && row.position != null) {
+                index(availableByCell, GeoGrid.cellOf(row.position)).add(row.key);
+            }
+            searchIndex.add(row.taskId, row.title, row.description, row.location);
+            touch(row);
+        }
+        task.setTaskId(row.taskId);
+        return true;
+    }
+    
+    /**
+     * Merges the sorted cell indexes around center, soonest first, and stops at limit tasks
+     * within the radius, so only the nearby cells' entries up to that point are read
+     */
+    @Override
+    public List<Task> getAvailableTasksNear(GeoPoint center, double radiusKm, int limit) {
+        PriorityQueue<CellCursor> cursors = new PriorityQueue<>();
+        for (Integer cell : GeoGrid.cellsWithin(center, radiusKm)) {
+            ConcurrentSkipListSet<TaskKey> keys = availableByCell.get(cell);
+            if (keys != null) {
+                CellCursor cursor = new CellCursor(keys.iterator());
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+        
+        List<Task> result = new ArrayList<>();
+        while (!cursors.isEmpty() && result.size() < limit) {
+            CellCursor cursor = cursors.poll();
+            TaskRow row = tasks.get(cursor.current.taskId);
+            if (row != null) {
+                synchronized (row) {
+                    if (!row.deleted && "AVAILABLE".equals(row.status) && row.position != null &&
+                        row.position.distanceKm(center) <= radiusKm) {
+                        result.add(withNames(row.toSummary()));
+                    }
+                }
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public Set<Integer> getAvailableTaskIds(Collection<Integer> taskIds) {
+        Set<Integer> available = new HashSet<>();
+        for (Integer id : taskIds) {
+            TaskRow row = tasks.get(id);
+            if (row != null) {
+                synchronized (row) {
+                    if (!row.deleted && "AVAILABLE".equals(row.status)) {
+                        available.add(id);
+                    }
+                }
+            }
+        }
+        return available;
+    }
+    
+    @Override
+    public List<Task> getAvailableTasksAfter(int afterTaskId, int limit) {
+        List<Task> result = new ArrayList<>();
+        for (TaskRow row : tasks.tailMap(afterTaskId, false).values()) {
+            synchronized (row) {
+                if (!row.deleted && "AVAILABLE".equals(row.status)) {
+                    result.add(withNames(row.toSummary()));
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public List<Task> getUnmappedTasks(int afterTaskId, int limit) {
+        List<TaskRow> unmapped = new ArrayList<>();
+        for (TaskRow row : tasks.tailMap(afterTaskId, false).values()) {
+            synchronized (row) {
+                if (!row.deleted && row.position == null && !isFinished(row.status)) {
+                    unmapped.add(row);
+                }
+            }
+            if (unmapped.size() >= limit) {
+                break;
+            }
+        }
+        return snapshot(unmapped, limit);
+    }
+    
+    @Override
+    public boolean setTaskPosition(int taskId, GeoPoint position) {
+        TaskRow row = tasks.get(taskId);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            if (row.deleted) {
+                return false;
+            }
+            if ("AVAILABLE".equals(row.status) && row.position != null) {
+                unindex(availableByCell, GeoGrid.cellOf(row.position), row.key);
+            }
+            row.position = position;
+            if ("AVAILABLE".equals(row.status) && position != null) {
+                index(availableByCell, GeoGrid.cellOf(position)).add(row.key);
+            }
+            touch(row);
+        }
+        return true;
+    }
+    
+    @Override
+    public Task getTaskById(int taskId) {
+        TaskRow row = tasks.get(taskId);
+        if (row == null) {
+            return null;
+        }
+        synchronized (row) {
+            return row.deleted ? null : row.toTask();
+        }
+    }
+    
+    @Override
+    public List<Task> getAvailableTasks() {
+        return collect(tasksByStatus.get("AVAILABLE"), row -> "AVAILABLE".equals(row.status), Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public Page<Task> getAvailableTasksPage(Task after, int pageSize) {
+        ConcurrentSkipListSet<TaskKey> available = tasksByStatus.get("AVAILABLE");
+        if (available == null) {
+            return Page.fromLookahead(new ArrayList<Task>(), pageSize);
+        }
+        Set<TaskKey> keys = after == null ? available :
+            available.tailSet(new TaskKey(after.getScheduledDate(), after.getScheduledTime(), after.getTaskId()), false);
+        return Page.fromLookahead(collect(keys, row -> "AVAILABLE".equals(row.status), pageSize + 1), pageSize);
+    }
+    
+    @Override
+    public List<Task> getTasksByRequester(int requesterId) {
+        ConcurrentSkipListSet<TaskKey> keys = tasksByRequester.get(requesterId);
+        // Latest scheduled first, as in the MySQL query
+        return collect(keys == null ? null : keys.descendingSet(), row -> row.requesterId == requesterId, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<Task> getTasksByVolunteer(int volunteerId) {
+        return collect(tasksByVolunteer.get(volunteerId), row -> Objects.equals(row.volunteerId, volunteerId),
+                       Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<Task> getAllTasks() {
+        return snapshot(tasks.descendingMap().values(), Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public Page<Task> getAllTasksPage(Task after, int pageSize) {
+        Collection<TaskRow> rows = after == null ? tasks.descendingMap().values()
+                                                 : tasks.headMap(after.getTaskId(), false).descendingMap().values();
+        return Page.fromLookahead(snapshot(rows, pageSize + 1), pageSize);
+    }
+    
+    @Override
+    public int countTasks() {
+        return tasks.size();
+    }
+    
+    @Override
+    public List<Task> getTasksBlock(int offset, int limit, String sortKey, boolean ascending) {
+        return block(getAllTasks(), sortBy(TASK_SORTS, sortKey, ascending, Comparator.comparingInt(Task::getTaskId)),
+                     offset, limit);
+    }
+    
+    /**
+     * Scores come from the inverted index; matches are ranked before their rows are locked,
+     * so only about limit rows are read (the schedule never changes, the status may)
+     */
+    @Override
+    public List<Task> searchTasks(String text, String status, String fromDate, String toDate, int limit) {
+        Map<Integer, Double> scores = searchIndex.search(TaskSearchIndex.tokenize(text));
+        List<TaskRow> candidates = new ArrayList<>();
+        for (Integer taskId : scores.keySet()) {
+            TaskRow row = tasks.get(taskId);
+            if (row != null && (fromDate == null || row.key.date.compareTo(fromDate) >= 0) &&
+                (toDate == null || row.key.date.compareTo(toDate) <= 0)) {
+                candidates.add(row);
+            }
+        }
+        
+        // Best match first, then soonest, as in the MySQL query
+        Comparator<TaskRow> byScore = Comparator.comparing(row -> scores.get(row.taskId));
+        candidates.sort(byScore.reversed().thenComparing(row -> row.key));
+        
+        List<Task> result = new ArrayList<>();
+        for (TaskRow row : candidates) {
+            synchronized (row) {
+                if (!row.deleted && (status == null || status.equals(row.status))) {
+                    result.add(withNames(row.toSummary()));
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public TransitionResult transitionTask(int taskId, TaskTransition transition) {
+        TaskRow row = tasks.get(taskId);
+        if (row == null) {
+            return TransitionResult.NOT_FOUND;
+        }
+        
+        // Holding the row lock for the whole change means no concurrent CONFLICT can happen here
+        synchronized (row) {
+            if (row.deleted) {
+                return TransitionResult.NOT_FOUND;
+            }
+            TaskTransition.TaskState current = row.toState();
+            TaskTransition.TaskState next = current.copy();
+            TaskTransition.Plan plan = transition.plan(current, next);
+            if (plan == null) {
+                return TransitionResult.REJECTED;
+            }
+            
+            store(row, next);
+            if (plan.awardPointsTo != null) {
+                UserRow volunteer = users.get(plan.awardPointsTo);
+                if (volunteer != null && volunteer.hasPoints) {
+                    volunteer.addPoints(DatabaseManager.pointsForDuration(current.estimatedDuration),
+                                        current.estimatedDuration / 60);
+                }
+            }
+            addHistory(taskId, plan.changedBy, plan.actionType, current.status, next.status);
+            transition.applied(current, next, plan);
+        }
+        return TransitionResult.APPLIED;
+    }
+    
+    @Override
+    public boolean deleteTask(int taskId, int requesterId) {
+        TaskRow row = tasks.get(taskId);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            if (row.deleted || row.requesterId != requesterId ||
+                !("AVAILABLE".equals(row.status) || "CANCELLED".equals(row.status))) {
+                return false;
+            }
+            remove(row);
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean adminDeleteTask(int taskId) {
+        TaskRow row = tasks.get(taskId);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            if (row.deleted) {
+                return false;
+            }
+            remove(row);
+        }
+        return true;
+    }
+    
+    // ==================== ARCHIVE ====================
+    
+    /**
+     * Status index keys are in schedule order, so the oldest finished tasks are read first
+     */
+    @Override
+    public int archiveFinishedTasks(String cutoffDate, int batchSize) {
+        Set<Integer> moved = new HashSet<>();
+        TaskKey cutoff = new TaskKey(cutoffDate, null, 0);
+        for (String status : new String[]{"COMPLETED", "CANCELLED"}) {
+            ConcurrentSkipListSet<TaskKey> keys = tasksByStatus.get(status);
+            if (keys == null) {
+                continue;
+            }
+            for (TaskKey key : keys.headSet(cutoff)) {
+                if (moved.size() >= batchSize) {
+                    break;
+                }
+                TaskRow row = tasks.get(key.taskId);
+                if (row == null) {
+                    continue;
+                }
+                synchronized (row) {
+                    if (!row.deleted && status.equals(row.status)) {
+                        remove(row);
+                        archivedTasks.put(row.taskId, row);
+                        moved.add(row.taskId);
+                    }
+                }
+            }
+        }
+        
+        if (!moved.isEmpty()) {
+            Iterator<HistoryRow> it = history.iterator();
+            while (it.hasNext()) {
+                HistoryRow entry = it.next();
+                if (moved.contains(entry.taskId)) {
+                    it.remove();
+                    historyCount.decrementAndGet();
+                    archivedHistory.add(entry);
+                }
+            }
+        }
+        return moved.size();
+    }
+    
+    @Override
+    public Task getArchivedTaskById(int taskId) {
+        TaskRow row = archivedTasks.get(taskId);
+        return row != null ? row.toTask() : null;
+    }
+    
+    @Override
+    public List<Task> getArchivedTasksByRequester(int requesterId) {
+        // Latest scheduled first, as in getTasksByRequester
+        Comparator<TaskRow> bySchedule = Comparator.comparing(row -> row.key);
+        return archived(row -> row.requesterId == requesterId, bySchedule.reversed());
+    }
+    
+    @Override
+    public List<Task> getArchivedTasksByVolunteer(int volunteerId) {
+        return archived(row -> Objects.equals(row.volunteerId, volunteerId), Comparator.comparing(row -> row.key));
+    }
+    
+    @Override
+    public int countArchivedTasks() {
+        return archivedTasks.size();
+    }
+    
+    // The archive is not indexed: it is read rarely and only on request
+    private List<Task> archived(Predicate<TaskRow> condition, Comparator<TaskRow> order) {
+        List<TaskRow> rows = new ArrayList<>();
+        for (TaskRow row : archivedTasks.values()) {
+            if (condition.test(row)) {
+                rows.add(row);
+            }
+        }
+        rows.sort(order);
+        List<Task> result = new ArrayList<>();
+        for (TaskRow row : rows) {
+            result.add(withNames(row.toSummary()));
+        }
+        return result;
+    }
+    
+    /**
+     * Replace a task's state and move it between index entries; caller holds the row lock
+     */
+    private void store(TaskRow row, TaskTransition.TaskState next) {
+        if (!Objects.equals(row.status, next.status)) {
+            unindex(tasksByStatus, row.status, row.key);
+            index(tasksByStatus, next.status).add(row.key);
+            if (row.position != null && "AVAILABLE".equals(row.status)) {
+                unindex(availableByCell, GeoGrid.cellOf(row.position), row.key);
+            } else if (row.position != null && "AVAILABLE".equals(next.status)) {
+                index(availableByCell, GeoGrid.cellOf(row.position)).add(row.key);
+            }
+        }
+        if (!Objects.equals(row.volunteerId, next.volunteerId)) {
+            if (row.volunteerId != null) {
+                unindex(tasksByVolunteer, row.volunteerId, row.key);
+            }
+            if (next.volunteerId != null) {
+                index(tasksByVolunteer, next.volunteerId).add(row.key);
+            }
+        }
+        row.status = next.status;
+        row.volunteerId = next.volunteerId;
+        row.volunteerConfirmed = next.volunteerConfirmed;
+        row.elderlyConfirmed = next.elderlyConfirmed;
+        row.previousVolunteerId = next.previousVolunteerId;
+        row.reassignmentReason = next.reassignmentReason;
+        row.version++;
+        touch(row);
+    }
+    
+    /**
+     * Stamp a task as changed now; caller holds the row lock
+     */
+    private void touch(TaskRow row) {
+        unindexChange(row);
+        row.updatedAt = System.currentTimeMillis();
+        Change change = new Change(row.updatedAt, row.taskId);
+        index(changesByRequester, row.requesterId).add(change);
+        row.changeVolunteerIds = volunteersOf(row);
+        for (Integer volunteerId : row.changeVolunteerIds) {
+            index(changesByVolunteer, volunteerId).add(change);
+        }
+    }
+    
+    private void unindexChange(TaskRow row) {
+        Change change = new Change(row.updatedAt, row.taskId);
+        unindex(changesByRequester, row.requesterId, change);
+        for (Integer volunteerId : row.changeVolunteerIds) {
+            unindex(changesByVolunteer, volunteerId, change);
+        }
+    }
+    
+    // The volunteers whose change feed has the task: its volunteer and the one last removed from it
+    private static List<Integer> volunteersOf(TaskRow row) {
+        List<Integer> volunteerIds = new ArrayList<>(2);
+        if (row.volunteerId != null) {
+            volunteerIds.add(row.volunteerId);
+        }
+        if (row.previousVolunteerId != null && !row.previousVolunteerId.equals(row.volunteerId)) {
+            volunteerIds.add(row.previousVolunteerId);
+        }
+        return volunteerIds;
+    }
+    
+    /**
+     * Delete a task and its index entries; caller holds the row lock
+     */
+    private void remove(TaskRow row) {
+        row.deleted = true;
+        tasks.remove(row.taskId);
+        unindex(tasksByStatus, row.status, row.key);
+        unindex(tasksByRequester, row.requesterId, row.key);
+        if (row.volunteerId != null) {
+            unindex(tasksByVolunteer, row.volunteerId, row.key);
+        }
+        if (row.position != null && "AVAILABLE".equals(row.status)) {
+            unindex(availableByCell, GeoGrid.cellOf(row.position), row.key);
+        }
+        searchIndex.remove(row.taskId);
+        unindexChange(row);
+        Change removed = new Change(System.currentTimeMillis(), row.taskId);
+        tombstones.put(removed, row);
+        index(tombstonesByRequester, row.requesterId).add(removed);
+        for (Integer volunteerId : volunteersOf(row)) {
+            index(tombstonesByVolunteer, volunteerId).add(removed);
+        }
+    }
+    
+    private static <K, E> ConcurrentSkipListSet<E> index(ConcurrentHashMap<K, ConcurrentSkipListSet<E>> index, K key) {
+        return index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>());
+    }
+    
+    private static <K, E> void unindex(ConcurrentHashMap<K, ConcurrentSkipListSet<E>> index, K key, E entry) {
+        ConcurrentSkipListSet<E> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(entry);
+        }
+    }
+    
+    private List<TaskRow> rows(Collection<TaskKey> keys) {
+        List<TaskRow> rows = new ArrayList<>();
+        if (keys != null) {
+            for (TaskKey key : keys) {
+                TaskRow row = tasks.get(key.taskId);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Copy up to max tasks from index keys, re-checking each row against the index condition
+     * (an index entry can briefly lag the row while another thread is moving it)
+     */
+    private List<Task> collect(Collection<TaskKey> keys, Predicate<TaskRow> condition, int max) {
+        List<Task> result = new ArrayList<>();
+        if (keys == null) {
+            return result;
+        }
+        for (TaskKey key : keys) {
+            TaskRow row = tasks.get(key.taskId);
+            if (row == null) {
+                continue;
+            }
+            synchronized (row) {
+                if (!row.deleted && condition.test(row)) {
+                    result.add(withNames(row.toSummary()));
+                }
+            }
+            if (result.size() >= max) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    private List<Task> snapshot(Collection<TaskRow> rows, int max) {
+        List<Task> result = new ArrayList<>();
+        for (TaskRow row : rows) {
+            synchronized (row) {
+                if (!row.deleted) {
+                    result.add(withNames(row.toSummary()));
+                }
+            }
+            if (result.size() >= max) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    private Task withNames(Task task) {
+        String requesterName = getUserName(task.getRequesterId());
+        task.setRequesterName(requesterName != null ? requesterName : "Unknown User");
+        if (task.getVolunteerId() != null) {
+            String volunteerName = getUserName(task.getVolunteerId());
+            task.setVolunteerName(volunteerName != null ? volunteerName : "Unknown User");
+        }
+        return task;
+    }
+    
+    private static boolean isFinished(String status) {
+        return "COMPLETED".equals(status) || "CANCELLED".equals(status);
+    }
+    
+    /**
+     * Comparator for a whitelisted sort key; the id tie-breaker keeps row positions stable
+     */
+    private static <T> Comparator<T> sortBy(Map<String, Comparator<T>> sorts, String sortKey, boolean ascending,
+                                            Comparator<T> byId) {
+        Comparator<T> column = sorts.get(sortKey);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown sort key: " + sortKey);
+        }
+        Comparator<T> order = column.thenComparing(byId);
+        return ascending ? order : order.reversed();
+    }
+    
+    private static <T> List<T> block(List<T> rows, Comparator<T> order, int offset, int limit) {
+        rows.sort(order);
+        if (offset >= rows.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(rows.subList(offset, Math.min(offset + limit, rows.size())));
+    }
+    
+    // ==================== DELTA SYNC ====================
+    
+    @Override
+    public long getSyncTime() {
+        return System.currentTimeMillis();
+    }
+    
+    @Override
+    public TaskChanges getTaskChangesByRequester(int requesterId, long since, int limit) {
+        return taskChanges(changesByRequester.get(requesterId), tombstonesByRequester.get(requesterId), since, limit);
+    }
+    
+    @Override
+    public TaskChanges getTaskChangesByVolunteer(int volunteerId, long since, int limit) {
+        return taskChanges(changesByVolunteer.get(volunteerId), tombstonesByVolunteer.get(volunteerId), since, limit);
+    }
+    
+    // Reads one user's change and tombstone sets (either may be null) from since on
+    private TaskChanges taskChanges(ConcurrentSkipListSet<Change> changes, ConcurrentSkipListSet<Change> removed,
+                                    long since, int limit) {
+        long asOf = getSyncTime();
+        Change from = new Change(since, Integer.MIN_VALUE);
+        List<Integer> removedIds = new ArrayList<>();
+        if (removed != null) {
+            for (Change tombstone : removed.tailSet(from)) {
+                if (removedIds.size() == limit) {
+                    return TaskChanges.incomplete(asOf);
+                }
+                removedIds.add(tombstone.taskId);
+            }
+        }
+        List<TaskRow> rows = new ArrayList<>();
+        if (changes != null) {
+            for (Change change : changes.tailSet(from)) {
+                TaskRow row = tasks.get(change.taskId);
+                if (row != null) {
+                    rows.add(row);
+                }
+                if (rows.size() > limit) {
+                    return TaskChanges.incomplete(asOf);
+                }
+            }
+        }
+        return new TaskChanges(snapshot(rows, Integer.MAX_VALUE), removedIds, asOf);
+    }
+    
+    @Override
+    public int pruneTaskTombstones(long before, int batchSize) {
+        int pruned = 0;
+        for (Map.Entry<Change, TaskRow> tombstone : tombstones.headMap(new Change(before, Integer.MIN_VALUE)).entrySet()) {
+            if (pruned == batchSize) {
+                break;
+            }
+            if (tombstones.remove(tombstone.getKey()) != null) {
+                TaskRow row = tombstone.getValue();
+                unindex(tombstonesByRequester, row.requesterId, tombstone.getKey());
+                for (Integer volunteerId : volunteersOf(row)) {
+                    unindex(tombstonesByVolunteer, volunteerId, tombstone.getKey());
+                }
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+    
+    // ==================== HISTORY AND STATS ====================
+    
+    /**
+     * Entries must refer to an existing task and user, like the task_history foreign keys
+     */
+    @Override
+    public void writeTaskHistory(List<TaskHistoryAppender.Entry> entries) throws SQLException {
+        for (TaskHistoryAppender.Entry entry : entries) {
+            if (!tasks.containsKey(entry.getTaskId()) || !users.containsKey(entry.getUserId())) {
+                throw new SQLIntegrityConstraintViolationException("No task or user for history entry " + entry);
+            }
+        }
+        for (TaskHistoryAppender.Entry entry : entries) {
+            addHistory(entry.getTaskId(), entry.getUserId(), entry.getActionType(),
+                       entry.getPreviousStatus(), entry.getNewStatus());
+        }
+    }
+    
+    private void addHistory(int taskId, int userId, String actionType, String previousStatus, String newStatus) {
+        history.addFirst(new HistoryRow(taskId, userId, actionType, previousStatus, newStatus,
+                                        LocalDateTime.now().format(HISTORY_TIME)));
+        historyCount.incrementAndGet();
+    }
+    
+    @Override
+    public List<String> getRecentTaskHistory(int limit) {
+        List<String> result = new ArrayList<>();
+        for (HistoryRow entry : history) {
+            // Entries of deleted tasks are skipped, as the MySQL join (and cascade) would
+            TaskRow task = tasks.get(entry.taskId);
+            UserRow user = users.get(entry.userId);
+            if (task == null || user == null) {
+                continue;
+            }
+            result.add(DatabaseManager.formatHistoryEntry(entry.changedAt, user.username, user.role, entry.taskId,
+                                                          task.title, entry.actionType, entry.previousStatus,
+                                                          entry.newStatus));
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public void loadStats(SystemStats stats) {
+        int activeUsers = 0;
+        int activeVolunteers = 0;
+        int activeElderly = 0;
+        for (UserRow row : users.values()) {
+            if (row.active) {
+                activeUsers++;
+                if ("VOLUNTEER".equals(row.role)) {
+                    activeVolunteers++;
+                } else if ("ELDERLY".equals(row.role)) {
+                    activeElderly++;
+                }
+            }
+        }
+        
+        // Archived tasks still count towards the total and completed tasks, as in MySQL
+        int archivedCompleted = 0;
+        for (TaskRow row : archivedTasks.values()) {
+            if ("COMPLETED".equals(row.status)) {
+                archivedCompleted++;
+            }
+        }
+        
+        stats.reconcile(activeUsers, activeVolunteers, activeElderly, tasks.size() + archivedTasks.size(),
+                        statusCount("AVAILABLE"), statusCount("COMPLETED") + archivedCompleted,
+                        statusCount("ASSIGNED") + statusCount("IN_PROGRESS") +
+                        statusCount("PENDING_ELDERLY_CONFIRMATION") + statusCount("PENDING_VOLUNTEER_CONFIRMATION"));
+    }
+    
+    private int statusCount(String status) {
+        ConcurrentSkipListSet<TaskKey> keys = tasksByStatus.get(status);
+        return keys != null ? keys.size() : 0;
+    }
+    
+    // ==================== ROWS ====================
+    
+    private static final class UserRow {
+        final int userId;
+        final String username;
+        final String password;
+        final String email;
+        final String firstName;
+        final String lastName;
+        final String fullName;
+        final String phoneNumber;
+        final String role;
+        // Only volunteers have a user_points row
+        final boolean hasPoints;
+        volatile boolean active = true;
+        
+        // Guarded by this
+        private int points;
+        private int tasksCompleted;
+        private int hoursVolunteered;
+        private String location;
+        private GeoPoint position;
+        
+        UserRow(int userId, User user) {
+            this.userId = userId;
+            this.username = user.getUsername();
+            this.password = user.getPassword();
+            this.email = user.getEmail();
+            this.firstName = user.getFirstName();
+            this.lastName = user.getLastName();
+            this.fullName = firstName + " " + lastName;
+            this.phoneNumber = user.getPhoneNumber();
+            this.role = user.getRole();
+            this.hasPoints = "VOLUNTEER".equals(role);
+        }
+        
+        synchronized void addPoints(int pointsAdded, int hoursAdded) {
+            points += pointsAdded;
+            tasksCompleted++;
+            hoursVolunteered += hoursAdded;
+        }
+        
+        synchronized void setPoints(int points, int tasksCompleted, int hoursVolunteered) {
+            this.points = points;
+            this.tasksCompleted = tasksCompleted;
+            this.hoursVolunteered = hoursVolunteered;
+        }
+        
+        synchronized void setLocation(String location, GeoPoint position) {
+            this.location = location;
+            this.position = position;
+        }
+        
+        synchronized User toUser() {
+            User user = new User(userId, username, email, firstName, lastName, phoneNumber, role,
+                                 points, tasksCompleted);
+            user.setActive(active);
+            user.setLocation(location, position);
+            return user;
+        }
+    }
+    
+    /**
+     * A task; the fields after key change only while holding the row's lock
+     */
+    private static final class TaskRow {
+        final int taskId;
+        final String title;
+        final String description;
+        final int requesterId;
+        final String location;
+        final String scheduledDate;
+        final String scheduledTime;
+        final int estimatedDuration;
+        final String urgencyLevel;
+        final TaskKey key;
+        
+        Integer volunteerId;
+        String status;
+        boolean volunteerConfirmed;
+        boolean elderlyConfirmed;
+        Integer previousVolunteerId;
+        String reassignmentReason;
+        GeoPoint position;
+        int version;
+        long updatedAt;
+        // Volunteers whose change index holds this task (volunteersOf when it was last touched)
+        List<Integer> changeVolunteerIds = new ArrayList<>();
+        boolean deleted;
+        
+        TaskRow(int taskId, Task task) {
+            this.taskId = taskId;
+            this.title = task.getTitle();
+            this.description = task.getDescription();
+            this.requesterId = task.getRequesterId();
+            this.location = task.getLocation();
+            this.scheduledDate = task.getScheduledDate();
+            this.scheduledTime = task.getScheduledTime();
+            this.estimatedDuration = task.getEstimatedDuration();
+            this.urgencyLevel = task.getUrgencyLevel();
+            this.key = new TaskKey(scheduledDate, scheduledTime, taskId);
+            this.volunteerId = task.getVolunteerId();
+            this.status = task.getStatus();
+            this.volunteerConfirmed = task.isVolunteerConfirmed();
+            this.elderlyConfirmed = task.isElderlyConfirmed();
+            this.position = task.getPosition();
+        }
+        
+        Task toTask() {
+            Task task = toSummary();
+            task.setDescription(description);
+            return task;
+        }
+        
+        // What a list row carries in MySqlRepository: everything but the description
+        Task toSummary() {
+            Task task = new Task(taskId, title, null, requesterId, volunteerId, status, location,
+                                 scheduledDate, scheduledTime, estimatedDuration, volunteerConfirmed, elderlyConfirmed);
+            task.setUrgencyLevel(urgencyLevel);
+            task.setPosition(position);
+            return task;
+        }
+        
+        TaskTransition.TaskState toState() {
+            TaskTransition.TaskState state = new TaskTransition.TaskState();
+            state.taskId = taskId;
+            state.requesterId = requesterId;
+            state.volunteerId = volunteerId;
+            state.status = status;
+            state.estimatedDuration = estimatedDuration;
+            state.volunteerConfirmed = volunteerConfirmed;
+            state.elderlyConfirmed = elderlyConfirmed;
+            state.previousVolunteerId = previousVolunteerId;
+            state.reassignmentReason = reassignmentReason;
+            state.version = version;
+            return state;
+        }
+    }
+    
+    // When a task changed or was removed, ordered by time then id
+    private static final class Change implements Comparable<Change> {
+        final long time;
+        final int taskId;
+        
+        Change(long time, int taskId) {
+            this.time = time;
+            this.taskId = taskId;
+        }
+        
+        @Override
+        public int compareTo(Change other) {
+            int cmp = Long.compare(time, other.time);
+            return cmp != 0 ? cmp : Integer.compare(taskId, other.taskId);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Change && compareTo((Change) o) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(time) * 31 + taskId;
+        }
+    }
+    
+    /**
+     * Index entry ordered by (scheduled date, scheduled time, task id)
+     */
+    private static final class TaskKey implements Comparable<TaskKey> {
+        final String date;
+        final String time;
+        final int taskId;
+        
+        TaskKey(String date, String time, int taskId) {
+            this.date = date != null ? date : "";
+            this.time = time != null ? time : "";
+            this.taskId = taskId;
+        }
+        
+        @Override
+        public int compareTo(TaskKey other) {
+            int cmp = date.compareTo(other.date);
+            if (cmp != 0) {
+                return cmp;
+            }
+            cmp = time.compareTo(other.time);
+            if (cmp != 0) {
+                return cmp;
+            }
+            return Integer.compare(taskId, other.taskId);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TaskKey && compareTo((TaskKey) o) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return taskId;
+        }
+    }
+    
+    /**
+     * Position in one cell's sorted index while merging cells
+     */
+    private static final class CellCursor implements Comparable<CellCursor> {
+        private final Iterator<TaskKey> keys;
+        TaskKey current;
+        
+        CellCursor(Iterator<TaskKey> keys) {
+            this.keys = keys;
+        }
+        
+        boolean advance() {
+            current = keys.hasNext() ? keys.next() : null;
+            return current != null;
+        }
+        
+        @Override
+        public int compareTo(CellCursor other) {
+            return current.compareTo(other.current);
+        }
+    }
+    
+    private static final class HistoryRow {
+        final int taskId;
+        final int userId;
+        final String actionType;
+        final String previousStatus;
+        final String newStatus;
+        final String changedAt;
+        
+        HistoryRow(int taskId, int userId, String actionType, String previousStatus, String newStatus, String changedAt) {
+            this.taskId = taskId;
+            this.userId = userId;
+            this.actionType = actionType;
+            this.previousStatus = previousStatus;
+            this.newStatus = newStatus;
+            this.changedAt = changedAt;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IndexAdvisor runs EXPLAIN over every query template MySqlRepository has executed and flags
+ * full table scans, full index scans, filesorts and temporary tables
+ *
+ * It listens on the connection pool and keeps the first parameters seen for each SELECT,
+ * UPDATE and DELETE template, so plans are explained with realistic values. Run it standalone
+ * to exercise every read operation once and print the report (exit status 2 if anything is flagged):
+ *
+ *   java -cp target/classes:mysql-connector-j-9.4.0.jar IndexAdvisor
+ *
+ * or click Explain Queries in the admin Query Metrics dialog to explain what the running
+ * application has executed so far. Plans depend on table sizes, so run it against realistic data.
+ */
+public class IndexAdvisor implements ConnectionPool.QueryListener {
+    // Distinct templates remembered; IN (...) lists of any length count as one
+    private static final int MAX_TEMPLATES = Integer.getInteger("db.indexAdvisor.maxTemplates", 500);
+    
+    // Templates with good plans are shown cut to this length
+    private static final int SUMMARY_SQL_LENGTH = 120;
+    
+    private final Map<String, Sample> templates = new ConcurrentHashMap<>();
+    
+    @Override
+    public void queryExecuted(String sql, Map<Integer, Object> parameters, int batchSize,
+                              long nanos, SQLException error) {
+        if (error != null || batchSize > 0 || !isExplainable(sql)) {
+            return;
+        }
+        String key = sql.indexOf("IN (?") >= 0 ? sql.replaceAll("IN \\(\\?(, ?\\?)*\\)", "IN (...)") : sql;
+        if (templates.containsKey(key) || templates.size() >= MAX_TEMPLATES) {
+            return;
+        }
+        templates.putIfAbsent(key, new Sample(sql, new TreeMap<>(parameters)));
+    }
+    
+    private static boolean isExplainable(String sql) {
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        return sql.regionMatches(true, start, "SELECT", 0, 6) ||
+               sql.regionMatches(true, start, "UPDATE", 0, 6) ||
+               sql.regionMatches(true, start, "DELETE", 0, 6);
+    }
+    
+    /**
+     * Number of distinct templates seen so far
+     */
+    public int getTemplateCount() {
+        return templates.size();
+    }
+    
+    /**
+     * EXPLAIN every template seen so far on the given connection, flagged plans first
+     */
+    public List<Finding> analyze(Connection conn) throws SQLException {
+        List<Finding> findings = new ArrayList<>();
+        for (Map.Entry<String, Sample> entry : new TreeMap<>(templates).entrySet()) {
+            Sample sample = entry.getValue();
+            List<PlanRow> plan = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sample.sql)) {
+                for (Map.Entry<Integer, Object> parameter : sample.parameters.entrySet()) {
+                    stmt.setObject(parameter.getKey(), parameter.getValue());
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(new PlanRow(rs.getString("table"), rs.getString("type"), rs.getString("key"),
+                                             rs.getLong("rows"), rs.getString("Extra")));
+                    }
+                }
+                findings.add(new Finding(entry.getKey(), plan));
+            } catch (SQLException e) {
+                // Connection problems end the run; a template MySQL cannot explain is reported
+                if (e.getSQLState() != null && e.getSQLState().startsWith("08")) {
+                    throw e;
+                }
+                Finding failed = new Finding(entry.getKey(), plan);
+                failed.problems.add("EXPLAIN FAILED (" + e.getMessage() + ")");
+                findings.add(failed);
+            }
+        }
+        findings.sort((a, b) -> Boolean.compare(a.isOk(), b.isOk()));
+        return findings;
+    }
+    
+    /**
+     * Report listing each flagged template with its plan, then the templates with good plans
+     */
+    public static String format(List<Finding> findings) {
+        int flagged = 0;
+        for (Finding finding : findings) {
+            if (!finding.isOk()) {
+                flagged++;
+            }
+        }
+        
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Explained %d query templates, %d flagged%n", findings.size(), flagged));
+        for (Finding finding : findings) {
+            if (finding.isOk()) {
+                continue;
+            }
+            report.append('\n').append(finding.getProblems()).append(' ').append(finding.getSql()).append('\n');
+            for (PlanRow row : finding.getPlan()) {
+                report.append("    ").append(row).append('\n');
+            }
+        }
+        
+        if (flagged < findings.size()) {
+            report.append("\nUsing indexes:\n");
+            for (Finding finding : findings) {
+                if (finding.isOk()) {
+                    String sql = finding.getSql();
+                    report.append("    ").append(sql.length() > SUMMARY_SQL_LENGTH
+                        ? sql.substring(0, SUMMARY_SQL_LENGTH) + "..." : sql).append('\n');
+                }
+            }
+        }
+        return report.toString();
+    }
+    
+    /**
+     * Run every read operation once against MySQL, then print the EXPLAIN report
+     */
+    public static void main(String[] args) {
+        if (!"mysql".equals(System.getProperty("db.backend", "mysql"))) {
+            System.err.println("IndexAdvisor needs the MySQL backend");
+            System.exit(1);
+        }
+        if (!DatabaseManager.testConnection()) {
+            System.err.println("Cannot connect to MySQL");
+            System.exit(1);
+        }
+        
+        exerciseReads();
+        List<Finding> findings = DatabaseManager.explainQueries();
+        System.out.print(format(findings));
+        
+        boolean flagged = false;
+        for (Finding finding : findings) {
+            flagged |= !finding.isOk();
+        }
+        System.exit(flagged ? 2 : 0);
+    }
+    
+    private static void exerciseReads() {
+        Page<Task> available = DatabaseManager.getAvailableTasksPage(null, 1);
+        if (available.hasMore()) {
+            DatabaseManager.getAvailableTasksPage(available.getLast(), 1);
+        }
+        DatabaseManager.getAvailableTasks();
+        
+        Page<Task> tasks = DatabaseManager.getAllTasksPage(null, 1);
+        if (tasks.hasMore()) {
+            DatabaseManager.getAllTasksPage(tasks.getLast(), 1);
+        }
+        Task sample = tasks.getItems().isEmpty() ? null : tasks.getItems().get(0);
+        int taskId = sample != null ? sample.getTaskId() : 1;
+        int requesterId = sample != null ? sample.getRequesterId() : 1;
+        int volunteerId = sample != null && sample.getVolunteerId() != null ? sample.getVolunteerId() : 1;
+        DatabaseManager.getTaskById(taskId);
+        DatabaseManager.getTasksByRequester(requesterId);
+        DatabaseManager.getTasksByVolunteer(volunteerId);
+        DatabaseManager.searchTasks(sample != null ? sample.getTitle() : "task", "AVAILABLE", null, null, 1);
+        GeoPoint center = DatabaseManager.resolveLocation(sample != null ? sample.getLocation() : null);
+        DatabaseManager.getAvailableTasksNear(center != null ? center : new GeoPoint(0, 0), 10, 1);
+        // Only the SELECT behind mapTaskPositions(); its UPDATE would change the data
+        DatabaseManager.getRepository().getUnmappedTasks(0, 1);
+        // The second call checks the cached suggestions are still available
+        DatabaseManager.getSuggestedTasks(volunteerId, 1);
+        DatabaseManager.getSuggestedTasks(volunteerId, 1);
+        // A recent watermark reads the change feed instead of the whole list
+        DatabaseManager.syncTasksByRequester(requesterId, DatabaseManager.getRepository().getSyncTime());
+        DatabaseManager.getTasksByRequester(requesterId, true);
+        DatabaseManager.getTasksByVolunteer(volunteerId, true);
+        DatabaseManager.getAllTasks();
+        DatabaseManager.countTasks();
+        for (String sortKey : MySqlRepository.taskSortKeys()) {
+            DatabaseManager.getTasksBlock(0, 1, sortKey, true);
+        }
+        
+        Page<User> users = DatabaseManager.getUsersPage(null, 1);
+        if (users.hasMore()) {
+            DatabaseManager.getUsersPage(users.getLast(), 1);
+        }
+        DatabaseManager.getAllUsers();
+        DatabaseManager.countUsers();
+        for (String sortKey : MySqlRepository.userSortKeys()) {
+            DatabaseManager.getUsersBlock(0, 1, sortKey, true);
+        }
+        DatabaseManager.invalidateUserName(requesterId);
+        DatabaseManager.getUserNameById(requesterId);
+        DatabaseManager.invalidateUserName(volunteerId);
+        DatabaseManager.getUserNamesByIds(Collections.singletonList(volunteerId));
+        DatabaseManager.loginUser("index_advisor", "");
+        
+        DatabaseManager.reloadLeaderboard();
+        DatabaseManager.reconcileSystemStats();
+        DatabaseManager.getTaskHistory();
+    }
+    
+    // One template and the parameters it was first executed with
+    private static final class Sample {
+        final String sql;
+        final Map<Integer, Object> parameters;
+        
+        Sample(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+    
+    /**
+     * The EXPLAIN plan of one template and the problems found in it
+     */
+    public static final class Finding {
+        private final String sql;
+        private final List<PlanRow> plan;
+        private final List<String> problems = new ArrayList<>();
+        
+        Finding(String sql, List<PlanRow> plan) {
+            this.sql = sql.replaceAll("\\s+", " ").trim();
+            this.plan = plan;
+            for (PlanRow row : plan) {
+                // Derived tables (<derived2>) and constant lookups are built from other rows
+                if (row.table == null || row.table.startsWith("<")) {
+                    continue;
+                }
+                if ("ALL".equals(row.type)) {
+                    problems.add("FULL SCAN " + row.table);
+                } else if ("index".equals(row.type)) {
+                    problems.add("FULL INDEX SCAN " + row.table);
+                }
+                if (row.extra != null && row.extra.contains("Using filesort")) {
+                    problems.add("FILESORT " + row.table);
+                }
+                if (row.extra != null && row.extra.contains("Using temporary")) {
+                    problems.add("TEMPORARY " + row.table);
+                }
+            }
+        }
+        
+        public String getSql() { return sql; }
+        public List<PlanRow> getPlan() { return plan; }
+        public List<String> getProblems() { return problems; }
+        public boolean isOk() { return problems.isEmpty(); }
+    }
+    
+    /**
+     * One row of EXPLAIN output
+     */
+    public static final class PlanRow {
+        private final String table;
+        private final String type;
+        private final String key;
+        private final long rows;
+        private final String extra;
+        
+        PlanRow(String table, String type, String key, long rows, String extra) {
+            this.table = table;
+            this.type = type;
+            this.key = key;
+            this.rows = rows;
+            this.extra = extra;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s: type=%s key=%s rows=%d%s", table, type, key != null ? key : "-", rows,
+                                 extra != null && !extra.isEmpty() ? " (" + extra + ")" : "");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableColumn;
+
+/**
+ * LazyTableModel is a read-only table model that fetches rows from the database in blocks on demand
+ *
+ * Only the most recently used blocks are kept in memory. The block next to the one being
+ * viewed (in the direction of scrolling) is prefetched. Sorting happens in SQL: clicking a
+ * column header re-queries in the new order instead of sorting rows held on the client.
+ */
+public class LazyTableModel<T> extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final String LOADING = "Loading...";
+    
+    /**
+     * Fetches rows [offset, offset + limit) in the given order, off the EDT
+     */
+    public interface BlockSource<T> {
+        CompletableFuture<List<T>> fetch(int offset, int limit, String sortKey, boolean ascending);
+    }
+    
+    /**
+     * Maps one fetched row to the value shown in a column
+     */
+    public interface CellMapper<T> {
+        Object getValue(T row, int column);
+    }
+    
+    private final String[] columnNames;
+    private final String[] sortKeys;
+    private final int rowCount;
+    private final BlockSource<T> source;
+    private final CellMapper<T> cells;
+    private final int blockSize;
+    private final LinkedHashMap<Integer, List<T>> blocks;
+    private final Set<Integer> loading = new HashSet<>();
+    
+    private int sortColumn;
+    private boolean ascending;
+    private int lastBlock = 0;
+    // Bumped on every re-sort so blocks fetched for the old order are ignored
+    private int generation = 0;
+    
+    /**
+     * @param sortKeys SQL sort key per column (null if the column cannot be sorted)
+     */
+    public LazyTableModel(String[] columnNames, String[] sortKeys, int rowCount,
+                          int blockSize, int maxBlocks, BlockSource<T> source, CellMapper<T> cells,
+                          int sortColumn, boolean ascending) {
+        this.columnNames = columnNames;
+        this.sortKeys = sortKeys;
+        this.rowCount = rowCount;
+        this.blockSize = blockSize;
+        this.source = source;
+        this.cells = cells;
+        this.sortColumn = sortColumn;
+        this.ascending = ascending;
+        // Access order makes the least recently viewed block the one evicted
+        this.blocks = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        if (column == sortColumn) {
+            return columnNames[column] + (ascending ? " \u25B2" : " \u25BC");
+        }
+        return columnNames[column];
+    }
+    
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        int block = row / blockSize;
+        prefetchAround(block);
+        
+        List<T> rows = blocks.get(block);
+        if (rows == null) {
+            load(block);
+            return column == 0 ? LOADING : null;
+        }
+        int index = row - block * blockSize;
+        return index < rows.size() ? cells.getValue(rows.get(index), column) : null;
+    }
+    
+    /**
+     * Re-query in a new order: toggles direction if the column is already the sort column
+     */
+    public void sortBy(int column) {
+        if (sortKeys[column] == null) {
+            return;
+        }
+        ascending = column == sortColumn ? !ascending : true;
+        sortColumn = column;
+        
+        generation++;
+        blocks.clear();
+        loading.clear();
+        lastBlock = 0;
+        fireTableDataChanged();
+    }
+    
+    /**
+     * Sort by a column when its header is clicked, and keep the header arrows up to date
+     */
+    public void installHeaderSorting(JTable table) {
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int viewColumn = table.columnAtPoint(e.getPoint());
+                if (viewColumn < 0) {
+                    return;
+                }
+                sortBy(table.convertColumnIndexToModel(viewColumn));
+                for (int i = 0; i < table.getColumnModel().getColumnCount(); i++) {
+                    TableColumn tableColumn = table.getColumnModel().getColumn(i);
+                    tableColumn.setHeaderValue(getColumnName(tableColumn.getModelIndex()));
+                }
+                table.getTableHeader().repaint();
+            }
+        });
+    }
+    
+    private void prefetchAround(int block) {
+        if (block == lastBlock) {
+            return;
+        }
+        int ahead = block > lastBlock ? block + 1 : block - 1;
+        lastBlock = block;
+        load(ahead);
+    }
+    
+    private void load(int block) {
+        int offset = block * blockSize;
+        if (block < 0 || offset >= rowCount || blocks.containsKey(block) || !loading.add(block)) {
+            return;
+        }
+        
+        int requested = generation;
+        AsyncDatabase.onEdt(source.fetch(offset, blockSize, sortKeys[sortColumn], ascending), rows -> {
+            if (requested != generation) {
+                return;
+            }
+            loading.remove(block);
+            blocks.put(block, rows);
+            fireTableRowsUpdated(offset, Math.min(offset + blockSize, rowCount) - 1);
+        }, error -> {
+            if (requested == generation) {
+                loading.remove(block);
+            }
+            System.err.println("Error loading table rows " + offset + "+: " + error.getMessage());
+        });
+    }
+}
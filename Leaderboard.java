@@ -0,0 +1,237 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Leaderboard keeps every volunteer's points in memory, ordered by rank
+ *
+ * Volunteers are held in a treap (a randomized balanced search tree) ordered by points,
+ * then tasks completed, then user id. Each node also stores its subtree size, so the top K
+ * are read in O(K + log n) and any volunteer's rank is found in O(log n).
+ * DatabaseManager loads it from user_points, applies each points award after it commits,
+ * and reloads it periodically to pick up changes made by other clients.
+ */
+public class Leaderboard {
+    private final Random random = new Random();
+    private final Map<Integer, Node> byUser = new HashMap<>();
+    private Node root;
+    private boolean loaded = false;
+    
+    /**
+     * Replace the whole leaderboard with volunteers read from the database
+     */
+    public synchronized void load(List<User> volunteers) {
+        root = null;
+        byUser.clear();
+        for (User volunteer : volunteers) {
+            insert(new Node(volunteer, volunteer.getPoints(), volunteer.getTasksCompleted(), random.nextInt()));
+        }
+        loaded = true;
+    }
+    
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Add a newly registered volunteer with no points
+     */
+    public synchronized void addVolunteer(User volunteer) {
+        if (loaded && !byUser.containsKey(volunteer.getUserId())) {
+            insert(new Node(volunteer, 0, 0, random.nextInt()));
+        }
+    }
+    
+    /**
+     * Apply a committed points award for one completed task
+     */
+    public synchronized void recordCompletion(int userId, int pointsAdded) {
+        Node current = byUser.get(userId);
+        if (current == null) {
+            return;
+        }
+        root = remove(root, current);
+        insert(new Node(current.profile, current.points + pointsAdded, current.tasksCompleted + 1, random.nextInt()));
+    }
+    
+    /**
+     * The first k volunteers in rank order
+     */
+    public synchronized List<User> top(int k) {
+        List<User> result = new ArrayList<>(Math.max(0, Math.min(k, byUser.size())));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        
+        // In-order walk that stops after k nodes
+        while (result.size() < k && (node != null || !stack.isEmpty())) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.toUser());
+            node = node.right;
+        }
+        return result;
+    }
+    
+    /**
+     * 1-based rank of a volunteer, or 0 if they are not on the leaderboard
+     */
+    public synchronized int rankOf(int userId) {
+        Node target = byUser.get(userId);
+        if (target == null) {
+            return 0;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                before += size(node.left);
+                break;
+            }
+        }
+        return before + 1;
+    }
+    
+    public synchronized int size() {
+        return byUser.size();
+    }
+    
+    // ==================== TREAP ====================
+    
+    private void insert(Node node) {
+        byUser.put(node.profile.getUserId(), node);
+        root = insert(root, node);
+    }
+    
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.priority > root.priority) {
+            Node[] parts = split(root, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+            return node;
+        }
+        if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+        } else {
+            root.right = insert(root.right, node);
+        }
+        update(root);
+        return root;
+    }
+    
+    private static Node remove(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        int cmp = compare(node, root);
+        if (cmp == 0) {
+            return merge(root.left, root.right);
+        }
+        if (cmp < 0) {
+            root.left = remove(root.left, node);
+        } else {
+            root.right = remove(root.right, node);
+        }
+        update(root);
+        return root;
+    }
+    
+    /**
+     * Split into nodes ranked before the key and nodes ranked after it
+     */
+    private static Node[] split(Node root, Node key) {
+        if (root == null) {
+            return new Node[2];
+        }
+        if (compare(root, key) < 0) {
+            Node[] parts = split(root.right, key);
+            root.right = parts[0];
+            update(root);
+            parts[0] = root;
+            return parts;
+        }
+        Node[] parts = split(root.left, key);
+        root.left = parts[1];
+        update(root);
+        parts[1] = root;
+        return parts;
+    }
+    
+    /**
+     * Join two treaps where every node of the first ranks before every node of the second
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+    
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+    
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+    
+    // Higher points first, then more tasks completed, then lower user id
+    private static int compare(Node a, Node b) {
+        if (a.points != b.points) {
+            return Integer.compare(b.points, a.points);
+        }
+        if (a.tasksCompleted != b.tasksCompleted) {
+            return Integer.compare(b.tasksCompleted, a.tasksCompleted);
+        }
+        return Integer.compare(a.profile.getUserId(), b.profile.getUserId());
+    }
+    
+    private static final class Node {
+        final User profile;
+        final int points;
+        final int tasksCompleted;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+        
+        Node(User profile, int points, int tasksCompleted, int priority) {
+            this.profile = profile;
+            this.points = points;
+            this.tasksCompleted = tasksCompleted;
+            this.priority = priority;
+        }
+        
+        User toUser() {
+            return new User(profile.getUserId(), profile.getUsername(), profile.getEmail(),
+                            profile.getFirstName(), profile.getLastName(), profile.getPhoneNumber(),
+                            profile.getRole(), points, tasksCompleted);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadGenerator drives DatabaseManager with many simulated users at once, without the GUI
+ *
+ * Each of load.users threads owns one elderly and one volunteer account and repeatedly picks
+ * an action from the configured mix: create a task (elderly), browse the available tasks,
+ * accept one of them (volunteers race for the same soonest tasks), confirm an accepted task
+ * (volunteer, then elderly), or run an admin query. At the end it prints throughput,
+ * p50/p95/p99 latency, conflicts and errors per action, plus connection pool usage.
+ *
+ * Usage: java -Dload.users=100 -Dload.durationSeconds=60 -cp target/classes LoadGenerator
+ */
+public class LoadGenerator {
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+    private static final int RAMP_UP_SECONDS = Integer.getInteger("load.rampUpSeconds", 0);
+    private static final long THINK_TIME_MS = Long.getLong("load.thinkTimeMs", 0L);
+    private static final String MIX = System.getProperty("load.mix", "create=10,browse=40,accept=20,confirm=15,admin=15");
+    
+    // Volunteers choose among this many of the soonest available tasks, so accepts collide
+    private static final int ACCEPT_CHOICES = 10;
+    
+    private static final String PASSWORD = "load";
+    
+    private static final String[] ACTIONS = {"create", "browse", "accept", "confirm", "admin"};
+    
+    private final Map<String, ActionStats> stats = new LinkedHashMap<>();
+    private final int[] cumulativeWeights = new int[ACTIONS.length];
+    private final List<User> elderly = new ArrayList<>();
+    private final List<User> volunteers = new ArrayList<>();
+    private volatile boolean recording = false;
+    private volatile boolean running = true;
+    
+    public static void main(String[] args) throws Exception {
+        // Must be set before DatabaseManager is loaded
+        if (System.getProperty("db.backend") == null) {
+            System.setProperty("db.backend", "memory");
+            System.setProperty("db.memory.sampleData", "false");
+        }
+        if (!DatabaseManager.testConnection()) {
+            System.err.println("Cannot reach the " + System.getProperty("db.backend") + " backend");
+            System.exit(1);
+        }
+        
+        new LoadGenerator().run();
+        System.exit(0);
+    }
+    
+    private LoadGenerator() {
+        Map<String, Integer> weights = parseMix(MIX);
+        int total = 0;
+        for (int i = 0; i < ACTIONS.length; i++) {
+            total += weights.getOrDefault(ACTIONS[i], 0);
+            cumulativeWeights[i] = total;
+            stats.put(ACTIONS[i], new ActionStats());
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("load.mix has no positive weights: " + MIX);
+        }
+    }
+    
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2 || !Arrays.asList(ACTIONS).contains(pair[0].trim())) {
+                throw new IllegalArgumentException("Bad load.mix entry '" + part + "', expected one of " +
+                                                   String.join("/", ACTIONS) + "=<weight>");
+            }
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+    
+    private void run() throws InterruptedException {
+        System.out.println("Backend: " + System.getProperty("db.backend") + ", users: " + USERS +
+                           ", mix: " + MIX + ", duration: " + DURATION_SECONDS + " s (+" + WARMUP_SECONDS + " s warmup)");
+        createAccounts();
+        
+        CountDownLatch done = new CountDownLatch(USERS);
+        for (int i = 0; i < USERS; i++) {
+            final int session = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    // Spread session starts over the ramp-up period
+                    Thread.sleep(RAMP_UP_SECONDS * 1000L * session / USERS);
+                    runSession(session);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-session-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        
+        Thread.sleep((RAMP_UP_SECONDS + WARMUP_SECONDS) * 1000L);
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(DURATION_SECONDS * 1000L);
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        done.await();
+        
+        printReport(seconds);
+    }
+    
+    private void createAccounts() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < USERS; i++) {
+            elderly.add(register("load_elderly_" + runId + "_" + i, "ELDERLY"));
+            volunteers.add(register("load_volunteer_" + runId + "_" + i, "VOLUNTEER"));
+        }
+    }
+    
+    private static User register(String username, String role) {
+        User user = new User(username, PASSWORD, username + "@load.local", "Load", username, "555-0000", role);
+        if (!DatabaseManager.registerUser(user)) {
+            throw new IllegalStateException("Could not register " + username);
+        }
+        return user;
+    }
+    
+    // ==================== SESSIONS ====================
+    
+    private void runSession(int session) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        User requester = elderly.get(session);
+        User volunteer = volunteers.get(session);
+        long sequence = 0;
+        
+        while (running) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int action = 0;
+            while (roll >= cumulativeWeights[action]) {
+                action++;
+            }
+            
+            String outcome;
+            long begin = System.nanoTime();
+            try {
+                switch (ACTIONS[action]) {
+                    case "create":
+                        outcome = create(requester, session, sequence++);
+                        break;
+                    case "browse":
+                        outcome = browse();
+                        break;
+                    case "accept":
+                        outcome = accept(volunteer, random);
+                        break;
+                    case "confirm":
+                        outcome = confirm(volunteer);
+                        break;
+                    default:
+                        outcome = admin(random);
+                        break;
+                }
+            } catch (RuntimeException e) {
+                outcome = TransitionResult.ERROR.name();
+            }
+            long elapsed = System.nanoTime() - begin;
+            
+            if (recording) {
+                stats.get(ACTIONS[action]).record(elapsed, outcome);
+            }
+            if (THINK_TIME_MS > 0) {
+                Thread.sleep(random.nextLong(THINK_TIME_MS * 2 + 1));
+            }
+        }
+    }
+    
+    private static String create(User requester, int session, long sequence) {
+        Task task = new Task("Load task " + session + "-" + sequence, "Created by LoadGenerator",
+                             requester.getUserId(), "Load St",
+                             String.format("2030-%02d-%02d", 1 + sequence % 12, 1 + sequence % 28),
+                             String.format("%02d:00", 8 + sequence % 10), 30 + (int) (sequence % 4) * 30);
+        return DatabaseManager.createTask(task) ? TransitionResult.APPLIED.name() : TransitionResult.ERROR.name();
+    }
+    
+    private static String browse() {
+        Page<Task> page = DatabaseManager.getAvailableTasksPage(null, DatabaseManager.DEFAULT_PAGE_SIZE);
+        if (page.hasMore()) {
+            DatabaseManager.getAvailableTasksPage(page.getLast(), DatabaseManager.DEFAULT_PAGE_SIZE);
+        }
+        return TransitionResult.APPLIED.name();
+    }
+    
+    private static String accept(User volunteer, ThreadLocalRandom random) {
+        List<Task> choices = DatabaseManager.getAvailableTasksPage(null, ACCEPT_CHOICES).getItems();
+        if (choices.isEmpty()) {
+            return "NO_TASK";
+        }
+        Task task = choices.get(random.nextInt(choices.size()));
+        return DatabaseManager.transitionTask(task.getTaskId(), TaskTransition.assign(volunteer.getUserId())).name();
+    }
+    
+    private static String confirm(User volunteer) {
+        Task accepted = null;
+        for (Task task : DatabaseManager.getTasksByVolunteer(volunteer.getUserId())) {
+            if ("ASSIGNED".equals(task.getStatus())) {
+                accepted = task;
+                break;
+            }
+        }
+        if (accepted == null) {
+            return "NO_TASK";
+        }
+        TransitionResult result = DatabaseManager.transitionTask(accepted.getTaskId(),
+            TaskTransition.volunteerConfirm(volunteer.getUserId()));
+        if (result.isApplied()) {
+            result = DatabaseManager.transitionTask(accepted.getTaskId(),
+                TaskTransition.elderlyConfirm(accepted.getRequesterId()));
+        }
+        return result.name();
+    }
+    
+    private static String admin(ThreadLocalRandom random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                DatabaseManager.getSystemStats();
+                break;
+            case 1:
+                DatabaseManager.getTasksBlock(0, 100, "id", false);
+                break;
+            default:
+                DatabaseManager.getLeaderboard(10);
+                break;
+        }
+        return TransitionResult.APPLIED.name();
+    }
+    
+    // ==================== REPORT ====================
+    
+    private void printReport(double seconds) {
+        System.out.println();
+        System.out.printf("%-8s %9s %10s %9s %9s %9s %9s %10s %9s %9s %8s %7s%n",
+                          "Action", "Ops", "Ops/s", "p50 ms", "p95 ms", "p99 ms", "Max ms",
+                          "Conflict%", "Rejected", "Overlaps", "NoTask", "Errors");
+        long totalOps = 0;
+        for (Map.Entry<String, ActionStats> entry : stats.entrySet()) {
+            ActionStats action = entry.getValue();
+            LatencyHistogram latency = action.latency;
+            long ops = latency.getCount();
+            totalOps += ops;
+            System.out.printf("%-8s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%% %9d %9d %8d %7d%n",
+                              entry.getKey(), ops, ops / seconds,
+                              latency.getPercentileNanos(50) / 1e6, latency.getPercentileNanos(95) / 1e6,
+                              latency.getPercentileNanos(99) / 1e6, latency.getMaxNanos() / 1e6,
+                              ops == 0 ? 0.0 : 100.0 * action.conflicts.sum() / ops,
+                              action.rejected.sum(), action.overlaps.sum(), action.noTask.sum(),
+                              action.errors.sum());
+        }
+        System.out.printf("%nTotal: %d ops in %.1f s (%.1f ops/s)%n", totalOps, seconds, totalOps / seconds);
+        
+        ConnectionPool.Stats pool = DatabaseManager.getPoolStats();
+        if (pool != null) {
+            System.out.printf("Connection pool: %d/%d in use at end, wait avg %.2f ms, max %.2f ms%n",
+                              pool.getActive(), pool.getMaxSize(), pool.getAverageWaitMillis(), pool.getMaxWaitMillis());
+            System.out.printf("Statement cache: %d hits, %d misses (%.1f%% hit rate), %d evicted%n",
+                              pool.getStatementCacheHits(), pool.getStatementCacheMisses(),
+                              pool.getStatementCacheHitRate() * 100, pool.getStatementCacheEvictions());
+        }
+        TaskHistoryAppender history = DatabaseManager.getHistoryAppender();
+        System.out.printf("History writer: %d queued, %d written, %d dropped%n",
+                          history.getQueuedCount(), history.getWrittenCount(), history.getDroppedCount());
+    }
+    
+    /**
+     * Latency and outcome counts for one action
+     */
+    private static final class ActionStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        // Lost an optimistic race (the row changed between read and write)
+        final LongAdder conflicts = new LongAdder();
+        // Not allowed in the task's current state, e.g. another volunteer accepted it first
+        final LongAdder rejected = new LongAdder();
+        // Refused because it overlaps a task the volunteer already accepted
+        final LongAdder overlaps = new LongAdder();
+        final LongAdder noTask = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        
+        void record(long nanos, String outcome) {
+            latency.record(nanos);
+            switch (outcome) {
+                case "CONFLICT":
+                    conflicts.increment();
+                    break;
+                case "REJECTED":
+                case "NOT_FOUND":
+                    rejected.increment();
+                    break;
+                case "SCHEDULE_CONFLICT":
+                    overlaps.increment();
+                    break;
+                case "NO_TASK":
+                    noTask.increment();
+                    break;
+                case "ERROR":
+                    errors.increment();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,1591 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MySqlRepository stores users, tasks, points and history in MySQL using JDBC
+ * Connections come from a ConnectionPool; task lists join in display names in the same query
+ */
+public class MySqlRepository implements Repository {
+    // Database connection details
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/volunteer_app?rewriteBatchedStatements=true";
+    private static final String DB_USER = "root";
+    private static final String DB_PASSWORD = "root";
+    
+    // Connection pool settings (override with -Ddb.pool.minSize=... etc.)
+    private static final int POOL_MIN_SIZE = Integer.getInteger("db.pool.minSize", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("db.pool.maxSize", 10);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("db.pool.idleTimeoutMs", 300000L);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("db.pool.borrowTimeoutMs", 10000L);
+    private static final long POOL_LEAK_DETECTION_MS = Long.getLong("db.pool.leakDetectionMs", 60000L);
+    
+    // Prepared statements kept open per pooled connection, keyed by SQL (0 disables)
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("db.pool.statementCacheSize", 64);
+    
+    // Let the server parse each statement once (the pool's statement cache keeps them open)
+    private static final boolean SERVER_PREPARED_STATEMENTS =
+        Boolean.parseBoolean(System.getProperty("db.serverPrepStmts", "true"));
+    
+    // Schema migrations applied on first connect (override with -Ddb.migrations.*)
+    private static final boolean MIGRATIONS_ENABLED =
+        Boolean.parseBoolean(System.getProperty("db.migrations.enabled", "true"));
+    private static final String MIGRATIONS_DIR =
+        System.getProperty("db.migrations.dir", "src/main/resources/sql/migrations");
+    private static final int MIGRATION_LOCK_WAIT_TIMEOUT_SECONDS =
+        Integer.getInteger("db.migrations.lockWaitTimeoutSeconds", 10);
+    
+    // Task columns a list row needs, read by position in createTaskFromResultSet
+    // (description, reassignment_reason and the timestamps stay on the server)
+    private static final String TASK_SUMMARY_COLUMNS =
+        "t.task_id, t.title, t.requester_id, t.volunteer_id, t.status, t.location, " +
+        "t.scheduled_date, t.scheduled_time, t.estimated_duration, t.volunteer_confirmed, t.elderly_confirmed, " +
+        "t.urgency_level, t.latitude, t.longitude";
+    private static final int TASK_SUMMARY_COLUMN_COUNT = 14;
+    
+    // Summary columns plus requester/volunteer display names, so list views need no per-row lookups
+    private static final String TASK_SELECT_WITH_NAMES = taskSelectWithNames("tasks");
+    private static final String ARCHIVED_TASK_SELECT_WITH_NAMES = taskSelectWithNames("tasks_archive");
+    
+    // Summary columns plus the description, for a single opened task
+    private static final String TASK_DETAIL_SELECT =
+        "SELECT " + TASK_SUMMARY_COLUMNS + ", t.description FROM tasks t ";
+    private static final String ARCHIVED_TASK_DETAIL_SELECT =
+        "SELECT " + TASK_SUMMARY_COLUMNS + ", t.description FROM tasks_archive t ";
+    
+    // Records deleted and archived tasks for delta sync, with the users whose lists they were in
+    // (followed by the WHERE choosing the tasks; run before they are deleted)
+    private static final String TOMBSTONE_INSERT =
+        "INSERT INTO task_tombstones (task_id, requester_id, volunteer_id, previous_volunteer_id) " +
+        "SELECT task_id, requester_id, volunteer_id, previous_volunteer_id FROM tasks ";
+    
+    // Every column copied to the archive tables (a column added to tasks or task_history
+    // must be added to its archive table and here in the same migration)
+    private static final String ARCHIVE_TASK_COLUMNS =
+        "task_id, title, description, requester_id, volunteer_id, status, location, scheduled_date, " +
+        "scheduled_time, estimated_duration, urgency_level, volunteer_confirmed, elderly_confirmed, " +
+        "previous_volunteer_id, reassignment_reason, version, created_at, updated_at, latitude, longitude, geo_cell";
+    private static final String ARCHIVE_HISTORY_COLUMNS =
+        "history_id, task_id, changed_by_id, action_type, previous_status, new_status, " +
+        "previous_volunteer_id, new_volunteer_id, reassignment_reason, notes, changed_at";
+    
+    // User columns plus points for the admin user listings
+    private static final String USER_LIST_SELECT =
+        "SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, " +
+        "u.phone_number, u.role, u.is_active, COALESCE(up.points, 0) as points, " +
+        "COALESCE(up.tasks_completed, 0) as tasks_completed " +
+        "FROM users u " +
+        "LEFT JOIN user_points up ON u.user_id = up.user_id ";
+    
+    // Sort keys accepted by the block queries, mapped to SQL (never pass user text into ORDER BY)
+    private static final Map<String, String> TASK_SORT_COLUMNS = new HashMap<>();
+    private static final Map<String, String> USER_SORT_COLUMNS = new HashMap<>();
+    
+    // Upper bound on ids per IN (...) list when resolving names in bulk
+    private static final int NAME_BATCH_SIZE = 500;
+    
+    static {
+        TASK_SORT_COLUMNS.put("id", "t.task_id");
+        TASK_SORT_COLUMNS.put("title", "t.title");
+        TASK_SORT_COLUMNS.put("status", "t.status");
+        TASK_SORT_COLUMNS.put("requester", "requester_name");
+        TASK_SORT_COLUMNS.put("volunteer", "volunteer_name");
+        TASK_SORT_COLUMNS.put("date", "t.scheduled_date");
+        TASK_SORT_COLUMNS.put("duration", "t.estimated_duration");
+        
+        USER_SORT_COLUMNS.put("id", "u.user_id");
+        USER_SORT_COLUMNS.put("username", "u.username");
+        USER_SORT_COLUMNS.put("name", "u.first_name");
+        USER_SORT_COLUMNS.put("email", "u.email");
+        USER_SORT_COLUMNS.put("role", "u.role");
+        USER_SORT_COLUMNS.put("points", "points");
+        USER_SORT_COLUMNS.put("tasks", "tasks_completed");
+        USER_SORT_COLUMNS.put("status", "u.is_active");
+    }
+    
+    private final ConnectionPool pool;
+    private final UserNameCache nameCache;
+    private final IndexAdvisor indexAdvisor = new IndexAdvisor();
+    private volatile boolean migrated = !MIGRATIONS_ENABLED;
+    
+    /**
+     * Connects to the configured MySQL database; names seen in joined queries go into nameCache
+     * and every executed statement is reported to queryListener (may be null)
+     */
+    public MySqlRepository(UserNameCache nameCache, ConnectionPool.QueryListener queryListener) {
+        // Load MySQL JDBC driver
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            System.err.println("MySQL JDBC Driver not found!");
+            e.printStackTrace();
+        }
+        
+        this.nameCache = nameCache;
+        this.pool = new ConnectionPool(connectionUrl(), DB_USER, DB_PASSWORD, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                                       POOL_IDLE_TIMEOUT_MS, POOL_BORROW_TIMEOUT_MS, POOL_LEAK_DETECTION_MS,
+                                       STATEMENT_CACHE_SIZE);
+        if (queryListener != null) {
+            this.pool.addQueryListener(queryListener);
+        }
+        this.pool.addQueryListener(indexAdvisor);
+    }
+    
+    private static String connectionUrl() {
+        return DB_URL + "&useServerPrepStmts=" + SERVER_PREPARED_STATEMENTS;
+    }
+    
+    // Get database connection from the pool (closing it returns it to the pool)
+    private Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+    
+    /**
+     * Get connection pool metrics (active, idle, wait time)
+     */
+    public ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
+    }
+    
+    /**
+     * EXPLAIN every query template executed so far (see IndexAdvisor)
+     */
+    public List<IndexAdvisor.Finding> explainQueries() {
+        try (Connection conn = getConnection()) {
+            return indexAdvisor.analyze(conn);
+        } catch (SQLException e) {
+            System.err.println("Error explaining queries: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    private static String taskSelectWithNames(String table) {
+        return "SELECT " + TASK_SUMMARY_COLUMNS + ", CONCAT(r.first_name, ' ', r.last_name) AS requester_name, " +
+               "CONCAT(v.first_name, ' ', v.last_name) AS volunteer_name " +
+               "FROM " + table + " t " +
+               "LEFT JOIN users r ON t.requester_id = r.user_id " +
+               "LEFT JOIN users v ON t.volunteer_id = v.user_id ";
+    }
+    
+    // Sort keys accepted by getTasksBlock and getUsersBlock
+    static Set<String> taskSortKeys() {
+        return Collections.unmodifiableSet(TASK_SORT_COLUMNS.keySet());
+    }
+    
+    static Set<String> userSortKeys() {
+        return Collections.unmodifiableSet(USER_SORT_COLUMNS.keySet());
+    }
+    
+    @Override
+    public boolean testConnection() {
+        try {
+            // Open the minimum number of pooled connections up front
+            pool.warmUp();
+        } catch (SQLException e) {
+            System.err.println("Database connection failed: " + e.getMessage());
+            return false;
+        }
+        
+        if (!migrate()) {
+            return false;
+        }
+        
+        try (Connection conn = getConnection()) {
+            return conn != null && !conn.isClosed();
+        } catch (SQLException e) {
+            System.err.println("Database connection failed: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    // Bring the schema up to date once, before the first query runs against it
+    private synchronized boolean migrate() {
+        if (migrated) {
+            return true;
+        }
+        try (Connection conn = getConnection()) {
+            new SchemaMigrator(Paths.get(MIGRATIONS_DIR), MIGRATION_LOCK_WAIT_TIMEOUT_SECONDS).migrate(conn);
+            migrated = true;
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Schema migration failed: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    @Override
+    public String describe() {
+        ConnectionPool.Stats poolStats = pool.getStats();
+        return "Connection Pool: " + poolStats.getActive() + " active, " +
+               poolStats.getIdle() + " idle (max " + poolStats.getMaxSize() + ")\n" +
+               String.format("Pool Wait Time: avg %.2f ms, max %.2f ms\n",
+                   poolStats.getAverageWaitMillis(), poolStats.getMaxWaitMillis()) +
+               String.format("Statement Cache: %d hits, %d misses (%.1f%% hit rate), %d evicted\n",
+                   poolStats.getStatementCacheHits(), poolStats.getStatementCacheMisses(),
+                   poolStats.getStatementCacheHitRate() * 100, poolStats.getStatementCacheEvictions());
+    }
+    
+    // ==================== USER OPERATIONS ====================
+    
+    /**
+     * Insert the user and, for a volunteer, their points row in one transaction on one connection
+     */
+    @Override
+    public boolean registerUser(User user) {
+        String sql = "INSERT INTO users (username, password, email, first_name, last_name, " +
+                     "phone_number, role) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int userId = 0;
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setString(1, user.getUsername());
+                    stmt.setString(2, user.getPassword());
+                    stmt.setString(3, user.getEmail());
+                    stmt.setString(4, user.getFirstName());
+                    stmt.setString(5, user.getLastName());
+                    stmt.setString(6, user.getPhoneNumber());
+                    stmt.setString(7, user.getRole()); // "ELDERLY" or "VOLUNTEER"
+                    
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return false;
+                    }
+                    // Get the generated user ID
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            userId = rs.getInt(1);
+                        }
+                    }
+                }
+                
+                // Create user_points entry for volunteers
+                if (userId > 0 && user.getRole().equals("VOLUNTEER")) {
+                    createUserPoints(conn, userId);
+                }
+                conn.commit();
+                if (userId > 0) {
+                    user.setUserId(userId);
+                }
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error registering user: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    @Override
+    public User loginUser(String username, String password) {
+        String sql = "SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, " +
+                     "u.phone_number, u.role, COALESCE(up.points, 0) as points, " +
+                     "COALESCE(up.tasks_completed, 0) as tasks_completed, " +
+                     "u.location, u.latitude, u.longitude " +
+                     "FROM users u " +
+                     "LEFT JOIN user_points up ON u.user_id = up.user_id " +
+                     "WHERE u.username = ? AND u.password = ? AND u.is_active = TRUE";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, username);
+            stmt.setString(2, password);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    User user = createUserFromResultSet(rs);
+                    double latitude = rs.getDouble("latitude");
+                    user.setLocation(rs.getString("location"),
+                                     rs.wasNull() ? null : new GeoPoint(latitude, rs.getDouble("longitude")));
+                    return user;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error logging in: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    /**
+     * Create user_points entry for a new volunteer
+     */
+    private static void createUserPoints(Connection conn, int userId) throws SQLException {
+        String sql = "INSERT INTO user_points (user_id, points, level, user_rank, tasks_completed) " +
+                     "VALUES (?, 0, 1, 'Newcomer', 0)";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            stmt.executeUpdate();
+        }
+    }
+    
+    @Override
+    public List<User> getVolunteerStandings() {
+        List<User> volunteers = new ArrayList<>();
+        String sql = "SELECT u.user_id, u.username, u.email, u.first_name, u.last_name, " +
+                     "u.phone_number, u.role, up.points, up.tasks_completed " +
+                     "FROM users u " +
+                     "JOIN user_points up ON u.user_id = up.user_id " +
+                     "WHERE u.role = 'VOLUNTEER'";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                volunteers.add(createUserFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting leaderboard: " + e.getMessage());
+        }
+        return volunteers;
+    }
+    
+    @Override
+    public List<User> getAllUsers() {
+        List<User> users = new ArrayList<>();
+        String sql = USER_LIST_SELECT + "ORDER BY u.user_id";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                users.add(createUserListRowFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting all users: " + e.getMessage());
+        }
+        return users;
+    }
+    
+    @Override
+    public Page<User> getUsersPage(User after, int pageSize) {
+        List<User> users = new ArrayList<>();
+        String sql = USER_LIST_SELECT +
+                     "WHERE u.user_id > ? " +
+                     "ORDER BY u.user_id LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, after != null ? after.getUserId() : 0);
+            stmt.setInt(2, pageSize + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(createUserListRowFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting users page: " + e.getMessage());
+        }
+        return Page.fromLookahead(users, pageSize);
+    }
+    
+    @Override
+    public int countUsers() {
+        return count("SELECT COUNT(*) FROM users");
+    }
+    
+    @Override
+    public List<User> getUsersBlock(int offset, int limit, String sortKey, boolean ascending) {
+        List<User> users = new ArrayList<>();
+        String sql = USER_LIST_SELECT +
+                     orderBy(USER_SORT_COLUMNS, sortKey, ascending, "u.user_id") +
+                     " LIMIT ? OFFSET ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(createUserListRowFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting users block: " + e.getMessage());
+        }
+        return users;
+    }
+    
+    /**
+     * Disabling a user also cancels their requests and releases the tasks they accepted,
+     * in the same transaction on the same connection
+     */
+    @Override
+    public boolean setUserActive(int userId, boolean isActive) {
+        String sql = "UPDATE users SET is_active = ? WHERE user_id = ?";
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int rowsAffected;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setBoolean(1, isActive);
+                    stmt.setInt(2, userId);
+                    rowsAffected = stmt.executeUpdate();
+                }
+                
+                // If disabling user, also cancel their active tasks
+                if (rowsAffected > 0 && !isActive) {
+                    cancelUserActiveTasks(conn, userId);
+                }
+                conn.commit();
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error toggling user status: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    /**
+     * Cancel all active tasks for a user (when account is disabled), on the caller's connection
+     */
+    private static void cancelUserActiveTasks(Connection conn, int userId) throws SQLException {
+        // Cancel tasks as requester
+        String sql1 = "UPDATE tasks SET status = 'CANCELLED', version = version + 1 " +
+                      "WHERE requester_id = ? AND status NOT IN ('COMPLETED', 'CANCELLED')";
+        
+        // Remove volunteer from assigned tasks, remembering them like a reassign does
+        // (MySQL assigns left to right, so previous_volunteer_id gets the old volunteer_id)
+        String sql2 = "UPDATE tasks SET previous_volunteer_id = volunteer_id, volunteer_id = NULL, " +
+                      "status = 'AVAILABLE', volunteer_confirmed = FALSE, elderly_confirmed = FALSE, " +
+                      "version = version + 1 " +
+                      "WHERE volunteer_id = ? AND status NOT IN ('COMPLETED', 'CANCELLED')";
+        
+        try (PreparedStatement stmt1 = conn.prepareStatement(sql1)) {
+            stmt1.setInt(1, userId);
+            stmt1.executeUpdate();
+        }
+        try (PreparedStatement stmt2 = conn.prepareStatement(sql2)) {
+            stmt2.setInt(1, userId);
+            stmt2.executeUpdate();
+        }
+    }
+    
+    @Override
+    public boolean setUserLocation(int userId, String location, GeoPoint position) {
+        String sql = "UPDATE users SET location = ?, latitude = ?, longitude = ? WHERE user_id = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, location);
+            stmt.setDouble(2, position.getLatitude());
+            stmt.setDouble(3, position.getLongitude());
+            stmt.setInt(4, userId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error setting user location: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    @Override
+    public String getUserName(int userId) {
+        String sql = "SELECT first_name, last_name FROM users WHERE user_id = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("first_name") + " " + rs.getString("last_name");
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting user name: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    /**
+     * One IN query per NAME_BATCH_SIZE ids
+     */
+    @Override
+    public Map<Integer, String> getUserNames(Collection<Integer> userIds) {
+        Map<Integer, String> names = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(userIds);
+        
+        for (int from = 0; from < ids.size(); from += NAME_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + NAME_BATCH_SIZE, ids.size()));
+            StringBuilder sql = new StringBuilder("SELECT user_id, first_name, last_name FROM users WHERE user_id IN (");
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+            
+            try (Connection conn = getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                
+                for (int i = 0; i < batch.size(); i++) {
+                    stmt.setInt(i + 1, batch.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        names.put(rs.getInt("user_id"), rs.getString("first_name") + " " + rs.getString("last_name"));
+                    }
+                }
+            } catch (SQLException e) {
+                System.err.println("Error getting user names: " + e.getMessage());
+            }
+        }
+        return names;
+    }
+    
+    @Override
+    public Map<Integer, GeoPoint> getUserPositions(Collection<Integer> userIds) {
+        Map<Integer, GeoPoint> positions = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(userIds);
+        
+        for (int from = 0; from < ids.size(); from += NAME_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + NAME_BATCH_SIZE, ids.size()));
+            String sql = "SELECT user_id, latitude, longitude FROM users " +
+                         "WHERE user_id IN " + inList(batch.size()) + " AND latitude IS NOT NULL";
+            
+            try (Connection conn = getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                for (int i = 0; i < batch.size(); i++) {
+                    stmt.setInt(i + 1, batch.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        positions.put(rs.getInt("user_id"), new GeoPoint(rs.getDouble("latitude"), rs.getDouble("longitude")));
+                    }
+                }
+            } catch (SQLException e) {
+                System.err.println("Error getting user positions: " + e.getMessage());
+            }
+        }
+        return positions;
+    }
+    
+    /**
+     * Helper method to create User object from a login or leaderboard row
+     */
+    private static User createUserFromResultSet(ResultSet rs) throws SQLException {
+        return new User(
+            rs.getInt("user_id"),
+            rs.getString("username"),
+            rs.getString("email"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("phone_number"),
+            rs.getString("role"),
+            rs.getInt("points"),
+            rs.getInt("tasks_completed")
+        );
+    }
+    
+    /**
+     * Helper method to create User object from a USER_LIST_SELECT row
+     */
+    private static User createUserListRowFromResultSet(ResultSet rs) throws SQLException {
+        User user = createUserFromResultSet(rs);
+        user.setActive(rs.getBoolean("is_active"));
+        return user;
+    }
+    
+    // ==================== TASK OPERATIONS ====================
+    
+    @Override
+    public boolean createTask(Task task) {
+        String sql = "INSERT INTO tasks (title, description, requester_id, status, location, " +
+                     "scheduled_date, scheduled_time, estimated_duration, urgency_level, latitude, longitude, geo_cell) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            stmt.setString(1, task.getTitle());
+            stmt.setString(2, task.getDescription());
+            stmt.setInt(3, task.getRequesterId());
+            stmt.setString(4, task.getStatus());
+            stmt.setString(5, task.getLocation());
+            stmt.setString(6, task.getScheduledDate());
+            stmt.setString(7, task.getScheduledTime());
+            stmt.setInt(8, task.getEstimatedDuration());
+            stmt.setString(9, task.getUrgencyLevel());
+            setPosition(stmt, 10, task.getPosition());
+            
+            int rowsAffected = stmt.executeUpdate();
+            
+            if (rowsAffected > 0) {
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        task.setTaskId(rs.getInt(1));
+                    }
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating task: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    @Override
+    public Task getTaskById(int taskId) {
+        return getTaskDetail(TASK_DETAIL_SELECT + "WHERE t.task_id = ?", taskId);
+    }
+    
+    private Task getTaskDetail(String sql, int taskId) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, taskId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Task task = createTaskFromResultSet(rs);
+                    task.setDescription(rs.getString(TASK_SUMMARY_COLUMN_COUNT + 1));
+                    return task;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting task by ID: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    @Override
+    public List<Task> getAvailableTasks() {
+        List<Task> tasks = new ArrayList<>();
+        String sql = TASK_SELECT_WITH_NAMES +
+                     "WHERE t.status = 'AVAILABLE' ORDER BY t.scheduled_date, t.scheduled_time, t.task_id";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                tasks.add(createTaskWithNamesFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting available tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    @Override
+    public Page<Task> getAvailableTasksPage(Task after, int pageSize) {
+        List<Task> tasks = new ArrayList<>();
+        // Keyset on (scheduled_date, scheduled_time, task_id) so deep pages cost the same as the first
+        String sql = TASK_SELECT_WITH_NAMES +
+                     "WHERE t.status = 'AVAILABLE' " +
+                     (after == null ? "" :
+                     "AND (t.scheduled_date > ? OR (t.scheduled_date = ? AND " +
+                     "(t.scheduled_time > ? OR (t.scheduled_time = ? AND t.task_id > ?)))) ") +
+                     "ORDER BY t.scheduled_date, t.scheduled_time, t.task_id LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            if (after != null) {
+                stmt.setString(index++, after.getScheduledDate());
+                stmt.setString(index++, after.getScheduledDate());
+                stmt.setString(index++, after.getScheduledTime());
+                stmt.setString(index++, after.getScheduledTime());
+                stmt.setInt(index++, after.getTaskId());
+            }
+            stmt.setInt(index, pageSize + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting available tasks page: " + e.getMessage());
+        }
+        return Page.fromLookahead(tasks, pageSize);
+    }
+    
+    /**
+     * Reads the GeoGrid cells around center through idx_tasks_status_cell, keeps the tasks
+     * within the radius and sorts that small set by schedule
+     */
+    @Override
+    public List<Task> getAvailableTasksNear(GeoPoint center, double radiusKm, int limit) {
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> cells = GeoGrid.cellsWithin(center, radiusKm);
+        // ST_Distance_Sphere reads POINT(x, y) as (longitude, latitude) and returns metres
+        String sql = TASK_SELECT_WITH_NAMES +
+                     "WHERE t.status = 'AVAILABLE' AND t.geo_cell IN " + inList(cells.size()) + " " +
+                     "AND ST_Distance_Sphere(POINT(t.longitude, t.latitude), POINT(?, ?)) <= ? " +
+                     "ORDER BY t.scheduled_date, t.scheduled_time, t.task_id LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (Integer cell : cells) {
+                stmt.setInt(index++, cell);
+            }
+            stmt.setDouble(index++, center.getLongitude());
+            stmt.setDouble(index++, center.getLatitude());
+            stmt.setDouble(index++, radiusKm * 1000);
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting tasks nearby: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    @Override
+    public Set<Integer> getAvailableTaskIds(Collection<Integer> taskIds) {
+        Set<Integer> available = new HashSet<>();
+        if (taskIds.isEmpty()) {
+            return available;
+        }
+        List<Integer> ids = new ArrayList<>(taskIds);
+        String sql = "SELECT task_id FROM tasks WHERE task_id IN " + inList(ids.size()) + " AND status = 'AVAILABLE'";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    available.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking available tasks: " + e.getMessage());
+            // Unknown is treated as still available; accepting a taken task fails safely
+            available.addAll(taskIds);
+        }
+        return available;
+    }
+    
+    @Override
+    public List<Task> getAvailableTasksAfter(int afterTaskId, int limit) {
+        List<Task> tasks = new ArrayList<>();
+        String sql = TASK_SELECT_WITH_NAMES +
+                     "WHERE t.task_id > ? AND t.status = 'AVAILABLE' ORDER BY t.task_id LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, afterTaskId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting new tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    @Override
+    public List<Task> getUnmappedTasks(int afterTaskId, int limit) {
+        List<Task> tasks = new ArrayList<>();
+        String sql = "SELECT " + TASK_SUMMARY_COLUMNS + " FROM tasks t " +
+                     "WHERE t.task_id > ? AND t.latitude IS NULL AND t.status NOT IN ('COMPLETED', 'CANCELLED') " +
+                     "ORDER BY t.task_id LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, afterTaskId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting unmapped tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    @Override
+    public boolean setTaskPosition(int taskId, GeoPoint position) {
+        String sql = "UPDATE tasks SET latitude = ?, longitude = ?, geo_cell = ? WHERE task_id = ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            setPosition(stmt, 1, position);
+            stmt.setInt(4, taskId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error setting task position: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    // latitude, longitude and geo_cell from the parameter at index on
+    private static void setPosition(PreparedStatement stmt, int index, GeoPoint position) throws SQLException {
+        if (position == null) {
+            stmt.setNull(index, Types.DOUBLE);
+            stmt.setNull(index + 1, Types.DOUBLE);
+            stmt.setNull(index + 2, Types.INTEGER);
+        } else {
+            stmt.setDouble(index, position.getLatitude());
+            stmt.setDouble(index + 1, position.getLongitude());
+            stmt.setInt(index + 2, GeoGrid.cellOf(position));
+        }
+    }
+    
+    @Override
+    public List<Task> getTasksByRequester(int requesterId) {
+        return getTasksOfUser(TASK_SELECT_WITH_NAMES + "WHERE t.requester_id = ? ORDER BY t.scheduled_date DESC",
+                              requesterId, "requester");
+    }
+    
+    @Override
+    public List<Task> getTasksByVolunteer(int volunteerId) {
+        return getTasksOfUser(TASK_SELECT_WITH_NAMES + "WHERE t.volunteer_id = ? ORDER BY t.scheduled_date",
+                              volunteerId, "volunteer");
+    }
+    
+    private List<Task> getTasksOfUser(String sql, int userId, String role) {
+        List<Task> tasks = new ArrayList<>();
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting tasks by " + role + ": " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    @Override
+    public List<Task> getAllTasks() {
+        List<Task> tasks = new ArrayList<>();
+        String sql = TASK_SELECT_WITH_NAMES + "ORDER BY t.task_id DESC";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                tasks.add(createTaskWithNamesFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting all tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    @Override
+    public Page<Task> getAllTasksPage(Task after, int pageSize) {
+        List<Task> tasks = new ArrayList<>();
+        String sql = TASK_SELECT_WITH_NAMES +
+                     "WHERE t.task_id < ? " +
+                     "ORDER BY t.task_id DESC LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, after != null ? after.getTaskId() : Integer.MAX_VALUE);
+            stmt.setInt(2, pageSize + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting tasks page: " + e.getMessage());
+        }
+        return Page.fromLookahead(tasks, pageSize);
+    }
+    
+    @Override
+    public int countTasks() {
+        return count("SELECT COUNT(*) FROM tasks");
+    }
+    
+    @Override
+    public List<Task> getTasksBlock(int offset, int limit, String sortKey, boolean ascending) {
+        List<Task> tasks = new ArrayList<>();
+        String sql = TASK_SELECT_WITH_NAMES +
+                     orderBy(TASK_SORT_COLUMNS, sortKey, ascending, "t.task_id") +
+                     " LIMIT ? OFFSET ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting tasks block: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    /**
+     * Uses the FULLTEXT indexes from migration V004 in boolean mode: every word is required and
+     * matches as a prefix; title relevance counts double in the rank
+     */
+    @Override
+    public List<Task> searchTasks(String text, String status, String fromDate, String toDate, int limit) {
+        List<Task> tasks = new ArrayList<>();
+        List<String> words = TaskSearchIndex.tokenize(text);
+        if (words.isEmpty()) {
+            return tasks;
+        }
+        // Tokens are letters and digits only, so no boolean-mode operator can come from the user
+        StringBuilder match = new StringBuilder();
+        for (String word : words) {
+            match.append(match.length() == 0 ? "+" : " +").append(word).append('*');
+        }
+        
+        String sql = TASK_SELECT_WITH_NAMES +
+                     "WHERE MATCH(t.title, t.description, t.location) AGAINST (? IN BOOLEAN MODE) " +
+                     (status == null ? "" : "AND t.status = ? ") +
+                     (fromDate == null ? "" : "AND t.scheduled_date >= ? ") +
+                     (toDate == null ? "" : "AND t.scheduled_date <= ? ") +
+                     "ORDER BY MATCH(t.title) AGAINST (? IN BOOLEAN MODE) * 2 + " +
+                     "MATCH(t.title, t.description, t.location) AGAINST (? IN BOOLEAN MODE) DESC, " +
+                     "t.scheduled_date, t.scheduled_time, t.task_id LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            stmt.setString(index++, match.toString());
+            if (status != null) {
+                stmt.setString(index++, status);
+            }
+            if (fromDate != null) {
+                stmt.setString(index++, fromDate);
+            }
+            if (toDate != null) {
+                stmt.setString(index++, toDate);
+            }
+            stmt.setString(index++, match.toString());
+            stmt.setString(index++, match.toString());
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(createTaskWithNamesFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error searching tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+    
+    /**
+     * Read the task, let the transition plan its next state, then write that state, the
+     * volunteer's points and the history row in one transaction
+     * The UPDATE only matches the version that was read, so a concurrent change gives CONFLICT
+     */
+    @Override
+    public TransitionResult transitionTask(int taskId, TaskTransition transition) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                TaskTransition.TaskState current = readTaskState(conn, taskId);
+                if (current == null) {
+                    conn.rollback();
+                    return TransitionResult.NOT_FOUND;
+                }
+                
+                TaskTransition.TaskState next = current.copy();
+                TaskTransition.Plan plan = transition.plan(current, next);
+                if (plan == null) {
+                    conn.rollback();
+                    return TransitionResult.REJECTED;
+                }
+                
+                // Zero rows means someone else changed the task since we read it
+                if (writeTaskState(conn, next, current.version) == 0) {
+                    conn.rollback();
+                    return TransitionResult.CONFLICT;
+                }
+                
+                if (plan.awardPointsTo != null) {
+                    updateVolunteerPoints(conn, plan.awardPointsTo, current.estimatedDuration);
+                }
+                addTaskHistory(conn, taskId, plan.changedBy, plan.actionType, current.status, next.status);
+                
+                conn.commit();
+                transition.applied(current, next, plan);
+                return TransitionResult.APPLIED;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error applying task transition " + transition.getName() + ": " + e.getMessage());
+            return TransitionResult.ERROR;
+        }
+    }
+    
+    private static TaskTransition.TaskState readTaskState(Connection conn, int taskId) throws SQLException {
+        String sql = "SELECT task_id, requester_id, volunteer_id, status, estimated_duration, " +
+                     "volunteer_confirmed, elderly_confirmed, previous_volunteer_id, reassignment_reason, version " +
+                     "FROM tasks WHERE task_id = ?";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, taskId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                TaskTransition.TaskState state = new TaskTransition.TaskState();
+                state.taskId = rs.getInt("task_id");
+                state.requesterId = rs.getInt("requester_id");
+                state.volunteerId = (Integer) rs.getObject("volunteer_id");
+                state.status = rs.getString("status");
+                state.estimatedDuration = rs.getInt("estimated_duration");
+                state.volunteerConfirmed = rs.getBoolean("volunteer_confirmed");
+                state.elderlyConfirmed = rs.getBoolean("elderly_confirmed");
+                state.previousVolunteerId = (Integer) rs.getObject("previous_volunteer_id");
+                state.reassignmentReason = rs.getString("reassignment_reason");
+                state.version = rs.getInt("version");
+                return state;
+            }
+        }
+    }
+    
+    private static int writeTaskState(Connection conn, TaskTransition.TaskState next, int expectedVersion)
+            throws SQLException {
+        String sql = "UPDATE tasks SET status = ?, volunteer_id = ?, volunteer_confirmed = ?, " +
+                     "elderly_confirmed = ?, previous_volunteer_id = ?, reassignment_reason = ?, " +
+                     "version = version + 1 " +
+                     "WHERE task_id = ? AND version = ?";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, next.status);
+            setNullableInt(stmt, 2, next.volunteerId);
+            stmt.setBoolean(3, next.volunteerConfirmed);
+            stmt.setBoolean(4, next.elderlyConfirmed);
+            setNullableInt(stmt, 5, next.previousVolunteerId);
+            stmt.setString(6, next.reassignmentReason);
+            stmt.setInt(7, next.taskId);
+            stmt.setInt(8, expectedVersion);
+            return stmt.executeUpdate();
+        }
+    }
+    
+    private static void setNullableInt(PreparedStatement stmt, int index, Integer value) throws SQLException {
+        if (value == null) {
+            stmt.setNull(index, Types.INTEGER);
+        } else {
+            stmt.setInt(index, value);
+        }
+    }
+    
+    @Override
+    public boolean deleteTask(int taskId, int requesterId) {
+        // Note: History will be deleted due to CASCADE, but we could log it separately if needed
+        return deleteTask("DELETE FROM tasks WHERE task_id = ? AND requester_id = ? AND " +
+                          "(status = 'AVAILABLE' OR status = 'CANCELLED')", taskId, requesterId);
+    }
+    
+    @Override
+    public boolean adminDeleteTask(int taskId) {
+        return deleteTask("DELETE FROM tasks WHERE task_id = ?", taskId);
+    }
+    
+    /**
+     * Run a DELETE of one task (its id first among the parameters) and record its tombstone
+     * in the same transaction, so clients syncing their lists drop it
+     */
+    private boolean deleteTask(String sql, int taskId, int... parameters) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // The tombstone copies the task's users, so it is written while the row still exists
+                updateIds(conn, TOMBSTONE_INSERT + "WHERE task_id = ?", Collections.singletonList(taskId));
+                int deleted;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, taskId);
+                    for (int i = 0; i < parameters.length; i++) {
+                        stmt.setInt(i + 2, parameters[i]);
+                    }
+                    deleted = stmt.executeUpdate();
+                }
+                if (deleted == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error deleting task: " + e.getMessage());
+        }
+        return false;
+    }
+    
+    // ==================== ARCHIVE ====================
+    
+    /**
+     * One transaction per batch: lock the oldest-scheduled finished tasks, copy them and their
+     * history to the archive tables, record their tombstones, then delete them from the live tables
+     */
+    @Override
+    public int archiveFinishedTasks(String cutoffDate, int batchSize) {
+        String select = "SELECT task_id FROM tasks WHERE status IN ('COMPLETED', 'CANCELLED') " +
+                        "AND scheduled_date < ? ORDER BY status, scheduled_date LIMIT ? FOR UPDATE";
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> ids = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                    stmt.setString(1, cutoffDate);
+                    stmt.setInt(2, batchSize);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(1));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+                
+                String inIds = inList(ids.size());
+                updateIds(conn, "INSERT INTO tasks_archive (" + ARCHIVE_TASK_COLUMNS + ") SELECT " +
+                                ARCHIVE_TASK_COLUMNS + " FROM tasks WHERE task_id IN " + inIds, ids);
+                updateIds(conn, "INSERT INTO task_history_archive (" + ARCHIVE_HISTORY_COLUMNS + ") SELECT " +
+                                ARCHIVE_HISTORY_COLUMNS + " FROM task_history WHERE task_id IN " + inIds, ids);
+                updateIds(conn, "DELETE FROM task_history WHERE task_id IN " + inIds, ids);
+                updateIds(conn, TOMBSTONE_INSERT + "WHERE task_id IN " + inIds, ids);
+                int moved = updateIds(conn, "DELETE FROM tasks WHERE task_id IN " + inIds, ids);
+                conn.commit();
+                return moved;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error archiving tasks: " + e.getMessage());
+        }
+        return 0;
+    }
+    
+    private static String inList(int size) {
+        StringBuilder in = new StringBuilder("(");
+        for (int i = 0; i < size; i++) {
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        return in.append(")").toString();
+    }
+    
+    private static int updateIds(Connection conn, String sql, List<Integer> ids) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            return stmt.executeUpdate();
+        }
+    }
+    
+    @Override
+    public Task getArchivedTaskById(int taskId) {
+        return getTaskDetail(ARCHIVED_TASK_DETAIL_SELECT + "WHERE t.task_id = ?", taskId);
+    }
+    
+    @Override
+    public List<Task> getArchivedTasksByRequester(int requesterId) {
+        return getTasksOfUser(ARCHIVED_TASK_SELECT_WITH_NAMES +
+                              "WHERE t.requester_id = ? ORDER BY t.scheduled_date DESC", requesterId, "requester");
+    }
+    
+    @Override
+    public List<Task> getArchivedTasksByVolunteer(int volunteerId) {
+        return getTasksOfUser(ARCHIVED_TASK_SELECT_WITH_NAMES +
+                              "WHERE t.volunteer_id = ? ORDER BY t.scheduled_date", volunteerId, "volunteer");
+    }
+    
+    @Override
+    public int countArchivedTasks() {
+        return count("SELECT COUNT(*) FROM tasks_archive");
+    }
+    
+    /**
+     * Update volunteer points after completing a task
+     * Runs on the caller's connection so it commits or rolls back with the task transition
+     */
+    private static void updateVolunteerPoints(Connection conn, int volunteerId, int durationMinutes) throws SQLException {
+        int pointsToAdd = DatabaseManager.pointsForDuration(durationMinutes);
+        
+        String sql = "UPDATE user_points SET points = points + ?, tasks_completed = tasks_completed + 1, " +
+                     "hours_volunteered = hours_volunteered + ? WHERE user_id = ?";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, pointsToAdd);
+            stmt.setInt(2, durationMinutes / 60);
+            stmt.setInt(3, volunteerId);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Helper method to create a Task (without description) from the TASK_SUMMARY_COLUMNS of a row
+     */
+    private static Task createTaskFromResultSet(ResultSet rs) throws SQLException {
+        Integer volunteerId = rs.getInt(4);
+        if (rs.wasNull()) {
+            volunteerId = null;
+        }
+        
+        Task task = new Task(
+            rs.getInt(1),
+            rs.getString(2),
+            null,
+            rs.getInt(3),
+            volunteerId,
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getString(8),
+            rs.getInt(9),
+            rs.getBoolean(10),
+            rs.getBoolean(11)
+        );
+        task.setUrgencyLevel(rs.getString(12));
+        double latitude = rs.getDouble(13);
+        if (!rs.wasNull()) {
+            task.setPosition(new GeoPoint(latitude, rs.getDouble(14)));
+        }
+        return task;
+    }
+    
+    /**
+     * Helper method to create Task object from a TASK_SELECT_WITH_NAMES row
+     */
+    private Task createTaskWithNamesFromResultSet(ResultSet rs) throws SQLException {
+        Task task = createTaskFromResultSet(rs);
+        String requesterName = rs.getString(TASK_SUMMARY_COLUMN_COUNT + 1);
+        if (requesterName != null) {
+            nameCache.put(task.getRequesterId(), requesterName);
+        }
+        task.setRequesterName(requesterName != null ? requesterName : "Unknown User");
+        if (task.getVolunteerId() != null) {
+            String volunteerName = rs.getString(TASK_SUMMARY_COLUMN_COUNT + 2);
+            if (volunteerName != null) {
+                nameCache.put(task.getVolunteerId(), volunteerName);
+            }
+            task.setVolunteerName(volunteerName != null ? volunteerName : "Unknown User");
+        }
+        return task;
+    }
+    
+    /**
+     * Build ORDER BY for a whitelisted sort key; the id tie-breaker keeps row positions stable
+     */
+    private static String orderBy(Map<String, String> sortColumns, String sortKey, boolean ascending, String idColumn) {
+        String column = sortColumns.get(sortKey);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown sort key: " + sortKey);
+        }
+        String direction = ascending ? " ASC" : " DESC";
+        return "ORDER BY " + column + direction + ", " + idColumn + direction;
+    }
+    
+    private int count(String sql) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting rows: " + e.getMessage());
+        }
+        return 0;
+    }
+    
+    // ==================== DELTA SYNC ====================
+    
+    /**
+     * The database's clock, so watermarks do not depend on each client's clock; 0 if it cannot
+     * be read (the next sync then loads in full)
+     */
+    @Override
+    public long getSyncTime() {
+        try (Connection conn = getConnection()) {
+            return syncTime(conn);
+        } catch (SQLException e) {
+            System.err.println("Error reading the database clock: " + e.getMessage());
+        }
+        return 0;
+    }
+    
+    private static long syncTime(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT NOW(6)");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getTimestamp(1).getTime();
+        }
+    }
+    
+    @Override
+    public TaskChanges getTaskChangesByRequester(int requesterId, long since, int limit) {
+        return getTaskChanges("t.requester_id = ?", since, limit, requesterId);
+    }
+    
+    /**
+     * Includes tasks the volunteer was just removed from (previous_volunteer_id), so they leave the list
+     */
+    @Override
+    public TaskChanges getTaskChangesByVolunteer(int volunteerId, long since, int limit) {
+        return getTaskChanges("(t.volunteer_id = ? OR t.previous_volunteer_id = ?)", since, limit,
+                              volunteerId, volunteerId);
+    }
+    
+    /**
+     * Reads the changed rows and removed ids matching the user condition (on columns of t that
+     * tasks and task_tombstones share) through their (user, updated_at) and (user, removed_at)
+     * indexes, at most limit + 1 of each; no ORDER BY, since a result over limit is not used
+     */
+    private TaskChanges getTaskChanges(String userCondition, long since, int limit, int... userIds) {
+        String changedSql = TASK_SELECT_WITH_NAMES + "WHERE " + userCondition + " AND t.updated_at >= ? LIMIT ?";
+        String removedSql = "SELECT t.task_id FROM task_tombstones t WHERE " + userCondition +
+                            " AND t.removed_at >= ? LIMIT ?";
+        
+        try (Connection conn = getConnection()) {
+            long asOf = syncTime(conn);
+            
+            List<Integer> removedIds = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(removedSql)) {
+                int index = setInts(stmt, userIds);
+                stmt.setTimestamp(index++, new Timestamp(since));
+                stmt.setInt(index, limit + 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        removedIds.add(rs.getInt(1));
+                    }
+                }
+            }
+            List<Task> changed = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(changedSql)) {
+                int index = setInts(stmt, userIds);
+                stmt.setTimestamp(index++, new Timestamp(since));
+                stmt.setInt(index, limit + 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        changed.add(createTaskWithNamesFromResultSet(rs));
+                    }
+                }
+            }
+            if (removedIds.size() > limit || changed.size() > limit) {
+                return TaskChanges.incomplete(asOf);
+            }
+            return new TaskChanges(changed, removedIds, asOf);
+        } catch (SQLException e) {
+            System.err.println("Error reading task changes: " + e.getMessage());
+        }
+        return TaskChanges.incomplete(since);
+    }
+    
+    // Bind values from parameter 1; returns the next parameter index
+    private static int setInts(PreparedStatement stmt, int... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            stmt.setInt(i + 1, values[i]);
+        }
+        return values.length + 1;
+    }
+    
+    @Override
+    public int pruneTaskTombstones(long before, int batchSize) {
+        String sql = "DELETE FROM task_tombstones WHERE removed_at < ? ORDER BY removed_at LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setTimestamp(1, new Timestamp(before));
+            stmt.setInt(2, batchSize);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error pruning task tombstones: " + e.getMessage());
+        }
+        return 0;
+    }
+    
+    // ==================== HISTORY AND STATS ====================
+    
+    /**
+     * Insert queued history entries as one JDBC batch in one transaction
+     */
+    @Override
+    public void writeTaskHistory(List<TaskHistoryAppender.Entry> entries) throws SQLException {
+        String sql = "INSERT INTO task_history (task_id, changed_by_id, action_type, " +
+                     "previous_status, new_status) VALUES (?, ?, ?, ?, ?)";
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (TaskHistoryAppender.Entry entry : entries) {
+                    stmt.setInt(1, entry.getTaskId());
+                    stmt.setInt(2, entry.getUserId());
+                    stmt.setString(3, entry.getActionType());
+                    stmt.setString(4, entry.getPreviousStatus());
+                    stmt.setString(5, entry.getNewStatus());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Add task history entry on the caller's connection (part of its transaction)
+     */
+    private static void addTaskHistory(Connection conn, int taskId, int userId, String actionType,
+                               String previousStatus, String newStatus) throws SQLException {
+        String sql = "INSERT INTO task_history (task_id, changed_by_id, action_type, " +
+                     "previous_status, new_status) VALUES (?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, taskId);
+            stmt.setInt(2, userId);
+            stmt.setString(3, actionType);
+            stmt.setString(4, previousStatus);
+            stmt.setString(5, newStatus);
+            stmt.executeUpdate();
+        }
+    }
+    
+    @Override
+    public List<String> getRecentTaskHistory(int limit) {
+        List<String> history = new ArrayList<>();
+        String sql = "SELECT th.history_id, th.action_type, th.previous_status, th.new_status, " +
+                     "th.changed_at, t.title as task_title, t.task_id, " +
+                     "u.username as changed_by, u.role as user_role " +
+                     "FROM task_history th " +
+                     "JOIN tasks t ON th.task_id = t.task_id " +
+                     "JOIN users u ON th.changed_by_id = u.user_id " +
+                     "ORDER BY th.changed_at DESC LIMIT ?";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    history.add(DatabaseManager.formatHistoryEntry(
+                        rs.getString("changed_at"),
+                        rs.getString("changed_by"),
+                        rs.getString("user_role"),
+                        rs.getInt("task_id"),
+                        rs.getString("task_title"),
+                        rs.getString("action_type"),
+                        rs.getString("previous_status"),
+                        rs.getString("new_status")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting task history: " + e.getMessage());
+        }
+        return history;
+    }
+    
+    /**
+     * Reload the dashboard counters with a single aggregate query
+     */
+    @Override
+    public void loadStats(SystemStats stats) {
+        // Conditional aggregation: one pass over each table instead of seven COUNT(*) queries
+        // (archived tasks still count towards the total and completed tasks)
+        String sql = "SELECT u.active_users, u.active_volunteers, u.active_elderly, " +
+                     "t.total_tasks, t.available_tasks, t.completed_tasks, t.in_progress_tasks, " +
+                     "a.archived_tasks, a.archived_completed_tasks " +
+                     "FROM (SELECT " +
+                     "COUNT(CASE WHEN is_active THEN 1 END) AS active_users, " +
+                     "COUNT(CASE WHEN is_active AND role = 'VOLUNTEER' THEN 1 END) AS active_volunteers, " +
+                     "COUNT(CASE WHEN is_active AND role = 'ELDERLY' THEN 1 END) AS active_elderly " +
+                     "FROM users) u " +
+                     "CROSS JOIN (SELECT " +
+                     "COUNT(*) AS total_tasks, " +
+                     "COUNT(CASE WHEN status = 'AVAILABLE' THEN 1 END) AS available_tasks, " +
+                     "COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END) AS completed_tasks, " +
+                     "COUNT(CASE WHEN status IN ('ASSIGNED', 'IN_PROGRESS', 'PENDING_ELDERLY_CONFIRMATION', " +
+                     "'PENDING_VOLUNTEER_CONFIRMATION') THEN 1 END) AS in_progress_tasks " +
+                     "FROM tasks) t " +
+                     "CROSS JOIN (SELECT " +
+                     "COUNT(*) AS archived_tasks, " +
+                     "COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END) AS archived_completed_tasks " +
+                     "FROM tasks_archive) a";
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                stats.reconcile(
+                    rs.getInt("active_users"),
+                    rs.getInt("active_volunteers"),
+                    rs.getInt("active_elderly"),
+                    rs.getInt("total_tasks") + rs.getInt("archived_tasks"),
+                    rs.getInt("available_tasks"),
+                    rs.getInt("completed_tasks") + rs.getInt("archived_completed_tasks"),
+                    rs.getInt("in_progress_tasks")
+                );
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting system stats: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * Pass getLast() back as the "after" cursor to fetch the next page
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final boolean hasMore;
+    
+    public Page(List<T> items, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasMore = hasMore;
+    }
+    
+    /**
+     * Build a page from a query that fetched up to pageSize + 1 rows;
+     * the extra row only tells us whether another page exists
+     */
+    public static <T> Page<T> fromLookahead(List<T> rows, int pageSize) {
+        if (rows.size() > pageSize) {
+            return new Page<>(new ArrayList<>(rows.subList(0, pageSize)), true);
+        }
+        return new Page<>(rows, false);
+    }
+    
+    public List<T> getItems() { return items; }
+    public boolean hasMore() { return hasMore; }
+    public boolean isEmpty() { return items.isEmpty(); }
+    
+    /**
+     * Last item on this page (the cursor for the next page), or null if empty
+     */
+    public T getLast() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,289 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QueryMetrics times every repository operation and keeps a log of slow SQL statements
+ *
+ * DatabaseManager wraps its Repository with instrument(), so each operation gets a call count,
+ * an error count and a LatencyHistogram. Repositories log and swallow their own errors, so an
+ * operation also counts as failed when one of its statements threw or it returned ERROR.
+ * ConnectionPool reports every executed statement through queryExecuted(); statements slower
+ * than the threshold are printed to System.err and kept, with their parameters, for the admin view.
+ */
+public class QueryMetrics implements QueryMetricsMBean, ConnectionPool.QueryListener {
+    // Longest parameter value shown in the slow-query log
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    
+    private final Map<String, OperationStats> operations = new ConcurrentSkipListMap<>();
+    private final ConcurrentLinkedDeque<String> slowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowQueriesKept = new AtomicInteger();
+    private final LongAdder slowQueryCount = new LongAdder();
+    private final int slowQueryLogSize;
+    private final boolean logParameters;
+    private volatile long slowQueryThresholdMillis;
+    
+    // The operation running on this thread, so statements can be attributed to it
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+    
+    public QueryMetrics(long slowQueryThresholdMillis, int slowQueryLogSize, boolean logParameters) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        this.slowQueryLogSize = Math.max(0, slowQueryLogSize);
+        this.logParameters = logParameters;
+    }
+    
+    /**
+     * Wrap a repository so every call is timed under its method name
+     */
+    public Repository instrument(Repository repository) {
+        Map<Method, OperationStats> byMethod = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(repository, args);
+            }
+            OperationStats stats = byMethod.computeIfAbsent(method, m -> operation(m.getName()));
+            
+            Call call = new Call(stats.name);
+            Call outer = currentCall.get();
+            currentCall.set(call);
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(repository, args);
+                if (result == TransitionResult.ERROR) {
+                    call.failed = true;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                call.failed = true;
+                throw e.getCause();
+            } finally {
+                stats.record(System.nanoTime() - start, call.failed);
+                currentCall.set(outer);
+            }
+        };
+        return (Repository) Proxy.newProxyInstance(Repository.class.getClassLoader(),
+                                                   new Class<?>[]{Repository.class}, handler);
+    }
+    
+    @Override
+    public void queryExecuted(String sql, Map<Integer, Object> parameters, int batchSize,
+                              long nanos, SQLException error) {
+        Call call = currentCall.get();
+        if (error != null && call != null) {
+            call.failed = true;
+        }
+        
+        long millis = nanos / 1000000;
+        if (millis < slowQueryThresholdMillis) {
+            return;
+        }
+        slowQueryCount.increment();
+        
+        StringBuilder entry = new StringBuilder();
+        entry.append('[').append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ROOT).format(new Date()))
+             .append("] ").append(millis).append(" ms");
+        if (call != null) {
+            entry.append(" in ").append(call.operation);
+        }
+        if (error != null) {
+            entry.append(" (failed: ").append(error.getMessage()).append(')');
+        }
+        entry.append(": ").append(sql.replaceAll("\\s+", " ").trim());
+        if (batchSize > 0) {
+            entry.append(" [batch of ").append(batchSize).append(", last row]");
+        }
+        if (logParameters && !parameters.isEmpty()) {
+            entry.append(" params ").append(formatParameters(sql, parameters));
+        }
+        
+        String line = entry.toString();
+        System.err.println("Slow query " + line);
+        if (slowQueryLogSize > 0) {
+            slowQueries.addFirst(line);
+            if (slowQueriesKept.incrementAndGet() > slowQueryLogSize && slowQueries.pollLast() != null) {
+                slowQueriesKept.decrementAndGet();
+            }
+        }
+    }
+    
+    // Never write credentials to the log: string values of statements touching passwords are masked
+    private static String formatParameters(String sql, Map<Integer, Object> parameters) {
+        boolean sensitive = sql.toLowerCase(Locale.ROOT).contains("password");
+        List<String> values = new ArrayList<>();
+        for (Object value : parameters.values()) {
+            if (value == null) {
+                values.add("NULL");
+            } else if (value instanceof String) {
+                String text = sensitive ? "***" : (String) value;
+                if (text.length() > MAX_PARAMETER_LENGTH) {
+                    text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+                }
+                values.add("'" + text + "'");
+            } else {
+                values.add(String.valueOf(value));
+            }
+        }
+        return values.toString();
+    }
+    
+    private OperationStats operation(String name) {
+        return operations.computeIfAbsent(name, OperationStats::new);
+    }
+    
+    /**
+     * Snapshot of the per-operation counters, sorted by operation name
+     */
+    public List<OperationStats> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+    
+    /**
+     * Human-readable table of all operations followed by the slow-query log (for the admin panel)
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-24s %9s %7s %9s %9s %9s %9s %9s%n",
+                                    "Operation", "Calls", "Errors", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+        for (OperationStats stats : operations.values()) {
+            report.append(stats.format()).append('\n');
+        }
+        if (operations.isEmpty()) {
+            report.append("(no operations recorded yet)\n");
+        }
+        
+        report.append(String.format("%nSlow queries (>= %d ms): %d total, newest first%n",
+                                    slowQueryThresholdMillis, slowQueryCount.sum()));
+        for (String line : slowQueries) {
+            report.append(line).append('\n');
+        }
+        return report.toString();
+    }
+    
+    @Override
+    public String[] getOperationSummaries() {
+        List<String> lines = new ArrayList<>();
+        for (OperationStats stats : operations.values()) {
+            lines.add(stats.format());
+        }
+        return lines.toArray(new String[0]);
+    }
+    
+    @Override
+    public String[] getSlowQueries() {
+        return slowQueries.toArray(new String[0]);
+    }
+    
+    @Override
+    public long getTotalCalls() {
+        long total = 0;
+        for (OperationStats stats : operations.values()) {
+            total += stats.getCalls();
+        }
+        return total;
+    }
+    
+    @Override
+    public long getTotalErrors() {
+        long total = 0;
+        for (OperationStats stats : operations.values()) {
+            total += stats.getErrors();
+        }
+        return total;
+    }
+    
+    @Override
+    public long getSlowQueryCount() {
+        return slowQueryCount.sum();
+    }
+    
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+    
+    @Override
+    public void setSlowQueryThresholdMillis(long thresholdMillis) {
+        this.slowQueryThresholdMillis = Math.max(0, thresholdMillis);
+    }
+    
+    @Override
+    public double getPercentileMillis(String operation, double percentile) {
+        OperationStats stats = operations.get(operation);
+        return stats == null ? 0 : stats.getLatency().getPercentileNanos(percentile) / 1e6;
+    }
+    
+    @Override
+    public void reset() {
+        for (OperationStats stats : operations.values()) {
+            stats.reset();
+        }
+        slowQueryCount.reset();
+        Iterator<String> it = slowQueries.iterator();
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+            slowQueriesKept.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Call count, error count and latency of one operation
+     */
+    public static final class OperationStats {
+        private final String name;
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        
+        OperationStats(String name) {
+            this.name = name;
+        }
+        
+        void record(long nanos, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+        
+        void reset() {
+            latency.reset();
+            errors.reset();
+        }
+        
+        public String getName() { return name; }
+        public long getCalls() { return latency.getCount(); }
+        public long getErrors() { return errors.sum(); }
+        public LatencyHistogram getLatency() { return latency; }
+        
+        String format() {
+            return String.format("%-24s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                                 name, getCalls(), getErrors(), latency.getMeanNanos() / 1e6,
+                                 latency.getPercentileNanos(50) / 1e6, latency.getPercentileNanos(95) / 1e6,
+                                 latency.getPercentileNanos(99) / 1e6, latency.getMaxNanos() / 1e6);
+        }
+    }
+    
+    // One repository call in progress on the current thread
+    private static final class Call {
+        final String operation;
+        boolean failed;
+        
+        Call(String operation) {
+            this.operation = operation;
+        }
+    }
+}
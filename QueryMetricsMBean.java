@@ -0,0 +1,35 @@
+/**
+ * JMX view of QueryMetrics, registered as VolunteerApp:type=QueryMetrics
+ * Open it with jconsole or VisualVM while the application is running
+ */
+public interface QueryMetricsMBean {
+    /**
+     * One line per operation: calls, errors, mean and p50/p95/p99/max latency
+     */
+    String[] getOperationSummaries();
+    
+    /**
+     * The most recent slow queries, newest first
+     */
+    String[] getSlowQueries();
+    
+    long getTotalCalls();
+    
+    long getTotalErrors();
+    
+    long getSlowQueryCount();
+    
+    long getSlowQueryThresholdMillis();
+    
+    void setSlowQueryThresholdMillis(long thresholdMillis);
+    
+    /**
+     * Latency at the given percentile (0-100) for one operation, in milliseconds
+     */
+    double getPercentileMillis(String operation, double percentile);
+    
+    /**
+     * Clear all counters, histograms and the slow-query log
+     */
+    void reset();
+}
@@ -0,0 +1,216 @@
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository is the storage behind DatabaseManager
+ *
+ * DatabaseManager keeps the caches, counters, leaderboard and history buffer and calls
+ * a Repository for the data itself. MySqlRepository stores everything in MySQL;
+ * InMemoryRepository keeps it in concurrent maps for tests, load testing and single-node use.
+ * Pick one with -Ddb.backend=mysql|memory (default mysql).
+ *
+ * Implementations log their own errors and return false, null or an empty list,
+ * like the original DatabaseManager methods did. Page sizes arrive already clamped.
+ * Task lists return tasks without their description; getTaskById returns the full task.
+ * Task reads see live tasks only; finished tasks moved to the archive have their own reads.
+ */
+public interface Repository {
+    /**
+     * Check that the storage is reachable (and warm it up)
+     */
+    boolean testConnection();
+    
+    /**
+     * Release connections and threads
+     */
+    void shutdown();
+    
+    /**
+     * Extra dashboard lines describing the storage (pool usage, row counts)
+     */
+    String describe();
+    
+    // ==================== USERS ====================
+    
+    /**
+     * Store a new user and set its id; volunteers also get a points row
+     */
+    boolean registerUser(User user);
+    
+    /**
+     * Active user with this username and password, or null
+     */
+    User loginUser(String username, String password);
+    
+    /**
+     * Every volunteer with their points (loads the leaderboard)
+     */
+    List<User> getVolunteerStandings();
+    
+    List<User> getAllUsers();
+    
+    Page<User> getUsersPage(User after, int pageSize);
+    
+    int countUsers();
+    
+    /**
+     * sortKey is one of id, username, name, email, role, points, tasks, status
+     */
+    List<User> getUsersBlock(int offset, int limit, String sortKey, boolean ascending);
+    
+    /**
+     * Enable or disable an account; disabling also cancels or releases the user's active tasks
+     */
+    boolean setUserActive(int userId, boolean isActive);
+    
+    /**
+     * Full name of a user, or null if there is no such user
+     */
+    String getUserName(int userId);
+    
+    /**
+     * Full names of the users that exist among the given ids
+     */
+    Map<Integer, String> getUserNames(Collection<Integer> userIds);
+    
+    /**
+     * Store where a user is (the typed text and its resolved map position)
+     */
+    boolean setUserLocation(int userId, String location, GeoPoint position);
+    
+    /**
+     * Map positions of the users among the given ids that have set a location
+     */
+    Map<Integer, GeoPoint> getUserPositions(Collection<Integer> userIds);
+    
+    // ==================== TASKS ====================
+    
+    /**
+     * Store a new task and set its id
+     */
+    boolean createTask(Task task);
+    
+    Task getTaskById(int taskId);
+    
+    List<Task> getAvailableTasks();
+    
+    Page<Task> getAvailableTasksPage(Task after, int pageSize);
+    
+    List<Task> getTasksByRequester(int requesterId);
+    
+    List<Task> getTasksByVolunteer(int volunteerId);
+    
+    List<Task> getAllTasks();
+    
+    Page<Task> getAllTasksPage(Task after, int pageSize);
+    
+    int countTasks();
+    
+    /**
+     * sortKey is one of id, title, status, requester, volunteer, date, duration
+     */
+    List<Task> getTasksBlock(int offset, int limit, String sortKey, boolean ascending);
+    
+    /**
+     * Live tasks matching every word of text (by prefix) in title, description or location,
+     * best match first; status, fromDate and toDate (yyyy-MM-dd, inclusive) may be null
+     */
+    List<Task> searchTasks(String text, String status, String fromDate, String toDate, int limit);
+    
+    /**
+     * AVAILABLE tasks with a map position within radiusKm of center, soonest first
+     */
+    List<Task> getAvailableTasksNear(GeoPoint center, double radiusKm, int limit);
+    
+    /**
+     * Live, unfinished tasks with no map position and an id above afterTaskId, by id
+     */
+    List<Task> getUnmappedTasks(int afterTaskId, int limit);
+    
+    boolean setTaskPosition(int taskId, GeoPoint position);
+    
+    /**
+     * The ids among taskIds of tasks that are still AVAILABLE
+     */
+    Set<Integer> getAvailableTaskIds(Collection<Integer> taskIds);
+    
+    /**
+     * Up to limit AVAILABLE tasks with an id above afterTaskId, by id (tasks created since then)
+     */
+    List<Task> getAvailableTasksAfter(int afterTaskId, int limit);
+    
+    /**
+     * Apply a transition atomically: task state, volunteer points and history together
+     */
+    TransitionResult transitionTask(int taskId, TaskTransition transition);
+    
+    /**
+     * Delete a requester's task if it is AVAILABLE or CANCELLED
+     */
+    boolean deleteTask(int taskId, int requesterId);
+    
+    boolean adminDeleteTask(int taskId);
+    
+    // ==================== ARCHIVE ====================
+    
+    /**
+     * Move up to batchSize COMPLETED or CANCELLED tasks scheduled before cutoffDate (yyyy-MM-dd),
+     * with their history, from the live tables to the archive; returns how many were moved
+     */
+    int archiveFinishedTasks(String cutoffDate, int batchSize);
+    
+    /**
+     * An archived task with its description, or null
+     */
+    Task getArchivedTaskById(int taskId);
+    
+    List<Task> getArchivedTasksByRequester(int requesterId);
+    
+    List<Task> getArchivedTasksByVolunteer(int volunteerId);
+    
+    int countArchivedTasks();
+    
+    // ==================== DELTA SYNC ====================
+    
+    /**
+     * Storage clock now, in ms since 1970
+     */
+    long getSyncTime();
+    
+    /**
+     * The requester's live tasks created or updated at or after since (storage clock ms), and ids
+     * of their tasks deleted or archived at or after since; incomplete when more than limit
+     * tasks changed or more than limit were removed
+     */
+    TaskChanges getTaskChangesByRequester(int requesterId, long since, int limit);
+    
+    /**
+     * Like getTaskChangesByRequester, for the tasks the volunteer holds or was last removed from
+     */
+    TaskChanges getTaskChangesByVolunteer(int volunteerId, long since, int limit);
+    
+    /**
+     * Forget up to batchSize tasks removed before the given time; returns how many were forgotten
+     */
+    int pruneTaskTombstones(long before, int batchSize);
+    
+    // ==================== HISTORY AND STATS ====================
+    
+    /**
+     * Store history entries all-or-nothing (the history appender's batch writer)
+     */
+    void writeTaskHistory(List<TaskHistoryAppender.Entry> entries) throws SQLException;
+    
+    /**
+     * The most recent history entries, newest first, formatted for the admin panel
+     */
+    List<String> getRecentTaskHistory(int limit);
+    
+    /**
+     * Recount the dashboard counters into stats (total and completed include archived tasks)
+     */
+    void loadStats(SystemStats stats);
+}
@@ -0,0 +1,384 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SchemaMigrator brings the MySQL schema up to date from numbered SQL files at startup
+ *
+ * Files named V<version>__<description>.sql are applied in version order and recorded in the
+ * schema_migrations table, so each runs once per database. A database created by schema.sql
+ * before migrations existed is recorded at version 1 (the baseline) without running it.
+ * A named MySQL lock keeps two starting clients from migrating at the same time.
+ *
+ * MySQL commits each DDL statement on its own, so a file is recorded before its first statement
+ * and the count of statements done is updated after each one. A run that stops partway (a failed
+ * statement, a lost connection) resumes after the last statement that succeeded once the cause
+ * is fixed; statements already done must not be edited, or the migration refuses to resume.
+ *
+ * Index changes are built online: ALTER TABLE ... ADD/DROP INDEX and CREATE INDEX statements
+ * without their own LOCK= clause get ALGORITHM=INPLACE, LOCK=NONE, so MySQL keeps serving reads
+ * and writes during the build (or refuses the statement instead of locking the table).
+ * lock_wait_timeout bounds how long DDL waits for running queries before giving up.
+ */
+public class SchemaMigrator {
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final String LOCK_NAME = "volunteer_app.schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    
+    private static final Pattern INDEX_ALTER = Pattern.compile(
+        "(?is)\\s*ALTER\\s+TABLE\\s.*\\b(ADD|DROP)\\s+(UNIQUE\\s+)?(INDEX|KEY)\\b.*");
+    private static final Pattern INDEX_CREATE = Pattern.compile("(?is)\\s*CREATE\\s+(UNIQUE\\s+)?INDEX\\b.*");
+    
+    private final Path directory;
+    private final int lockWaitTimeoutSeconds;
+    
+    public SchemaMigrator(Path directory, int lockWaitTimeoutSeconds) {
+        this.directory = directory;
+        this.lockWaitTimeoutSeconds = lockWaitTimeoutSeconds;
+    }
+    
+    /**
+     * Apply every migration the database has not seen yet; returns how many were applied
+     * Stops at the first failing statement (MySQL cannot roll DDL back, so fix and restart)
+     */
+    public int migrate(Connection conn) throws SQLException, IOException {
+        // Starting without them would leave an old schema that every later query fails against
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Migrations directory " + directory.toAbsolutePath() + " not found " +
+                                  "(set -Ddb.migrations.dir)");
+        }
+        List<Migration> migrations = load();
+        if (migrations.isEmpty()) {
+            throw new IOException("No migrations found in " + directory.toAbsolutePath());
+        }
+        
+        try (PreparedStatement lock = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            lock.setString(1, LOCK_NAME);
+            lock.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another client to finish migrating the schema");
+                }
+            }
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET SESSION lock_wait_timeout = " + lockWaitTimeoutSeconds);
+            return applyPending(conn, migrations);
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET SESSION lock_wait_timeout = DEFAULT");
+                stmt.execute("DO RELEASE_LOCK('" + LOCK_NAME + "')");
+            } catch (SQLException e) {
+                // The lock also goes away when the connection closes
+                System.err.println("Error releasing the migration lock: " + e.getMessage());
+            }
+        }
+    }
+    
+    private int applyPending(Connection conn, List<Migration> migrations) throws SQLException {
+        boolean tracked = tableExists(conn, "schema_migrations");
+        boolean existingSchema = tableExists(conn, "users");
+        if (!tracked) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE schema_migrations (" +
+                             "version INT PRIMARY KEY, " +
+                             "description VARCHAR(200) NOT NULL, " +
+                             "checksum CHAR(64) NOT NULL, " +
+                             "execution_ms INT NOT NULL DEFAULT 0, " +
+                             "baselined BOOLEAN NOT NULL DEFAULT FALSE, " +
+                             "statements_done INT NULL, " +
+                             "done_checksum CHAR(64) NULL, " +
+                             "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            }
+            if (existingSchema && migrations.get(0).version == 1) {
+                record(conn, migrations.get(0), true);
+                System.out.println("Existing schema recorded as migration version 1 (baseline)");
+            }
+        } else if (!columnExists(conn, "schema_migrations", "statements_done")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE schema_migrations ADD COLUMN statements_done INT NULL, " +
+                             "ADD COLUMN done_checksum CHAR(64) NULL");
+            }
+        }
+        
+        // statements_done is NULL once a migration has finished
+        Map<Integer, String> applied = new HashMap<>();
+        Map<Integer, Integer> unfinished = new HashMap<>();
+        Map<Integer, String> doneChecksums = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT version, checksum, statements_done, done_checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+                int done = rs.getInt(3);
+                if (!rs.wasNull()) {
+                    unfinished.put(rs.getInt(1), done);
+                    doneChecksums.put(rs.getInt(1), rs.getString(4));
+                }
+            }
+        }
+        
+        int count = 0;
+        for (Migration migration : migrations) {
+            String checksum = applied.get(migration.version);
+            Integer done = unfinished.get(migration.version);
+            if (checksum != null && done == null) {
+                if (!checksum.equals(migration.checksum)) {
+                    System.err.println("Warning: " + migration + " was changed after it was applied; " +
+                                       "the change is not applied again");
+                }
+                continue;
+            }
+            
+            List<String> statements = splitStatements(migration.sql);
+            if (checksum == null) {
+                done = 0;
+                record(conn, migration, false);
+            } else if (done > statements.size() ||
+                       !doneChecksum(statements, done).equals(doneChecksums.get(migration.version))) {
+                throw new SQLException(migration + " stopped after statement " + done + ", and the statements " +
+                                       "up to there have changed since; finish it by hand");
+            } else {
+                System.out.println("Resuming " + migration + " after statement " + done);
+            }
+            
+            long start = System.currentTimeMillis();
+            for (int i = done; i < statements.size(); i++) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(online(statements.get(i)));
+                } catch (SQLException e) {
+                    throw new SQLException(migration + " failed at statement " + (i + 1) + " of " +
+                                           statements.size() + "; the next start resumes there: " +
+                                           e.getMessage(), e.getSQLState(), e);
+                }
+                if (i + 1 < statements.size()) {
+                    progress(conn, migration, i + 1, doneChecksum(statements, i + 1));
+                }
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            finish(conn, migration, elapsed);
+            System.out.println("Applied " + migration + " in " + elapsed + " ms");
+            count++;
+        }
+        return count;
+    }
+    
+    // Checksum of the first done statements, to tell whether a stopped migration can resume
+    static String doneChecksum(List<String> statements, int done) {
+        return Migration.sha256(String.join(";\n", statements.subList(0, done)));
+    }
+    
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM information_schema.tables " +
+                     "WHERE table_schema = DATABASE() AND table_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+    
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM information_schema.columns " +
+                     "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+    
+    // A baselined migration is recorded as finished, any other as started with nothing done
+    private static void record(Connection conn, Migration migration, boolean baselined) throws SQLException {
+        String sql = "INSERT INTO schema_migrations (version, description, checksum, baselined, " +
+                     "statements_done, done_checksum) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.setString(3, migration.checksum);
+            stmt.setBoolean(4, baselined);
+            if (baselined) {
+                stmt.setNull(5, Types.INTEGER);
+                stmt.setNull(6, Types.CHAR);
+            } else {
+                stmt.setInt(5, 0);
+                stmt.setString(6, doneChecksum(new ArrayList<>(), 0));
+            }
+            stmt.executeUpdate();
+        }
+    }
+    
+    private static void progress(Connection conn, Migration migration, int done, String doneChecksum)
+            throws SQLException {
+        String sql = "UPDATE schema_migrations SET statements_done = ?, done_checksum = ? WHERE version = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, done);
+            stmt.setString(2, doneChecksum);
+            stmt.setInt(3, migration.version);
+            stmt.executeUpdate();
+        }
+    }
+    
+    // The file may have been fixed after a failed run, so its checksum is stored again
+    private static void finish(Connection conn, Migration migration, long elapsedMillis) throws SQLException {
+        String sql = "UPDATE schema_migrations SET checksum = ?, execution_ms = ?, statements_done = NULL, " +
+                     "done_checksum = NULL, applied_at = CURRENT_TIMESTAMP WHERE version = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, migration.checksum);
+            stmt.setInt(2, (int) Math.min(Integer.MAX_VALUE, elapsedMillis));
+            stmt.setInt(3, migration.version);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Read the migration files, ordered by version
+     */
+    List<Migration> load() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "V*.sql")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    System.err.println("Ignoring migration with unexpected name: " + file.getFileName());
+                    continue;
+                }
+                // Line endings differ between checkouts; they must not change the checksum
+                String sql = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).replace("\r\n", "\n");
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                                             matcher.group(2).replace('_', ' '), sql));
+            }
+        }
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version == migrations.get(i - 1).version) {
+                throw new IOException("Two migrations with version " + migrations.get(i).version);
+            }
+        }
+        return migrations;
+    }
+    
+    /**
+     * Split a script into statements on semicolons outside quotes and comments
+     * (comments are dropped; DELIMITER and stored-program bodies are not supported)
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                current.append(c);
+                if (c == '\\' && quote != '`' && i + 1 < script.length()) {
+                    current.append(script.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                i++;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                current.append(c);
+                i++;
+            } else if (c == '#' || (c == '-' && script.startsWith("--", i) &&
+                       (i + 2 >= script.length() || Character.isWhitespace(script.charAt(i + 2))))) {
+                while (i < script.length() && script.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && script.startsWith("/*", i)) {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? script.length() : end + 2;
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+    
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+    
+    /**
+     * Add online DDL options to index builds and drops that do not choose their own
+     */
+    static String online(String statement) {
+        if (statement.toUpperCase(Locale.ROOT).contains("LOCK=") ||
+            statement.toUpperCase(Locale.ROOT).contains("LOCK =")) {
+            return statement;
+        }
+        if (INDEX_ALTER.matcher(statement).matches()) {
+            return statement + ", ALGORITHM=INPLACE, LOCK=NONE";
+        }
+        if (INDEX_CREATE.matcher(statement).matches()) {
+            return statement + " ALGORITHM=INPLACE LOCK=NONE";
+        }
+        return statement;
+    }
+    
+    /**
+     * One migration file
+     */
+    static final class Migration {
+        final int version;
+        final String description;
+        final String sql;
+        final String checksum;
+        
+        Migration(int version, String description, String sql) {
+            this.version = version;
+            this.description = description;
+            this.sql = sql;
+            this.checksum = sha256(sql);
+        }
+        
+        static String sha256(String text) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder();
+                for (byte b : hash) {
+                    hex.append(String.format("%02x", b));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("migration V%03d (%s)", version, description);
+        }
+    }
+}
@@ -0,0 +1,1312 @@
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * SelfTest runs focused checks of the data layer's algorithms and their bookkeeping
+ *
+ * The project has no test framework or build tool, so like Benchmarks this is a main class.
+ * Each check compares a component with a simple reference (a brute-force scan, a sorted copy,
+ * a full reload) on seeded random input, and the run exits with status 1 if any check fails.
+ * It runs against the in-memory repository; the schema migrator is checked against a fake
+ * JDBC connection, so no MySQL server is needed.
+ *
+ * Usage: java -cp target/classes SelfTest [-Dselftest.filter=schedule] [-Dselftest.seed=42]
+ */
+public class SelfTest {
+    private static final String FILTER = System.getProperty("selftest.filter", "");
+    static final long SEED = Long.getLong("selftest.seed", 42L);
+    
+    /**
+     * One check; fails by throwing
+     */
+    interface Check {
+        void run() throws Exception;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        // Must be set before DatabaseManager is loaded
+        System.setProperty("db.backend", "memory");
+        System.setProperty("db.memory.sampleData", "false");
+        System.setProperty("java.awt.headless", "true");
+        
+        Map<String, Check> checks = checks();
+        int run = 0;
+        int failed = 0;
+        for (Map.Entry<String, Check> check : checks.entrySet()) {
+            if (!check.getKey().contains(FILTER)) {
+                continue;
+            }
+            run++;
+            long start = System.currentTimeMillis();
+            try {
+                check.getValue().run();
+                System.out.printf("ok    %-40s %6d ms%n", check.getKey(), System.currentTimeMillis() - start);
+            } catch (Throwable e) {
+                failed++;
+                System.out.printf("FAIL  %-40s %s%n", check.getKey(), e);
+                if (!(e instanceof AssertionError)) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        
+        System.out.println();
+        System.out.println(run + " checks, " + failed + " failed (seed " + SEED + ")");
+        System.exit(failed == 0 && run > 0 ? 0 : 1);
+    }
+    
+    private static Map<String, Check> checks() {
+        Map<String, Check> checks = new LinkedHashMap<>();
+        checks.put("bench.resultStatistics", SelfTest::benchResultStatistics);
+        checks.put("bench.jsonOutput", SelfTest::benchJsonOutput);
+        checks.put("load.histogramPercentiles", SelfTest::loadHistogramPercentiles);
+        checks.put("load.histogramConcurrent", SelfTest::loadHistogramConcurrent);
+        checks.put("load.parseMix", SelfTest::loadParseMix);
+        checks.put("migrator.splitAndOnlineDdl", SelfTest::migratorSplitAndOnlineDdl);
+        checks.put("migrator.freshDatabase", SelfTest::migratorFreshDatabase);
+        checks.put("migrator.baseline", SelfTest::migratorBaseline);
+        checks.put("migrator.resumeAfterFailure", SelfTest::migratorResumeAfterFailure);
+        checks.put("migrator.lockAndMissingFiles", SelfTest::migratorLockAndMissingFiles);
+        checks.put("search.tokenize", SelfTest::searchTokenize);
+        checks.put("search.indexVsBruteForce", SelfTest::searchIndexVsBruteForce);
+        checks.put("search.repositoryRanking", SelfTest::searchRepositoryRanking);
+        checks.put("geo.gridCoversRadius", SelfTest::geoGridCoversRadius);
+        checks.put("geo.gazetteer", SelfTest::geoGazetteer);
+        checks.put("geo.nearbyVsBruteForce", SelfTest::geoNearbyVsBruteForce);
+        checks.put("match.rankVsSort", SelfTest::matchRankVsSort);
+        checks.put("match.scoreParts", SelfTest::matchScoreParts);
+        checks.put("match.incrementalUpkeep", SelfTest::matchIncrementalUpkeep);
+        checks.put("match.suggestionsFollowChanges", SelfTest::matchSuggestionsFollowChanges);
+        checks.put("schedule.treeVsBruteForce", SelfTest::scheduleTreeVsBruteForce);
+        checks.put("schedule.reservations", SelfTest::scheduleReservations);
+        checks.put("schedule.concurrentAccepts", SelfTest::scheduleConcurrentAccepts);
+        checks.put("sync.deltasMatchFullList", SelfTest::syncDeltasMatchFullList);
+        checks.put("sync.fullReloads", SelfTest::syncFullReloads);
+        return checks;
+    }
+    
+    // ==================== ASSERTIONS ====================
+    
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+    
+    static void checkEquals(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+    
+    static void checkClose(double expected, double actual, double tolerance, String what) {
+        if (Math.abs(expected - actual) > tolerance) {
+            throw new AssertionError(what + ": expected " + expected + " +- " + tolerance + " but was " + actual);
+        }
+    }
+    
+    // ==================== BENCHMARKS ====================
+    
+    // Score and scoreError are the mean and sample standard deviation of the iterations, as in JMH
+    private static void benchResultStatistics() {
+        Benchmarks.Benchmark benchmark = new Benchmarks.Benchmark("stats", 1, (thread, i) -> i);
+        Benchmarks.Result result = new Benchmarks.Result(benchmark, new double[]{2, 4, 4, 4, 5, 5, 7, 9}, 0);
+        checkClose(5.0, result.mean(), 1e-9, "mean");
+        checkClose(Math.sqrt(32.0 / 7), result.stddev(), 1e-9, "stddev");
+        
+        Benchmarks.Result single = new Benchmarks.Result(benchmark, new double[]{3}, 0);
+        checkClose(3.0, single.mean(), 1e-9, "mean of one iteration");
+        checkClose(0.0, single.stddev(), 1e-9, "stddev of one iteration");
+        
+        // Outcomes are counted during measurement iterations only
+        benchmark.count("APPLIED");
+        benchmark.measuring = true;
+        benchmark.count("APPLIED");
+        benchmark.count("APPLIED");
+        benchmark.count("REJECTED");
+        benchmark.measuring = false;
+        checkEquals(2L, benchmark.counters.get("APPLIED").get(), "APPLIED count");
+        checkEquals(1L, benchmark.counters.get("REJECTED").get(), "REJECTED count");
+    }
+    
+    // The results file keeps JMH's layout: one object per benchmark, raw scores and secondary metrics
+    private static void benchJsonOutput() throws Exception {
+        Benchmarks.Benchmark first = new Benchmarks.Benchmark("first", 2, (thread, i) -> i);
+        first.measuring = true;
+        first.count("APPLIED");
+        Benchmarks.Benchmark second = new Benchmarks.Benchmark("second", 1, (thread, i) -> i);
+        List<Benchmarks.Result> results = Arrays.asList(new Benchmarks.Result(first, new double[]{1.5, 2.5}, 3),
+                                                        new Benchmarks.Result(second, new double[]{7}, 0));
+        
+        Path file = Files.createTempFile("selftest-bench", ".json");
+        try {
+            Benchmarks.writeJson(results, file.toString());
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            check(json.trim().startsWith("[") && json.trim().endsWith("]"), "not a JSON array");
+            checkEquals(count(json, '{'), count(json, '}'), "balanced braces");
+            checkEquals(count(json, '['), count(json, ']'), "balanced brackets");
+            check(json.contains("\"benchmark\" : \"first\"") && json.contains("\"benchmark\" : \"second\""),
+                  "benchmark names missing");
+            check(json.contains("\"rawData\" : [ [ 1.5, 2.5 ] ]"), "raw scores missing");
+            check(json.contains("\"score\" : 2.0,"), "mean score missing");
+            check(json.contains("\"APPLIED\" : { \"score\" : 1, \"scoreUnit\" : \"#\" }"), "outcome counter missing");
+            check(json.contains("\"errors\" : { \"score\" : 3, \"scoreUnit\" : \"#\" }"), "error count missing");
+            check(!json.contains(",\n        }") && !json.contains(",\n]"), "trailing comma");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    // ==================== LOAD GENERATOR ====================
+    
+    // Percentiles are within 1% of the exact value read from the sorted samples
+    private static void loadHistogramPercentiles() {
+        Random random = new Random(SEED);
+        LatencyHistogram histogram = new LatencyHistogram();
+        checkEquals(0L, histogram.getPercentileNanos(50), "percentile of an empty histogram");
+        
+        long[] values = new long[100000];
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            // Spread from nanoseconds to about 10 seconds, as latencies are
+            values[i] = (long) Math.pow(10, random.nextDouble() * 10);
+            histogram.record(values[i]);
+            sum += values[i];
+        }
+        Arrays.sort(values);
+        checkEquals((long) values.length, histogram.getCount(), "count");
+        checkEquals(values[values.length - 1], histogram.getMaxNanos(), "max");
+        checkClose((double) sum / values.length, histogram.getMeanNanos(), 1e-6 * sum / values.length, "mean");
+        for (double percentile : new double[]{0, 1, 25, 50, 90, 95, 99, 99.9, 100}) {
+            long exact = values[Math.max(0, (int) Math.ceil(values.length * percentile / 100) - 1)];
+            long reported = histogram.getPercentileNanos(percentile);
+            checkClose(exact, reported, Math.max(1, exact * 0.01), "p" + percentile);
+        }
+        
+        histogram.reset();
+        checkEquals(0L, histogram.getCount(), "count after reset");
+        histogram.record(-5);
+        checkEquals(0L, histogram.getPercentileNanos(100), "negative latency counts as 0");
+    }
+    
+    // Recording from many threads at once loses no samples
+    private static void loadHistogramConcurrent() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 50000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 1; i <= perThread; i++) {
+                        histogram.record(i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        checkEquals((long) threads * perThread, histogram.getCount(), "count");
+        checkEquals((long) perThread, histogram.getMaxNanos(), "max");
+        checkClose((perThread + 1) / 2.0, histogram.getMeanNanos(), 1e-6, "mean");
+        checkClose(perThread / 2.0, histogram.getPercentileNanos(50), perThread * 0.01, "p50");
+    }
+    
+    private static void loadParseMix() {
+        Map<String, Integer> weights = LoadGenerator.parseMix(" browse = 50, accept=25 ");
+        checkEquals(Arrays.asList("browse", "accept"), new ArrayList<>(weights.keySet()), "actions");
+        checkEquals(50, weights.get("browse"), "browse weight");
+        checkEquals(25, weights.get("accept"), "accept weight");
+        for (String bad : new String[]{"browse", "browse=1,fly=2", "browse=x"}) {
+            try {
+                LoadGenerator.parseMix(bad);
+                throw new AssertionError("accepted '" + bad + "'");
+            } catch (IllegalArgumentException expected) {
+                // NumberFormatException is one too
+            }
+        }
+    }
+    
+    // ==================== SCHEMA MIGRATIONS ====================
+    
+    private static final String V001 = "CREATE TABLE users (user_id INT);\nCREATE TABLE tasks (task_id INT);\n";
+    private static final String V002 = "-- Built online\nALTER TABLE tasks ADD INDEX idx_tasks_a (a);\n";
+    private static final String V003 = "ALTER TABLE tasks ADD COLUMN b INT;\nALTER TABLE tasks ADD COLUMN c INT;\n" +
+                                       "ALTER TABLE tasks ADD COLUMN d INT;\n";
+    
+    private static void migratorSplitAndOnlineDdl() {
+        checkEquals(Arrays.asList("SELECT 'a;b'", "SELECT \"c\\\";\"", "SELECT 2"),
+                    SchemaMigrator.splitStatements("-- one; two\nSELECT 'a;b'; /* three; */ SELECT \"c\\\";\";\n" +
+                                                   "# four;\nSELECT 2;\n;"),
+                    "statements");
+        checkEquals("ALTER TABLE t ADD INDEX i (a), ALGORITHM=INPLACE, LOCK=NONE",
+                    SchemaMigrator.online("ALTER TABLE t ADD INDEX i (a)"), "index build");
+        checkEquals("CREATE INDEX i ON t (a) ALGORITHM=INPLACE LOCK=NONE",
+                    SchemaMigrator.online("CREATE INDEX i ON t (a)"), "index create");
+        checkEquals("ALTER TABLE t ADD COLUMN a INT, ALGORITHM=INPLACE, LOCK=SHARED",
+                    SchemaMigrator.online("ALTER TABLE t ADD COLUMN a INT, ALGORITHM=INPLACE, LOCK=SHARED"),
+                    "statement with its own LOCK");
+        checkEquals("ALTER TABLE t ADD COLUMN a INT", SchemaMigrator.online("ALTER TABLE t ADD COLUMN a INT"),
+                    "column change");
+    }
+    
+    // Every file runs once, in order, under the lock, and is recorded with its checksum
+    private static void migratorFreshDatabase() throws Exception {
+        Path dir = migrationsDir(V001, V002, V003);
+        try {
+            FakeMigrationDatabase db = new FakeMigrationDatabase();
+            SchemaMigrator migrator = new SchemaMigrator(dir, 10);
+            checkEquals(3, migrator.migrate(db.connection()), "migrations applied");
+            checkEquals(Arrays.asList("CREATE TABLE users (user_id INT)", "CREATE TABLE tasks (task_id INT)",
+                                      "ALTER TABLE tasks ADD INDEX idx_tasks_a (a), ALGORITHM=INPLACE, LOCK=NONE",
+                                      "ALTER TABLE tasks ADD COLUMN b INT", "ALTER TABLE tasks ADD COLUMN c INT",
+                                      "ALTER TABLE tasks ADD COLUMN d INT"),
+                        db.executed, "statements run");
+            String[] files = {V001, V002, V003};
+            for (int version = 1; version <= 3; version++) {
+                checkEquals(SchemaMigrator.Migration.sha256(files[version - 1]), db.checksum(version),
+                            "checksum of V00" + version);
+                checkEquals(null, db.statementsDone(version), "V00" + version + " finished");
+            }
+            check(!db.lockHeld && db.lockTaken == 1, "lock not taken and released once");
+            
+            checkEquals(0, migrator.migrate(db.connection()), "migrations applied again");
+            checkEquals(6, db.executed.size(), "statements run again");
+        } finally {
+            deleteDir(dir);
+        }
+    }
+    
+    // A database created by schema.sql before migrations existed is recorded at version 1 unrun
+    private static void migratorBaseline() throws Exception {
+        Path dir = migrationsDir(V001, V002, V003);
+        try {
+            FakeMigrationDatabase db = new FakeMigrationDatabase();
+            db.usersTable = true;
+            checkEquals(2, new SchemaMigrator(dir, 10).migrate(db.connection()), "migrations applied");
+            check(db.checksum(1) != null && db.statementsDone(1) == null, "baseline not recorded as finished");
+            check(!db.executed.contains("CREATE TABLE users (user_id INT)"), "baseline was run");
+            checkEquals(4, db.executed.size(), "statements run");
+        } finally {
+            deleteDir(dir);
+        }
+    }
+    
+    // A failed statement leaves the file recorded with its progress; the next run resumes there,
+    // and refuses to when a statement already done has been edited since
+    private static void migratorResumeAfterFailure() throws Exception {
+        Path dir = migrationsDir(V001, V002, V003);
+        try {
+            FakeMigrationDatabase db = new FakeMigrationDatabase();
+            db.failOn = "ADD COLUMN c";
+            SchemaMigrator migrator = new SchemaMigrator(dir, 10);
+            try {
+                migrator.migrate(db.connection());
+                throw new AssertionError("failed statement not reported");
+            } catch (SQLException expected) {
+                check(expected.getMessage().contains("statement 2 of 3"), "message: " + expected.getMessage());
+            }
+            checkEquals(1, db.statementsDone(3), "statements done in V003");
+            check(!db.lockHeld, "lock held after the failure");
+            
+            db.failOn = null;
+            checkEquals(1, migrator.migrate(db.connection()), "migrations applied on resume");
+            checkEquals(Arrays.asList("ALTER TABLE tasks ADD COLUMN b INT", "ALTER TABLE tasks ADD COLUMN c INT",
+                                      "ALTER TABLE tasks ADD COLUMN d INT"),
+                        db.executed.subList(3, db.executed.size()), "V003 statements run");
+            checkEquals(null, db.statementsDone(3), "V003 finished");
+            checkEquals(SchemaMigrator.Migration.sha256(V003), db.checksum(3), "V003 checksum");
+            
+            // Stop again after statement 1, then edit that statement
+            FakeMigrationDatabase edited = new FakeMigrationDatabase();
+            edited.failOn = "ADD COLUMN c";
+            try {
+                migrator.migrate(edited.connection());
+                throw new AssertionError("failed statement not reported");
+            } catch (SQLException expected) {
+                // Recorded as stopped after statement 1
+            }
+            Files.write(dir.resolve("V003__three_columns.sql"),
+                        V003.replace("COLUMN b", "COLUMN bb").getBytes(StandardCharsets.UTF_8));
+            edited.failOn = null;
+            int run = edited.executed.size();
+            try {
+                migrator.migrate(edited.connection());
+                throw new AssertionError("resumed after an edited statement");
+            } catch (SQLException expected) {
+                check(expected.getMessage().contains("have changed"), "message: " + expected.getMessage());
+            }
+            checkEquals(run, edited.executed.size(), "statements run after refusing");
+        } finally {
+            deleteDir(dir);
+        }
+    }
+    
+    private static void migratorLockAndMissingFiles() throws Exception {
+        Path dir = migrationsDir(V001, V002, V003);
+        try {
+            FakeMigrationDatabase db = new FakeMigrationDatabase();
+            db.lockFree = false;
+            try {
+                new SchemaMigrator(dir, 10).migrate(db.connection());
+                throw new AssertionError("migrated without the lock");
+            } catch (SQLException expected) {
+                check(db.executed.isEmpty() && !db.migrationsTable, "changed the schema without the lock");
+            }
+        } finally {
+            deleteDir(dir);
+        }
+        
+        Path empty = migrationsDir();
+        try {
+            for (Path missing : new Path[]{empty, empty.resolve("missing")}) {
+                try {
+                    new SchemaMigrator(missing, 10).migrate(new FakeMigrationDatabase().connection());
+                    throw new AssertionError("started without migrations in " + missing);
+                } catch (IOException expected) {
+                    // Refused before connecting
+                }
+            }
+        } finally {
+            deleteDir(empty);
+        }
+    }
+    
+    // V001__..., V002__... holding the given scripts
+    private static Path migrationsDir(String... scripts) throws IOException {
+        String[] names = {"V001__baseline.sql", "V002__index.sql", "V003__three_columns.sql"};
+        Path dir = Files.createTempDirectory("selftest-migrations");
+        for (int i = 0; i < scripts.length; i++) {
+            Files.write(dir.resolve(names[i]), scripts[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return dir;
+    }
+    
+    private static void deleteDir(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+    
+    /**
+     * Just enough of a MySQL connection for SchemaMigrator: the named lock, information_schema
+     * lookups and schema_migrations are kept in memory, and every other statement is recorded
+     */
+    private static final class FakeMigrationDatabase {
+        final List<String> executed = new ArrayList<>();
+        // version -> {checksum, statements_done, done_checksum}
+        final Map<Integer, Object[]> migrations = new TreeMap<>();
+        boolean usersTable;
+        boolean migrationsTable;
+        boolean lockFree = true;
+        boolean lockHeld;
+        int lockTaken;
+        // Statements containing this fail
+        String failOn;
+        
+        String checksum(int version) {
+            Object[] row = migrations.get(version);
+            return row == null ? null : (String) row[0];
+        }
+        
+        Integer statementsDone(int version) {
+            Object[] row = migrations.get(version);
+            return row == null ? null : (Integer) row[1];
+        }
+        
+        Connection connection() {
+            return proxy(Connection.class, (method, args) -> {
+                switch (method) {
+                    case "prepareStatement":
+                        return preparedStatement((String) args[0]);
+                    case "createStatement":
+                        return statement();
+                    default:
+                        return null;
+                }
+            });
+        }
+        
+        private Statement statement() {
+            return proxy(Statement.class, (method, args) -> {
+                if (method.equals("execute")) {
+                    execute((String) args[0]);
+                    return false;
+                }
+                if (method.equals("executeQuery")) {
+                    List<Object[]> rows = new ArrayList<>();
+                    for (Map.Entry<Integer, Object[]> row : migrations.entrySet()) {
+                        rows.add(new Object[]{row.getKey(), row.getValue()[0], row.getValue()[1], row.getValue()[2]});
+                    }
+                    return resultSet(rows);
+                }
+                return null;
+            });
+        }
+        
+        private void execute(String sql) throws SQLException {
+            if (sql.startsWith("CREATE TABLE schema_migrations")) {
+                migrationsTable = true;
+            } else if (sql.startsWith("DO RELEASE_LOCK")) {
+                lockHeld = false;
+            } else if (!sql.startsWith("SET SESSION")) {
+                if (failOn != null && sql.contains(failOn)) {
+                    throw new SQLException("Simulated failure", "HY000");
+                }
+                executed.add(sql);
+            }
+        }
+        
+        private PreparedStatement preparedStatement(String sql) {
+            Map<Integer, Object> params = new HashMap<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                if (method.startsWith("set")) {
+                    params.put((Integer) args[0], method.equals("setNull") ? null : args[1]);
+                } else if (method.equals("executeQuery")) {
+                    return resultSet(Collections.singletonList(new Object[]{query(sql, params)}));
+                } else if (method.equals("executeUpdate")) {
+                    update(sql, params);
+                    return 1;
+                }
+                return null;
+            });
+        }
+        
+        private int query(String sql, Map<Integer, Object> params) {
+            if (sql.startsWith("SELECT GET_LOCK")) {
+                lockHeld = lockFree;
+                lockTaken += lockFree ? 1 : 0;
+                return lockFree ? 1 : 0;
+            }
+            if (sql.contains("information_schema.tables")) {
+                Object table = params.get(1);
+                return "users".equals(table) && usersTable || "schema_migrations".equals(table) && migrationsTable ? 1 : 0;
+            }
+            // The progress columns exist whenever the table does
+            return migrationsTable ? 1 : 0;
+        }
+        
+        private void update(String sql, Map<Integer, Object> params) {
+            if (sql.startsWith("INSERT INTO schema_migrations")) {
+                migrations.put((Integer) params.get(1), new Object[]{params.get(3), params.get(5), params.get(6)});
+            } else if (sql.contains("SET statements_done = ?")) {
+                Object[] row = migrations.get(params.get(3));
+                row[1] = params.get(1);
+                row[2] = params.get(2);
+            } else if (sql.contains("SET checksum = ?")) {
+                Object[] row = migrations.get(params.get(3));
+                row[0] = params.get(1);
+                row[1] = null;
+                row[2] = null;
+            }
+        }
+    }
+    
+    interface Handler {
+        Object invoke(String method, Object[] args) throws Exception;
+    }
+    
+    // A JDBC interface answered by the handler; methods it returns null for get their type's default
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object value = handler.invoke(method.getName(), args);
+            Class<?> returns = method.getReturnType();
+            if (value != null || !returns.isPrimitive() || returns == void.class) {
+                return value;
+            }
+            return returns == boolean.class ? (Object) false : (Object) 0;
+        });
+        return type.cast(proxy);
+    }
+    
+    private static ResultSet resultSet(List<Object[]> rows) {
+        int[] row = {-1};
+        boolean[] wasNull = {false};
+        return proxy(ResultSet.class, (method, args) -> {
+            switch (method) {
+                case "next":
+                    return ++row[0] < rows.size();
+                case "getInt":
+                case "getString":
+                    Object value = rows.get(row[0])[(Integer) args[0] - 1];
+                    wasNull[0] = value == null;
+                    return method.equals("getInt") && value == null ? (Object) 0 : value;
+                case "wasNull":
+                    return wasNull[0];
+                default:
+                    return null;
+            }
+        });
+    }
+    
+    // ==================== TASK SEARCH ====================
+    
+    private static void searchTokenize() {
+        checkEquals(Arrays.asList("grocery", "run", "shop", "5pm", "caf\u00e9"),
+                    TaskSearchIndex.tokenize("The Grocery run, to the SHOP!! at 5pm -- ab run Caf\u00e9"), "tokens");
+        checkEquals(new ArrayList<String>(), TaskSearchIndex.tokenize(null), "tokens of null");
+        checkEquals(new ArrayList<String>(), TaskSearchIndex.tokenize("to be or it"), "tokens of stopwords");
+    }
+    
+    // Matches and scores equal a scan of every indexed task, as tasks are added and removed
+    private static void searchIndexVsBruteForce() {
+        Random random = new Random(SEED);
+        // A few common words and many rare ones, so both ways of narrowing the matches are used
+        String[] vocabulary = new String[300];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = (i < 10 ? "common" : "word") + Integer.toString(i, 36) + (char) ('a' + i % 26);
+        }
+        TaskSearchIndex index = new TaskSearchIndex();
+        Map<Integer, String[]> texts = new HashMap<>();
+        for (int step = 0; step < 4000; step++) {
+            int taskId = random.nextInt(1500);
+            if (random.nextInt(4) == 0) {
+                index.remove(taskId);
+                texts.remove(taskId);
+            } else {
+                String[] text = {words(random, vocabulary, 1 + random.nextInt(4)),
+                                 words(random, vocabulary, random.nextInt(12)),
+                                 words(random, vocabulary, random.nextInt(3))};
+                index.add(taskId, text[0], text[1], text[2]);
+                texts.put(taskId, text);
+            }
+        }
+        checkEquals(texts.size(), index.size(), "indexed tasks");
+        
+        for (int q = 0; q < 300; q++) {
+            List<String> words = new ArrayList<>();
+            for (int w = 1 + random.nextInt(3); w > 0; w--) {
+                String word = vocabulary[random.nextInt(10) == 0 ? random.nextInt(10) : random.nextInt(vocabulary.length)];
+                words.add(word.substring(0, Math.max(TaskSearchIndex.MIN_TOKEN_LENGTH, random.nextInt(word.length() + 1))));
+            }
+            Map<Integer, Double> expected = bruteForceSearch(texts, words);
+            Map<Integer, Double> actual = index.search(words);
+            checkEquals(expected.keySet(), actual.keySet(), "matches of " + words);
+            for (Map.Entry<Integer, Double> score : expected.entrySet()) {
+                checkClose(score.getValue(), actual.get(score.getKey()), 1e-9, "score of task " + score.getKey());
+            }
+        }
+    }
+    
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return text.toString();
+    }
+    
+    // Title words count 3, location words 2 and description words 1; each query word scores
+    // every term it is a prefix of, BM25-style
+    private static Map<Integer, Double> bruteForceSearch(Map<Integer, String[]> texts, List<String> words) {
+        Map<Integer, Map<String, Integer>> counts = new HashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        int[] weights = {3, 1, 2};
+        for (Map.Entry<Integer, String[]> task : texts.entrySet()) {
+            Map<String, Integer> termCounts = new HashMap<>();
+            for (int field = 0; field < 3; field++) {
+                for (String term : task.getValue()[field].split(" ")) {
+                    if (!term.isEmpty()) {
+                        termCounts.merge(term, weights[field], Integer::sum);
+                    }
+                }
+            }
+            counts.put(task.getKey(), termCounts);
+            for (String term : termCounts.keySet()) {
+                documentFrequency.merge(term, 1, Integer::sum);
+            }
+        }
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<Integer, Map<String, Integer>> task : counts.entrySet()) {
+            double total = 0;
+            boolean all = true;
+            for (String word : words) {
+                double wordScore = 0;
+                boolean matched = false;
+                for (Map.Entry<String, Integer> term : task.getValue().entrySet()) {
+                    if (term.getKey().startsWith(word)) {
+                        int df = documentFrequency.get(term.getKey());
+                        double idf = Math.log(1 + (texts.size() - df + 0.5) / (df + 0.5));
+                        wordScore += idf * term.getValue() * 2.2 / (term.getValue() + 1.2);
+                        matched = true;
+                    }
+                }
+                all &= matched;
+                total += wordScore;
+            }
+            if (all) {
+                scores.put(task.getKey(), total);
+            }
+        }
+        return scores;
+    }
+    
+    // Title matches rank first; status and date filters apply; deleted tasks are not found
+    private static void searchRepositoryRanking() {
+        User requester = register("search", "ELDERLY");
+        String word = "zq" + Long.toString(System.nanoTime(), 36);
+        Task inDescription = task(requester, "Help needed", "2031-03-02", "10:00", 30);
+        inDescription.setDescription("Weeding the " + word + " beds");
+        Task inTitle = task(requester, "Weeding " + word + " garden", "2031-03-03", "10:00", 30);
+        Task deleted = task(requester, "Old " + word + " job", "2031-03-01", "10:00", 30);
+        for (Task task : new Task[]{inDescription, inTitle, deleted}) {
+            check(DatabaseManager.createTask(task), "task not created");
+        }
+        check(DatabaseManager.deleteTask(deleted.getTaskId(), requester.getUserId()), "task not deleted");
+        
+        checkEquals(Arrays.asList(inTitle.getTaskId(), inDescription.getTaskId()),
+                    taskIds(DatabaseManager.searchTasks(word.substring(0, 5) + " weed", null, null, null, 10)),
+                    "ranked matches");
+        checkEquals(Collections.singletonList(inTitle.getTaskId()),
+                    taskIds(DatabaseManager.searchTasks(word, "AVAILABLE", "2031-03-03", null, 10)), "filtered matches");
+        checkEquals(new ArrayList<Integer>(), taskIds(DatabaseManager.searchTasks(word, "COMPLETED", null, null, 10)),
+                    "matches with another status");
+        checkEquals(new ArrayList<Integer>(), taskIds(DatabaseManager.searchTasks("the to", null, null, null, 10)),
+                    "matches of stopwords only");
+    }
+    
+    // ==================== NEARBY TASKS ====================
+    
+    // Every position within the radius lies in one of the cells read, also near the poles and
+    // across the antimeridian
+    private static void geoGridCoversRadius() {
+        Random random = new Random(SEED);
+        double[][] centers = {{51.5, -0.1}, {-40, 179.97}, {35, -179.99}, {89.95, 10}, {-89.9, 0}, {0, 0}};
+        for (int c = 0; c < 200; c++) {
+            GeoPoint center = c < centers.length ? new GeoPoint(centers[c][0], centers[c][1])
+                : new GeoPoint(random.nextDouble() * 178 - 89, random.nextDouble() * 360 - 180);
+            double radius = 0.1 + random.nextDouble() * 50;
+            Set<Integer> cells = new HashSet<>(GeoGrid.cellsWithin(center, radius));
+            for (int p = 0; p < 500; p++) {
+                GeoPoint point = offset(center, random.nextDouble() * radius, random.nextDouble() * 360);
+                if (point.distanceKm(center) <= radius) {
+                    check(cells.contains(GeoGrid.cellOf(point)), point + " within " + radius + " km of " + center +
+                                                                  " is in no cell read");
+                }
+            }
+            // No more than the circle's bounding box, away from the poles
+            double latDelta = Math.toDegrees(radius / GeoPoint.EARTH_RADIUS_KM);
+            if (Math.abs(center.getLatitude()) + latDelta < 80) {
+                double lonDelta = latDelta / Math.cos(Math.toRadians(Math.abs(center.getLatitude()) + latDelta));
+                double box = (2 * latDelta / GeoGrid.CELL_DEGREES + 2) * (2 * lonDelta / GeoGrid.CELL_DEGREES + 2);
+                check(cells.size() <= box, cells.size() + " cells read for " + radius + " km at " + center);
+            }
+        }
+    }
+    
+    // The position distanceKm away from start in the given compass direction
+    private static GeoPoint offset(GeoPoint start, double distanceKm, double bearingDegrees) {
+        double angle = distanceKm / GeoPoint.EARTH_RADIUS_KM;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(start.getLatitude());
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angle) + Math.cos(lat1) * Math.sin(angle) * Math.cos(bearing));
+        double lon2 = Math.toRadians(start.getLongitude()) +
+                      Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat1),
+                                 Math.cos(angle) - Math.sin(lat1) * Math.sin(lat2));
+        double longitude = (Math.toDegrees(lon2) + 540) % 360 - 180;
+        return new GeoPoint(Math.max(-90, Math.min(90, Math.toDegrees(lat2))), longitude);
+    }
+    
+    private static void geoGazetteer() throws Exception {
+        Path file = Files.createTempFile("selftest-gazetteer", ".csv");
+        try {
+            Files.write(file, Arrays.asList("# name,latitude,longitude", "Main St,51.50,-0.10", "Oak Road,51.51,-0.11",
+                                            "Springfield,51.60,-0.20", "AB12,51.70,-0.30", "Hill, Upper,51.80,-0.40",
+                                            "Broken line,51.9", "Bad,north,west"),
+                        StandardCharsets.UTF_8);
+            Gazetteer gazetteer = Gazetteer.load(file);
+            checkEquals(5, gazetteer.size(), "places loaded");
+            checkEquals(new GeoPoint(51.50, -0.10), gazetteer.resolve("  MAIN-ST. "), "whole text");
+            checkEquals(new GeoPoint(51.50, -0.10), gazetteer.resolve("12 Main St, Apt 4"), "part without house number");
+            checkEquals(new GeoPoint(51.60, -0.20), gazetteer.resolve("Flat 2, Oak Road, Springfield"),
+                        "last part first");
+            checkEquals(new GeoPoint(51.51, -0.11), gazetteer.resolve("12b Oak Road"), "without house number");
+            checkEquals(new GeoPoint(51.70, -0.30), gazetteer.resolve("Near the AB12 station"), "single word");
+            checkEquals(new GeoPoint(51.80, -0.40), gazetteer.resolve("hill upper"), "name with a comma");
+            checkEquals(null, gazetteer.resolve("Nowhere Lane"), "unknown place");
+            checkEquals(null, gazetteer.resolve(null), "no location");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        checkEquals(0, Gazetteer.load(file).size(), "places in a missing file");
+    }
+    
+    // The merged cell indexes give the same tasks, in the same order, as filtering every task
+    private static void geoNearbyVsBruteForce() {
+        Random random = new Random(SEED);
+        User requester = register("geo", "ELDERLY");
+        User volunteer = register("geo", "VOLUNTEER");
+        // Across the antimeridian, where no other check places tasks
+        GeoPoint center = new GeoPoint(-40, 179.95);
+        List<Task> created = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Task task = task(requester, "Nearby " + i, "2032-01-" + String.format("%02d", 1 + random.nextInt(28)),
+                             String.format("%02d:%02d", 8 + random.nextInt(10), random.nextInt(4) * 15), 30);
+            task.setPosition(offset(center, random.nextDouble() * 70, random.nextDouble() * 360));
+            check(DatabaseManager.createTask(task), "task not created");
+            created.add(task);
+        }
+        // Some leave the available list
+        for (int i = 0; i < 60; i++) {
+            Task task = created.get(random.nextInt(created.size()));
+            if (random.nextBoolean()) {
+                DatabaseManager.assignTask(task.getTaskId(), volunteer.getUserId());
+            } else {
+                DatabaseManager.deleteTask(task.getTaskId(), requester.getUserId());
+            }
+        }
+        
+        for (int q = 0; q < 50; q++) {
+            GeoPoint from = offset(center, random.nextDouble() * 20, random.nextDouble() * 360);
+            double radius = 1 + random.nextDouble() * 49;
+            int limit = q % 5 == 0 ? 10 : 1000;
+            List<Task> expected = new ArrayList<>();
+            for (Task task : created) {
+                Task current = DatabaseManager.getTaskById(task.getTaskId());
+                if (current != null && "AVAILABLE".equals(current.getStatus()) &&
+                    task.getPosition().distanceKm(from) <= radius) {
+                    expected.add(task);
+                }
+            }
+            expected.sort(Comparator.comparing(Task::getScheduledDate).thenComparing(Task::getScheduledTime)
+                          .thenComparingInt(Task::getTaskId));
+            checkEquals(taskIds(expected.subList(0, Math.min(limit, expected.size()))),
+                        taskIds(DatabaseManager.getAvailableTasksNear(from, radius, limit)),
+                        "tasks within " + radius + " km of " + from);
+        }
+    }
+    
+    // ==================== SUGGESTIONS ====================
+    
+    // rank() keeps the same tasks, in the same order, as scoring and sorting every candidate
+    private static void matchRankVsSort() {
+        Random random = new Random(SEED);
+        for (int round = 0; round < 50; round++) {
+            TaskMatcher.Profile profile = randomProfile(random, 1);
+            List<TaskMatcher.Candidate> candidates = TaskMatcher.candidates(randomTasks(random, 500, 1000),
+                                                                            LocalDate.of(2033, 1, 1));
+            int limit = random.nextInt(30);
+            List<TaskMatcher.Suggestion> ranked = TaskMatcher.rank(profile, candidates, limit);
+            List<TaskMatcher.Suggestion> expected = bruteForceRank(profile, candidates);
+            checkEquals(suggestionIds(expected.subList(0, Math.min(limit, expected.size()))), suggestionIds(ranked),
+                        "ranking " + round);
+            for (TaskMatcher.Suggestion suggestion : ranked) {
+                check(suggestion.getScore() >= 0 && suggestion.getScore() <= 1, "score " + suggestion.getScore());
+            }
+        }
+    }
+    
+    private static void matchScoreParts() {
+        GeoPoint home = new GeoPoint(51.5, -0.1);
+        Task busy = new Task(1, "Busy", "", 7, 99, "ASSIGNED", "x", "2033-02-01", "10:00", 60, false, false);
+        Task done = new Task(2, "Done", "", 8, 99, "COMPLETED", "x", "2033-01-01", "10:00", 60, false, false);
+        TaskMatcher.Profile profile = TaskMatcher.profile(99, home, Arrays.asList(busy, done));
+        
+        Task near = new Task(10, "Near", "", 9, null, "AVAILABLE", "x", "2033-02-02", "10:00", 60, false, false);
+        near.setPosition(new GeoPoint(51.51, -0.1));
+        Task far = new Task(11, "Far", "", 9, null, "AVAILABLE", "x", "2033-02-02", "10:00", 60, false, false);
+        far.setPosition(new GeoPoint(51.7, -0.1));
+        Task clash = new Task(12, "Clash", "", 9, null, "AVAILABLE", "x", "2033-02-01", "10:30", 30, false, false);
+        Task helped = new Task(13, "Helped", "", 8, null, "AVAILABLE", "x", "2033-02-02", "10:00", 60, false, false);
+        helped.setPosition(near.getPosition());
+        Task night = new Task(14, "Night", "", 9, null, "AVAILABLE", "x", "2033-02-02", "03:00", 60, false, false);
+        night.setPosition(near.getPosition());
+        List<TaskMatcher.Candidate> candidates = TaskMatcher.candidates(Arrays.asList(near, far, clash, helped, night),
+                                                                        LocalDate.of(2033, 1, 1));
+        double[] scores = new double[candidates.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = TaskMatcher.score(profile, candidates.get(i));
+        }
+        check(scores[0] > scores[1], "a nearer task does not score higher");
+        checkEquals(-1.0, scores[2], "score of a task overlapping an active one");
+        check(scores[3] > scores[0], "a task for a requester helped before does not score higher");
+        check(scores[0] > scores[4], "a task at the usual hour does not score higher");
+    }
+    
+    // Lists kept current through taskAvailable and taskUnavailable always start with the same
+    // tasks as a ranking built from scratch, and are rebuilt before they run low
+    private static void matchIncrementalUpkeep() {
+        Random random = new Random(SEED);
+        int size = 10;
+        TaskSuggestions suggestions = new TaskSuggestions(size, Long.MAX_VALUE);
+        List<TaskMatcher.Profile> profiles = new ArrayList<>();
+        for (int v = 0; v < 8; v++) {
+            profiles.add(randomProfile(random, v + 1));
+        }
+        LocalDate today = LocalDate.now();
+        Map<Integer, Task> pool = new HashMap<>();
+        for (Task task : randomTasks(random, 60, 1000)) {
+            pool.put(task.getTaskId(), task);
+        }
+        int nextId = 1060;
+        int rebuilds = 0;
+        for (int step = 0; step < 3000; step++) {
+            if (random.nextInt(5) < 2 || pool.isEmpty()) {
+                Task task = randomTasks(random, 1, nextId++).get(0);
+                pool.put(task.getTaskId(), task);
+                suggestions.taskAvailable(task);
+            } else {
+                List<Integer> ids = new ArrayList<>(pool.keySet());
+                int taskId = ids.get(random.nextInt(ids.size()));
+                pool.remove(taskId);
+                suggestions.taskUnavailable(taskId);
+            }
+            List<TaskMatcher.Candidate> candidates = TaskMatcher.candidates(pool.values(), today);
+            for (TaskMatcher.Profile profile : profiles) {
+                List<TaskMatcher.Suggestion> expected = bruteForceRank(profile, candidates);
+                List<TaskMatcher.Suggestion> cached = suggestions.get(profile.getVolunteerId());
+                if (cached == null) {
+                    rebuilds++;
+                    suggestions.put(profile, TaskMatcher.rank(profile, candidates, size), nextId);
+                    continue;
+                }
+                List<Integer> prefix = suggestionIds(expected.subList(0, Math.min(cached.size(), expected.size())));
+                checkEquals(prefix, suggestionIds(cached), "volunteer " + profile.getVolunteerId() + " at step " + step);
+                check(cached.size() >= Math.min((size + 1) / 2, expected.size()), "list ran low at step " + step);
+            }
+        }
+        check(rebuilds > profiles.size(), "no list was rebuilt after running low");
+        checkEquals(nextId - 1, suggestions.getLastTaskId(), "last task id");
+    }
+    
+    // Through DatabaseManager, cached suggestions follow tasks created, taken and deleted
+    private static void matchSuggestionsFollowChanges() {
+        Random random = new Random(SEED);
+        User requester = register("match", "ELDERLY");
+        User volunteer = register("match", "VOLUNTEER");
+        User other = register("match", "VOLUNTEER");
+        // Without the bundled gazetteer (run from another directory) nothing has a position
+        if (DatabaseManager.resolveLocation("Main St") != null) {
+            check(DatabaseManager.setUserLocation(volunteer.getUserId(), "Main St"), "location not stored");
+        }
+        Repository repository = DatabaseManager.getRepository();
+        List<Task> created = new ArrayList<>();
+        for (int step = 0; step < 120; step++) {
+            int action = random.nextInt(4);
+            if (action < 2 || created.isEmpty()) {
+                Task task = new Task("Match " + step, "Created by SelfTest", requester.getUserId(),
+                                     random.nextBoolean() ? "Main St" : "Oak Ave",
+                                     LocalDate.now().plusDays(1 + random.nextInt(20)).toString(),
+                                     String.format("%02d:00", 8 + random.nextInt(10)), 30 + 30 * random.nextInt(4));
+                check(DatabaseManager.createTask(task), "task not created");
+                created.add(task);
+            } else {
+                Task task = created.remove(random.nextInt(created.size()));
+                if (action == 2) {
+                    DatabaseManager.assignTask(task.getTaskId(), random.nextBoolean() ? other.getUserId()
+                                                                                      : volunteer.getUserId());
+                } else {
+                    DatabaseManager.deleteTask(task.getTaskId(), requester.getUserId());
+                }
+            }
+            if (step % 10 != 9) {
+                continue;
+            }
+            TaskMatcher.Profile profile = TaskMatcher.profile(
+                volunteer.getUserId(),
+                repository.getUserPositions(Collections.singletonList(volunteer.getUserId())).get(volunteer.getUserId()),
+                repository.getTasksByVolunteer(volunteer.getUserId()));
+            List<TaskMatcher.Suggestion> expected = TaskMatcher.rank(
+                profile, TaskMatcher.candidates(repository.getAvailableTasks(), LocalDate.now()), 10);
+            checkEquals(suggestionIds(expected), taskIds(DatabaseManager.getSuggestedTasks(volunteer.getUserId(), 10)),
+                        "suggestions at step " + step);
+        }
+    }
+    
+    // A volunteer's profile from a few random tasks of their own
+    private static TaskMatcher.Profile randomProfile(Random random, int volunteerId) {
+        List<Task> own = new ArrayList<>();
+        String[] statuses = {"ASSIGNED", "IN_PROGRESS", "COMPLETED", "COMPLETED", "CANCELLED"};
+        for (Task task : randomTasks(random, random.nextInt(12), volunteerId * 100000)) {
+            task.setStatus(statuses[random.nextInt(statuses.length)]);
+            task.setVolunteerId(volunteerId);
+            own.add(task);
+        }
+        GeoPoint position = random.nextInt(4) == 0 ? null
+            : new GeoPoint(51.3 + random.nextDouble() * 0.4, -0.3 + random.nextDouble() * 0.4);
+        return TaskMatcher.profile(volunteerId, position, own);
+    }
+    
+    private static final String[] URGENCY_LEVELS = {"LOW", "MEDIUM", "HIGH"};
+    
+    // Available tasks in January 2033 around London, with ids from firstId
+    private static List<Task> randomTasks(Random random, int count, int firstId) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task(firstId + i, "Task " + i, "", 1 + random.nextInt(5), null, "AVAILABLE", "x",
+                                 String.format("2033-01-%02d", 1 + random.nextInt(28)),
+                                 String.format("%02d:%02d", 6 + random.nextInt(14), 15 * random.nextInt(4)),
+                                 15 + 15 * random.nextInt(12), false, false);
+            if (random.nextInt(5) > 0) {
+                task.setPosition(new GeoPoint(51.2 + random.nextDouble() * 0.6, -0.4 + random.nextDouble() * 0.6));
+            }
+            task.setUrgencyLevel(URGENCY_LEVELS[random.nextInt(URGENCY_LEVELS.length)]);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+    
+    private static List<TaskMatcher.Suggestion> bruteForceRank(TaskMatcher.Profile profile,
+                                                               List<TaskMatcher.Candidate> candidates) {
+        List<TaskMatcher.Suggestion> all = new ArrayList<>();
+        for (TaskMatcher.Candidate candidate : candidates) {
+            double score = TaskMatcher.score(profile, candidate);
+            if (score >= 0) {
+                all.add(new TaskMatcher.Suggestion(candidate.getTask(), score));
+            }
+        }
+        all.sort(TaskMatcher.BEST_FIRST);
+        return all;
+    }
+    
+    private static List<Integer> suggestionIds(List<TaskMatcher.Suggestion> suggestions) {
+        List<Integer> ids = new ArrayList<>();
+        for (TaskMatcher.Suggestion suggestion : suggestions) {
+            ids.add(suggestion.getTask().getTaskId());
+        }
+        return ids;
+    }
+    
+    // ==================== SCHEDULE CONFLICTS ====================
+    
+    // Overlaps and free time read from the interval tree match a scan of every held task
+    private static void scheduleTreeVsBruteForce() {
+        Random random = new Random(SEED);
+        long origin = VolunteerSchedule.minutes(LocalDate.of(2034, 1, 1).atStartOfDay());
+        int span = 14 * VolunteerSchedule.MINUTES_PER_DAY;
+        VolunteerSchedule schedule = new VolunteerSchedule();
+        Map<Integer, long[]> held = new HashMap<>();
+        for (int step = 0; step < 20000; step++) {
+            int op = random.nextInt(10);
+            int taskId = random.nextInt(300);
+            if (op < 3) {
+                Task task = scheduledTask(taskId, origin + random.nextInt(span), 1 + random.nextInt(240));
+                task.setStatus("ASSIGNED");
+                schedule.add(task);
+                held.put(taskId, VolunteerSchedule.interval(task));
+            } else if (op < 5) {
+                schedule.remove(taskId);
+                held.remove(taskId);
+            } else if (op < 9) {
+                long start = origin + random.nextInt(span);
+                long end = start + 1 + random.nextInt(300);
+                int found = schedule.findOverlap(start, end);
+                Set<Integer> overlapping = new HashSet<>();
+                for (Map.Entry<Integer, long[]> task : held.entrySet()) {
+                    if (task.getValue()[0] < end && start < task.getValue()[1]) {
+                        overlapping.add(task.getKey());
+                    }
+                }
+                check(overlapping.isEmpty() ? found == -1 : overlapping.contains(found),
+                      "overlap of [" + start + ", " + end + ") reported as " + found + ", expected one of " + overlapping);
+            } else {
+                long from = origin + random.nextInt(span);
+                long to = from + random.nextInt(2 * VolunteerSchedule.MINUTES_PER_DAY);
+                int minMinutes = 1 + random.nextInt(90);
+                checkEquals(bruteForceFreeSlots(held, from, to, minMinutes),
+                            slotTimes(schedule.freeSlots(from, to, minMinutes)), "free slots in [" + from + ", " + to + ")");
+            }
+            checkEquals(held.size(), schedule.size(), "tasks held");
+        }
+    }
+    
+    // Every minute of [from, to) not taken by a held task, in runs of at least minMinutes
+    private static List<String> bruteForceFreeSlots(Map<Integer, long[]> held, long from, long to, int minMinutes) {
+        boolean[] taken = new boolean[(int) (to - from)];
+        for (long[] interval : held.values()) {
+            for (long minute = Math.max(from, interval[0]); minute < Math.min(to, interval[1]); minute++) {
+                taken[(int) (minute - from)] = true;
+            }
+        }
+        List<String> slots = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= taken.length; i++) {
+            if (i == taken.length || taken[i]) {
+                if (i - start >= minMinutes) {
+                    slots.add(VolunteerSchedule.time(from + start) + " - " + VolunteerSchedule.time(from + i));
+                }
+                start = i + 1;
+            }
+        }
+        return slots;
+    }
+    
+    private static List<String> slotTimes(List<VolunteerSchedule.Slot> slots) {
+        List<String> times = new ArrayList<>();
+        for (VolunteerSchedule.Slot slot : slots) {
+            times.add(slot.getStart() + " - " + slot.getEnd());
+        }
+        return times;
+    }
+    
+    private static Task scheduledTask(int taskId, long startMinutes, int duration) {
+        LocalDateTime start = VolunteerSchedule.time(startMinutes);
+        return new Task(taskId, "Task " + taskId, "", 1, null, "AVAILABLE", "x", start.toLocalDate().toString(),
+                        start.toLocalTime().toString(), duration, false, false);
+    }
+    
+    // A reserved task's time is taken until released, and survives a reload in the meantime;
+    // tasks read before a change are not loaded
+    private static void scheduleReservations() {
+        long nine = VolunteerSchedule.minutes(LocalDate.of(2034, 2, 1).atTime(9, 0));
+        VolunteerSchedule schedule = new VolunteerSchedule();
+        Task first = scheduledTask(1, nine, 60);
+        Task overlapping = scheduledTask(2, nine + 30, 60);
+        Task later = scheduledTask(3, nine + 60, 60);
+        checkEquals(-1, schedule.reserve(first), "reserving free time");
+        checkEquals(1, schedule.reserve(overlapping), "reserving taken time");
+        check(schedule.load(new ArrayList<>(), schedule.getVersion()), "reload refused");
+        checkEquals(1, schedule.findOverlap(nine, nine + 1), "reserved task after a reload");
+        schedule.release(1, false);
+        checkEquals(-1, schedule.findOverlap(nine, nine + 1), "task given back");
+        checkEquals(-1, schedule.reserve(overlapping), "reserving time given back");
+        long beforeRead = schedule.getVersion();
+        schedule.release(2, true);
+        check(!schedule.load(new ArrayList<>(), beforeRead), "loaded tasks read before a change");
+        checkEquals(2, schedule.findOverlap(nine + 30, nine + 31), "kept task after a refused reload");
+        check(schedule.load(new ArrayList<>(), schedule.getVersion()), "reload refused");
+        checkEquals(-1, schedule.findOverlap(nine, nine + 1000), "kept task after a reload without it");
+        checkEquals(-1, schedule.reserve(later), "reserving after a kept task");
+        schedule.release(3, true);
+        checkEquals(3, schedule.findOverlap(nine + 60, nine + 61), "kept task");
+        
+        Task unscheduled = new Task(4, "No time", "", 1, null, "AVAILABLE", "x", null, null, 30, false, false);
+        checkEquals(-1, schedule.reserve(unscheduled), "reserving a task without a schedule");
+        schedule.release(4, false);
+    }
+    
+    // Of overlapping tasks accepted at once by one volunteer, exactly one is applied
+    private static void scheduleConcurrentAccepts() throws Exception {
+        User requester = register("schedule", "ELDERLY");
+        User volunteer = register("schedule", "VOLUNTEER");
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 30; round++) {
+                String date = LocalDate.of(2035, 1, 1).plusDays(round).toString();
+                List<Task> tasks = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Task task = task(requester, "Overlap " + i, date, String.format("10:%02d", i * 5), 60);
+                    check(DatabaseManager.createTask(task), "task not created");
+                    tasks.add(task);
+                }
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<TransitionResult>> results = new ArrayList<>();
+                for (Task task : tasks) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return DatabaseManager.transitionTask(task.getTaskId(), TaskTransition.assign(volunteer.getUserId()));
+                    }));
+                }
+                start.countDown();
+                Map<TransitionResult, Integer> outcomes = new TreeMap<>();
+                for (Future<TransitionResult> result : results) {
+                    outcomes.merge(result.get(), 1, Integer::sum);
+                }
+                checkEquals(1, outcomes.get(TransitionResult.APPLIED), "accepts applied in round " + round + " " + outcomes);
+                checkEquals(threads - 1, outcomes.get(TransitionResult.SCHEDULE_CONFLICT),
+                            "accepts refused in round " + round + " " + outcomes);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    // ==================== TASK LIST SYNC ====================
+    
+    private static final Comparator<Task> SYNC_ORDER = Comparator.comparing(Task::getScheduledDate)
+        .thenComparing(Task::getScheduledTime).thenComparingInt(Task::getTaskId);
+    
+    // Lists kept by merging deltas, as the GUI does, equal the full lists after every kind of
+    // change: created, accepted, released, finished, cancelled, deleted and archived tasks
+    private static void syncDeltasMatchFullList() {
+        Random random = new Random(SEED);
+        User requester = register("sync", "ELDERLY");
+        User volunteer = register("sync", "VOLUNTEER");
+        User other = register("sync", "VOLUNTEER");
+        // Other requesters' changes must not reach these lists
+        User bystander = register("sync", "ELDERLY");
+        
+        TaskListView requesterList = new TaskListView(java.awt.Color.WHITE, 10);
+        TaskListView volunteerList = new TaskListView(java.awt.Color.WHITE, 10);
+        long[] watermarks = {0, 0};
+        List<Task> live = new ArrayList<>();
+        int deltas = 0;
+        int archived = 0;
+        for (int step = 0; step < 400; step++) {
+            int action = random.nextInt(10);
+            Task task = live.isEmpty() ? null : live.get(random.nextInt(live.size()));
+            if (action < 3 || task == null) {
+                // Some long past, so the archive run can move them once finished
+                boolean old = random.nextInt(4) == 0;
+                Task created = task(random.nextInt(5) == 0 ? bystander : requester, "Sync " + step,
+                                    (old ? LocalDate.of(2020, 1, 1) : LocalDate.of(2036, 1, 1)).plusDays(step % 300).toString(),
+                                    String.format("%02d:%02d", 8 + step % 10, 15 * random.nextInt(4)), 15);
+                check(DatabaseManager.createTask(created), "task not created");
+                live.add(created);
+            } else if (action < 5) {
+                DatabaseManager.assignTask(task.getTaskId(), (random.nextBoolean() ? volunteer : other).getUserId());
+            } else if (action == 5) {
+                DatabaseManager.reassignTask(task.getTaskId());
+            } else if (action == 6) {
+                Task current = DatabaseManager.getTaskById(task.getTaskId());
+                if (current != null && current.getVolunteerId() != null) {
+                    DatabaseManager.volunteerConfirmTask(task.getTaskId(), current.getVolunteerId());
+                    DatabaseManager.elderlyConfirmTask(task.getTaskId(), current.getRequesterId());
+                }
+            } else if (action == 7) {
+                DatabaseManager.cancelTask(task.getTaskId(), task.getRequesterId());
+            } else if (action == 8) {
+                if (random.nextBoolean()) {
+                    DatabaseManager.deleteTask(task.getTaskId(), task.getRequesterId());
+                } else {
+                    DatabaseManager.adminDeleteTask(task.getTaskId());
+                }
+                live.remove(task);
+            } else if (random.nextInt(4) == 0) {
+                archived += DatabaseManager.archiveFinishedTasks();
+            }
+            
+            if (random.nextInt(4) == 0) {
+                deltas += sync(requesterList, watermarks, 0, DatabaseManager.syncTasksByRequester(requester.getUserId(),
+                                                                                                   watermarks[0]));
+                checkSameTasks(DatabaseManager.getTasksByRequester(requester.getUserId()), requesterList,
+                               "requester list at step " + step);
+                deltas += sync(volunteerList, watermarks, 1, DatabaseManager.syncTasksByVolunteer(volunteer.getUserId(),
+                                                                                                   watermarks[1]));
+                checkSameTasks(DatabaseManager.getTasksByVolunteer(volunteer.getUserId()), volunteerList,
+                               "volunteer list at step " + step);
+            }
+        }
+        check(deltas > 50, "only " + deltas + " deltas merged");
+        check(archived > 0, "no task archived");
+    }
+    
+    // Applies a sync result as the GUI does; returns 1 for a delta and 0 for a full load
+    private static int sync(TaskListView list, long[] watermarks, int index, TaskChanges changes) {
+        check(changes.isComplete(), "incomplete result");
+        check(changes.getAsOf() >= watermarks[index], "watermark went back");
+        watermarks[index] = changes.getAsOf();
+        if (changes.isSnapshot()) {
+            List<Task> tasks = new ArrayList<>(changes.getChanged());
+            tasks.sort(SYNC_ORDER);
+            list.setTasks(tasks);
+            return 0;
+        }
+        list.mergeChanges(changes, SYNC_ORDER);
+        return 1;
+    }
+    
+    private static void checkSameTasks(List<Task> expected, TaskListView list, String what) {
+        List<String> shown = new ArrayList<>();
+        for (int i = 0; i < list.getModel().getSize(); i++) {
+            shown.add(describe(list.getModel().getElementAt(i)));
+        }
+        List<Task> sorted = new ArrayList<>(expected);
+        sorted.sort(SYNC_ORDER);
+        List<String> full = new ArrayList<>();
+        for (Task task : sorted) {
+            full.add(describe(task));
+        }
+        checkEquals(full, shown, what);
+    }
+    
+    private static String describe(Task task) {
+        return task.getTaskId() + ":" + task.getStatus() + ":" + task.getVolunteerId();
+    }
+    
+    // A first read, a watermark older than the tombstones kept, and more changes than a delta
+    // carries all load the list in full
+    private static void syncFullReloads() {
+        User requester = register("sync", "ELDERLY");
+        TaskChanges first = DatabaseManager.syncTasksByRequester(requester.getUserId(), 0);
+        check(first.isSnapshot() && first.getChanged().isEmpty(), "first read is not an empty snapshot");
+        
+        check(DatabaseManager.createTask(task(requester, "Sync reload", "2036-06-01", "10:00", 30)), "task not created");
+        TaskChanges delta = DatabaseManager.syncTasksByRequester(requester.getUserId(), first.getAsOf());
+        check(!delta.isSnapshot() && delta.getChanged().size() == 1, "new task not read as a delta");
+        
+        long retention = Long.getLong("db.sync.tombstoneRetentionMs", 604800000L);
+        TaskChanges old = DatabaseManager.syncTasksByRequester(requester.getUserId(), delta.getAsOf() - retention - 60000);
+        check(old.isSnapshot() && old.getChanged().size() == 1, "watermark older than the tombstones read as a delta");
+        
+        int maxChanges = Integer.getInteger("db.sync.maxChanges", 500);
+        for (int i = 0; i <= maxChanges; i++) {
+            check(DatabaseManager.createTask(task(requester, "Sync bulk " + i, "2036-07-01", "10:00", 30)),
+                  "task not created");
+        }
+        TaskChanges many = DatabaseManager.syncTasksByRequester(requester.getUserId(), old.getAsOf());
+        check(many.isSnapshot() && many.getChanged().size() == maxChanges + 2, "too many changes read as a delta");
+    }
+    
+    // ==================== FIXTURE ====================
+    
+    // Makes names unique per run
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+    private static int users;
+    
+    private static User register(String kind, String role) {
+        String username = "selftest_" + kind + "_" + RUN_ID + "_" + (++users);
+        User user = new User(username, "selftest", username + "@selftest.local", "Self", kind + " " + users,
+                             "555-0000", role);
+        check(DatabaseManager.registerUser(user), "could not register " + username);
+        return user;
+    }
+    
+    private static Task task(User requester, String title, String date, String time, int minutes) {
+        return new Task(title, "Created by SelfTest", requester.getUserId(), "Selftest St", date, time, minutes);
+    }
+    
+    private static List<Integer> taskIds(List<Task> tasks) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getTaskId());
+        }
+        return ids;
+    }
+    
+    private static int count(String text, char c) {
+        int n = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SystemStats keeps the admin dashboard counters in memory
+ *
+ * DatabaseManager loads the counters with one aggregate query (reconcile) and then adjusts
+ * them as tasks are created, transitioned or deleted, so reading them never touches MySQL.
+ * Changes the counters cannot follow exactly (bulk updates, other writers) mark them stale,
+ * and a periodic reconcile corrects any drift.
+ */
+public class SystemStats {
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger activeVolunteers = new AtomicInteger();
+    private final AtomicInteger activeElderly = new AtomicInteger();
+    private final AtomicInteger totalTasks = new AtomicInteger();
+    private final AtomicInteger availableTasks = new AtomicInteger();
+    private final AtomicInteger completedTasks = new AtomicInteger();
+    private final AtomicInteger inProgressTasks = new AtomicInteger();
+    
+    // When the counters were last loaded from the database (0 = never)
+    private volatile long reconciledAt = 0;
+    private volatile boolean stale = true;
+    
+    /**
+     * Replace all counters with values read from the database
+     */
+    public synchronized void reconcile(int activeUsers, int activeVolunteers, int activeElderly,
+                                       int totalTasks, int availableTasks, int completedTasks, int inProgressTasks) {
+        this.activeUsers.set(activeUsers);
+        this.activeVolunteers.set(activeVolunteers);
+        this.activeElderly.set(activeElderly);
+        this.totalTasks.set(totalTasks);
+        this.availableTasks.set(availableTasks);
+        this.completedTasks.set(completedTasks);
+        this.inProgressTasks.set(inProgressTasks);
+        reconciledAt = System.currentTimeMillis();
+        stale = false;
+    }
+    
+    /**
+     * The counters can no longer be adjusted exactly; reload them on the next read
+     */
+    public void markStale() {
+        stale = true;
+    }
+    
+    public boolean isStale() {
+        return stale;
+    }
+    
+    public long getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    // ==================== INCREMENTAL UPDATES ====================
+    
+    public void taskCreated(String status) {
+        totalTasks.incrementAndGet();
+        adjustStatus(status, 1);
+    }
+    
+    public void taskStatusChanged(String previousStatus, String newStatus) {
+        if (previousStatus != null && previousStatus.equals(newStatus)) {
+            return;
+        }
+        adjustStatus(previousStatus, -1);
+        adjustStatus(newStatus, 1);
+    }
+    
+    public void taskDeleted(String status) {
+        totalTasks.decrementAndGet();
+        adjustStatus(status, -1);
+    }
+    
+    public void userRegistered(String role) {
+        activeUsers.incrementAndGet();
+        if ("VOLUNTEER".equals(role)) {
+            activeVolunteers.incrementAndGet();
+        } else if ("ELDERLY".equals(role)) {
+            activeElderly.incrementAndGet();
+        }
+    }
+    
+    private void adjustStatus(String status, int delta) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case "AVAILABLE":
+                availableTasks.addAndGet(delta);
+                break;
+            case "COMPLETED":
+                completedTasks.addAndGet(delta);
+                break;
+            case "ASSIGNED":
+            case "IN_PROGRESS":
+            case "PENDING_ELDERLY_CONFIRMATION":
+            case "PENDING_VOLUNTEER_CONFIRMATION":
+                inProgressTasks.addAndGet(delta);
+                break;
+            default:
+                // CANCELLED is only part of the total
+                break;
+        }
+    }
+    
+    // ==================== READS ====================
+    
+    public int getActiveUsers() { return activeUsers.get(); }
+    public int getActiveVolunteers() { return activeVolunteers.get(); }
+    public int getActiveElderly() { return activeElderly.get(); }
+    public int getTotalTasks() { return totalTasks.get(); }
+    public int getAvailableTasks() { return availableTasks.get(); }
+    public int getCompletedTasks() { return completedTasks.get(); }
+    public int getInProgressTasks() { return inProgressTasks.get(); }
+    
+    /**
+     * Dashboard text, one counter per line
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append("Active Users: ").append(getActiveUsers()).append("\n");
+        text.append("Active Volunteers: ").append(getActiveVolunteers()).append("\n");
+        text.append("Active Elderly: ").append(getActiveElderly()).append("\n");
+        text.append("Total Tasks: ").append(getTotalTasks()).append("\n");
+        text.append("Available Tasks: ").append(getAvailableTasks()).append("\n");
+        text.append("Completed Tasks: ").append(getCompletedTasks()).append("\n");
+        text.append("In Progress Tasks: ").append(getInProgressTasks()).append("\n");
+        return text.toString();
+    }
+}
@@ -4,16 +4,20 @@
 public class Task {
     private int taskId;
     private String title;
-    private String description;
+    private String description; // null in task lists; loaded by DatabaseManager.getTaskById
     private int requesterId; // Elderly user who created the task
     private Integer volunteerId; // Volunteer assigned (null if not assigned)
     private String status; // "AVAILABLE", "ASSIGNED", "IN_PROGRESS", "PENDING_ELDERLY_CONFIRMATION", "PENDING_VOLUNTEER_CONFIRMATION", "COMPLETED", "CANCELLED"
     private String location;
+    private GeoPoint position; // Where location is, from the gazetteer (null if not mapped)
     private String scheduledDate; // Format: YYYY-MM-DD
     private String scheduledTime; // Format: HH:MM 
     private int estimatedDuration; // in minutes
+    private String urgencyLevel = "MEDIUM"; // "LOW", "MEDIUM" or "HIGH"
     private boolean volunteerConfirmed; // Volunteer marked as completed
     private boolean elderlyConfirmed; // Elderly marked as completed
+    private String requesterName; // Display name, filled in by list queries
+    private String volunteerName; // Display name, filled in by list queries (null if not assigned)
     
     // Constructor for new tasks
     public Task(String title, String description, int requesterId, String location, 
@@ -58,11 +62,15 @@ public class Task {
     public Integer getVolunteerId() { return volunteerId; }
     public String getStatus() { return status; }
     public String getLocation() { return location; }
+    public GeoPoint getPosition() { return position; }
     public String getScheduledDate() { return scheduledDate; }
     public String getScheduledTime() { return scheduledTime; }
     public int getEstimatedDuration() { return estimatedDuration; }
+    public String getUrgencyLevel() { return urgencyLevel; }
     public boolean isVolunteerConfirmed() { return volunteerConfirmed; }
     public boolean isElderlyConfirmed() { return elderlyConfirmed; }
+    public String getRequesterName() { return requesterName; }
+    public String getVolunteerName() { return volunteerName; }
     
     // Setters
     public void setTaskId(int taskId) { this.taskId = taskId; }
@@ -70,8 +78,12 @@ public class Task {
     public void setStatus(String status) { this.status = status; }
     public void setTitle(String title) { this.title = title; }
     public void setDescription(String description) { this.description = description; }
+    public void setPosition(GeoPoint position) { this.position = position; }
+    public void setUrgencyLevel(String urgencyLevel) { this.urgencyLevel = urgencyLevel; }
     public void setVolunteerConfirmed(boolean volunteerConfirmed) { this.volunteerConfirmed = volunteerConfirmed; }
     public void setElderlyConfirmed(boolean elderlyConfirmed) { this.elderlyConfirmed = elderlyConfirmed; }
+    public void setRequesterName(String requesterName) { this.requesterName = requesterName; }
+    public void setVolunteerName(String volunteerName) { this.volunteerName = volunteerName; }
     
     @Override
     public String toString() {
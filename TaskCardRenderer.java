@@ -0,0 +1,256 @@
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Font;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Rectangle;
+
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import javax.swing.SwingUtilities;
+
+/**
+ * TaskCardRenderer paints every row of a TaskListView with one task card component
+ *
+ * The card (labels, fonts, layout) is built once; each row only updates the label texts
+ * and which badges are visible, then the list stamps it at the row's position.
+ * The action button is painted the same way; TaskListView finds clicks on it by hit-testing.
+ */
+public class TaskCardRenderer implements ListCellRenderer<Task> {
+    // Card height as in the original card layout (maximum size 230)
+    static final int CARD_HEIGHT = 230;
+    
+    private static final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 18);
+    private static final Font NAME_FONT = new Font("Segoe UI", Font.BOLD, 13);
+    private static final Font VALUE_FONT = new Font("Segoe UI", Font.PLAIN, 13);
+    private static final Font BADGE_FONT = new Font("Segoe UI", Font.BOLD, 12);
+    private static final Font NOTE_FONT = new Font("Segoe UI", Font.BOLD, 11);
+    private static final Font BUTTON_FONT = new Font("Arial", Font.BOLD, 13);
+    
+    private static final Color TITLE_COLOR = new Color(33, 37, 41);
+    private static final Color NAME_COLOR = new Color(73, 80, 87);
+    private static final Color MUTED_COLOR = new Color(108, 117, 125);
+    private static final Color SUCCESS_COLOR = new Color(40, 167, 69);
+    private static final Color WARNING_COLOR = new Color(255, 193, 7);
+    private static final Color BUTTON_COLOR = new Color(255, 140, 0);
+    private static final Color BUTTON_HOVER = new Color(255, 165, 0);
+    
+    private final JPanel cell;
+    private final JLabel titleLabel = new JLabel();
+    private final JLabel idValue = createValue(MUTED_COLOR);
+    private final JLabel dateValue = createValue(TITLE_COLOR);
+    private final JLabel timeValue = createValue(TITLE_COLOR);
+    private final JLabel durationValue = createValue(TITLE_COLOR);
+    private final JLabel locationValue = createValue(TITLE_COLOR);
+    private final JLabel requesterValue = createValue(TITLE_COLOR);
+    private final JLabel volunteerLabel = createName("Volunteer: ");
+    private final JLabel volunteerValue = createValue(SUCCESS_COLOR);
+    private final JLabel statusBadge = new JLabel();
+    private final JLabel volunteerConfirmed = createNote("Volunteer Confirmed", SUCCESS_COLOR);
+    private final Component volunteerConfirmedGap = Box.createVerticalStrut(5);
+    private final JLabel elderlyConfirmed = createNote("Elderly Confirmed", SUCCESS_COLOR);
+    private final JLabel pendingLabel = createNote("Awaiting Confirmation", WARNING_COLOR);
+    private final JButton actionButton = new JButton();
+    
+    public TaskCardRenderer(Color background, int gap) {
+        JPanel card = new JPanel(new BorderLayout(15, 15));
+        card.setBackground(Color.WHITE);
+        card.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(220, 220, 220), 1),
+            BorderFactory.createEmptyBorder(20, 20, 20, 20)
+        ));
+        
+        // Left section - Main info
+        JPanel leftPanel = new JPanel(new GridBagLayout());
+        leftPanel.setBackground(Color.WHITE);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(3, 0, 3, 0);
+        
+        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
+        titleLabel.setFont(TITLE_FONT);
+        titleLabel.setForeground(TITLE_COLOR);
+        leftPanel.add(titleLabel, gbc);
+        
+        gbc.gridwidth = 1;
+        addRow(leftPanel, gbc, 1, createName("Task ID: "), idValue);
+        addRow(leftPanel, gbc, 2, createName("Date: "), dateValue);
+        addRow(leftPanel, gbc, 3, createName("Time: "), timeValue);
+        addRow(leftPanel, gbc, 4, createName("Duration: "), durationValue);
+        addRow(leftPanel, gbc, 5, createName("Location: "), locationValue);
+        addRow(leftPanel, gbc, 6, createName("Requester: "), requesterValue);
+        volunteerValue.setFont(NAME_FONT);
+        addRow(leftPanel, gbc, 7, volunteerLabel, volunteerValue);
+        card.add(leftPanel, BorderLayout.CENTER);
+        
+        // Right section - Status, badges and the row action
+        JPanel rightPanel = new JPanel();
+        rightPanel.setLayout(new BoxLayout(rightPanel, BoxLayout.Y_AXIS));
+        rightPanel.setBackground(Color.WHITE);
+        
+        statusBadge.setFont(BADGE_FONT);
+        statusBadge.setOpaque(true);
+        statusBadge.setBorder(BorderFactory.createEmptyBorder(6, 14, 6, 14));
+        statusBadge.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
+        rightPanel.add(statusBadge);
+        rightPanel.add(Box.createVerticalStrut(10));
+        rightPanel.add(volunteerConfirmed);
+        rightPanel.add(volunteerConfirmedGap);
+        rightPanel.add(elderlyConfirmed);
+        rightPanel.add(pendingLabel);
+        rightPanel.add(Box.createVerticalGlue());
+        
+        actionButton.setFont(BUTTON_FONT);
+        actionButton.setForeground(Color.BLACK);
+        actionButton.setFocusPainted(false);
+        actionButton.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+        actionButton.setAlignmentX(JButton.RIGHT_ALIGNMENT);
+        rightPanel.add(actionButton);
+        card.add(rightPanel, BorderLayout.EAST);
+        
+        // The gap between cards belongs to the cell, so it is painted in the list background
+        cell = new JPanel(new BorderLayout());
+        cell.setBackground(background);
+        cell.setBorder(BorderFactory.createEmptyBorder(0, 0, gap, 0));
+        cell.add(card, BorderLayout.CENTER);
+    }
+    
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Task> list, Task task, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        titleLabel.setText(task.getTitle());
+        idValue.setText(String.valueOf(task.getTaskId()));
+        dateValue.setText(task.getScheduledDate());
+        timeValue.setText(task.getScheduledTime());
+        durationValue.setText(task.getEstimatedDuration() + " minutes");
+        locationValue.setText(task.getLocation());
+        
+        // Names are filled in by the task list queries, so rendering never touches the database
+        String requesterName = task.getRequesterName() != null ? task.getRequesterName() : "Unknown User";
+        requesterValue.setText(requesterName + " (#" + task.getRequesterId() + ")");
+        
+        boolean hasVolunteer = task.getVolunteerId() != null;
+        volunteerLabel.setVisible(hasVolunteer);
+        volunteerValue.setVisible(hasVolunteer);
+        if (hasVolunteer) {
+            String volunteerName = task.getVolunteerName() != null ? task.getVolunteerName() : "Unknown User";
+            volunteerValue.setText(volunteerName + " (#" + task.getVolunteerId() + ")");
+        }
+        
+        styleStatusBadge(statusBadge, task.getStatus());
+        volunteerConfirmed.setVisible(task.isVolunteerConfirmed());
+        volunteerConfirmedGap.setVisible(task.isVolunteerConfirmed());
+        elderlyConfirmed.setVisible(task.isElderlyConfirmed());
+        pendingLabel.setVisible(task.getStatus().equals("PENDING_ELDERLY_CONFIRMATION") ||
+                                task.getStatus().equals("PENDING_VOLUNTEER_CONFIRMATION"));
+        
+        String actionLabel = null;
+        boolean hovered = false;
+        if (list instanceof TaskListView) {
+            TaskListView view = (TaskListView) list;
+            actionLabel = view.getActionLabel(task);
+            hovered = view.isActionHovered(index);
+        }
+        actionButton.setVisible(actionLabel != null);
+        actionButton.setText(actionLabel);
+        actionButton.setBackground(hovered ? BUTTON_HOVER : BUTTON_COLOR);
+        
+        return cell;
+    }
+    
+    /**
+     * Where the action button of a row would be, relative to the row's cell bounds (null if none)
+     */
+    Rectangle getActionBounds(JList<? extends Task> list, Task task, int index, int width, int height) {
+        getListCellRendererComponent(list, task, index, false, false);
+        if (!actionButton.isVisible()) {
+            return null;
+        }
+        cell.setSize(width, height);
+        layoutTree(cell);
+        return SwingUtilities.convertRectangle(actionButton.getParent(), actionButton.getBounds(), cell);
+    }
+    
+    /**
+     * Sets the colors of a status badge
+     */
+    static void styleStatusBadge(JLabel badge, String status) {
+        badge.setText(" " + status + " ");
+        
+        switch (status) {
+            case "AVAILABLE":
+                badge.setBackground(new Color(23, 162, 184));
+                badge.setForeground(Color.WHITE);
+                break;
+            case "ASSIGNED":
+            case "IN_PROGRESS":
+                badge.setBackground(new Color(255, 193, 7));
+                badge.setForeground(Color.BLACK);
+                break;
+            case "COMPLETED":
+                badge.setBackground(new Color(40, 167, 69));
+                badge.setForeground(Color.WHITE);
+                break;
+            case "CANCELLED":
+                badge.setBackground(new Color(108, 117, 125));
+                badge.setForeground(Color.WHITE);
+                break;
+            case "PENDING_ELDERLY_CONFIRMATION":
+            case "PENDING_VOLUNTEER_CONFIRMATION":
+                badge.setBackground(new Color(255, 140, 0));
+                badge.setForeground(Color.WHITE);
+                break;
+            default:
+                badge.setBackground(new Color(108, 117, 125));
+                badge.setForeground(Color.WHITE);
+        }
+    }
+    
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, JLabel name, JLabel value) {
+        gbc.gridy = row;
+        gbc.gridx = 0;
+        panel.add(name, gbc);
+        gbc.gridx = 1;
+        panel.add(value, gbc);
+    }
+    
+    private static JLabel createName(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(NAME_FONT);
+        label.setForeground(NAME_COLOR);
+        return label;
+    }
+    
+    private static JLabel createValue(Color color) {
+        JLabel label = new JLabel();
+        label.setFont(VALUE_FONT);
+        label.setForeground(color);
+        return label;
+    }
+    
+    private static JLabel createNote(String text, Color color) {
+        JLabel label = new JLabel(text);
+        label.setFont(NOTE_FONT);
+        label.setForeground(color);
+        label.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
+        return label;
+    }
+    
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tasks changed since a client's watermark, for merging into a list it already shows
+ *
+ * getChanged() holds tasks to add or replace, and getRemovedIds() the ids of tasks to drop if
+ * shown (deleted, archived, or no longer part of the list). A snapshot holds the whole list
+ * instead, to show in place of the old one. Pass getAsOf() back as the next watermark.
+ */
+public final class TaskChanges {
+    private final List<Task> changed;
+    private final List<Integer> removedIds;
+    private final long asOf;
+    private final boolean complete;
+    private final boolean snapshot;
+    
+    private TaskChanges(List<Task> changed, List<Integer> removedIds, long asOf, boolean complete, boolean snapshot) {
+        this.changed = Collections.unmodifiableList(changed);
+        this.removedIds = Collections.unmodifiableList(removedIds);
+        this.asOf = asOf;
+        this.complete = complete;
+        this.snapshot = snapshot;
+    }
+    
+    public TaskChanges(List<Task> changed, List<Integer> removedIds, long asOf) {
+        this(changed, removedIds, asOf, true, false);
+    }
+    
+    /**
+     * More changed than a delta may carry, or the watermark is older than the deletions kept:
+     * the list must be loaded in full
+     */
+    public static TaskChanges incomplete(long asOf) {
+        return new TaskChanges(new ArrayList<>(), new ArrayList<>(), asOf, false, false);
+    }
+    
+    /**
+     * A whole list, read after asOf
+     */
+    public static TaskChanges snapshot(List<Task> tasks, long asOf) {
+        return new TaskChanges(tasks, new ArrayList<>(), asOf, true, true);
+    }
+    
+    public List<Task> getChanged() { return changed; }
+    public List<Integer> getRemovedIds() { return removedIds; }
+    
+    /**
+     * Storage clock (ms) when the read began; changes after it are left for the next call
+     */
+    public long getAsOf() { return asOf; }
+    public boolean isComplete() { return complete; }
+    public boolean isSnapshot() { return snapshot; }
+    public boolean isEmpty() { return changed.isEmpty() && removedIds.isEmpty(); }
+}
@@ -0,0 +1,267 @@
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TaskHistoryAppender writes task_history rows in the background (write-behind)
+ *
+ * Callers only enqueue an entry; a flusher thread writes queued entries as one JDBC batch
+ * once batchSize entries are waiting or flushIntervalMillis has passed. When the buffer is
+ * full, callers wait for room (backpressure) and, after a timeout, write their entry themselves.
+ * A failed batch is retried with backoff, then written row by row so one bad row
+ * (for example a task that was deleted meanwhile) cannot hold back the rest. A constraint
+ * violation skips the retries, since it would fail again; only the violating rows are dropped.
+ */
+public class TaskHistoryAppender {
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 1000;
+    
+    private final BatchWriter writer;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<Entry> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+    
+    // Entries accepted but not yet written (or dropped); guarded by this
+    private long pending = 0;
+    
+    // Counters
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    
+    /**
+     * Writes a batch of entries; must be all-or-nothing (one transaction)
+     */
+    public interface BatchWriter {
+        void write(List<Entry> entries) throws SQLException;
+    }
+    
+    public TaskHistoryAppender(BatchWriter writer, int bufferCapacity, int batchSize, long flushIntervalMillis) {
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(bufferCapacity);
+        
+        this.flusher = new Thread(this::runFlusher, "task-history-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    /**
+     * Queue an entry for writing; blocks briefly if the buffer is full
+     */
+    public void append(Entry entry) {
+        appended.incrementAndGet();
+        synchronized (this) {
+            pending++;
+        }
+        
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(entry, ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        // Buffer still full (or shutting down): write it on the caller's thread instead
+        if (!queued) {
+            writeWithRetry(Collections.singletonList(entry));
+        }
+    }
+    
+    /**
+     * Wait until everything appended so far has been written, or the timeout passes
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this) {
+            while (pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Stop accepting background work and write whatever is still buffered
+     */
+    public void close(long timeoutMillis) {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Anything the flusher did not get to
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeWithRetry(remaining);
+        }
+    }
+    
+    public int getQueuedCount() { return queue.size(); }
+    public long getAppendedCount() { return appended.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getBatchCount() { return batches.get(); }
+    public long getRetryCount() { return retries.get(); }
+    
+    @Override
+    public String toString() {
+        return String.format("TaskHistoryAppender[queued=%d, appended=%d, written=%d, dropped=%d, batches=%d, retries=%d]",
+            queue.size(), appended.get(), written.get(), dropped.get(), batches.get(), retries.get());
+    }
+    
+    private void runFlusher() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // Keep collecting until the batch is full or the flush interval is up
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts us; the loop condition ends the thread
+            }
+            
+            if (!batch.isEmpty()) {
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    private void writeWithRetry(List<Entry> batch) {
+        for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+            try {
+                writer.write(batch);
+                batches.incrementAndGet();
+                completed(batch.size(), 0);
+                return;
+            } catch (SQLException e) {
+                System.err.println("Error writing task history batch (attempt " + attempt + "): " + e.getMessage());
+                // A row that breaks a constraint fails the same way every time; find it right away
+                if (isConstraintViolation(e)) {
+                    break;
+                }
+                if (attempt < MAX_BATCH_ATTEMPTS) {
+                    retries.incrementAndGet();
+                    try {
+                        Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                    } catch (InterruptedException ie) {
+                        // Shutting down; go straight to the row-by-row fallback
+                        break;
+                    }
+                }
+            }
+        }
+        
+        // Isolate the rows that keep failing and drop only those
+        for (Entry entry : batch) {
+            try {
+                writer.write(Collections.singletonList(entry));
+                completed(1, 0);
+            } catch (SQLException e) {
+                System.err.println("Dropping task history entry " + entry + ": " + e.getMessage());
+                completed(0, 1);
+            }
+        }
+    }
+    
+    // SQLState class 23; batch drivers may wrap the violation in a BatchUpdateException
+    static boolean isConstraintViolation(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                if (state != null && state.startsWith("23")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private synchronized void completed(int writtenCount, int droppedCount) {
+        written.addAndGet(writtenCount);
+        dropped.addAndGet(droppedCount);
+        pending -= writtenCount + droppedCount;
+        if (pending <= 0) {
+            notifyAll();
+        }
+    }
+    
+    /**
+     * One task_history row
+     */
+    public static final class Entry {
+        private final int taskId;
+        private final int userId;
+        private final String actionType;
+        private final String previousStatus;
+        private final String newStatus;
+        
+        public Entry(int taskId, int userId, String actionType, String previousStatus, String newStatus) {
+            this.taskId = taskId;
+            this.userId = userId;
+            this.actionType = actionType;
+            this.previousStatus = previousStatus;
+            this.newStatus = newStatus;
+        }
+        
+        public int getTaskId() { return taskId; }
+        public int getUserId() { return userId; }
+        public String getActionType() { return actionType; }
+        public String getPreviousStatus() { return previousStatus; }
+        public String getNewStatus() { return newStatus; }
+        
+        @Override
+        public String toString() {
+            return String.format("[task #%d by user #%d: %s %s -> %s]",
+                taskId, userId, actionType, previousStatus, newStatus);
+        }
+    }
+}
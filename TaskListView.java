@@ -0,0 +1,227 @@
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.AbstractListModel;
+import javax.swing.JList;
+import javax.swing.ListSelectionModel;
+
+/**
+ * TaskListView shows tasks as cards without creating components per task
+ *
+ * Rows have a fixed height, so the list lays out and paints only the rows in view, and
+ * every row is painted by one shared TaskCardRenderer. An optional row action (e.g. "Accept")
+ * is drawn as a button on each card; clicks on it are found by hit-testing the renderer.
+ */
+public class TaskListView extends JList<Task> {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * A button shown on some cards
+     */
+    public interface TaskAction {
+        /**
+         * Button text for this task, or null for no button
+         */
+        String labelFor(Task task);
+        
+        void perform(Task task);
+    }
+    
+    private final TaskModel model = new TaskModel();
+    private final TaskCardRenderer renderer;
+    private TaskAction action;
+    private int hoveredActionIndex = -1;
+    
+    public TaskListView(Color background, int gap) {
+        renderer = new TaskCardRenderer(background, gap);
+        setModel(model);
+        setCellRenderer(renderer);
+        setBackground(background);
+        setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Fixed sizes keep JList from asking the renderer for every row's preferred size
+        setFixedCellHeight(TaskCardRenderer.CARD_HEIGHT + gap);
+        setFixedCellWidth(400);
+        
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = actionIndexAt(e.getPoint());
+                if (index >= 0) {
+                    action.perform(model.get(index));
+                }
+            }
+            
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoveredActionIndex(actionIndexAt(e.getPoint()));
+            }
+            
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoveredActionIndex(-1);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+    
+    public void setTasks(List<Task> tasks) {
+        hoveredActionIndex = -1;
+        model.replace(tasks);
+    }
+    
+    public void appendTasks(List<Task> tasks) {
+        model.append(tasks);
+    }
+    
+    /**
+     * Apply a delta to the tasks shown: removed tasks go, changed tasks replace the shown copy,
+     * and new ones are inserted where order puts them; only the affected rows are repainted
+     */
+    public void mergeChanges(TaskChanges changes, Comparator<Task> order) {
+        hoveredActionIndex = -1;
+        model.merge(changes, order);
+    }
+    
+    public int getTaskCount() {
+        return model.getSize();
+    }
+    
+    public void setAction(TaskAction action) {
+        this.action = action;
+        repaint();
+    }
+    
+    // Cards stretch to the width of the scroll pane, as the panel-based cards did
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+    
+    String getActionLabel(Task task) {
+        return action != null ? action.labelFor(task) : null;
+    }
+    
+    boolean isActionHovered(int index) {
+        return index == hoveredActionIndex;
+    }
+    
+    /**
+     * Index of the row whose action button is under the point, or -1
+     */
+    private int actionIndexAt(Point point) {
+        if (action == null) {
+            return -1;
+        }
+        int index = locationToIndex(point);
+        if (index < 0) {
+            return -1;
+        }
+        Rectangle cellBounds = getCellBounds(index, index);
+        if (cellBounds == null || !cellBounds.contains(point)) {
+            return -1;
+        }
+        Rectangle button = renderer.getActionBounds(this, model.get(index), index, cellBounds.width, cellBounds.height);
+        if (button == null || !button.contains(point.x - cellBounds.x, point.y - cellBounds.y)) {
+            return -1;
+        }
+        return index;
+    }
+    
+    private void setHoveredActionIndex(int index) {
+        if (index == hoveredActionIndex) {
+            return;
+        }
+        repaintRow(hoveredActionIndex);
+        hoveredActionIndex = index;
+        repaintRow(index);
+        setCursor(Cursor.getPredefinedCursor(index >= 0 ? Cursor.HAND_CURSOR : Cursor.DEFAULT_CURSOR));
+    }
+    
+    private void repaintRow(int index) {
+        if (index >= 0 && index < model.getSize()) {
+            Rectangle bounds = getCellBounds(index, index);
+            if (bounds != null) {
+                repaint(bounds);
+            }
+        }
+    }
+    
+    private static final class TaskModel extends AbstractListModel<Task> {
+        private static final long serialVersionUID = 1L;
+        
+        private final List<Task> tasks = new ArrayList<>();
+        
+        @Override
+        public int getSize() {
+            return tasks.size();
+        }
+        
+        @Override
+        public Task getElementAt(int index) {
+            return tasks.get(index);
+        }
+        
+        Task get(int index) {
+            return tasks.get(index);
+        }
+        
+        void replace(List<Task> newTasks) {
+            int oldSize = tasks.size();
+            tasks.clear();
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+            append(newTasks);
+        }
+        
+        void merge(TaskChanges changes, Comparator<Task> order) {
+            Set<Integer> removedIds = new HashSet<>(changes.getRemovedIds());
+            Map<Integer, Task> changed = new LinkedHashMap<>();
+            for (Task task : changes.getChanged()) {
+                changed.put(task.getTaskId(), task);
+            }
+            
+            for (int i = tasks.size() - 1; i >= 0; i--) {
+                int taskId = tasks.get(i).getTaskId();
+                Task update = changed.get(taskId);
+                if (update != null && order.compare(tasks.get(i), update) == 0) {
+                    // Still sorts the same: replace in place
+                    tasks.set(i, update);
+                    changed.remove(taskId);
+                    fireContentsChanged(this, i, i);
+                } else if (update != null || removedIds.contains(taskId)) {
+                    tasks.remove(i);
+                    fireIntervalRemoved(this, i, i);
+                }
+            }
+            for (Task task : changed.values()) {
+                int index = Collections.binarySearch(tasks, task, order);
+                index = index < 0 ? -index - 1 : index;
+                tasks.add(index, task);
+                fireIntervalAdded(this, index, index);
+            }
+        }
+        
+        void append(List<Task> newTasks) {
+            if (newTasks.isEmpty()) {
+                return;
+            }
+            int start = tasks.size();
+            tasks.addAll(newTasks);
+            fireIntervalAdded(this, start, tasks.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * TaskMatcher scores how well available tasks suit a volunteer
+ *
+ * A score is the weighted mean of five parts between 0 and 1 (weights from -Dmatch.weight.*):
+ *   distance  - 1 at the volunteer's location, 0 at match.maxDistanceKm (0.5 if a position is unknown)
+ *   time      - how often the volunteer has helped around the task's hour of day (0.5 with no history)
+ *   duration  - how close the task's length is to the volunteer's usual task length
+ *   urgency   - HIGH 1, MEDIUM 0.5, LOW 0, raised by 0.5 for tasks due within two days
+ *   requester - grows with the tasks the volunteer has already completed for this requester
+ * Tasks that overlap one of the volunteer's active tasks are not suggested at all.
+ */
+public final class TaskMatcher {
+    private static final double DISTANCE_WEIGHT = weight("distance", 3);
+    private static final double TIME_WEIGHT = weight("time", 1);
+    private static final double DURATION_WEIGHT = weight("duration", 1);
+    private static final double URGENCY_WEIGHT = weight("urgency", 2);
+    private static final double REQUESTER_WEIGHT = weight("requester", 1);
+    private static final double TOTAL_WEIGHT =
+        DISTANCE_WEIGHT + TIME_WEIGHT + DURATION_WEIGHT + URGENCY_WEIGHT + REQUESTER_WEIGHT;
+    
+    private static final double MAX_DISTANCE_KM = Double.parseDouble(System.getProperty("match.maxDistanceKm", "25"));
+    
+    // Tasks due this many days from now count as urgent whatever their level
+    private static final int DUE_SOON_DAYS = 2;
+    
+    private static final int MINUTES_PER_DAY = VolunteerSchedule.MINUTES_PER_DAY;
+    
+    // Best score first, then soonest, then by id so equal scores rank the same everywhere
+    static final Comparator<Suggestion> BEST_FIRST = Comparator
+        .comparingDouble((Suggestion s) -> -s.score)
+        .thenComparing(s -> s.task.getScheduledDate(), Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(s -> s.task.getScheduledTime(), Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparingInt(s -> s.task.getTaskId());
+    
+    private TaskMatcher() {}
+    
+    private static double weight(String part, double defaultWeight) {
+        return Double.parseDouble(System.getProperty("match.weight." + part, String.valueOf(defaultWeight)));
+    }
+    
+    /**
+     * What the scores need to know about a volunteer, from their position and their tasks
+     */
+    public static Profile profile(int volunteerId, GeoPoint position, List<Task> volunteerTasks) {
+        Profile profile = new Profile(volunteerId, position);
+        int[] hourCounts = new int[24];
+        long totalDuration = 0;
+        for (Task task : volunteerTasks) {
+            String status = task.getStatus();
+            if ("CANCELLED".equals(status)) {
+                continue;
+            }
+            long[] interval = VolunteerSchedule.interval(task);
+            if (interval != null) {
+                hourCounts[(int) (interval[0] % MINUTES_PER_DAY) / 60]++;
+            }
+            if (VolunteerSchedule.isActive(status)) {
+                profile.busy.add(task);
+            }
+            totalDuration += task.getEstimatedDuration();
+            profile.history++;
+            if ("COMPLETED".equals(status)) {
+                profile.completedByRequester.merge(task.getRequesterId(), 1, Integer::sum);
+            }
+        }
+        
+        if (profile.history > 0) {
+            profile.averageDuration = (double) totalDuration / profile.history;
+            // Neighbouring hours count half, so 10:00 regulars still like 11:00
+            double max = 0;
+            for (int hour = 0; hour < 24; hour++) {
+                profile.hourFit[hour] = hourCounts[hour] +
+                    0.5 * (hourCounts[(hour + 23) % 24] + hourCounts[(hour + 1) % 24]);
+                max = Math.max(max, profile.hourFit[hour]);
+            }
+            for (int hour = 0; hour < 24 && max > 0; hour++) {
+                profile.hourFit[hour] /= max;
+            }
+        }
+        return profile;
+    }
+    
+    /**
+     * The parts of tasks every score needs, worked out once (the nightly run scores each
+     * task for every volunteer)
+     */
+    public static List<Candidate> candidates(Collection<Task> tasks, LocalDate today) {
+        List<Candidate> candidates = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            candidates.add(new Candidate(task, today));
+        }
+        return candidates;
+    }
+    
+    /**
+     * Score of a task for the volunteer between 0 and 1, or -1 if it clashes with their schedule
+     */
+    public static double score(Profile volunteer, Candidate candidate) {
+        long[] interval = candidate.interval;
+        if (interval != null && volunteer.busy.findOverlap(interval[0], interval[1]) >= 0) {
+            return -1;
+        }
+        
+        double distance = 0.5;
+        if (volunteer.place != null && candidate.place != null) {
+            distance = Math.max(0, 1 - volunteer.place.distanceKm(candidate.place) / MAX_DISTANCE_KM);
+        }
+        
+        double time = 0.5;
+        if (volunteer.history > 0 && interval != null) {
+            time = volunteer.hourFit[(int) (interval[0] % MINUTES_PER_DAY) / 60];
+        }
+        
+        int length = Math.max(1, candidate.task.getEstimatedDuration());
+        double duration = volunteer.averageDuration > 0
+            ? Math.min(length, volunteer.averageDuration) / Math.max(length, volunteer.averageDuration)
+            : 1 - Math.min(length, 240) / 480.0; // no history: shorter tasks are an easier start
+        
+        double requester = 0;
+        if (!volunteer.completedByRequester.isEmpty()) {
+            int done = volunteer.completedByRequester.getOrDefault(candidate.task.getRequesterId(), 0);
+            requester = done / (done + 1.0);
+        }
+        
+        return (DISTANCE_WEIGHT * distance + TIME_WEIGHT * time + DURATION_WEIGHT * duration +
+                URGENCY_WEIGHT * candidate.urgency + REQUESTER_WEIGHT * requester) / TOTAL_WEIGHT;
+    }
+    
+    /**
+     * The limit best-scoring tasks for the volunteer, best first
+     */
+    public static List<Suggestion> rank(Profile volunteer, List<Candidate> candidates, int limit) {
+        // Keeps the best limit seen so far, worst on top
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(Math.max(1, limit), BEST_FIRST.reversed());
+        for (Candidate candidate : candidates) {
+            double score = score(volunteer, candidate);
+            // Most tasks lose to the worst kept one; only build a suggestion for the rest
+            if (score < 0 || limit <= 0 || (best.size() == limit && score < best.peek().score)) {
+                continue;
+            }
+            Suggestion suggestion = new Suggestion(candidate.task, score);
+            if (best.size() < limit) {
+                best.add(suggestion);
+            } else if (BEST_FIRST.compare(suggestion, best.peek()) < 0) {
+                best.poll();
+                best.add(suggestion);
+            }
+        }
+        List<Suggestion> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        return ranked;
+    }
+    
+    /**
+     * A task with its schedule read, its urgency worked out and its position in radians
+     */
+    public static final class Candidate {
+        private final Task task;
+        private final long[] interval;
+        private final double urgency;
+        private final Place place;
+        
+        Candidate(Task task, LocalDate today) {
+            this.task = task;
+            this.interval = VolunteerSchedule.interval(task);
+            this.place = task.getPosition() != null ? new Place(task.getPosition()) : null;
+            double level = "HIGH".equals(task.getUrgencyLevel()) ? 1 : "LOW".equals(task.getUrgencyLevel()) ? 0 : 0.5;
+            if (interval != null && interval[0] / MINUTES_PER_DAY - today.toEpochDay() <= DUE_SOON_DAYS) {
+                level = Math.min(1, level + 0.5);
+            }
+            this.urgency = level;
+        }
+        
+        public Task getTask() { return task; }
+    }
+    
+    /**
+     * A volunteer's position, habits and schedule as seen by score()
+     */
+    public static final class Profile {
+        private final int volunteerId;
+        private final Place place;
+        private final double[] hourFit = new double[24];
+        private final Map<Integer, Integer> completedByRequester = new HashMap<>();
+        private final VolunteerSchedule busy = new VolunteerSchedule();
+        private double averageDuration;
+        private int history;
+        
+        Profile(int volunteerId, GeoPoint position) {
+            this.volunteerId = volunteerId;
+            this.place = position != null ? new Place(position) : null;
+        }
+        
+        public int getVolunteerId() { return volunteerId; }
+    }
+    
+    /**
+     * A position in radians with its cosine, so each pair needs fewer trig calls than GeoPoint.distanceKm
+     */
+    private static final class Place {
+        private static final double KM_PER_RADIAN = GeoPoint.EARTH_RADIUS_KM;
+        
+        final double latitude;
+        final double longitude;
+        final double cosLatitude;
+        
+        Place(GeoPoint point) {
+            latitude = Math.toRadians(point.getLatitude());
+            longitude = Math.toRadians(point.getLongitude());
+            cosLatitude = Math.cos(latitude);
+        }
+        
+        // Haversine distance; anything MAX_DISTANCE_KM north or south is at least that far
+        double distanceKm(Place other) {
+            double dLat = other.latitude - latitude;
+            if (Math.abs(dLat) * KM_PER_RADIAN >= MAX_DISTANCE_KM) {
+                return MAX_DISTANCE_KM;
+            }
+            double sinLat = Math.sin(dLat / 2);
+            double sinLon = Math.sin((other.longitude - longitude) / 2);
+            double a = sinLat * sinLat + cosLatitude * other.cosLatitude * sinLon * sinLon;
+            return 2 * KM_PER_RADIAN * Math.asin(Math.min(1, Math.sqrt(a)));
+        }
+    }
+    
+    /**
+     * One task suggested to a volunteer, with its score
+     */
+    public static final class Suggestion {
+        private final Task task;
+        private final double score;
+        
+        Suggestion(Task task, double score) {
+            this.task = task;
+            this.score = score;
+        }
+        
+        public Task getTask() { return task; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,174 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * TaskSearchIndex is an inverted index over task title, description and location
+ *
+ * Each term maps to the tasks containing it and a weighted term count (title words count
+ * three times, location words twice). Terms are kept sorted, so every query word also
+ * matches the terms it is a prefix of ("groc" finds "grocery"). A task must match every
+ * query word; matches are scored BM25-style, so rare words weigh more than common ones.
+ *
+ * InMemoryRepository adds a task when it is created and removes it when it is deleted or
+ * archived (the indexed text never changes). MySqlRepository uses MySQL FULLTEXT indexes
+ * instead, with the same tokenize() rules for the query.
+ */
+public class TaskSearchIndex {
+    // Same defaults as InnoDB full-text search (innodb_ft_min_token_size and its stopword list)
+    static final int MIN_TOKEN_LENGTH = 3;
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+        "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how",
+        "i", "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what",
+        "when", "where", "who", "will", "with", "und", "www"));
+    
+    private static final int TITLE_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    
+    // term -> (task id -> weighted count)
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByTask = new HashMap<>();
+    
+    /**
+     * Lower-cased words of at least MIN_TOKEN_LENGTH letters or digits, without stopwords or repeats
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TOKEN_LENGTH && !STOPWORDS.contains(word)) {
+                tokens.add(word);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+    
+    /**
+     * Index a task's text (replaces what was indexed for it before)
+     */
+    public synchronized void add(int taskId, String title, String description, String location) {
+        remove(taskId);
+        Map<String, Integer> counts = new HashMap<>();
+        count(counts, title, TITLE_WEIGHT);
+        count(counts, location, LOCATION_WEIGHT);
+        count(counts, description, DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Integer> term : counts.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(taskId, term.getValue());
+        }
+        termsByTask.put(taskId, counts.keySet());
+    }
+    
+    private static void count(Map<String, Integer> counts, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        // Repeated words count each time, unlike tokenize()
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TOKEN_LENGTH && !STOPWORDS.contains(word)) {
+                counts.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+    
+    public synchronized void remove(int taskId) {
+        Set<String> terms = termsByTask.remove(taskId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> tasks = postings.get(term);
+            tasks.remove(taskId);
+            if (tasks.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+    
+    public synchronized int size() {
+        return termsByTask.size();
+    }
+    
+    /**
+     * Score of every task matching all the query words (by prefix); empty if there are no words
+     * The rarest word is scanned first; later words are looked up only for the tasks still in
+     * the running, unless scanning their postings is cheaper
+     */
+    public synchronized Map<Integer, Double> search(List<String> words) {
+        List<List<Map<Integer, Integer>>> matches = new ArrayList<>();
+        for (String word : words) {
+            matches.add(new ArrayList<>(postings.subMap(word, true, word + Character.MAX_VALUE, true).values()));
+        }
+        matches.sort((a, b) -> Long.compare(postingCount(a), postingCount(b)));
+        
+        Map<Integer, Double> scores = null;
+        for (List<Map<Integer, Integer>> terms : matches) {
+            if (scores == null) {
+                scores = new HashMap<>();
+                for (Map<Integer, Integer> tasks : terms) {
+                    for (Map.Entry<Integer, Integer> task : tasks.entrySet()) {
+                        scores.merge(task.getKey(), score(tasks, task.getValue()), Double::sum);
+                    }
+                }
+            } else if ((long) scores.size() * terms.size() < postingCount(terms)) {
+                Iterator<Map.Entry<Integer, Double>> it = scores.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Integer, Double> candidate = it.next();
+                    double wordScore = 0;
+                    for (Map<Integer, Integer> tasks : terms) {
+                        Integer weight = tasks.get(candidate.getKey());
+                        if (weight != null) {
+                            wordScore += score(tasks, weight);
+                        }
+                    }
+                    if (wordScore == 0) {
+                        it.remove();
+                    } else {
+                        candidate.setValue(candidate.getValue() + wordScore);
+                    }
+                }
+            } else {
+                Map<Integer, Double> wordScores = new HashMap<>();
+                for (Map<Integer, Integer> tasks : terms) {
+                    for (Map.Entry<Integer, Integer> task : tasks.entrySet()) {
+                        if (scores.containsKey(task.getKey())) {
+                            wordScores.merge(task.getKey(), score(tasks, task.getValue()), Double::sum);
+                        }
+                    }
+                }
+                scores.keySet().retainAll(wordScores.keySet());
+                for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                    score.setValue(score.getValue() + wordScores.get(score.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : new HashMap<>();
+    }
+    
+    private static long postingCount(List<Map<Integer, Integer>> terms) {
+        long count = 0;
+        for (Map<Integer, Integer> tasks : terms) {
+            count += tasks.size();
+        }
+        return count;
+    }
+    
+    // BM25-style: rare terms weigh more, and the tenth mention adds far less than the first
+    private double score(Map<Integer, Integer> termTasks, int weight) {
+        double idf = Math.log(1 + (termsByTask.size() - termTasks.size() + 0.5) / (termTasks.size() + 0.5));
+        return idf * weight * 2.2 / (weight + 1.2);
+    }
+}
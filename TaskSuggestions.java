@@ -0,0 +1,142 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TaskSuggestions keeps each volunteer's best-matching available tasks in memory
+ *
+ * DatabaseManager builds a volunteer's list on first use (and for every volunteer in the nightly
+ * batch run), then keeps it current as tasks change: a task that becomes available is scored
+ * against every cached volunteer and inserted where it ranks, and a task that stops being
+ * available is removed. A list is built again when it expires, when the volunteer's own tasks
+ * or location change, or when removals leave it less than half full while better candidates
+ * may be waiting below the cut. The highest task id seen is kept so tasks created by other
+ * clients can be fetched and added later.
+ */
+public class TaskSuggestions {
+    private final int size;
+    private final long ttlMillis;
+    private final Map<Integer, Entry> byVolunteer = new HashMap<>();
+    private int lastTaskId;
+    
+    public TaskSuggestions(int size, long ttlMillis) {
+        this.size = size;
+        this.ttlMillis = ttlMillis;
+    }
+    
+    /**
+     * A volunteer's suggestions, best first, or null if they must be built again
+     */
+    public synchronized List<TaskMatcher.Suggestion> get(int volunteerId) {
+        Entry entry = byVolunteer.get(volunteerId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.builtAt > ttlMillis ||
+            (!entry.complete && entry.suggestions.size() < (size + 1) / 2)) {
+            byVolunteer.remove(volunteerId);
+            return null;
+        }
+        return new ArrayList<>(entry.suggestions);
+    }
+    
+    /**
+     * Store a volunteer's suggestions, ranked from all available tasks up to newestTaskId
+     */
+    public synchronized void put(TaskMatcher.Profile profile, List<TaskMatcher.Suggestion> suggestions,
+                                 int newestTaskId) {
+        // Other cached lists may not have seen the tasks up to newestTaskId yet
+        if (byVolunteer.isEmpty()) {
+            lastTaskId = Math.max(lastTaskId, newestTaskId);
+        }
+        // Fewer than size means every matching task is in the list
+        byVolunteer.put(profile.getVolunteerId(),
+                        new Entry(profile, new ArrayList<>(suggestions), suggestions.size() < size));
+    }
+    
+    /**
+     * Score a task that became available for every cached volunteer
+     */
+    public synchronized void taskAvailable(Task task) {
+        lastTaskId = Math.max(lastTaskId, task.getTaskId());
+        TaskMatcher.Candidate candidate = TaskMatcher.candidates(Collections.singletonList(task), LocalDate.now()).get(0);
+        for (Entry entry : byVolunteer.values()) {
+            entry.remove(task.getTaskId());
+            double score = TaskMatcher.score(entry.profile, candidate);
+            if (score < 0) {
+                continue;
+            }
+            TaskMatcher.Suggestion suggestion = new TaskMatcher.Suggestion(task, score);
+            int index = -Collections.binarySearch(entry.suggestions, suggestion, TaskMatcher.BEST_FIRST) - 1;
+            // Below the last one of a cut list, tasks that were never kept may rank higher
+            if (index < size && (entry.complete || index < entry.suggestions.size())) {
+                entry.suggestions.add(index, suggestion);
+                if (entry.suggestions.size() > size) {
+                    entry.suggestions.remove(size);
+                    entry.complete = false;
+                }
+            } else {
+                entry.complete = false;
+            }
+        }
+    }
+    
+    /**
+     * Drop a task that was taken, cancelled or deleted from every list
+     */
+    public synchronized void taskUnavailable(int taskId) {
+        for (Entry entry : byVolunteer.values()) {
+            entry.remove(taskId);
+        }
+    }
+    
+    /**
+     * Forget a volunteer's list after their own tasks or location changed
+     */
+    public synchronized void invalidate(int volunteerId) {
+        byVolunteer.remove(volunteerId);
+    }
+    
+    public synchronized void clear() {
+        byVolunteer.clear();
+    }
+    
+    /**
+     * Highest id of a task ranked or added so far (0 before any)
+     */
+    public synchronized int getLastTaskId() {
+        return lastTaskId;
+    }
+    
+    public synchronized boolean isEmpty() {
+        return byVolunteer.isEmpty();
+    }
+    
+    
+    private static final class Entry {
+        final TaskMatcher.Profile profile;
+        final List<TaskMatcher.Suggestion> suggestions;
+        final long builtAt = System.currentTimeMillis();
+        boolean complete;
+        
+        Entry(TaskMatcher.Profile profile, List<TaskMatcher.Suggestion> suggestions, boolean complete) {
+            this.profile = profile;
+            this.suggestions = suggestions;
+            this.complete = complete;
+        }
+        
+        void remove(int taskId) {
+            Iterator<TaskMatcher.Suggestion> it = suggestions.iterator();
+            while (it.hasNext()) {
+                if (it.next().getTask().getTaskId() == taskId) {
+                    it.remove();
+                    return;
+                }
+            }
+        }
+    }
+}
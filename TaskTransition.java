@@ -0,0 +1,233 @@
+/**
+ * TaskTransition describes one change to a task's state (accept, confirm, reassign, ...)
+ *
+ * plan() checks the change against the task's current state and fills in the next one;
+ * the repository stores it, with the volunteer's points and the history row, atomically.
+ * MySqlRepository does that in one transaction whose UPDATE only matches the version it read,
+ * so two concurrent clicks cannot both succeed: the second one gets CONFLICT instead of
+ * awarding points twice. The in-memory repository holds a per-task lock instead.
+ */
+public final class TaskTransition {
+    private final String name;
+    private final Planner planner;
+    private Integer assigneeId;
+    
+    // Filled in once the transition has been applied
+    private String previousStatus;
+    private String newStatus;
+    private Integer previousVolunteerId;
+    private Integer newVolunteerId;
+    private Integer awardedVolunteerId;
+    private int awardedPoints;
+    
+    private TaskTransition(String name, Planner planner) {
+        this.name = name;
+        this.planner = planner;
+    }
+    
+    public String getName() { return name; }
+    
+    /**
+     * Volunteer an assign transition gives the task to (known before it is applied), otherwise null
+     */
+    public Integer getAssigneeId() { return assigneeId; }
+    
+    public String getPreviousStatus() { return previousStatus; }
+    public String getNewStatus() { return newStatus; }
+    public Integer getPreviousVolunteerId() { return previousVolunteerId; }
+    public Integer getNewVolunteerId() { return newVolunteerId; }
+    
+    /**
+     * Volunteer who earned points from this transition, or null if none were awarded
+     */
+    public Integer getAwardedVolunteerId() { return awardedVolunteerId; }
+    public int getAwardedPoints() { return awardedPoints; }
+    
+    // ==================== TRANSITIONS ====================
+    
+    /**
+     * Volunteer accepts an available task
+     */
+    public static TaskTransition assign(int volunteerId) {
+        TaskTransition transition = new TaskTransition("assign", (current, next) -> {
+            if (!"AVAILABLE".equals(current.status)) {
+                return null;
+            }
+            next.volunteerId = volunteerId;
+            next.status = "ASSIGNED";
+            return new Plan(volunteerId, "ASSIGNED", null);
+        });
+        transition.assigneeId = volunteerId;
+        return transition;
+    }
+    
+    /**
+     * Set a new status directly; completing awards the volunteer's points
+     */
+    public static TaskTransition updateStatus(String status) {
+        return new TaskTransition("updateStatus", (current, next) -> {
+            // Completing twice would award points twice
+            if ("COMPLETED".equals(status) && "COMPLETED".equals(current.status)) {
+                return null;
+            }
+            next.status = status;
+            if ("COMPLETED".equals(status)) {
+                return current.volunteerId != null
+                    ? new Plan(current.volunteerId, "COMPLETED", current.volunteerId)
+                    : new Plan(current.requesterId, "COMPLETED", null);
+            }
+            int changedBy = current.volunteerId != null ? current.volunteerId : current.requesterId;
+            return new Plan(changedBy, "STATUS_UPDATED", null);
+        });
+    }
+    
+    /**
+     * Volunteer marks the task as completed; it is COMPLETED once the elderly has confirmed too
+     */
+    public static TaskTransition volunteerConfirm(int volunteerId) {
+        return new TaskTransition("volunteerConfirm", (current, next) -> {
+            if (current.volunteerId == null || current.volunteerId != volunteerId ||
+                current.volunteerConfirmed || isFinished(current.status)) {
+                return null;
+            }
+            next.volunteerConfirmed = true;
+            if (current.elderlyConfirmed) {
+                next.status = "COMPLETED";
+                return new Plan(volunteerId, "COMPLETED", volunteerId);
+            }
+            next.status = "PENDING_ELDERLY_CONFIRMATION";
+            return new Plan(volunteerId, "VOLUNTEER_CONFIRMED", null);
+        });
+    }
+    
+    /**
+     * Elderly confirms completion; it is COMPLETED once the volunteer has confirmed too
+     */
+    public static TaskTransition elderlyConfirm(int requesterId) {
+        return new TaskTransition("elderlyConfirm", (current, next) -> {
+            if (current.requesterId != requesterId || current.elderlyConfirmed || isFinished(current.status)) {
+                return null;
+            }
+            next.elderlyConfirmed = true;
+            if (current.volunteerConfirmed) {
+                next.status = "COMPLETED";
+                return new Plan(requesterId, "COMPLETED", current.volunteerId);
+            }
+            next.status = "PENDING_VOLUNTEER_CONFIRMATION";
+            return new Plan(requesterId, "ELDERLY_CONFIRMED", null);
+        });
+    }
+    
+    /**
+     * Remove the volunteer and make the task available again
+     */
+    public static TaskTransition reassign() {
+        return new TaskTransition("reassign", (current, next) -> {
+            if (current.volunteerId == null) {
+                return null;
+            }
+            next.previousVolunteerId = current.volunteerId;
+            next.volunteerId = null;
+            next.status = "AVAILABLE";
+            next.volunteerConfirmed = false;
+            next.elderlyConfirmed = false;
+            next.reassignmentReason = "Removed by requester";
+            return new Plan(current.requesterId, "REASSIGNED", null);
+        });
+    }
+    
+    /**
+     * Requester cancels their task
+     */
+    public static TaskTransition cancel(int requesterId) {
+        return new TaskTransition("cancel", (current, next) -> {
+            if (current.requesterId != requesterId || "CANCELLED".equals(current.status)) {
+                return null;
+            }
+            next.status = "CANCELLED";
+            return new Plan(requesterId, "CANCELLED", null);
+        });
+    }
+    
+    private static boolean isFinished(String status) {
+        return "COMPLETED".equals(status) || "CANCELLED".equals(status);
+    }
+    
+    // ==================== ENGINE ====================
+    
+    /**
+     * Check this transition against a task's current state and fill in its next state;
+     * returns null when the transition is not allowed
+     */
+    Plan plan(TaskState current, TaskState next) {
+        return planner.plan(current, next);
+    }
+    
+    /**
+     * Remember the outcome once the next state has been stored
+     */
+    void applied(TaskState current, TaskState next, Plan plan) {
+        previousStatus = current.status;
+        newStatus = next.status;
+        previousVolunteerId = current.volunteerId;
+        newVolunteerId = next.volunteerId;
+        if (plan.awardPointsTo != null) {
+            awardedVolunteerId = plan.awardPointsTo;
+            awardedPoints = DatabaseManager.pointsForDuration(current.estimatedDuration);
+        }
+    }
+    
+    /**
+     * The task columns a transition may change
+     */
+    static final class TaskState {
+        int taskId;
+        int requesterId;
+        Integer volunteerId;
+        String status;
+        int estimatedDuration;
+        boolean volunteerConfirmed;
+        boolean elderlyConfirmed;
+        Integer previousVolunteerId;
+        String reassignmentReason;
+        int version;
+        
+        TaskState copy() {
+            TaskState copy = new TaskState();
+            copy.taskId = taskId;
+            copy.requesterId = requesterId;
+            copy.volunteerId = volunteerId;
+            copy.status = status;
+            copy.estimatedDuration = estimatedDuration;
+            copy.volunteerConfirmed = volunteerConfirmed;
+            copy.elderlyConfirmed = elderlyConfirmed;
+            copy.previousVolunteerId = previousVolunteerId;
+            copy.reassignmentReason = reassignmentReason;
+            copy.version = version;
+            return copy;
+        }
+    }
+    
+    /**
+     * Side effects of a transition: who made it, the history action and who earns points
+     */
+    static final class Plan {
+        final int changedBy;
+        final String actionType;
+        final Integer awardPointsTo;
+        
+        Plan(int changedBy, String actionType, Integer awardPointsTo) {
+            this.changedBy = changedBy;
+            this.actionType = actionType;
+            this.awardPointsTo = awardPointsTo;
+        }
+    }
+    
+    /**
+     * Checks a transition against the current state and fills in the next state;
+     * returns null when the transition is not allowed
+     */
+    interface Planner {
+        Plan plan(TaskState current, TaskState next);
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Outcome of a task state transition
+ */
+public enum TransitionResult {
+    APPLIED("Task updated."),
+    NOT_FOUND("The task no longer exists."),
+    REJECTED("This change is not allowed for the task's current state."),
+    CONFLICT("The task was changed by someone else at the same time. Please refresh and try again."),
+    SCHEDULE_CONFLICT("It overlaps a task you have already accepted."),
+    ERROR("A database error occurred.");
+    
+    private final String message;
+    
+    TransitionResult(String message) {
+        this.message = message;
+    }
+    
+    public boolean isApplied() {
+        return this == APPLIED;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
@@ -11,6 +11,8 @@ public class User {
     private int points;
     private int tasksCompleted;
     private boolean isActive; // For account status
+    private String location; // Where a volunteer starts from (null if not set)
+    private GeoPoint position; // location resolved through the gazetteer
     
     // Constructor for new users (registration)
     public User(String username, String password, String email, String firstName, 
@@ -54,6 +56,8 @@ public class User {
     public int getPoints() { return points; }
     public int getTasksCompleted() { return tasksCompleted; }
     public boolean isActive() { return isActive; }
+    public String getLocation() { return location; }
+    public GeoPoint getPosition() { return position; }
     
     // Setters
     public void setUserId(int userId) { this.userId = userId; }
@@ -63,6 +67,10 @@ public class User {
     public void setPoints(int points) { this.points = points; }
     public void setTasksCompleted(int tasksCompleted) { this.tasksCompleted = tasksCompleted; }
     public void setActive(boolean isActive) { this.isActive = isActive; }
+    public void setLocation(String location, GeoPoint position) {
+        this.location = location;
+        this.position = position;
+    }
     
     @Override
     public String toString() {
@@ -0,0 +1,100 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserNameCache keeps user display names in memory so rendering does not query MySQL
+ * Entries expire after a TTL, and the least recently used entry is evicted once the cache is full
+ */
+public class UserNameCache {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<Integer, CachedName> entries;
+    
+    // Counters
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public UserNameCache(int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        // Access order makes iteration order least recently used first
+        this.entries = new LinkedHashMap<Integer, CachedName>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedName> eldest) {
+                if (size() > UserNameCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Get a cached name, or null if it is missing or expired
+     */
+    public synchronized String get(int userId) {
+        CachedName entry = entries.get(userId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt > ttlMillis) {
+            entries.remove(userId);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.name;
+    }
+    
+    public synchronized void put(int userId, String name) {
+        if (name != null) {
+            entries.put(userId, new CachedName(name, System.currentTimeMillis()));
+        }
+    }
+    
+    /**
+     * Drop one user's name, e.g. after their profile or account changes
+     */
+    public synchronized void invalidate(int userId) {
+        entries.remove(userId);
+    }
+    
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("UserNameCache[size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d]",
+            size(), maxSize, hits.get(), misses.get(), getHitRate() * 100, evictions.get());
+    }
+    
+    private static final class CachedName {
+        final String name;
+        final long loadedAt;
+        
+        CachedName(String name, long loadedAt) {
+            this.name = name;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
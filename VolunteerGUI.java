@@ -1,24 +1,32 @@
 import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Color;
+import java.awt.Cursor;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
 import java.awt.Insets;
+import java.awt.event.AdjustmentListener;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
-import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
@@ -26,14 +34,17 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPasswordField;
+import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
 
 /**
  * J.A.V.A (Just a Volunteer Away) - GUI Application
@@ -59,6 +70,31 @@ public class VolunteerGUI extends JFrame {
     private static final String VOLUNTEER_PANEL = "Volunteer";
     private static final String ADMIN_PANEL = "Admin";
     
+    // Admin tables fetch this many rows per query and keep this many blocks in memory
+    private static final int TABLE_BLOCK_SIZE = 100;
+    private static final int TABLE_CACHED_BLOCKS = 10;
+    
+    // How often the admin dashboard statistics refresh themselves
+    private static final int STATS_REFRESH_INTERVAL_MS = 5000;
+    
+    // Most results shown for a task search
+    private static final int SEARCH_RESULT_LIMIT = 200;
+    
+    // Suggested tasks shown to a volunteer
+    private static final int SUGGESTED_TASK_COUNT = 10;
+    
+    // Radius choices for nearby tasks, in km
+    private static final Integer[] NEARBY_RADII_KM = {2, 5, 10, 25, 50};
+    
+    // Days of free time shown to a volunteer, from today
+    private static final int FREE_TIME_DAYS = 7;
+    private static final DateTimeFormatter FREE_TIME_DAY = DateTimeFormatter.ofPattern("EEE d MMM");
+    private static final DateTimeFormatter FREE_TIME_HOUR = DateTimeFormatter.ofPattern("HH:mm");
+    
+    // Order of the requester's (reversed) and volunteer's task lists, where synced changes are merged
+    private static final Comparator<Task> BY_SCHEDULED_DATE =
+        Comparator.comparing(Task::getScheduledDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
     
     public VolunteerGUI() {
         setTitle("J.A.V.A - Just a Volunteer Away");
@@ -73,17 +109,12 @@ public class VolunteerGUI extends JFrame {
             e.printStackTrace();
         }
         
-        // Test database connection
-        if (!DatabaseManager.testConnection()) {
-            JOptionPane.showMessageDialog(this,
-                "Cannot connect to database!\nPlease check:\n" +
-                "1. MySQL is running\n" +
-                "2. Database 'volunteer_app' exists\n" +
-                "3. User credentials are correct",
-                "Database Error",
-                JOptionPane.ERROR_MESSAGE);
-            System.exit(1);
-        }
+        // Test database connection in the background while the splash screen is showing
+        AsyncDatabase.onEdt(AsyncDatabase.testConnection(), connected -> {
+            if (!connected) {
+                showConnectionErrorAndExit();
+            }
+        }, error -> showConnectionErrorAndExit());
         
         // Initialize CardLayout
         cardLayout = new CardLayout();
@@ -104,6 +135,17 @@ public class VolunteerGUI extends JFrame {
         startSplashTimer();
     }
     
+    private void showConnectionErrorAndExit() {
+        JOptionPane.showMessageDialog(this,
+            "Cannot connect to database!\nPlease check:\n" +
+            "1. MySQL is running\n" +
+            "2. Database 'volunteer_app' exists\n" +
+            "3. User credentials are correct",
+            "Database Error",
+            JOptionPane.ERROR_MESSAGE);
+        System.exit(1);
+    }
+    
     /**
      * Creates the splash screen panel with customizable GIF size
      */
@@ -324,25 +366,11 @@ public class VolunteerGUI extends JFrame {
             String username = usernameField.getText().trim();
             String password = new String(passwordField.getPassword());
             
-            currentUser = DatabaseManager.loginUser(username, password);
-            
-            if (currentUser != null) {
-                JOptionPane.showMessageDialog(this, "Welcome back, " + currentUser.getFirstName() + "!");
-                if (currentUser.getRole().equals("ELDERLY")) {
-                    refreshElderlyPanel();
-                    cardLayout.show(mainPanel, ELDERLY_PANEL);
-                } else if (currentUser.getRole().equals("ADMIN")) {
-                    refreshAdminPanel();
-                    cardLayout.show(mainPanel, ADMIN_PANEL);
-                } else {
-                    refreshVolunteerPanel();
-                    cardLayout.show(mainPanel, VOLUNTEER_PANEL);
-                }
-                usernameField.setText("");
-                passwordField.setText("");
-            } else {
-                JOptionPane.showMessageDialog(this, "Invalid username or password!", "Login Error", JOptionPane.ERROR_MESSAGE);
-            }
+            loginButton.setEnabled(false);
+            whenLoaded(AsyncDatabase.loginUser(username, password), user -> {
+                loginButton.setEnabled(true);
+                handleLogin(user, usernameField, passwordField);
+            }, () -> loginButton.setEnabled(true));
         });
         
         registerButton.addActionListener(e -> showRegisterDialog());
@@ -356,6 +384,28 @@ public class VolunteerGUI extends JFrame {
         return panel;
     }
     
+    private void handleLogin(User user, JTextField usernameField, JPasswordField passwordField) {
+        currentUser = user;
+        
+        if (currentUser != null) {
+            JOptionPane.showMessageDialog(this, "Welcome back, " + currentUser.getFirstName() + "!");
+            if (currentUser.getRole().equals("ELDERLY")) {
+                refreshElderlyPanel();
+                cardLayout.show(mainPanel, ELDERLY_PANEL);
+            } else if (currentUser.getRole().equals("ADMIN")) {
+                refreshAdminPanel();
+                cardLayout.show(mainPanel, ADMIN_PANEL);
+            } else {
+                refreshVolunteerPanel();
+                cardLayout.show(mainPanel, VOLUNTEER_PANEL);
+            }
+            usernameField.setText("");
+            passwordField.setText("");
+        } else {
+            JOptionPane.showMessageDialog(this, "Invalid username or password!", "Login Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
     private void showRegisterDialog() {
         JDialog dialog = new JDialog(this, "Register New User", true);
         dialog.setSize(450, 500);
@@ -505,15 +555,19 @@ public class VolunteerGUI extends JFrame {
             String role = roleCombo.getSelectedIndex() == 0 ? "ELDERLY" : "VOLUNTEER";
             User newUser = new User(username, password, email, firstName, lastName, phone, role);
             
-            if (DatabaseManager.registerUser(newUser)) {
-                JOptionPane.showMessageDialog(dialog, "Registration successful! You can now log in.");
-                dialog.dispose();
-            } else {
-                JOptionPane.showMessageDialog(dialog, 
-                    "Registration failed. Username or email might already exist.", 
-                    "Registration Error", 
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            submitButton.setEnabled(false);
+            whenLoaded(AsyncDatabase.registerUser(newUser), registered -> {
+                if (registered) {
+                    JOptionPane.showMessageDialog(dialog, "Registration successful! You can now log in.");
+                    dialog.dispose();
+                } else {
+                    submitButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(dialog,
+                        "Registration failed. Username or email might already exist.",
+                        "Registration Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }, () -> submitButton.setEnabled(true));
         });
         
         cancelButton.addActionListener(e -> dialog.dispose());
@@ -530,6 +584,11 @@ public class VolunteerGUI extends JFrame {
     
     private JPanel elderlyPanel;
     private JPanel elderlyTasksContainer;
+    private JScrollPane elderlyScrollPane;
+    private TaskListView elderlyTaskList;
+    private JCheckBox elderlyArchivedCheckBox;
+    // Watermark of the live tasks shown (0 when the list must be loaded in full)
+    private long elderlySyncedAt;
     
     private JPanel createElderlyPanel() {
         elderlyPanel = new JPanel(new BorderLayout(10, 10));
@@ -555,9 +614,24 @@ public class VolunteerGUI extends JFrame {
         elderlyTasksContainer.setLayout(new BoxLayout(elderlyTasksContainer, BoxLayout.Y_AXIS));
         elderlyTasksContainer.setBackground(BACKGROUND_COLOR);
         
+        // Tasks are painted by one shared renderer; the container holds the empty/loading states
+        elderlyTaskList = new TaskListView(BACKGROUND_COLOR, 15);
+        elderlyTaskList.setAction(new TaskListView.TaskAction() {
+            @Override
+            public String labelFor(Task task) {
+                return isElderlyConfirmable(task) ? "Confirm Completion" : null;
+            }
+            
+            @Override
+            public void perform(Task task) {
+                confirmElderlyTask(task.getTaskId());
+            }
+        });
+        
         JScrollPane scrollPane = new JScrollPane(elderlyTasksContainer);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        elderlyScrollPane = scrollPane;
         elderlyPanel.add(scrollPane, BorderLayout.CENTER);
         
         // Buttons
@@ -568,9 +642,11 @@ public class VolunteerGUI extends JFrame {
         JButton confirmCompletionButton = createStyledButton("Confirm Completion");
         JButton removeVolunteerButton = createSecondaryButton("Remove Volunteer");
         JButton deleteTaskButton = createSecondaryButton("Delete Task");
+        elderlyArchivedCheckBox = createArchivedCheckBox();
         
         createTaskButton.addActionListener(e -> showCreateTaskDialog());
         refreshButton.addActionListener(e -> refreshElderlyPanel());
+        elderlyArchivedCheckBox.addActionListener(e -> refreshElderlyPanel());
         confirmCompletionButton.addActionListener(e -> showElderlyConfirmDialog());
         removeVolunteerButton.addActionListener(e -> showRemoveVolunteerDialog());
         deleteTaskButton.addActionListener(e -> showDeleteTaskDialog());
@@ -580,6 +656,7 @@ public class VolunteerGUI extends JFrame {
         buttonPanel.add(confirmCompletionButton);
         buttonPanel.add(removeVolunteerButton);
         buttonPanel.add(deleteTaskButton);
+        buttonPanel.add(elderlyArchivedCheckBox);
         
         elderlyPanel.add(buttonPanel, BorderLayout.SOUTH);
         
@@ -589,229 +666,59 @@ public class VolunteerGUI extends JFrame {
     private void refreshElderlyPanel() {
         if (currentUser == null) return;
         
-        List<Task> tasks = DatabaseManager.getTasksByRequester(currentUser.getUserId());
-        elderlyTasksContainer.removeAll();
-        
-        if (tasks.isEmpty()) {
-            JPanel emptyPanel = createEmptyStatePanel("No tasks yet", "Create your first task to get started!");
-            elderlyTasksContainer.add(emptyPanel);
-        } else {
-            for (Task task : tasks) {
-                JPanel taskCard = createTaskCard(task, true);
-                elderlyTasksContainer.add(taskCard);
-                elderlyTasksContainer.add(Box.createVerticalStrut(15));
-            }
+        User user = currentUser;
+        if (elderlyArchivedCheckBox.isSelected()) {
+            // Archived tasks are not synced; the list is read in full
+            elderlySyncedAt = 0;
+            showLoading(elderlyScrollPane, elderlyTasksContainer, "Fetching your tasks...");
+            whenLoaded(AsyncDatabase.getTasksByRequester(user.getUserId(), true), tasks -> {
+                // Ignore results that arrive after logout
+                if (currentUser == user) {
+                    elderlyTaskList.setTasks(tasks);
+                    showElderlyTaskList();
+                }
+            });
+            return;
         }
         
-        elderlyTasksContainer.revalidate();
-        elderlyTasksContainer.repaint();
+        // Once loaded, only the tasks changed since are read and merged into the list
+        long since = elderlySyncedAt;
+        if (since == 0) {
+            showLoading(elderlyScrollPane, elderlyTasksContainer, "Fetching your tasks...");
+        }
+        whenLoaded(AsyncDatabase.syncTasksByRequester(user.getUserId(), since), changes -> {
+            // Ignore results that arrive after logout, or after another refresh got there first
+            if (currentUser != user || elderlySyncedAt != since || elderlyArchivedCheckBox.isSelected()) {
+                return;
+            }
+            elderlySyncedAt = changes.getAsOf();
+            if (changes.isSnapshot()) {
+                elderlyTaskList.setTasks(changes.getChanged());
+            } else {
+                elderlyTaskList.mergeChanges(changes, BY_SCHEDULED_DATE.reversed());
+            }
+            showElderlyTaskList();
+        });
     }
     
-    /**
-     * Creates a modern task card panel
-     */
-    private JPanel createTaskCard(Task task, boolean isElderlyView) {
-        JPanel card = new JPanel();
-        card.setLayout(new BorderLayout(15, 15));
-        card.setBackground(Color.WHITE);
-        card.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(220, 220, 220), 1),
-            BorderFactory.createEmptyBorder(20, 20, 20, 20)
-        ));
-        card.setMaximumSize(new java.awt.Dimension(Integer.MAX_VALUE, 230));
-        
-        // Left section - Main info
-        JPanel leftPanel = new JPanel(new GridBagLayout());
-        leftPanel.setBackground(Color.WHITE);
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.anchor = GridBagConstraints.WEST;
-        gbc.insets = new Insets(3, 0, 3, 0);
-        
-        // Title
-        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
-        JLabel titleLabel = new JLabel(task.getTitle());
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        titleLabel.setForeground(new Color(33, 37, 41));
-        leftPanel.add(titleLabel, gbc);
-        
-        // ID
-        gbc.gridy = 1; gbc.gridwidth = 1;
-        JLabel idLabelText = new JLabel("Task ID: ");
-        idLabelText.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        idLabelText.setForeground(new Color(73, 80, 87));
-        leftPanel.add(idLabelText, gbc);
-        
-        gbc.gridx = 1;
-        JLabel idValue = new JLabel(String.valueOf(task.getTaskId()));
-        idValue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        idValue.setForeground(new Color(108, 117, 125));
-        leftPanel.add(idValue, gbc);
-        
-        // Date
-        gbc.gridx = 0; gbc.gridy = 2;
-        JLabel dateLabel = new JLabel("Date: ");
-        dateLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        dateLabel.setForeground(new Color(73, 80, 87));
-        leftPanel.add(dateLabel, gbc);
-        
-        gbc.gridx = 1;
-        JLabel dateValue = new JLabel(task.getScheduledDate());
-        dateValue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        dateValue.setForeground(new Color(33, 37, 41));
-        leftPanel.add(dateValue, gbc);
-        
-        // Time
-        gbc.gridx = 0; gbc.gridy = 3;
-        JLabel timeLabel = new JLabel("Time: ");
-        timeLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        timeLabel.setForeground(new Color(73, 80, 87));
-        leftPanel.add(timeLabel, gbc);
-        
-        gbc.gridx = 1;
-        JLabel timeValue = new JLabel(task.getScheduledTime());
-        timeValue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        timeValue.setForeground(new Color(33, 37, 41));
-        leftPanel.add(timeValue, gbc);
-        
-        // Duration
-        gbc.gridx = 0; gbc.gridy = 4;
-        JLabel durationLabel = new JLabel("Duration: ");
-        durationLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        durationLabel.setForeground(new Color(73, 80, 87));
-        leftPanel.add(durationLabel, gbc);
-        
-        gbc.gridx = 1;
-        JLabel durationValue = new JLabel(task.getEstimatedDuration() + " minutes");
-        durationValue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        durationValue.setForeground(new Color(33, 37, 41));
-        leftPanel.add(durationValue, gbc);
-        
-        // Location
-        gbc.gridx = 0; gbc.gridy = 5;
-        JLabel locationLabel = new JLabel("Location: ");
-        locationLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        locationLabel.setForeground(new Color(73, 80, 87));
-        leftPanel.add(locationLabel, gbc);
-        
-        gbc.gridx = 1;
-        JLabel locationValue = new JLabel(task.getLocation());
-        locationValue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        locationValue.setForeground(new Color(33, 37, 41));
-        leftPanel.add(locationValue, gbc);
-        
-        // Requester (Elderly) info
-        gbc.gridx = 0; gbc.gridy = 6;
-        JLabel requesterLabel = new JLabel("Requester: ");
-        requesterLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        requesterLabel.setForeground(new Color(73, 80, 87));
-        leftPanel.add(requesterLabel, gbc);
-        
-        gbc.gridx = 1;
-        String requesterName = DatabaseManager.getUserNameById(task.getRequesterId());
-        JLabel requesterValue = new JLabel(requesterName + " (#" + task.getRequesterId() + ")");
-        requesterValue.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        requesterValue.setForeground(new Color(33, 37, 41));
-        leftPanel.add(requesterValue, gbc);
-        
-        // Volunteer info
-        if (task.getVolunteerId() != null) {
-            gbc.gridx = 0; gbc.gridy = 7;
-            JLabel volunteerLabel = new JLabel("Volunteer: ");
-            volunteerLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-            volunteerLabel.setForeground(new Color(73, 80, 87));
-            leftPanel.add(volunteerLabel, gbc);
-            
-            gbc.gridx = 1;
-            String volunteerName = DatabaseManager.getUserNameById(task.getVolunteerId());
-            JLabel volunteerValue = new JLabel(volunteerName + " (#" + task.getVolunteerId() + ")");
-            volunteerValue.setFont(new Font("Segoe UI", Font.BOLD, 13));
-            volunteerValue.setForeground(new Color(40, 167, 69));
-            leftPanel.add(volunteerValue, gbc);
-        }
-        
-        card.add(leftPanel, BorderLayout.CENTER);
-        
-        // Right section - Status and badges
-        JPanel rightPanel = new JPanel();
-        rightPanel.setLayout(new BoxLayout(rightPanel, BoxLayout.Y_AXIS));
-        rightPanel.setBackground(Color.WHITE);
-        
-        // Status badge
-        JLabel statusBadge = createStatusBadge(task.getStatus());
-        statusBadge.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
-        rightPanel.add(statusBadge);
-        rightPanel.add(Box.createVerticalStrut(10));
-        
-        // Confirmation badges
-        if (task.isVolunteerConfirmed()) {
-            JLabel vConfirm = new JLabel("Volunteer Confirmed");
-            vConfirm.setFont(new Font("Segoe UI", Font.BOLD, 11));
-            vConfirm.setForeground(new Color(40, 167, 69));
-            vConfirm.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
-            rightPanel.add(vConfirm);
-            rightPanel.add(Box.createVerticalStrut(5));
-        }
-        
-        if (task.isElderlyConfirmed()) {
-            JLabel eConfirm = new JLabel("Elderly Confirmed");
-            eConfirm.setFont(new Font("Segoe UI", Font.BOLD, 11));
-            eConfirm.setForeground(new Color(40, 167, 69));
-            eConfirm.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
-            rightPanel.add(eConfirm);
-        }
-        
-        if (task.getStatus().equals("PENDING_ELDERLY_CONFIRMATION") || 
-            task.getStatus().equals("PENDING_VOLUNTEER_CONFIRMATION")) {
-            JLabel pendingLabel = new JLabel("Awaiting Confirmation");
-            pendingLabel.setFont(new Font("Segoe UI", Font.BOLD, 11));
-            pendingLabel.setForeground(new Color(255, 193, 7));
-            pendingLabel.setAlignmentX(JLabel.RIGHT_ALIGNMENT);
-            rightPanel.add(pendingLabel);
+    private void showElderlyTaskList() {
+        if (elderlyTaskList.getTaskCount() == 0) {
+            JPanel emptyPanel = createEmptyStatePanel("No tasks yet", "Create your first task to get started!");
+            showPlaceholder(elderlyScrollPane, elderlyTasksContainer, emptyPanel);
+        } else if (elderlyScrollPane.getViewport().getView() != elderlyTaskList) {
+            elderlyScrollPane.setViewportView(elderlyTaskList);
         }
-        
-        card.add(rightPanel, BorderLayout.EAST);
-        
-        return card;
     }
     
     /**
-     * Creates a status badge with appropriate color
+     * Creates the "Include archived" toggle for task lists (old finished tasks are left out by default)
      */
-    private JLabel createStatusBadge(String status) {
-        JLabel badge = new JLabel(" " + status + " ");
-        badge.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        badge.setOpaque(true);
-        badge.setBorder(BorderFactory.createEmptyBorder(6, 14, 6, 14));
-        
-        switch (status) {
-            case "AVAILABLE":
-                badge.setBackground(new Color(23, 162, 184));
-                badge.setForeground(Color.WHITE);
-                break;
-            case "ASSIGNED":
-            case "IN_PROGRESS":
-                badge.setBackground(new Color(255, 193, 7));
-                badge.setForeground(Color.BLACK);
-                break;
-            case "COMPLETED":
-                badge.setBackground(new Color(40, 167, 69));
-                badge.setForeground(Color.WHITE);
-                break;
-            case "CANCELLED":
-                badge.setBackground(new Color(108, 117, 125));
-                badge.setForeground(Color.WHITE);
-                break;
-            case "PENDING_ELDERLY_CONFIRMATION":
-            case "PENDING_VOLUNTEER_CONFIRMATION":
-                badge.setBackground(new Color(255, 140, 0));
-                badge.setForeground(Color.WHITE);
-                break;
-            default:
-                badge.setBackground(new Color(108, 117, 125));
-                badge.setForeground(Color.WHITE);
-        }
-        
-        return badge;
+    private JCheckBox createArchivedCheckBox() {
+        JCheckBox checkBox = new JCheckBox("Include archived");
+        checkBox.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        checkBox.setBackground(BACKGROUND_COLOR);
+        checkBox.setToolTipText("Also show completed and cancelled tasks that have been archived");
+        return checkBox;
     }
     
     /**
@@ -841,7 +748,7 @@ public class VolunteerGUI extends JFrame {
     
     private void showCreateTaskDialog() {
         JDialog dialog = new JDialog(this, "Create New Task", true);
-        dialog.setSize(450, 400);
+        dialog.setSize(450, 440);
         dialog.setLocationRelativeTo(this);
         
         JPanel panel = new JPanel(new GridBagLayout());
@@ -856,6 +763,8 @@ public class VolunteerGUI extends JFrame {
         JTextField dateField = new JTextField(25);
         JTextField timeField = new JTextField(25);
         JTextField durationField = new JTextField(25);
+        JComboBox<String> urgencyBox = new JComboBox<>(new String[]{"LOW", "MEDIUM", "HIGH"});
+        urgencyBox.setSelectedItem("MEDIUM");
         
         int row = 0;
         gbc.gridx = 0; gbc.gridy = row;
@@ -893,6 +802,12 @@ public class VolunteerGUI extends JFrame {
         gbc.gridx = 1;
         panel.add(durationField, gbc);
         
+        row++;
+        gbc.gridx = 0; gbc.gridy = row;
+        panel.add(new JLabel("Urgency:"), gbc);
+        gbc.gridx = 1;
+        panel.add(urgencyBox, gbc);
+        
         row++;
         gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 2;
         JPanel buttonPanel = new JPanel();
@@ -911,14 +826,19 @@ public class VolunteerGUI extends JFrame {
                     timeField.getText().trim(),
                     duration
                 );
+                task.setUrgencyLevel((String) urgencyBox.getSelectedItem());
                 
-                if (DatabaseManager.createTask(task)) {
-                    JOptionPane.showMessageDialog(dialog, "Task created successfully! Task ID: " + task.getTaskId());
-                    refreshElderlyPanel();
-                    dialog.dispose();
-                } else {
-                    JOptionPane.showMessageDialog(dialog, "Failed to create task.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                submitButton.setEnabled(false);
+                whenLoaded(AsyncDatabase.createTask(task), created -> {
+                    if (created) {
+                        JOptionPane.showMessageDialog(dialog, "Task created successfully! Task ID: " + task.getTaskId());
+                        refreshElderlyPanel();
+                        dialog.dispose();
+                    } else {
+                        submitButton.setEnabled(true);
+                        JOptionPane.showMessageDialog(dialog, "Failed to create task.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }, () -> submitButton.setEnabled(true));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog, "Invalid duration value!", "Error", JOptionPane.ERROR_MESSAGE);
             }
@@ -935,7 +855,10 @@ public class VolunteerGUI extends JFrame {
     }
     
     private void showRemoveVolunteerDialog() {
-        List<Task> tasks = DatabaseManager.getTasksByRequester(currentUser.getUserId());
+        whenLoaded(AsyncDatabase.getTasksByRequester(currentUser.getUserId()), this::showRemoveVolunteerDialog);
+    }
+    
+    private void showRemoveVolunteerDialog(List<Task> tasks) {
         java.util.List<Task> assignedTasks = new java.util.ArrayList<>();
         
         for (Task task : tasks) {
@@ -969,17 +892,23 @@ public class VolunteerGUI extends JFrame {
         
         if (selected != null) {
             int taskId = Integer.parseInt(selected.split(" ")[1]);
-            if (DatabaseManager.reassignTask(taskId)) {
-                JOptionPane.showMessageDialog(this, "Volunteer removed successfully!");
+            whenLoaded(AsyncDatabase.transitionTask(taskId, TaskTransition.reassign()), result -> {
+                if (result.isApplied()) {
+                    JOptionPane.showMessageDialog(this, "Volunteer removed successfully!");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to remove volunteer.\n" + result.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
                 refreshElderlyPanel();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to remove volunteer.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         }
     }
     
     private void showElderlyConfirmDialog() {
-        List<Task> tasks = DatabaseManager.getTasksByRequester(currentUser.getUserId());
+        whenLoaded(AsyncDatabase.getTasksByRequester(currentUser.getUserId()), this::showElderlyConfirmDialog);
+    }
+    
+    private void showElderlyConfirmDialog(List<Task> tasks) {
         java.util.List<Task> confirmableTasks = new java.util.ArrayList<>();
         
         // Filter tasks that can be confirmed
@@ -1021,44 +950,52 @@ public class VolunteerGUI extends JFrame {
         
         if (selected != null) {
             int taskId = Integer.parseInt(selected.split(" ")[1]);
-            
-            // Find the selected task
-            Task selectedTask = null;
-            for (Task task : confirmableTasks) {
-                if (task.getTaskId() == taskId) {
-                    selectedTask = task;
-                    break;
-                }
-            }
-            
-            if (selectedTask == null) return;
-            
-            int confirm = JOptionPane.showConfirmDialog(this,
-                "Confirm that this task has been completed satisfactorily?",
-                "Confirm Completion",
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.QUESTION_MESSAGE);
-            
-            if (confirm == JOptionPane.YES_OPTION) {
-                if (DatabaseManager.elderlyConfirmTask(taskId, currentUser.getUserId())) {
+            confirmElderlyTask(taskId);
+        }
+    }
+    
+    /**
+     * Whether the elderly user can still confirm this task (shows the button on its card)
+     */
+    private boolean isElderlyConfirmable(Task task) {
+        return task.getVolunteerId() != null &&
+               !task.getStatus().equals("COMPLETED") &&
+               !task.getStatus().equals("CANCELLED") &&
+               !task.isElderlyConfirmed();
+    }
+    
+    private void confirmElderlyTask(int taskId) {
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Confirm that this task has been completed satisfactorily?",
+            "Confirm Completion",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE);
+        
+        if (confirm == JOptionPane.YES_OPTION) {
+            TaskTransition transition = TaskTransition.elderlyConfirm(currentUser.getUserId());
+            whenLoaded(AsyncDatabase.transitionTask(taskId, transition), result -> {
+                if (result.isApplied()) {
                     String message = "You have confirmed this task as completed!\n";
-                    if (selectedTask.isVolunteerConfirmed()) {
+                    if ("COMPLETED".equals(transition.getNewStatus())) {
                         message += "The volunteer has also confirmed. Task is now COMPLETED!";
                     } else {
                         message += "Waiting for the volunteer to confirm completion.";
                     }
                     JOptionPane.showMessageDialog(this, message);
-                    refreshElderlyPanel();
                 } else {
-                    JOptionPane.showMessageDialog(this, "Failed to confirm task completion.", 
+                    JOptionPane.showMessageDialog(this, "Failed to confirm task completion.\n" + result.getMessage(),
                         "Error", JOptionPane.ERROR_MESSAGE);
                 }
-            }
+                refreshElderlyPanel();
+            });
         }
     }
     
     private void showDeleteTaskDialog() {
-        List<Task> tasks = DatabaseManager.getTasksByRequester(currentUser.getUserId());
+        whenLoaded(AsyncDatabase.getTasksByRequester(currentUser.getUserId()), this::showDeleteTaskDialog);
+    }
+    
+    private void showDeleteTaskDialog(List<Task> tasks) {
         java.util.List<Task> deletableTasks = new java.util.ArrayList<>();
         
         // Only allow deleting tasks that are AVAILABLE or CANCELLED
@@ -1102,12 +1039,14 @@ public class VolunteerGUI extends JFrame {
                 JOptionPane.WARNING_MESSAGE);
             
             if (confirm == JOptionPane.YES_OPTION) {
-                if (DatabaseManager.deleteTask(taskId, currentUser.getUserId())) {
-                    JOptionPane.showMessageDialog(this, "Task deleted successfully!");
-                    refreshElderlyPanel();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete task.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                whenLoaded(AsyncDatabase.deleteTask(taskId, currentUser.getUserId()), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Task deleted successfully!");
+                        refreshElderlyPanel();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete task.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         }
     }
@@ -1116,6 +1055,12 @@ public class VolunteerGUI extends JFrame {
     
     private JPanel volunteerPanel;
     private JPanel volunteerTasksContainer;
+    private JScrollPane volunteerScrollPane;
+    private TaskListView volunteerTaskList;
+    private JCheckBox volunteerArchivedCheckBox;
+    private PageLoader<Task> volunteerPageLoader;
+    // Watermark of the assigned tasks shown (0 when another list is shown, or none)
+    private long volunteerSyncedAt;
     private JLabel statsLabel;
     
     private JPanel createVolunteerPanel() {
@@ -1152,8 +1097,12 @@ public class VolunteerGUI extends JFrame {
         JScrollPane scrollPane = new JScrollPane(volunteerTasksContainer);
         scrollPane.setBorder(BorderFactory.createLineBorder(SECONDARY_COLOR, 2));
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        volunteerScrollPane = scrollPane;
         volunteerPanel.add(scrollPane, BorderLayout.CENTER);
         
+        // Tasks are painted by one shared renderer; the container holds the empty/loading states
+        volunteerTaskList = new TaskListView(Color.WHITE, 10);
+        
         // Buttons
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         buttonPanel.setBackground(BACKGROUND_COLOR);
@@ -1162,18 +1111,33 @@ public class VolunteerGUI extends JFrame {
         JButton myTasksButton = createSecondaryButton("My Assigned Tasks");
         JButton updateStatusButton = createStyledButton("Update Status");
         JButton leaderboardButton = createSecondaryButton("Leaderboard");
+        JButton searchTasksButton = createSecondaryButton("Search Tasks");
+        JButton nearbyTasksButton = createSecondaryButton("Nearby Tasks");
+        JButton suggestedTasksButton = createSecondaryButton("Suggested for Me");
+        JButton freeTimeButton = createSecondaryButton("My Free Time");
+        volunteerArchivedCheckBox = createArchivedCheckBox();
         
         availableTasksButton.addActionListener(e -> showAvailableTasks());
+        searchTasksButton.addActionListener(e -> searchAvailableTasks());
+        nearbyTasksButton.addActionListener(e -> showNearbyTasks());
+        suggestedTasksButton.addActionListener(e -> showSuggestedTasks());
+        freeTimeButton.addActionListener(e -> showFreeTime());
         acceptTaskButton.addActionListener(e -> showAcceptTaskDialog());
         myTasksButton.addActionListener(e -> showMyAssignedTasks());
         updateStatusButton.addActionListener(e -> showUpdateStatusDialog());
         leaderboardButton.addActionListener(e -> showLeaderboard());
+        volunteerArchivedCheckBox.addActionListener(e -> showMyAssignedTasks());
         
         buttonPanel.add(availableTasksButton);
+        buttonPanel.add(suggestedTasksButton);
+        buttonPanel.add(searchTasksButton);
+        buttonPanel.add(nearbyTasksButton);
         buttonPanel.add(acceptTaskButton);
         buttonPanel.add(myTasksButton);
+        buttonPanel.add(freeTimeButton);
         buttonPanel.add(updateStatusButton);
         buttonPanel.add(leaderboardButton);
+        buttonPanel.add(volunteerArchivedCheckBox);
         
         volunteerPanel.add(buttonPanel, BorderLayout.SOUTH);
         
@@ -1192,31 +1156,207 @@ public class VolunteerGUI extends JFrame {
     }
     
     private void showAvailableTasks() {
-        List<Task> tasks = DatabaseManager.getAvailableTasks();
-        
-        volunteerTasksContainer.removeAll();
-        
-        if (tasks.isEmpty()) {
+        stopVolunteerPaging();
+        User user = currentUser;
+        PageLoader<Task> loader = new PageLoader<>(AsyncDatabase::getAvailableTasksPage, volunteerTaskList::appendTasks);
+        volunteerPageLoader = loader;
+        
+        // Only the first page is fetched now; the rest follow as the list is scrolled
+        showLoading(volunteerScrollPane, volunteerTasksContainer, "Fetching available tasks...");
+        whenLoaded(AsyncDatabase.getAvailableTasksPage(null, DatabaseManager.DEFAULT_PAGE_SIZE), page -> {
+            if (currentUser == user && volunteerPageLoader == loader) {
+                showAvailableTasks(page, loader);
+            }
+        });
+    }
+    
+    private void showAvailableTasks(Page<Task> firstPage, PageLoader<Task> loader) {
+        if (firstPage.isEmpty()) {
             JPanel emptyPanel = createEmptyStatePanel(
                 "No Available Tasks",
                 "There are no tasks available to accept at the moment. Please check back later!"
             );
-            volunteerTasksContainer.add(emptyPanel);
+            showPlaceholder(volunteerScrollPane, volunteerTasksContainer, emptyPanel);
         } else {
-            for (Task task : tasks) {
-                JPanel taskCard = createTaskCard(task, true);
-                volunteerTasksContainer.add(taskCard);
-                volunteerTasksContainer.add(Box.createVerticalStrut(10));
+            volunteerTaskList.setAction(acceptTaskAction());
+            volunteerTaskList.setTasks(new ArrayList<>());
+            volunteerScrollPane.setViewportView(volunteerTaskList);
+            loader.attach(volunteerScrollPane);
+            loader.start(firstPage);
+        }
+    }
+    
+    private TaskListView.TaskAction acceptTaskAction() {
+        return new TaskListView.TaskAction() {
+            @Override
+            public String labelFor(Task task) {
+                return "Accept Task";
+            }
+            
+            @Override
+            public void perform(Task task) {
+                acceptTask(task.getTaskId());
             }
+        };
+    }
+    
+    /**
+     * Ask for search words and list the matching available tasks, best match first
+     */
+    private void searchAvailableTasks() {
+        String text = JOptionPane.showInputDialog(this,
+            "Search available tasks (title, description or location):", "Search Tasks", JOptionPane.QUESTION_MESSAGE);
+        if (text == null || text.trim().isEmpty()) {
+            return;
         }
         
-        volunteerTasksContainer.revalidate();
-        volunteerTasksContainer.repaint();
+        stopVolunteerPaging();
+        User user = currentUser;
+        showLoading(volunteerScrollPane, volunteerTasksContainer, "Searching tasks...");
+        whenLoaded(AsyncDatabase.searchTasks(text, "AVAILABLE", null, null, SEARCH_RESULT_LIMIT), tasks -> {
+            if (currentUser != user) {
+                return;
+            }
+            if (tasks.isEmpty()) {
+                JPanel emptyPanel = createEmptyStatePanel("No Matching Tasks",
+                    "No available task matches \"" + text.trim() + "\". Words need at least 3 letters.");
+                showPlaceholder(volunteerScrollPane, volunteerTasksContainer, emptyPanel);
+            } else {
+                volunteerTaskList.setAction(acceptTaskAction());
+                volunteerTaskList.setTasks(tasks);
+                volunteerScrollPane.setViewportView(volunteerTaskList);
+            }
+        });
     }
     
-    private void showAcceptTaskDialog() {
-        List<Task> tasks = DatabaseManager.getAvailableTasks();
+    /**
+     * List the available tasks that suit the volunteer best, best first
+     */
+    private void showSuggestedTasks() {
+        stopVolunteerPaging();
+        User user = currentUser;
+        showLoading(volunteerScrollPane, volunteerTasksContainer, "Finding tasks for you...");
+        whenLoaded(AsyncDatabase.getSuggestedTasks(user.getUserId(), SUGGESTED_TASK_COUNT), tasks -> {
+            if (currentUser != user) {
+                return;
+            }
+            if (tasks.isEmpty()) {
+                JPanel emptyPanel = createEmptyStatePanel("No Suggestions",
+                    "No available task fits around your assigned tasks right now. Please check back later!");
+                showPlaceholder(volunteerScrollPane, volunteerTasksContainer, emptyPanel);
+            } else {
+                volunteerTaskList.setAction(acceptTaskAction());
+                volunteerTaskList.setTasks(tasks);
+                volunteerScrollPane.setViewportView(volunteerTaskList);
+            }
+        });
+    }
+    
+    /**
+     * Show when the volunteer is free this week around the tasks they have accepted
+     */
+    private void showFreeTime() {
+        User user = currentUser;
+        whenLoaded(AsyncDatabase.getFreeSlots(user.getUserId(), LocalDate.now(), FREE_TIME_DAYS), slots -> {
+            if (currentUser != user) {
+                return;
+            }
+            StringBuilder sb = new StringBuilder();
+            LocalDate day = null;
+            for (VolunteerSchedule.Slot slot : slots) {
+                if (!slot.getStart().toLocalDate().equals(day)) {
+                    day = slot.getStart().toLocalDate();
+                    sb.append(sb.length() > 0 ? "\n" : "").append(day.format(FREE_TIME_DAY)).append('\n');
+                }
+                sb.append(String.format("  %s - %s  (%dh %02dm)%n", slot.getStart().format(FREE_TIME_HOUR),
+                                        slot.getEnd().format(FREE_TIME_HOUR), slot.getMinutes() / 60,
+                                        slot.getMinutes() % 60));
+            }
+            if (slots.isEmpty()) {
+                sb.append("Your accepted tasks fill the next ").append(FREE_TIME_DAYS).append(" days.");
+            }
+            
+            JTextArea freeArea = new JTextArea(sb.toString(), 16, 30);
+            freeArea.setEditable(false);
+            freeArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            freeArea.setCaretPosition(0);
+            JOptionPane.showMessageDialog(this, new JScrollPane(freeArea), "My Free Time",
+                                          JOptionPane.INFORMATION_MESSAGE);
+        });
+    }
+    
+    /**
+     * Ask where the volunteer is (remembered for next time) and list the available tasks
+     * within the chosen radius, soonest first
+     */
+    private void showNearbyTasks() {
+        User user = currentUser;
+        JTextField locationField = new JTextField(user.getLocation() != null ? user.getLocation() : "", 20);
+        JComboBox<Integer> radiusBox = new JComboBox<>(NEARBY_RADII_KM);
+        radiusBox.setSelectedItem(10);
+        
+        JPanel form = new JPanel(new GridLayout(2, 2, 5, 5));
+        form.add(new JLabel("Your location (street, area or postcode):"));
+        form.add(locationField);
+        form.add(new JLabel("Within (km):"));
+        form.add(radiusBox);
+        
+        int choice = JOptionPane.showConfirmDialog(this, form, "Nearby Tasks",
+                                                   JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        String location = locationField.getText().trim();
+        if (choice != JOptionPane.OK_OPTION || location.isEmpty()) {
+            return;
+        }
+        int radiusKm = (Integer) radiusBox.getSelectedItem();
         
+        stopVolunteerPaging();
+        showLoading(volunteerScrollPane, volunteerTasksContainer, "Finding tasks nearby...");
+        whenLoaded(AsyncDatabase.setUserLocation(user.getUserId(), location), found -> {
+            if (currentUser != user) {
+                return;
+            }
+            if (!found) {
+                JPanel emptyPanel = createEmptyStatePanel("Location Not Found",
+                    "\"" + location + "\" is not on the map. Try a street name, area or postcode.");
+                showPlaceholder(volunteerScrollPane, volunteerTasksContainer, emptyPanel);
+                return;
+            }
+            GeoPoint position = DatabaseManager.resolveLocation(location);
+            user.setLocation(location, position);
+            whenLoaded(AsyncDatabase.getAvailableTasksNear(position, radiusKm, SEARCH_RESULT_LIMIT), tasks -> {
+                if (currentUser != user) {
+                    return;
+                }
+                if (tasks.isEmpty()) {
+                    JPanel emptyPanel = createEmptyStatePanel("No Tasks Nearby",
+                        "No available task is within " + radiusKm + " km of " + location + ". Try a wider radius.");
+                    showPlaceholder(volunteerScrollPane, volunteerTasksContainer, emptyPanel);
+                } else {
+                    volunteerTaskList.setAction(acceptTaskAction());
+                    volunteerTaskList.setTasks(tasks);
+                    volunteerScrollPane.setViewportView(volunteerTaskList);
+                }
+            });
+        });
+    }
+    
+    /**
+     * Stop fetching pages for the list that was shown before
+     */
+    private void stopVolunteerPaging() {
+        // Whatever list comes next replaces the assigned tasks shown
+        volunteerSyncedAt = 0;
+        if (volunteerPageLoader != null) {
+            volunteerPageLoader.cancel();
+            volunteerPageLoader = null;
+        }
+    }
+    
+    private void showAcceptTaskDialog() {
+        whenLoaded(AsyncDatabase.getAvailableTasks(), this::showAcceptTaskDialog);
+    }
+    
+    private void showAcceptTaskDialog(List<Task> tasks) {
         if (tasks.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No available tasks at the moment.");
             return;
@@ -1241,42 +1381,83 @@ public class VolunteerGUI extends JFrame {
         
         if (selected != null) {
             int taskId = Integer.parseInt(selected.split(" ")[1]);
-            if (DatabaseManager.assignTask(taskId, currentUser.getUserId())) {
+            acceptTask(taskId);
+        }
+    }
+    
+    private void acceptTask(int taskId) {
+        whenLoaded(AsyncDatabase.transitionTask(taskId, TaskTransition.assign(currentUser.getUserId())), result -> {
+            if (result.isApplied()) {
                 JOptionPane.showMessageDialog(this, "Task accepted successfully!");
                 showMyAssignedTasks();
+            } else if (result == TransitionResult.REJECTED || result == TransitionResult.CONFLICT) {
+                JOptionPane.showMessageDialog(this, "Failed to accept task. Another volunteer accepted it first.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
             } else {
-                JOptionPane.showMessageDialog(this, "Failed to accept task. It may have been already assigned.", 
+                JOptionPane.showMessageDialog(this, "Failed to accept task.\n" + result.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
             }
-        }
+        });
     }
     
     private void showMyAssignedTasks() {
-        List<Task> tasks = DatabaseManager.getTasksByVolunteer(currentUser.getUserId());
+        if (currentUser == null) return;
         
-        volunteerTasksContainer.removeAll();
+        User user = currentUser;
+        if (volunteerArchivedCheckBox.isSelected()) {
+            // Archived tasks are not synced; the list is read in full
+            stopVolunteerPaging();
+            showLoading(volunteerScrollPane, volunteerTasksContainer, "Fetching your assigned tasks...");
+            whenLoaded(AsyncDatabase.getTasksByVolunteer(user.getUserId(), true), tasks -> {
+                if (currentUser == user) {
+                    volunteerTaskList.setAction(null);
+                    volunteerTaskList.setTasks(tasks);
+                    showAssignedTaskList();
+                }
+            });
+            return;
+        }
         
-        if (tasks.isEmpty()) {
+        // While the assigned tasks are shown, only the tasks changed since they were read are
+        // fetched and merged (no other list, and so no paging, is active then)
+        long since = volunteerSyncedAt;
+        if (since == 0) {
+            stopVolunteerPaging();
+            showLoading(volunteerScrollPane, volunteerTasksContainer, "Fetching your assigned tasks...");
+        }
+        whenLoaded(AsyncDatabase.syncTasksByVolunteer(user.getUserId(), since), changes -> {
+            // Ignore results that arrive after logout, or after another list replaced this one
+            if (currentUser != user || volunteerSyncedAt != since || volunteerArchivedCheckBox.isSelected()) {
+                return;
+            }
+            volunteerSyncedAt = changes.getAsOf();
+            if (changes.isSnapshot()) {
+                volunteerTaskList.setAction(null);
+                volunteerTaskList.setTasks(changes.getChanged());
+            } else {
+                volunteerTaskList.mergeChanges(changes, BY_SCHEDULED_DATE);
+            }
+            showAssignedTaskList();
+        });
+    }
+    
+    private void showAssignedTaskList() {
+        if (volunteerTaskList.getTaskCount() == 0) {
             JPanel emptyPanel = createEmptyStatePanel(
                 "No Assigned Tasks",
                 "You don't have any assigned tasks yet. Check out the available tasks to get started!"
             );
-            volunteerTasksContainer.add(emptyPanel);
-        } else {
-            for (Task task : tasks) {
-                JPanel taskCard = createTaskCard(task, false);
-                volunteerTasksContainer.add(taskCard);
-                volunteerTasksContainer.add(Box.createVerticalStrut(10));
-            }
+            showPlaceholder(volunteerScrollPane, volunteerTasksContainer, emptyPanel);
+        } else if (volunteerScrollPane.getViewport().getView() != volunteerTaskList) {
+            volunteerScrollPane.setViewportView(volunteerTaskList);
         }
-        
-        volunteerTasksContainer.revalidate();
-        volunteerTasksContainer.repaint();
     }
     
     private void showUpdateStatusDialog() {
-        List<Task> tasks = DatabaseManager.getTasksByVolunteer(currentUser.getUserId());
-        
+        whenLoaded(AsyncDatabase.getTasksByVolunteer(currentUser.getUserId()), this::showUpdateStatusDialog);
+    }
+    
+    private void showUpdateStatusDialog(List<Task> tasks) {
         if (tasks.isEmpty()) {
             JOptionPane.showMessageDialog(this, "You don't have any assigned tasks.");
             return;
@@ -1359,33 +1540,49 @@ public class VolunteerGUI extends JFrame {
             
             if (status != null) {
                 if (status.equals("MARK AS COMPLETED")) {
-                    if (DatabaseManager.volunteerConfirmTask(taskId, currentUser.getUserId())) {
-                        String message = "You have marked this task as completed!\n";
-                        if (selectedTask.isElderlyConfirmed()) {
-                            message += "The elderly has also confirmed. Task is now COMPLETED!\nPoints have been added to your account!";
+                    TaskTransition transition = TaskTransition.volunteerConfirm(currentUser.getUserId());
+                    whenLoaded(AsyncDatabase.transitionTask(taskId, transition), result -> {
+                        if (result.isApplied()) {
+                            String message = "You have marked this task as completed!\n";
+                            if ("COMPLETED".equals(transition.getNewStatus())) {
+                                message += "The elderly has also confirmed. Task is now COMPLETED!\nPoints have been added to your account!";
+                            } else {
+                                message += "Waiting for the elderly to confirm completion.";
+                            }
+                            JOptionPane.showMessageDialog(this, message);
+                            refreshVolunteerPanel();
                         } else {
-                            message += "Waiting for the elderly to confirm completion.";
+                            JOptionPane.showMessageDialog(this, "Failed to confirm task completion.\n" + result.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
                         }
-                        JOptionPane.showMessageDialog(this, message);
-                        refreshVolunteerPanel();
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Failed to confirm task completion.", "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    });
                 } else if (status.equals("IN_PROGRESS")) {
-                    if (DatabaseManager.updateTaskStatus(taskId, "IN_PROGRESS")) {
-                        JOptionPane.showMessageDialog(this, "Task status updated to IN_PROGRESS!");
-                        refreshVolunteerPanel();
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Failed to update task status.", "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    whenLoaded(AsyncDatabase.transitionTask(taskId, TaskTransition.updateStatus("IN_PROGRESS")), result -> {
+                        if (result.isApplied()) {
+                            JOptionPane.showMessageDialog(this, "Task status updated to IN_PROGRESS!");
+                            refreshVolunteerPanel();
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Failed to update task status.\n" + result.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             }
         }
     }
     
     private void showLeaderboard() {
-        List<User> leaderboard = DatabaseManager.getLeaderboard(10);
-        
+        User user = currentUser;
+        whenLoaded(AsyncDatabase.getLeaderboard(10), leaderboard ->
+            whenLoaded(AsyncDatabase.getVolunteerRank(user.getUserId()), rank ->
+                whenLoaded(AsyncDatabase.getLeaderboardSize(), total -> {
+                    if (currentUser == user) {
+                        showLeaderboard(leaderboard, rank, total);
+                    }
+                })));
+    }
+    
+    private void showLeaderboard(List<User> leaderboard, int rank, int total) {
         JDialog dialog = new JDialog(this, "Volunteer Leaderboard", true);
         dialog.setSize(500, 400);
         dialog.setLocationRelativeTo(this);
@@ -1405,12 +1602,19 @@ public class VolunteerGUI extends JFrame {
         table.setEnabled(false);
         JScrollPane scrollPane = new JScrollPane(table);
         
+        // The current volunteer's own position, even when outside the top 10
+        JLabel rankLabel = new JLabel(rank > 0 ? "Your rank: #" + rank + " of " + total : "You are not ranked yet",
+                                      SwingConstants.CENTER);
+        rankLabel.setFont(new Font("Arial", Font.BOLD, 13));
+        rankLabel.setBorder(BorderFactory.createEmptyBorder(8, 0, 8, 0));
+        
         JButton closeButton = new JButton("Close");
         closeButton.addActionListener(e -> dialog.dispose());
         
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(closeButton);
         
+        dialog.add(rankLabel, BorderLayout.NORTH);
         dialog.add(scrollPane, BorderLayout.CENTER);
         dialog.add(buttonPanel, BorderLayout.SOUTH);
         
@@ -1419,6 +1623,9 @@ public class VolunteerGUI extends JFrame {
     
     // ==================== ADMIN PANEL ====================
     
+    private JTextArea statsArea;
+    private Timer statsRefreshTimer;
+    
     private JPanel createAdminPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBackground(BACKGROUND_COLOR);
@@ -1449,7 +1656,7 @@ public class VolunteerGUI extends JFrame {
             BorderFactory.createLineBorder(SECONDARY_COLOR, 2), 
             "System Statistics",
             0, 0, new Font("Arial", Font.BOLD, 14), TEXT_COLOR));
-        JTextArea statsArea = new JTextArea();
+        statsArea = new JTextArea();
         statsArea.setEditable(false);
         statsArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
         statsArea.setBackground(Color.WHITE);
@@ -1458,7 +1665,7 @@ public class VolunteerGUI extends JFrame {
         statsPanel.add(statsScroll, BorderLayout.CENTER);
         
         // Control buttons panel
-        JPanel controlsPanel = new JPanel(new GridLayout(3, 2, 15, 15));
+        JPanel controlsPanel = new JPanel(new GridLayout(4, 2, 15, 15));
         controlsPanel.setBackground(BACKGROUND_COLOR);
         controlsPanel.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createLineBorder(SECONDARY_COLOR, 2), 
@@ -1471,22 +1678,32 @@ public class VolunteerGUI extends JFrame {
         JButton manageUsersBtn = createStyledButton("Manage Users");
         JButton manageTasksBtn = createStyledButton("Manage Tasks");
         JButton refreshStatsBtn = createSecondaryButton("Refresh Statistics");
+        JButton queryMetricsBtn = createSecondaryButton("Query Metrics");
+        JButton searchTasksBtn = createSecondaryButton("Search Tasks");
         
         viewUsersBtn.addActionListener(e -> showAllUsers());
         viewTasksBtn.addActionListener(e -> showAllTasks());
         viewHistoryBtn.addActionListener(e -> showTaskHistory());
         manageUsersBtn.addActionListener(e -> showManageUsers());
         manageTasksBtn.addActionListener(e -> showManageTasks());
+        queryMetricsBtn.addActionListener(e -> showQueryMetrics());
+        searchTasksBtn.addActionListener(e -> showSearchTasks());
         refreshStatsBtn.addActionListener(e -> {
-            statsArea.setText(DatabaseManager.getSystemStats());
+            statsArea.setText("Loading statistics...");
+            whenLoaded(AsyncDatabase.refreshSystemStats(), statsArea::setText);
         });
         
+        // Statistics are read from in-memory counters, so they can refresh on their own
+        statsRefreshTimer = new Timer(STATS_REFRESH_INTERVAL_MS, e -> refreshStats());
+        
         controlsPanel.add(viewUsersBtn);
         controlsPanel.add(viewTasksBtn);
         controlsPanel.add(viewHistoryBtn);
         controlsPanel.add(manageUsersBtn);
         controlsPanel.add(manageTasksBtn);
         controlsPanel.add(refreshStatsBtn);
+        controlsPanel.add(queryMetricsBtn);
+        controlsPanel.add(searchTasksBtn);
         
         contentPanel.add(statsPanel);
         contentPanel.add(controlsPanel);
@@ -1497,38 +1714,40 @@ public class VolunteerGUI extends JFrame {
     }
     
     private void refreshAdminPanel() {
-        // Panel will refresh when buttons are clicked
+        statsArea.setText("Loading statistics...");
+        refreshStats();
+        statsRefreshTimer.start();
+    }
+    
+    private void refreshStats() {
+        AsyncDatabase.onEdt(AsyncDatabase.getSystemStats(), statsArea::setText,
+            error -> System.err.println("Error refreshing statistics: " + error.getMessage()));
     }
     
     private void showAllUsers() {
-        List<User> users = DatabaseManager.getAllUsers();
-        
-        if (users.isEmpty()) {
+        whenLoaded(AsyncDatabase.countUsers(), this::showAllUsers);
+    }
+    
+    private void showAllUsers(int userCount) {
+        if (userCount == 0) {
             JOptionPane.showMessageDialog(this, "No users found.");
             return;
         }
         
         String[] columnNames = {"ID", "Username", "Name", "Email", "Role", "Points", "Tasks", "Status"};
-        Object[][] data = new Object[users.size()][8];
-        
-        for (int i = 0; i < users.size(); i++) {
-            User user = users.get(i);
-            data[i][0] = user.getUserId();
-            data[i][1] = user.getUsername();
-            data[i][2] = user.getFirstName() + " " + user.getLastName();
-            data[i][3] = user.getEmail();
-            data[i][4] = user.getRole();
-            data[i][5] = user.getPoints();
-            data[i][6] = user.getTasksCompleted();
-            data[i][7] = user.isActive() ? "Active" : "Disabled";
-        }
+        String[] sortKeys = {"id", "username", "name", "email", "role", "points", "tasks", "status"};
+        
+        // Rows are fetched in blocks as they scroll into view; click a header to sort in SQL
+        LazyTableModel<User> model = new LazyTableModel<>(columnNames, sortKeys, userCount,
+            TABLE_BLOCK_SIZE, TABLE_CACHED_BLOCKS, AsyncDatabase::getUsersBlock, VolunteerGUI::userCell, 0, true);
         
         JDialog dialog = new JDialog(this, "All Users", true);
         dialog.setSize(900, 500);
         dialog.setLocationRelativeTo(this);
         
-        JTable table = new JTable(data, columnNames);
+        JTable table = new JTable(model);
         table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+        model.installHeaderSorting(table);
         JScrollPane scrollPane = new JScrollPane(table);
         
         JButton closeButton = new JButton("Close");
@@ -1544,45 +1763,30 @@ public class VolunteerGUI extends JFrame {
     }
     
     private void showAllTasks() {
-        List<Task> tasks = DatabaseManager.getAllTasks();
-        
-        if (tasks.isEmpty()) {
+        whenLoaded(AsyncDatabase.countTasks(), this::showAllTasks);
+    }
+    
+    private void showAllTasks(int taskCount) {
+        if (taskCount == 0) {
             JOptionPane.showMessageDialog(this, "No tasks found.");
             return;
         }
         
         String[] columnNames = {"ID", "Title", "Status", "Requester", "Volunteer", "Date", "Duration"};
-        Object[][] data = new Object[tasks.size()][7];
+        String[] sortKeys = {"id", "title", "status", "requester", "volunteer", "date", "duration"};
         
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            data[i][0] = task.getTaskId();
-            data[i][1] = task.getTitle();
-            data[i][2] = task.getStatus();
-            
-            // Get requester name
-            String requesterName = DatabaseManager.getUserNameById(task.getRequesterId());
-            data[i][3] = requesterName + " (#" + task.getRequesterId() + ")";
-            
-            // Get volunteer name
-            if (task.getVolunteerId() != null) {
-                String volunteerName = DatabaseManager.getUserNameById(task.getVolunteerId());
-                data[i][4] = volunteerName + " (#" + task.getVolunteerId() + ")";
-            } else {
-                data[i][4] = "None";
-            }
-            
-            data[i][5] = task.getScheduledDate();
-            data[i][6] = task.getEstimatedDuration() + " min";
-        }
+        // Rows are fetched in blocks as they scroll into view; click a header to sort in SQL
+        LazyTableModel<Task> model = new LazyTableModel<>(columnNames, sortKeys, taskCount,
+            TABLE_BLOCK_SIZE, TABLE_CACHED_BLOCKS, AsyncDatabase::getTasksBlock, VolunteerGUI::taskCell, 0, false);
         
         JDialog dialog = new JDialog(this, "All Tasks", true);
         dialog.setSize(1000, 600);
         dialog.setLocationRelativeTo(this);
         
-        JTable table = new JTable(data, columnNames);
+        JTable table = new JTable(model);
         table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
         table.setRowHeight(25);
+        model.installHeaderSorting(table);
         JScrollPane scrollPane = new JScrollPane(table);
         
         JButton closeButton = new JButton("Close");
@@ -1597,9 +1801,119 @@ public class VolunteerGUI extends JFrame {
         dialog.setVisible(true);
     }
     
-    private void showTaskHistory() {
-        List<String> history = DatabaseManager.getTaskHistory();
+    /**
+     * Search all live tasks by words, optionally limited to one status and a date range
+     */
+    private void showSearchTasks() {
+        JDialog dialog = new JDialog(this, "Search Tasks", true);
+        dialog.setSize(1000, 600);
+        dialog.setLocationRelativeTo(this);
+        
+        JTextField queryField = new JTextField(25);
+        JComboBox<String> statusCombo = new JComboBox<>(new String[]{"Any status", "AVAILABLE", "ASSIGNED",
+            "IN_PROGRESS", "PENDING_ELDERLY_CONFIRMATION", "PENDING_VOLUNTEER_CONFIRMATION", "COMPLETED", "CANCELLED"});
+        JTextField fromField = new JTextField(8);
+        JTextField toField = new JTextField(8);
+        JButton searchButton = new JButton("Search");
+        
+        JPanel queryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 8));
+        queryPanel.add(new JLabel("Words:"));
+        queryPanel.add(queryField);
+        queryPanel.add(statusCombo);
+        queryPanel.add(new JLabel("From (YYYY-MM-DD):"));
+        queryPanel.add(fromField);
+        queryPanel.add(new JLabel("To:"));
+        queryPanel.add(toField);
+        queryPanel.add(searchButton);
+        
+        String[] columnNames = {"ID", "Title", "Status", "Requester", "Volunteer", "Date", "Duration"};
+        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(model);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
+        table.setRowHeight(25);
+        JLabel resultLabel = new JLabel("Enter words of at least 3 letters; every word must match.");
+        
+        Runnable search = () -> {
+            String from = fromField.getText().trim();
+            String to = toField.getText().trim();
+            if ((!from.isEmpty() && !from.matches("\\d{4}-\\d{2}-\\d{2}")) ||
+                (!to.isEmpty() && !to.matches("\\d{4}-\\d{2}-\\d{2}"))) {
+                JOptionPane.showMessageDialog(dialog, "Dates must be in YYYY-MM-DD format.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            String status = statusCombo.getSelectedIndex() == 0 ? null : (String) statusCombo.getSelectedItem();
+            resultLabel.setText("Searching...");
+            whenLoaded(AsyncDatabase.searchTasks(queryField.getText(), status, from.isEmpty() ? null : from,
+                                                 to.isEmpty() ? null : to, SEARCH_RESULT_LIMIT), tasks -> {
+                model.setRowCount(0);
+                for (Task task : tasks) {
+                    Object[] row = new Object[columnNames.length];
+                    for (int column = 0; column < row.length; column++) {
+                        row[column] = taskCell(task, column);
+                    }
+                    model.addRow(row);
+                }
+                resultLabel.setText(tasks.size() + " matching tasks, best match first" +
+                    (tasks.size() == SEARCH_RESULT_LIMIT ? " (first " + SEARCH_RESULT_LIMIT + " shown)" : ""));
+            });
+        };
+        searchButton.addActionListener(e -> search.run());
+        queryField.addActionListener(e -> search.run());
+        
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dialog.dispose());
+        
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.setBorder(new EmptyBorder(5, 10, 5, 10));
+        bottomPanel.add(resultLabel, BorderLayout.CENTER);
+        bottomPanel.add(closeButton, BorderLayout.EAST);
+        
+        dialog.add(queryPanel, BorderLayout.NORTH);
+        dialog.add(new JScrollPane(table), BorderLayout.CENTER);
+        dialog.add(bottomPanel, BorderLayout.SOUTH);
         
+        dialog.setVisible(true);
+    }
+    
+    private static Object userCell(User user, int column) {
+        switch (column) {
+            case 0: return user.getUserId();
+            case 1: return user.getUsername();
+            case 2: return user.getFirstName() + " " + user.getLastName();
+            case 3: return user.getEmail();
+            case 4: return user.getRole();
+            case 5: return user.getPoints();
+            case 6: return user.getTasksCompleted();
+            default: return user.isActive() ? "Active" : "Disabled";
+        }
+    }
+    
+    private static Object taskCell(Task task, int column) {
+        switch (column) {
+            case 0: return task.getTaskId();
+            case 1: return task.getTitle();
+            case 2: return task.getStatus();
+            // Names come back with the task query, no per-row lookups
+            case 3: return task.getRequesterName() + " (#" + task.getRequesterId() + ")";
+            case 4: return task.getVolunteerId() != null
+                ? task.getVolunteerName() + " (#" + task.getVolunteerId() + ")"
+                : "None";
+            case 5: return task.getScheduledDate();
+            default: return task.getEstimatedDuration() + " min";
+        }
+    }
+    
+    private void showTaskHistory() {
+        whenLoaded(AsyncDatabase.getTaskHistory(), this::showTaskHistory);
+    }
+    
+    private void showTaskHistory(List<String> history) {
         if (history.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No task history found.");
             return;
@@ -1639,9 +1953,53 @@ public class VolunteerGUI extends JFrame {
         dialog.setVisible(true);
     }
     
-    private void showManageUsers() {
-        List<User> users = DatabaseManager.getAllUsers();
+    private void showQueryMetrics() {
+        whenLoaded(AsyncDatabase.getQueryMetricsReport(), this::showQueryMetrics);
+    }
+    
+    private void showQueryMetrics(String report) {
+        JDialog dialog = new JDialog(this, "Query Metrics", true);
+        dialog.setSize(1000, 500);
+        dialog.setLocationRelativeTo(this);
+        
+        JTextArea metricsArea = new JTextArea(report);
+        metricsArea.setEditable(false);
+        metricsArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
+        metricsArea.setCaretPosition(0);
+        
+        JScrollPane scrollPane = new JScrollPane(metricsArea);
+        
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e ->
+            whenLoaded(AsyncDatabase.getQueryMetricsReport(), text -> {
+                metricsArea.setText(text);
+                metricsArea.setCaretPosition(0);
+            }));
+        JButton explainButton = new JButton("Explain Queries");
+        explainButton.addActionListener(e ->
+            whenLoaded(AsyncDatabase.getIndexReport(), text -> {
+                metricsArea.setText(text);
+                metricsArea.setCaretPosition(0);
+            }));
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dialog.dispose());
+        
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(explainButton);
+        buttonPanel.add(closeButton);
         
+        dialog.add(scrollPane, BorderLayout.CENTER);
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+        
+        dialog.setVisible(true);
+    }
+    
+    private void showManageUsers() {
+        whenLoaded(AsyncDatabase.getAllUsers(), this::showManageUsers);
+    }
+    
+    private void showManageUsers(List<User> users) {
         if (users.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No users found.");
             return;
@@ -1712,16 +2070,16 @@ public class VolunteerGUI extends JFrame {
                     JOptionPane.WARNING_MESSAGE);
                 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (DatabaseManager.toggleUserStatus(selectedUser.getUserId(), false)) {
-                        JOptionPane.showMessageDialog(dialog, "Account disabled successfully!");
-                        DatabaseManager.addTaskHistory(0, currentUser.getUserId(), "ADMIN_DISABLE_USER", 
-                            null, "Disabled user #" + selectedUser.getUserId());
-                        dialog.dispose();
-                        showManageUsers(); // Refresh
-                    } else {
-                        JOptionPane.showMessageDialog(dialog, "Failed to disable account!", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    whenLoaded(AsyncDatabase.toggleUserStatus(selectedUser.getUserId(), false), disabled -> {
+                        if (disabled) {
+                            JOptionPane.showMessageDialog(dialog, "Account disabled successfully!");
+                            dialog.dispose();
+                            showManageUsers(); // Refresh
+                        } else {
+                            JOptionPane.showMessageDialog(dialog, "Failed to disable account!",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             }
         });
@@ -1744,16 +2102,16 @@ public class VolunteerGUI extends JFrame {
                     JOptionPane.YES_NO_OPTION);
                 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (DatabaseManager.toggleUserStatus(selectedUser.getUserId(), true)) {
-                        JOptionPane.showMessageDialog(dialog, "Account enabled successfully!");
-                        DatabaseManager.addTaskHistory(0, currentUser.getUserId(), "ADMIN_ENABLE_USER", 
-                            null, "Enabled user #" + selectedUser.getUserId());
-                        dialog.dispose();
-                        showManageUsers(); // Refresh
-                    } else {
-                        JOptionPane.showMessageDialog(dialog, "Failed to enable account!", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    whenLoaded(AsyncDatabase.toggleUserStatus(selectedUser.getUserId(), true), enabled -> {
+                        if (enabled) {
+                            JOptionPane.showMessageDialog(dialog, "Account enabled successfully!");
+                            dialog.dispose();
+                            showManageUsers(); // Refresh
+                        } else {
+                            JOptionPane.showMessageDialog(dialog, "Failed to enable account!",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             }
         });
@@ -1776,8 +2134,10 @@ public class VolunteerGUI extends JFrame {
     }
     
     private void showManageTasks() {
-        List<Task> tasks = DatabaseManager.getAllTasks();
-        
+        whenLoaded(AsyncDatabase.getAllTasks(), this::showManageTasks);
+    }
+    
+    private void showManageTasks(List<Task> tasks) {
         if (tasks.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No tasks found.");
             return;
@@ -1827,16 +2187,16 @@ public class VolunteerGUI extends JFrame {
                     JOptionPane.WARNING_MESSAGE);
                 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (DatabaseManager.adminDeleteTask(selectedTask.getTaskId())) {
-                        JOptionPane.showMessageDialog(dialog, "Task deleted successfully!");
-                        DatabaseManager.addTaskHistory(selectedTask.getTaskId(), currentUser.getUserId(), 
-                            "ADMIN_DELETE", selectedTask.getStatus(), "DELETED");
-                        dialog.dispose();
-                        showManageTasks(); // Refresh
-                    } else {
-                        JOptionPane.showMessageDialog(dialog, "Failed to delete task!", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    whenLoaded(AsyncDatabase.adminDeleteTask(selectedTask.getTaskId()), deleted -> {
+                        if (deleted) {
+                            JOptionPane.showMessageDialog(dialog, "Task deleted successfully!");
+                            dialog.dispose();
+                            showManageTasks(); // Refresh
+                        } else {
+                            JOptionPane.showMessageDialog(dialog, "Failed to delete task!",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             }
         });
@@ -1858,7 +2218,128 @@ public class VolunteerGUI extends JFrame {
     
     // ==================== UTILITY METHODS ====================
     
+    // Database calls still running in the background
+    private int pendingCalls = 0;
+    
+    /**
+     * Runs the callback on the EDT once a background database call finishes,
+     * showing a wait cursor meanwhile so the window stays responsive
+     */
+    private <T> void whenLoaded(CompletableFuture<T> call, Consumer<T> onResult) {
+        whenLoaded(call, onResult, () -> { });
+    }
+    
+    private <T> void whenLoaded(CompletableFuture<T> call, Consumer<T> onResult, Runnable onError) {
+        pendingCalls++;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        AsyncDatabase.onEdt(call, result -> {
+            finishCall();
+            onResult.accept(result);
+        }, error -> {
+            finishCall();
+            onError.run();
+            JOptionPane.showMessageDialog(this, "Database error: " + error.getMessage(),
+                "Database Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    private void finishCall() {
+        if (--pendingCalls == 0) {
+            setCursor(Cursor.getDefaultCursor());
+        }
+    }
+    
+    /**
+     * Replaces a task list with a loading placeholder until the data arrives
+     */
+    private void showLoading(JScrollPane scrollPane, JPanel container, String message) {
+        showPlaceholder(scrollPane, container, createEmptyStatePanel("Loading...", message));
+    }
+    
+    /**
+     * Shows a single panel (loading or empty state) in place of a task list
+     */
+    private void showPlaceholder(JScrollPane scrollPane, JPanel container, JPanel placeholder) {
+        container.removeAll();
+        container.add(placeholder);
+        scrollPane.setViewportView(container);
+        container.revalidate();
+        container.repaint();
+    }
+    
+    /**
+     * Appends the pages of a keyset-paginated list as its scroll pane nears the end
+     * Only one page is requested at a time; the last item of each page is the next cursor
+     */
+    private class PageLoader<T> {
+        private static final int PREFETCH_PIXELS = 200;
+        
+        private final BiFunction<T, Integer, CompletableFuture<Page<T>>> fetch;
+        private final Consumer<List<T>> append;
+        private JScrollBar scrollBar;
+        private T cursor;
+        private boolean hasMore;
+        private boolean loading;
+        private boolean cancelled;
+        
+        private final AdjustmentListener onScroll = e -> loadMoreIfNearEnd();
+        
+        PageLoader(BiFunction<T, Integer, CompletableFuture<Page<T>>> fetch, Consumer<List<T>> append) {
+            this.fetch = fetch;
+            this.append = append;
+        }
+        
+        void attach(JScrollPane scrollPane) {
+            scrollBar = scrollPane.getVerticalScrollBar();
+            scrollBar.addAdjustmentListener(onScroll);
+        }
+        
+        void start(Page<T> firstPage) {
+            accept(firstPage);
+        }
+        
+        void cancel() {
+            cancelled = true;
+            if (scrollBar != null) {
+                scrollBar.removeAdjustmentListener(onScroll);
+            }
+        }
+        
+        private void accept(Page<T> page) {
+            append.accept(page.getItems());
+            if (!page.isEmpty()) {
+                cursor = page.getLast();
+            }
+            hasMore = page.hasMore();
+            // A short first page may not fill the view, so there would be no scroll event to trigger the next one
+            SwingUtilities.invokeLater(this::loadMoreIfNearEnd);
+        }
+        
+        private void loadMoreIfNearEnd() {
+            if (cancelled || loading || !hasMore || scrollBar == null) {
+                return;
+            }
+            if (scrollBar.getValue() + scrollBar.getVisibleAmount() < scrollBar.getMaximum() - PREFETCH_PIXELS) {
+                return;
+            }
+            
+            loading = true;
+            whenLoaded(fetch.apply(cursor, DatabaseManager.DEFAULT_PAGE_SIZE), page -> {
+                loading = false;
+                if (!cancelled) {
+                    accept(page);
+                }
+            }, () -> {
+                loading = false;
+                hasMore = false;
+            });
+        }
+    }
+    
     private void logout() {
+        stopVolunteerPaging();
+        elderlySyncedAt = 0;
+        statsRefreshTimer.stop();
         currentUser = null;
         cardLayout.show(mainPanel, LOGIN_PANEL);
         JOptionPane.showMessageDialog(this, "Logged out successfully!");
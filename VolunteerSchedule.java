@@ -0,0 +1,335 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * VolunteerSchedule holds the time taken by one volunteer's active tasks
+ *
+ * Each task is an interval [start, end) in minutes since 1970-01-01, from its scheduled date,
+ * time and estimated duration. Intervals are kept in a treap ordered by start, and every node
+ * stores the latest end in its subtree (an interval tree), so an overlap is found in O(log n)
+ * and the free time in a window is read in O(log n + k) for k tasks in it.
+ * DatabaseManager keeps one per volunteer, checks it when a task is accepted and updates it
+ * as tasks are assigned, released and finished. An accept reserves the task's time first
+ * (reserve), so the database write runs without holding the lock. Tasks read from the database
+ * are loaded only if nothing changed while they were read (see getVersion).
+ */
+public class VolunteerSchedule {
+    static final int MINUTES_PER_DAY = 24 * 60;
+    
+    private final Random random = new Random();
+    private final Map<Integer, Node> byTask = new HashMap<>();
+    // Tasks reserved by accepts whose database write has not finished yet
+    private final Map<Integer, Task> reserved = new HashMap<>();
+    private Node root;
+    private long loadedAt;
+    // Counts changes, so a load can tell whether its tasks were read before one of them
+    private long version;
+    
+    /**
+     * Whether a task with this status takes up its volunteer's time
+     */
+    static boolean isActive(String status) {
+        return status != null && !"AVAILABLE".equals(status) && !"COMPLETED".equals(status) &&
+               !"CANCELLED".equals(status);
+    }
+    
+    /**
+     * Start and end of a task in minutes since 1970-01-01, or null if its date or time cannot be read
+     */
+    static long[] interval(Task task) {
+        if (task.getScheduledDate() == null || task.getScheduledTime() == null) {
+            return null;
+        }
+        try {
+            long start = LocalDate.parse(task.getScheduledDate()).toEpochDay() * MINUTES_PER_DAY +
+                         LocalTime.parse(task.getScheduledTime()).toSecondOfDay() / 60;
+            return new long[]{start, start + Math.max(1, task.getEstimatedDuration())};
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    static long minutes(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * MINUTES_PER_DAY + time.toLocalTime().toSecondOfDay() / 60;
+    }
+    
+    static LocalDateTime time(long minutes) {
+        return LocalDate.ofEpochDay(Math.floorDiv(minutes, MINUTES_PER_DAY))
+                        .atTime(LocalTime.ofSecondOfDay(Math.floorMod(minutes, MINUTES_PER_DAY) * 60));
+    }
+    
+    /**
+     * Changes made so far; read it before reading the volunteer's tasks, and pass it to load()
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Replace everything held with the given tasks that are still active (assigned and not finished),
+     * unless the schedule changed since version was read: the tasks may then miss one just accepted.
+     * Reserved tasks are kept. Returns whether the tasks were loaded.
+     */
+    public synchronized boolean load(List<Task> tasks, long version) {
+        if (version != this.version) {
+            return false;
+        }
+        root = null;
+        byTask.clear();
+        for (Task task : tasks) {
+            if (isActive(task.getStatus())) {
+                add(task);
+            }
+        }
+        for (Task task : reserved.values()) {
+            add(task);
+        }
+        loadedAt = System.currentTimeMillis();
+        return true;
+    }
+    
+    /**
+     * Take a task's time if it is free, until release(); returns the id of an overlapping held
+     * task instead, or -1 when reserved (tasks without a readable schedule always are)
+     */
+    public synchronized int reserve(Task task) {
+        long[] interval = interval(task);
+        if (interval != null) {
+            int overlap = findOverlap(interval[0], interval[1]);
+            if (overlap >= 0) {
+                return overlap;
+            }
+        }
+        add(task);
+        reserved.put(task.getTaskId(), task);
+        return -1;
+    }
+    
+    /**
+     * End a reservation: keep the task's time if the accept went through, or give it back
+     */
+    public synchronized void release(int taskId, boolean keep) {
+        if (reserved.remove(taskId) != null) {
+            version++;
+            if (!keep) {
+                remove(taskId);
+            }
+        }
+    }
+    
+    /**
+     * When load() last ran (0 if never)
+     */
+    public synchronized long getLoadedAt() {
+        return loadedAt;
+    }
+    
+    /**
+     * Add a task's time (replacing what was held for it); tasks without a readable schedule are skipped
+     */
+    public synchronized void add(Task task) {
+        long[] interval = interval(task);
+        remove(task.getTaskId());
+        version++;
+        if (interval != null) {
+            Node node = new Node(task.getTaskId(), interval[0], interval[1], random.nextInt());
+            byTask.put(node.taskId, node);
+            root = insert(root, node);
+        }
+    }
+    
+    public synchronized void remove(int taskId) {
+        Node node = byTask.remove(taskId);
+        version++;
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+    
+    public synchronized boolean contains(int taskId) {
+        return byTask.containsKey(taskId);
+    }
+    
+    public synchronized int size() {
+        return byTask.size();
+    }
+    
+    /**
+     * Id of a held task overlapping [start, end), or -1 if that time is free
+     */
+    public synchronized int findOverlap(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.taskId;
+            }
+            // A left interval ending after start either overlaps, or starts at or after end,
+            // and then so does everything to the right
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return -1;
+    }
+    
+    /**
+     * Gaps of at least minMinutes between held tasks within [from, to), in time order
+     */
+    public synchronized List<Slot> freeSlots(long from, long to, int minMinutes) {
+        List<Node> busy = new ArrayList<>();
+        collect(root, from, to, busy);
+        
+        List<Slot> slots = new ArrayList<>();
+        long cursor = from;
+        for (Node node : busy) {
+            if (node.start - cursor >= minMinutes) {
+                slots.add(new Slot(cursor, node.start));
+            }
+            cursor = Math.max(cursor, node.end);
+        }
+        if (to - cursor >= minMinutes) {
+            slots.add(new Slot(cursor, to));
+        }
+        return slots;
+    }
+    
+    // In-order walk over the intervals meeting [from, to), skipping subtrees that end before from
+    private static void collect(Node node, long from, long to, List<Node> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start < to) {
+            if (node.end > from) {
+                result.add(node);
+            }
+            collect(node.right, from, to, result);
+        }
+    }
+    
+    // ==================== TREAP ====================
+    
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.priority > root.priority) {
+            Node[] parts = split(root, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return update(node);
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+        } else {
+            root.right = insert(root.right, node);
+        }
+        return update(root);
+    }
+    
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+        return update(root);
+    }
+    
+    // Nodes before key, and the rest
+    private static Node[] split(Node root, Node key) {
+        if (root == null) {
+            return new Node[2];
+        }
+        if (root.compareTo(key) < 0) {
+            Node[] parts = split(root.right, key);
+            root.right = parts[0];
+            parts[0] = update(root);
+            return parts;
+        }
+        Node[] parts = split(root.left, key);
+        root.left = parts[1];
+        parts[1] = update(root);
+        return parts;
+    }
+    
+    // Every node of left comes before every node of right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+    
+    private static Node update(Node node) {
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+        return node;
+    }
+    
+    private static final class Node implements Comparable<Node> {
+        final int taskId;
+        final long start;
+        final long end;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+        
+        Node(int taskId, long start, long end, int priority) {
+            this.taskId = taskId;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+        
+        // By start, then task id, so tasks starting together are distinct keys
+        @Override
+        public int compareTo(Node other) {
+            int cmp = Long.compare(start, other.start);
+            return cmp != 0 ? cmp : Integer.compare(taskId, other.taskId);
+        }
+    }
+    
+    /**
+     * A stretch of free time
+     */
+    public static final class Slot {
+        private final long start;
+        private final long end;
+        
+        Slot(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+        
+        public LocalDateTime getStart() { return time(start); }
+        public LocalDateTime getEnd() { return time(end); }
+        public int getMinutes() { return (int) (end - start); }
+    }
+}
@@ -0,0 +1,15 @@
+@echo off
+echo Running J.A.V.A Index Advisor...
+echo.
+
+REM Check if classes exist
+if not exist "target\classes\IndexAdvisor.class" (
+    echo Classes not found! Please run compile.bat first.
+    pause
+    exit /b 1
+)
+
+REM Explains every query template against the configured MySQL database
+java %* -cp "target\classes;mysql-connector-j-9.4.0.jar" IndexAdvisor
+
+pause
@@ -0,0 +1,13 @@
+#!/bin/bash
+
+echo "Running J.A.V.A Index Advisor..."
+echo
+
+# Check if classes exist
+if [ ! -f "target/classes/IndexAdvisor.class" ]; then
+    echo "Classes not found! Please run compile.sh first."
+    exit 1
+fi
+
+# Explains every query template against the configured MySQL database
+java "$@" -cp "target/classes:mysql-connector-j-8.0.33.jar" IndexAdvisor
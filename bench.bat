@@ -0,0 +1,15 @@
+@echo off
+echo Running J.A.V.A Benchmarks...
+echo.
+
+REM Check if classes exist
+if not exist "target\classes\Benchmarks.class" (
+    echo Classes not found! Please run compile.bat first.
+    pause
+    exit /b 1
+)
+
+REM Runs against the in-memory backend unless -Ddb.backend=mysql is passed
+java %* -cp "target\classes;mysql-connector-j-9.4.0.jar" Benchmarks
+
+pause
@@ -0,0 +1,13 @@
+#!/bin/bash
+
+echo "Running J.A.V.A Load Generator..."
+echo
+
+# Check if classes exist
+if [ ! -f "target/classes/LoadGenerator.class" ]; then
+    echo "Classes not found! Please run compile.sh first."
+    exit 1
+fi
+
+# Runs against the in-memory backend unless -Ddb.backend=mysql is passed
+java "$@" -cp "target/classes:mysql-connector-j-8.0.33.jar" LoadGenerator
@@ -0,0 +1,15 @@
+@echo off
+echo Running J.A.V.A Self Test...
+echo.
+
+REM Check if classes exist
+if not exist "target\classes\SelfTest.class" (
+    echo Classes not found! Please run compile.bat first.
+    pause
+    exit /b 1
+)
+
+REM Always runs against the in-memory backend; exits with status 1 if a check fails
+java %* -cp "target\classes;mysql-connector-j-9.4.0.jar" SelfTest
+
+pause
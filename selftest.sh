@@ -0,0 +1,13 @@
+#!/bin/bash
+
+echo "Running J.A.V.A Self Test..."
+echo
+
+# Check if classes exist
+if [ ! -f "target/classes/SelfTest.class" ]; then
+    echo "Classes not found! Please run compile.sh first."
+    exit 1
+fi
+
+# Always runs against the in-memory backend; exits with status 1 if a check fails
+java "$@" -cp "target/classes:mysql-connector-j-8.0.33.jar" SelfTest
@@ -0,0 +1,85 @@
+-- Version 1: the schema as created by schema.sql before migrations existed
+-- Applied only to an empty database; a database that already has the tables is recorded
+-- at this version without running it (see SchemaMigrator).
+
+-- Users table
+CREATE TABLE users (
+    user_id INT PRIMARY KEY AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    phone_number VARCHAR(15),
+    address TEXT,
+    date_of_birth DATE,
+    role VARCHAR(20) NOT NULL, -- 'ELDERLY', 'VOLUNTEER', or 'ADMIN'
+    is_active BOOLEAN DEFAULT TRUE,
+    bio TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- User points table for leaderboard
+CREATE TABLE user_points (
+    point_id INT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT NOT NULL UNIQUE,
+    points INT DEFAULT 0,
+    level INT DEFAULT 1,
+    user_rank VARCHAR(50) DEFAULT 'Newcomer',
+    tasks_completed INT DEFAULT 0,
+    tasks_cancelled INT DEFAULT 0,
+    hours_volunteered INT DEFAULT 0,
+    last_activity_date DATE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+-- Tasks table
+CREATE TABLE tasks (
+    task_id INT PRIMARY KEY AUTO_INCREMENT,
+    title VARCHAR(100) NOT NULL,
+    description TEXT NOT NULL,
+    requester_id INT NOT NULL,
+    volunteer_id INT,
+    status VARCHAR(30) DEFAULT 'AVAILABLE', -- 'AVAILABLE', 'ASSIGNED', 'IN_PROGRESS', 'PENDING_ELDERLY_CONFIRMATION', 'PENDING_VOLUNTEER_CONFIRMATION', 'COMPLETED', 'CANCELLED'
+    location TEXT,
+    scheduled_date DATE NOT NULL,
+    scheduled_time TIME NOT NULL,
+    estimated_duration INT NOT NULL, -- in minutes
+    urgency_level VARCHAR(10) DEFAULT 'MEDIUM', -- 'LOW', 'MEDIUM', 'HIGH'
+    volunteer_confirmed BOOLEAN DEFAULT FALSE, -- Volunteer marked task as completed
+    elderly_confirmed BOOLEAN DEFAULT FALSE, -- Elderly marked task as completed
+    previous_volunteer_id INT,
+    reassignment_reason TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (requester_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (volunteer_id) REFERENCES users(user_id) ON DELETE SET NULL,
+    FOREIGN KEY (previous_volunteer_id) REFERENCES users(user_id) ON DELETE SET NULL
+);
+
+-- Task history table for tracking changes
+CREATE TABLE task_history (
+    history_id INT PRIMARY KEY AUTO_INCREMENT,
+    task_id INT NOT NULL,
+    changed_by_id INT NOT NULL,
+    action_type VARCHAR(50), -- 'CREATED', 'ASSIGNED', 'REASSIGNED', 'COMPLETED', 'CANCELLED'
+    previous_status VARCHAR(30),
+    new_status VARCHAR(30),
+    previous_volunteer_id INT,
+    new_volunteer_id INT,
+    reassignment_reason TEXT,
+    notes TEXT,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (task_id) REFERENCES tasks(task_id) ON DELETE CASCADE,
+    FOREIGN KEY (changed_by_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (previous_volunteer_id) REFERENCES users(user_id) ON DELETE SET NULL,
+    FOREIGN KEY (new_volunteer_id) REFERENCES users(user_id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_tasks_status ON tasks(status);
+CREATE INDEX idx_tasks_volunteer ON tasks(volunteer_id);
+CREATE INDEX idx_tasks_requester ON tasks(requester_id);
+CREATE INDEX idx_users_role ON users(role);
@@ -0,0 +1,31 @@
+-- Composite indexes matching the DatabaseManager task queries
+-- Each index leads with the equality filter and continues with the ORDER BY columns,
+-- so MySQL reads rows already in order instead of sorting them (InnoDB appends task_id itself).
+-- The single-column indexes they replace are prefixes of the new ones.
+-- ALGORITHM=INPLACE, LOCK=NONE keeps the tables readable and writable while the indexes build.
+
+-- Available tasks, soonest first (list, keyset pages, status counts on the dashboard)
+ALTER TABLE tasks ADD INDEX idx_tasks_status_schedule (status, scheduled_date, scheduled_time),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- An elderly user's tasks, newest date first; also used when their account is disabled
+ALTER TABLE tasks ADD INDEX idx_tasks_requester_schedule (requester_id, scheduled_date),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- A volunteer's tasks by date; also used when their account is disabled
+ALTER TABLE tasks ADD INDEX idx_tasks_volunteer_schedule (volunteer_id, scheduled_date),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Covers the dashboard's active-user counts and the leaderboard's volunteer lookup
+ALTER TABLE users ADD INDEX idx_users_role_active (role, is_active),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Admin activity log, newest first
+ALTER TABLE task_history ADD INDEX idx_history_changed_at (changed_at),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Superseded by the composite indexes above (the foreign keys now use those)
+ALTER TABLE tasks DROP INDEX idx_tasks_status, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE tasks DROP INDEX idx_tasks_requester, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE tasks DROP INDEX idx_tasks_volunteer, ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE users DROP INDEX idx_users_role, ALGORITHM=INPLACE, LOCK=NONE;
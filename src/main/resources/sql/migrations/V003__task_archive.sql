@@ -0,0 +1,13 @@
+-- Cold storage for finished tasks
+-- The archival job moves COMPLETED and CANCELLED tasks scheduled long ago, with their history,
+-- out of tasks and task_history, so the live tables and their indexes hold only the working set.
+-- LIKE copies the columns and indexes but not the foreign keys; task ids keep their live values.
+
+CREATE TABLE tasks_archive LIKE tasks;
+ALTER TABLE tasks_archive MODIFY task_id INT NOT NULL,
+    ADD COLUMN archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+-- History rows keep their ids and point at the archived task
+CREATE TABLE task_history_archive LIKE task_history;
+ALTER TABLE task_history_archive MODIFY history_id INT NOT NULL,
+    ADD FOREIGN KEY (task_id) REFERENCES tasks_archive(task_id) ON DELETE CASCADE;
@@ -0,0 +1,10 @@
+-- Full-text indexes for task search (see MySqlRepository.searchTasks)
+-- Title words rank higher, so the title gets an index of its own next to the combined one.
+-- The first FULLTEXT index rebuilds the table to add its FTS_DOC_ID column; InnoDB cannot do
+-- that with LOCK=NONE, so reads continue during the build but writes wait for it.
+
+ALTER TABLE tasks ADD FULLTEXT INDEX ft_tasks_text (title, description, location),
+    ALGORITHM=INPLACE, LOCK=SHARED;
+
+ALTER TABLE tasks ADD FULLTEXT INDEX ft_tasks_title (title),
+    ALGORITHM=INPLACE, LOCK=SHARED;
@@ -0,0 +1,17 @@
+-- Positions for proximity search (see GeoGrid and MySqlRepository.getAvailableTasksNear)
+-- Task and volunteer locations are resolved through the offline gazetteer; geo_cell is the
+-- GeoGrid cell of the position, so "available tasks near me" reads only nearby cells.
+
+ALTER TABLE tasks ADD COLUMN latitude DOUBLE NULL, ADD COLUMN longitude DOUBLE NULL, ADD COLUMN geo_cell INT NULL;
+
+-- tasks has FULLTEXT indexes (V004), and InnoDB builds no index on such a table with LOCK=NONE
+ALTER TABLE tasks ADD INDEX idx_tasks_status_cell (status, geo_cell, scheduled_date, scheduled_time),
+    ALGORITHM=INPLACE, LOCK=SHARED;
+
+-- The archive keeps the same columns (MySqlRepository.ARCHIVE_TASK_COLUMNS)
+ALTER TABLE tasks_archive ADD COLUMN latitude DOUBLE NULL, ADD COLUMN longitude DOUBLE NULL,
+    ADD COLUMN geo_cell INT NULL;
+
+-- A volunteer's starting point
+ALTER TABLE users ADD COLUMN location VARCHAR(255) NULL, ADD COLUMN latitude DOUBLE NULL,
+    ADD COLUMN longitude DOUBLE NULL;
@@ -0,0 +1,24 @@
+-- Delta sync of task lists (see DatabaseManager.syncTasksByRequester and MySqlRepository.getTaskChangesByRequester)
+-- Clients keep the lists they show and, on refresh, read only their own tasks whose updated_at is
+-- at or after their watermark. updated_at has whole seconds, so reads overlap by db.sync.overlapMs.
+
+-- A requester's changes, and a volunteer's (including tasks they were just removed from)
+-- tasks has FULLTEXT indexes (V004), and InnoDB builds no index on such a table with LOCK=NONE
+ALTER TABLE tasks ADD INDEX idx_tasks_requester_updated (requester_id, updated_at),
+    ADD INDEX idx_tasks_volunteer_updated (volunteer_id, updated_at),
+    ADD INDEX idx_tasks_previous_volunteer_updated (previous_volunteer_id, updated_at),
+    ALGORITHM=INPLACE, LOCK=SHARED;
+
+-- A row per deleted or archived task, with the users whose lists it was in, so they can drop it
+-- Rows older than db.sync.tombstoneRetentionMs are pruned; older watermarks reload in full
+CREATE TABLE task_tombstones (
+    task_id INT PRIMARY KEY,
+    requester_id INT NOT NULL,
+    volunteer_id INT NULL,
+    previous_volunteer_id INT NULL,
+    removed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idx_tombstones_removed (removed_at),
+    INDEX idx_tombstones_requester (requester_id, removed_at),
+    INDEX idx_tombstones_volunteer (volunteer_id, removed_at),
+    INDEX idx_tombstones_previous_volunteer (previous_volunteer_id, removed_at)
+);
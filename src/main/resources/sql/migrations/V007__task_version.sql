@@ -0,0 +1,10 @@
+-- Optimistic concurrency for task transitions (see MySqlRepository.transitionTask)
+-- Every state change bumps version, and the UPDATE only matches the version that was read,
+-- so two concurrent clicks cannot both succeed.
+
+-- tasks has FULLTEXT indexes (V004), and tasks_archive copied them (V003 creates it LIKE tasks);
+-- InnoDB cannot add a column to such a table with ALGORITHM=INSTANT or LOCK=NONE
+ALTER TABLE tasks ADD COLUMN version INT NOT NULL DEFAULT 0, ALGORITHM=INPLACE, LOCK=SHARED;
+
+-- The archive keeps the same columns (MySqlRepository.ARCHIVE_TASK_COLUMNS)
+ALTER TABLE tasks_archive ADD COLUMN version INT NOT NULL DEFAULT 0, ALGORITHM=INPLACE, LOCK=SHARED;
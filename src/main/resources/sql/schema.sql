@@ -11,6 +11,11 @@ GRANT ALL PRIVILEGES ON volunteer_app.* TO 'volunteer_user'@'localhost';
 FLUSH PRIVILEGES;
 
 -- Drop tables if they exist (in correct order to avoid foreign key conflicts)
+-- schema_migrations goes too: the application re-applies migrations/ to this fresh baseline
+DROP TABLE IF EXISTS schema_migrations;
+DROP TABLE IF EXISTS task_tombstones;
+DROP TABLE IF EXISTS task_history_archive;
+DROP TABLE IF EXISTS tasks_archive;
 DROP TABLE IF EXISTS task_history;
 DROP TABLE IF EXISTS user_points;
 DROP TABLE IF EXISTS tasks;
@@ -126,6 +131,7 @@ VALUES
 UPDATE tasks SET volunteer_id = 2, status = 'ASSIGNED' WHERE task_id = 3;
 
 -- Create indexes for better performance
+-- (later index changes live in migrations/ and are applied when the application starts)
 CREATE INDEX idx_tasks_status ON tasks(status);
 CREATE INDEX idx_tasks_volunteer ON tasks(volunteer_id);
 CREATE INDEX idx_tasks_requester ON tasks(requester_id);